@@ -81,7 +81,8 @@ async function loadAvailableSubjects() {
     clearAlert('dashboard-alert');
 
     try {
-        const response = await fetch(`${API_BASE_URL}/materias`, {
+        // Solo las materias que el estudiante puede inscribir (prerrequisitos aprobados, sin aprobar ni en curso)
+        const response = await fetch(`${API_BASE_URL}/inscripciones/estudiante/${encodeURIComponent(studentCi)}/materias-disponibles`, {
             method: 'GET',
             headers: {
                 'Authorization': `Bearer ${authToken}`,
@@ -134,7 +135,7 @@ async function loadMyEnrollments() {
     }
 
     try {
-        const response = await fetch(`${API_BASE_URL}/inscripciones/estudiante/${studentCi}`, {
+        const response = await fetch(`${API_BASE_URL}/inscripciones/estudiante/${studentCi}/detalle`, {
             method: 'GET',
             headers: {
                 'Authorization': `Bearer ${authToken}`,
@@ -151,52 +152,13 @@ async function loadMyEnrollments() {
                 return;
             }
 
-            // --- START OF REQUIRED CHANGES FOR BACKEND DATA STRUCTURE ---
-            // We need to fetch materia names because InscritoDTO does not include them directly.
-            // Create an array of promises to fetch materia details for each enrollment.
-            const enrollmentsWithMateriaDetailsPromises = enrollments.map(async enrollment => {
-                let materiaNombre = 'Cargando nombre...'; // Default until fetched
-
-                if (enrollment.materiaCodigoUnico) {
-                    try {
-                        // Assuming an endpoint like /api/materias/{codigoUnico} exists
-                            const materiaResponse = await fetch(`<span class="math-inline">\{API\_BASE\_URL\}/materias/by\-codigo/</span>{enrollment.materiaCodigoUnico}`, {                            method: 'GET',
-                            headers: {
-                                'Authorization': `Bearer ${authToken}`,
-                                'Content-Type': 'application/json'
-                            }
-                        });
-
-                        if (materiaResponse.ok) {
-                            const materiaData = await materiaResponse.json();
-                            materiaNombre = materiaData.nombreMateria; // MateriaDTO has nombreMateria
-                        } else {
-                            console.warn(`Could not fetch details for materia ${enrollment.materiaCodigoUnico}. Status: ${materiaResponse.status}`);
-                            materiaNombre = `Error: ${enrollment.materiaCodigoUnico}`;
-                        }
-                    } catch (materiaError) {
-                        console.error(`Network error fetching materia ${enrollment.materiaCodigoUnico}:`, materiaError);
-                        materiaNombre = `Error: ${enrollment.materiaCodigoUnico}`;
-                    }
-                } else {
-                    materiaNombre = 'N/A (Código no disponible)';
-                }
-
-                // Return the enrollment with the fetched materia name added as a new property
-                return {
-                    ...enrollment,
-                    materiaNombre: materiaNombre,
-                };
-            });
-
-            // Wait for all materia details to be fetched before rendering the table
-            const enrollmentsWithDetails = await Promise.all(enrollmentsWithMateriaDetailsPromises);
-            // --- END OF REQUIRED CHANGES ---
-
-            enrollmentsWithDetails.forEach(enrollment => { // Iterate through the enriched enrollments
+            // /detalle already includes the materia name, its docentes and cursos (no per-row requests)
+            enrollments.forEach(enrollment => {
                 const row = tbody.insertRow();
-                row.insertCell().textContent = enrollment.materiaCodigoUnico; // Use materiaCodigoUnico directly
-                row.insertCell().textContent = enrollment.materiaNombre;    // Use the fetched materiaNombre
+                row.insertCell().textContent = enrollment.materiaCodigoUnico;
+                const nombreCell = row.insertCell();
+                nombreCell.textContent = enrollment.materiaNombre;
+                nombreCell.title = enrollment.docentes.map(d => `${d.nombre} ${d.apellido}`).join(', ');
                 row.insertCell().textContent = enrollment.fechaInscripcion; // Display the date as returned
 
                 const actionCell = row.insertCell();
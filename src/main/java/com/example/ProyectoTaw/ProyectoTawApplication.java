@@ -4,10 +4,12 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
 import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.autoconfigure.session.SessionAutoConfiguration;
 import org.springframework.cache.annotation.EnableCaching;
 
-@SpringBootApplication(exclude = {SecurityAutoConfiguration.class, UserDetailsServiceAutoConfiguration.class}) // <-- Añade el exclude
-//@EnableCaching // Si estás usando caché
+@SpringBootApplication(exclude = {SecurityAutoConfiguration.class, UserDetailsServiceAutoConfiguration.class,
+        SessionAutoConfiguration.class}) // Spring Session se configura en config/SesionConfig según app.session.store
+@EnableCaching // Caché de dos niveles (Caffeine + Redis), ver config/CacheConfig
 public class ProyectoTawApplication {
 
 	public static void main(String[] args) {
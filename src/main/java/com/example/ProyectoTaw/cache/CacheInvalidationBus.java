@@ -0,0 +1,18 @@
+package com.example.ProyectoTaw.cache;
+
+/**
+ * Canal por el que se difunden las invalidaciones de caché entre nodos.
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Publica una invalidación para el resto de nodos.
+     * @param mensaje La región y clave (o limpieza completa) a invalidar.
+     */
+    void publicar(CacheInvalidationMessage mensaje);
+
+    /**
+     * Implementación para un solo nodo: no hay a quién avisar.
+     */
+    CacheInvalidationBus LOCAL = mensaje -> { };
+}
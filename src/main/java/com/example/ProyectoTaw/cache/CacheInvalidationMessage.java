@@ -0,0 +1,32 @@
+package com.example.ProyectoTaw.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Mensaje que un nodo publica para que los demás descarten su copia local (L1)
+ * de una entrada o de una región completa.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationMessage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Identificador del nodo que originó el cambio; ese nodo ignora su propio mensaje. */
+    private String origen;
+
+    /** Nombre de la región de caché afectada. */
+    private String cacheName;
+
+    /** Clave a invalidar, o null si se limpia la región completa. */
+    private Object key;
+
+    public boolean esLimpiezaCompleta() {
+        return key == null;
+    }
+}
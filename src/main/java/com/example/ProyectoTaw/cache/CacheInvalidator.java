@@ -0,0 +1,223 @@
+package com.example.ProyectoTaw.cache;
+
+import com.example.ProyectoTaw.dto.AsisteDTO;
+import com.example.ProyectoTaw.dto.ImparteDTO;
+import com.example.ProyectoTaw.dto.InscritoDTO;
+import com.example.ProyectoTaw.dto.SeDaDTO;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Motor de invalidación por clave.
+ *
+ * A partir de la entidad escrita (su CI de estudiante, código de materia, ID de curso...)
+ * calcula exactamente qué claves de qué regiones dejan de ser válidas y solo invalida esas,
+ * en lugar de vaciar las regiones completas con allEntries = true.
+ *
+ * Las claves deben coincidir con las que generan los @Cacheable de los servicios:
+ * un parámetro → el propio valor; {#a, #b} → List; sin parámetros → SimpleKey.EMPTY.
+ * Las regiones de páginas (*Pagina) sí se vacían completas: un alta o un borrado desplaza
+ * los límites de todas las páginas posteriores, así que no hay una clave concreta que invalidar.
+ * Si hay una transacción activa la invalidación se aplica tras el commit, para que
+ * una lectura concurrente no vuelva a cachear el estado anterior.
+ */
+@Component
+public class CacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    public CacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Invalida las claves afectadas por la creación, modificación o borrado de inscripciones.
+     * @param versiones Estado anterior y/o nuevo de la inscripción (se ignoran los null).
+     */
+    public void inscripcionModificada(InscritoDTO... versiones) {
+        Invalidacion inv = new Invalidacion();
+        inv.clave("inscripciones", SimpleKey.EMPTY);
+        inv.region("inscripcionesPagina");
+        for (InscritoDTO dto : noNulos(versiones)) {
+            inv.clave("inscripcion", dto.getIdInscrito());
+            inv.clave("inscripcionesPorEstudiante", dto.getEstudianteCi());
+            inv.clave("inscripcionesDetallePorEstudiante", dto.getEstudianteCi());
+            inv.clave("inscripcionesPorMateria", dto.getMateriaCodigoUnico());
+            inv.clave("inscripcionPorEstudianteMateriaYFecha",
+                    Arrays.asList(dto.getEstudianteCi(), dto.getMateriaCodigoUnico(), dto.getFechaInscripcion()));
+        }
+        aplicar(inv);
+    }
+
+    /**
+     * Invalida las claves afectadas por cambios en registros de asistencia.
+     * @param versiones Estado anterior y/o nuevo de la asistencia (se ignoran los null).
+     */
+    public void asistenciaModificada(AsisteDTO... versiones) {
+        Invalidacion inv = new Invalidacion();
+        inv.clave("asistencias", SimpleKey.EMPTY);
+        inv.region("asistenciasPagina");
+        for (AsisteDTO dto : noNulos(versiones)) {
+            inv.clave("asistencia", dto.getIdAsiste());
+            inv.clave("asistenciasPorEstudiante", dto.getEstudianteCi());
+            inv.clave("asistenciasPorCurso", dto.getCursoIdCurso());
+            inv.clave("asistenciasDeEstudianteEnCurso", Arrays.asList(dto.getEstudianteCi(), dto.getCursoIdCurso()));
+        }
+        aplicar(inv);
+    }
+
+    /**
+     * Invalida, en una sola pasada, las claves afectadas por una toma de asistencia por lote.
+     * @param cursoIdCurso El curso de todo el lote.
+     * @param estudiantesCi CI de los estudiantes incluidos en el lote.
+     * @param idsActualizados IDs de las asistencias existentes que cambiaron.
+     */
+    public void asistenciasRegistradasEnLote(Integer cursoIdCurso,
+                                             Collection<String> estudiantesCi,
+                                             Collection<Long> idsActualizados) {
+        Invalidacion inv = new Invalidacion();
+        inv.clave("asistencias", SimpleKey.EMPTY);
+        inv.region("asistenciasPagina");
+        inv.clave("asistenciasPorCurso", cursoIdCurso);
+        for (String ci : estudiantesCi) {
+            inv.clave("asistenciasPorEstudiante", ci);
+            inv.clave("asistenciasDeEstudianteEnCurso", Arrays.asList(ci, cursoIdCurso));
+        }
+        for (Long id : idsActualizados) {
+            inv.clave("asistencia", id);
+        }
+        aplicar(inv);
+    }
+
+    /**
+     * Invalida las claves afectadas por cambios en relaciones Materia-Curso (SeDa).
+     * @param versiones Estado anterior y/o nuevo de la relación (se ignoran los null).
+     */
+    public void seDaModificada(SeDaDTO... versiones) {
+        Invalidacion inv = new Invalidacion();
+        inv.clave("relacionesSeDa", SimpleKey.EMPTY);
+        inv.region("relacionesSeDaPagina");
+        inv.region("inscripcionesDetallePorEstudiante"); // Cambian los docentes/cursos de todos los inscritos en la materia
+        for (SeDaDTO dto : noNulos(versiones)) {
+            inv.clave("relacionSeDa", dto.getIdSeDa());
+            inv.clave("relacionesSeDaPorMateria", dto.getMateriaCodigoUnico());
+            inv.clave("relacionesPorCurso", dto.getCursoIdCurso());
+            inv.clave("relacionPorMateriaYCurso", Arrays.asList(dto.getMateriaCodigoUnico(), dto.getCursoIdCurso()));
+        }
+        aplicar(inv);
+    }
+
+    /**
+     * Invalida las claves afectadas por cambios en relaciones Materia-Docente (Imparte).
+     * @param versiones Estado anterior y/o nuevo de la relación (se ignoran los null).
+     */
+    public void imparteModificada(ImparteDTO... versiones) {
+        Invalidacion inv = new Invalidacion();
+        inv.clave("relacionesImparte", SimpleKey.EMPTY);
+        inv.region("relacionesImpartePagina");
+        inv.region("inscripcionesDetallePorEstudiante"); // Cambian los docentes/cursos de todos los inscritos en la materia
+        for (ImparteDTO dto : noNulos(versiones)) {
+            inv.clave("relacionImparte", dto.getIdImparte());
+            inv.clave("relacionesPorMateria", dto.getMateriaCodigoUnico());
+            inv.clave("relacionesPorDocente", dto.getCiDocente());
+            inv.clave("relacionPorMateriaYDocente", Arrays.asList(dto.getMateriaCodigoUnico(), dto.getCiDocente()));
+        }
+        aplicar(inv);
+    }
+
+    /**
+     * Invalida claves concretas de una región.
+     * @param cacheName Nombre de la región.
+     * @param claves Claves a invalidar.
+     */
+    public void invalidar(String cacheName, Object... claves) {
+        Invalidacion inv = new Invalidacion();
+        for (Object clave : claves) {
+            inv.clave(cacheName, clave);
+        }
+        aplicar(inv);
+    }
+
+    /**
+     * Vacía regiones completas (p. ej. los listados tras una importación masiva).
+     * @param cacheNames Nombres de las regiones.
+     */
+    public void vaciar(String... cacheNames) {
+        Invalidacion inv = new Invalidacion();
+        for (String cacheName : cacheNames) {
+            inv.region(cacheName);
+        }
+        aplicar(inv);
+    }
+
+    private void aplicar(Invalidacion inv) {
+        despuesDelCommit(() -> inv.ejecutar(cacheManager));
+    }
+
+    private static void despuesDelCommit(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+
+    @SafeVarargs
+    private static <T> List<T> noNulos(T... valores) {
+        return Arrays.stream(valores).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Conjunto de claves a invalidar agrupadas por región, sin duplicados,
+     * más las regiones que se vacían completas.
+     */
+    private static final class Invalidacion {
+
+        private final Map<String, Set<Object>> clavesPorRegion = new LinkedHashMap<>();
+        private final Set<String> regionesCompletas = new LinkedHashSet<>();
+
+        void clave(String cacheName, Object clave) {
+            if (clave != null) {
+                clavesPorRegion.computeIfAbsent(cacheName, n -> new LinkedHashSet<>()).add(clave);
+            }
+        }
+
+        void region(String cacheName) {
+            regionesCompletas.add(cacheName);
+        }
+
+        void ejecutar(CacheManager cacheManager) {
+            regionesCompletas.forEach(nombre -> {
+                Cache cache = cacheManager.getCache(nombre);
+                if (cache != null) {
+                    cache.clear();
+                }
+            });
+            clavesPorRegion.forEach((nombre, claves) -> {
+                Cache cache = cacheManager.getCache(nombre);
+                if (cache != null) {
+                    claves.forEach(cache::evict);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.ProyectoTaw.cache;
+
+import com.example.ProyectoTaw.model.Docente;
+import com.example.ProyectoTaw.model.Estudiante;
+import com.example.ProyectoTaw.repository.DocenteRepository;
+import com.example.ProyectoTaw.repository.EstudianteRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Búsquedas por clave que se resuelven como mucho una vez por petición HTTP.
+ *
+ * Servicio y validador suelen comprobar lo mismo en un alta (existsByCi en el servicio, findByCi en el
+ * validador): si los dos pasan por aquí, la segunda búsqueda de la misma clave sale de un mapa guardado en los
+ * atributos de la petición. Se guardan también los resultados vacíos, así que quien crea, modifica o borra una
+ * de estas entidades llama a olvidar() después. Fuera de una petición (tareas en otros hilos, arranque) no se
+ * guarda nada y cada búsqueda va a la base.
+ *
+ * Cada búsqueda evitada suma 1 a "consultas.memo.ahorradas" con las etiquetas endpoint ("POST /api/estudiantes")
+ * y consulta.
+ */
+@Component
+public class MemoConsultas {
+
+    private static final String ATRIBUTO = MemoConsultas.class.getName();
+
+    private final EstudianteRepository estudianteRepository;
+    private final DocenteRepository docenteRepository;
+    private final MeterRegistry registry;
+
+    @Autowired
+    public MemoConsultas(EstudianteRepository estudianteRepository,
+                         DocenteRepository docenteRepository,
+                         MeterRegistry registry) {
+        this.estudianteRepository = estudianteRepository;
+        this.docenteRepository = docenteRepository;
+        this.registry = registry;
+    }
+
+    public Optional<Estudiante> estudiante(String ci) {
+        return buscar("estudiante", ci, () -> estudianteRepository.findById(ci));
+    }
+
+    public Optional<Estudiante> estudiantePorEmail(String email) {
+        return buscar("estudiante.email", email, () -> estudianteRepository.findByEmail(email));
+    }
+
+    public Optional<Docente> docente(String ci) {
+        return buscar("docente", ci, () -> docenteRepository.findById(ci));
+    }
+
+    public Optional<Docente> docentePorEmail(String email) {
+        return buscar("docente.email", email, () -> docenteRepository.findByEmail(email));
+    }
+
+    /** Descarta lo guardado en esta petición; se llama tras escribir alguna de estas entidades. */
+    public void olvidar() {
+        RequestAttributes peticion = RequestContextHolder.getRequestAttributes();
+        if (peticion != null) {
+            peticion.removeAttribute(ATRIBUTO, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Optional<T> buscar(String consulta, Object clave, Supplier<Optional<T>> cargar) {
+        RequestAttributes peticion = RequestContextHolder.getRequestAttributes();
+        if (peticion == null || clave == null) {
+            return cargar.get();
+        }
+        Map<List<Object>, Optional<?>> memo = (Map<List<Object>, Optional<?>>)
+                peticion.getAttribute(ATRIBUTO, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>(); // Una petición se atiende en un solo hilo
+            peticion.setAttribute(ATRIBUTO, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        List<Object> claveMemo = List.of(consulta, clave);
+        Optional<?> guardado = memo.get(claveMemo);
+        if (guardado != null) {
+            ahorrada(peticion, consulta);
+            return (Optional<T>) guardado;
+        }
+        Optional<T> resultado = cargar.get();
+        memo.put(claveMemo, resultado);
+        return resultado;
+    }
+
+    private void ahorrada(RequestAttributes peticion, String consulta) {
+        Counter.builder("consultas.memo.ahorradas")
+                .description("Búsquedas repetidas en una misma petición resueltas sin ir a la base de datos")
+                .tag("endpoint", endpoint(peticion))
+                .tag("consulta", consulta)
+                .register(registry)
+                .increment();
+    }
+
+    // Método y patrón de la ruta (no la URI: /api/estudiantes/{ci} es una sola serie, no una por CI)
+    private static String endpoint(RequestAttributes peticion) {
+        if (!(peticion instanceof ServletRequestAttributes servlet)) {
+            return "desconocido";
+        }
+        HttpServletRequest request = servlet.getRequest();
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (patron != null ? patron : "desconocido");
+    }
+}
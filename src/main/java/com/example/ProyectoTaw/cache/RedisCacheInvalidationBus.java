@@ -0,0 +1,47 @@
+package com.example.ProyectoTaw.cache;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Difunde las invalidaciones por pub/sub de Redis y aplica en el nivel local
+ * las que llegan de otros nodos.
+ */
+public class RedisCacheInvalidationBus implements CacheInvalidationBus, MessageListener {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String canal;
+    private TwoLevelCacheManager cacheManager;
+
+    public RedisCacheInvalidationBus(RedisTemplate<String, Object> redisTemplate, String canal) {
+        this.redisTemplate = redisTemplate;
+        this.canal = canal;
+    }
+
+    /**
+     * Se asigna después de construir el CacheManager (que a su vez necesita este bus).
+     */
+    public void setCacheManager(TwoLevelCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void publicar(CacheInvalidationMessage mensaje) {
+        redisTemplate.convertAndSend(canal, mensaje);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (cacheManager == null) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        RedisSerializer<Object> serializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        Object cuerpo = serializer.deserialize(message.getBody());
+        if (cuerpo instanceof CacheInvalidationMessage mensaje) {
+            cacheManager.aplicarInvalidacionRemota(mensaje);
+        }
+    }
+}
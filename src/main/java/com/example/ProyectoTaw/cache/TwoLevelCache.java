@@ -0,0 +1,250 @@
+package com.example.ProyectoTaw.cache;
+
+import com.example.ProyectoTaw.dto.CacheEstadisticaDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Región de caché con dos niveles:
+ * L1 = Caffeine en memoria del proceso (acotado por tamaño y TTL corto),
+ * L2 = caché compartida entre nodos (Redis en producción).
+ *
+ * Las lecturas consultan L1 y, si falla, L2 (promoviendo el valor a L1).
+ * Las escrituras e invalidaciones se aplican a ambos niveles y se publican
+ * para que los otros nodos descarten su L1. El relleno tras un fallo de lectura
+ * (@Cacheable) no se publica: el valor viene de la base, ningún otro nodo tiene
+ * una copia más nueva que descartar, y publicarlo vaciaría el L1 de todos en cada fallo.
+ * Si L2 no responde, la región sigue funcionando solo con L1 y la base de datos.
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCache.class);
+
+    private final String name;
+    private final Cache<Object, Object> local;
+    private final org.springframework.cache.Cache remota;
+    private final CacheInvalidationBus bus;
+    private final String nodoId;
+
+    // Última clave que este hilo buscó sin encontrarla: el put siguiente de esa clave es el relleno de @Cacheable
+    private final ThreadLocal<Object> pendienteDeRelleno = new ThreadLocal<>();
+
+    // Contadores para medir la eficacia de la caché (ratio de aciertos e invalidaciones)
+    private final LongAdder aciertosLocales = new LongAdder();
+    private final LongAdder aciertosRemotos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder invalidacionesPorClave = new LongAdder();
+    private final LongAdder limpiezasCompletas = new LongAdder();
+
+    public TwoLevelCache(String name,
+                         Cache<Object, Object> local,
+                         org.springframework.cache.Cache remota,
+                         CacheInvalidationBus bus,
+                         String nodoId) {
+        super(true);
+        this.name = name;
+        this.local = local;
+        this.remota = remota;
+        this.bus = bus;
+        this.nodoId = nodoId;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        pendienteDeRelleno.remove();
+        Object valor = local.getIfPresent(key);
+        if (valor != null) {
+            aciertosLocales.increment();
+            return valor;
+        }
+        try {
+            ValueWrapper wrapper = remota.get(key);
+            if (wrapper != null) {
+                Object almacenado = toStoreValue(wrapper.get());
+                local.put(key, almacenado);
+                aciertosRemotos.increment();
+                return almacenado;
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Caché L2 no disponible al leer {}::{}: {}", name, key, e.getMessage());
+        }
+        fallos.increment();
+        pendienteDeRelleno.set(key);
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper existente = get(key);
+        if (existente != null) {
+            return (T) existente.get();
+        }
+        T valor;
+        try {
+            valor = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            pendienteDeRelleno.remove(); // Si el cargador falla no hay relleno: la próxima escritura se publica
+        }
+        guardar(key, valor);
+        return valor;
+    }
+
+    /**
+     * Guarda el valor en ambos niveles. Solo avisa a los otros nodos si es una escritura (@CachePut o una llamada
+     * directa): si el hilo acaba de fallar al leer esta clave, es el relleno de @Cacheable y no se publica.
+     * La marca se consume aquí, así que un @CachePut posterior de la misma clave en el mismo hilo sí se publica.
+     */
+    @Override
+    public void put(Object key, Object value) {
+        boolean relleno = key.equals(pendienteDeRelleno.get());
+        pendienteDeRelleno.remove();
+        guardar(key, value);
+        if (!relleno) {
+            publicar(key);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        pendienteDeRelleno.remove();
+        invalidacionesPorClave.increment();
+        local.invalidate(key);
+        try {
+            remota.evict(key);
+        } catch (RuntimeException e) {
+            logger.warn("Caché L2 no disponible al invalidar {}::{}: {}", name, key, e.getMessage());
+        }
+        publicar(key);
+    }
+
+    @Override
+    public void clear() {
+        pendienteDeRelleno.remove();
+        limpiezasCompletas.increment();
+        local.invalidateAll();
+        try {
+            remota.clear();
+        } catch (RuntimeException e) {
+            logger.warn("Caché L2 no disponible al limpiar {}: {}", name, e.getMessage());
+        }
+        publicar(null);
+    }
+
+    /**
+     * Descarta solo la copia local. Se invoca al recibir una invalidación de otro nodo.
+     * @param key La clave a descartar, o null para vaciar la región local.
+     */
+    public void evictLocal(Object key) {
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    /**
+     * Número aproximado de entradas en el nivel local.
+     */
+    public long localSize() {
+        return local.estimatedSize();
+    }
+
+    /**
+     * Publica los contadores de esta región en Micrometer, etiquetados con cache=nombre de la región:
+     * cache.gets (result=hit|miss, nivel=l1|l2|bd), cache.evictions (expulsiones del nivel local por
+     * tamaño o TTL), cache.invalidaciones (tipo=clave|completa), cache.size y cache.ratio.aciertos.
+     */
+    public void registrarMetricas(MeterRegistry registry) {
+        Tags tags = Tags.of("cache", name);
+        lecturas(registry, tags, aciertosLocales, "hit", "l1");
+        lecturas(registry, tags, aciertosRemotos, "hit", "l2");
+        lecturas(registry, tags, fallos, "miss", "bd");
+        FunctionCounter.builder("cache.evictions", local, c -> c.stats().evictionCount())
+                .tags(tags)
+                .description("Entradas expulsadas del nivel local por tamaño o TTL")
+                .register(registry);
+        FunctionCounter.builder("cache.invalidaciones", invalidacionesPorClave, LongAdder::sum)
+                .tags(tags).tag("tipo", "clave")
+                .description("Invalidaciones de una clave o de la región completa (@CacheEvict, escrituras)")
+                .register(registry);
+        FunctionCounter.builder("cache.invalidaciones", limpiezasCompletas, LongAdder::sum)
+                .tags(tags).tag("tipo", "completa")
+                .description("Invalidaciones de una clave o de la región completa (@CacheEvict, escrituras)")
+                .register(registry);
+        Gauge.builder("cache.size", local, Cache::estimatedSize)
+                .tags(tags)
+                .description("Entradas en el nivel local")
+                .register(registry);
+        Gauge.builder("cache.ratio.aciertos", this, c -> c.estadisticas().getRatioAciertos())
+                .tags(tags)
+                .description("(aciertos L1 + aciertos L2) / lecturas desde el arranque")
+                .register(registry);
+    }
+
+    private static void lecturas(MeterRegistry registry, Tags tags, LongAdder contador, String resultado, String nivel) {
+        FunctionCounter.builder("cache.gets", contador, LongAdder::sum)
+                .tags(tags).tag("result", resultado).tag("nivel", nivel)
+                .description("Lecturas de la región según el nivel que las resolvió")
+                .register(registry);
+    }
+
+    /**
+     * Instantánea de los contadores de esta región.
+     */
+    public CacheEstadisticaDTO estadisticas() {
+        long l1 = aciertosLocales.sum();
+        long l2 = aciertosRemotos.sum();
+        long miss = fallos.sum();
+        long total = l1 + l2 + miss;
+        return CacheEstadisticaDTO.builder()
+                .region(name)
+                .aciertosL1(l1)
+                .aciertosL2(l2)
+                .fallos(miss)
+                .ratioAciertos(total == 0 ? 0.0 : (double) (l1 + l2) / total)
+                .invalidacionesPorClave(invalidacionesPorClave.sum())
+                .limpiezasCompletas(limpiezasCompletas.sum())
+                .tamanoLocal(local.estimatedSize())
+                .build();
+    }
+
+    private void guardar(Object key, Object value) {
+        pendienteDeRelleno.remove();
+        local.put(key, toStoreValue(value));
+        try {
+            remota.put(key, value);
+        } catch (RuntimeException e) {
+            logger.warn("Caché L2 no disponible al escribir {}::{}: {}", name, key, e.getMessage());
+        }
+    }
+
+    private void publicar(Object key) {
+        try {
+            bus.publicar(new CacheInvalidationMessage(nodoId, name, key));
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo publicar la invalidación de {}::{}: {}", name, key, e.getMessage());
+        }
+    }
+}
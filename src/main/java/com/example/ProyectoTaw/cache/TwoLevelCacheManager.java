@@ -0,0 +1,100 @@
+package com.example.ProyectoTaw.cache;
+
+import com.example.ProyectoTaw.dto.CacheEstadisticaDTO;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * CacheManager que compone, para cada región, un nivel local Caffeine
+ * con la región equivalente del CacheManager remoto (Redis o un sustituto en memoria).
+ * Las regiones se crean bajo demanda con el nombre usado en @Cacheable/@CacheEvict.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final CacheManager remoto;
+    private final TwoLevelCacheProperties properties;
+    private final CacheInvalidationBus bus;
+    private final String nodoId = UUID.randomUUID().toString();
+    private volatile MeterRegistry meterRegistry;
+
+    public TwoLevelCacheManager(CacheManager remoto, TwoLevelCacheProperties properties, CacheInvalidationBus bus) {
+        this.remoto = remoto;
+        this.properties = properties;
+        this.bus = bus;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::crearCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * Aplica una invalidación recibida de otro nodo sobre el nivel local.
+     * Los mensajes publicados por este mismo nodo se ignoran.
+     */
+    public void aplicarInvalidacionRemota(CacheInvalidationMessage mensaje) {
+        if (nodoId.equals(mensaje.getOrigen())) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(mensaje.getCacheName());
+        if (cache != null) {
+            cache.evictLocal(mensaje.getKey());
+        }
+    }
+
+    /**
+     * Estadísticas de todas las regiones creadas hasta el momento, ordenadas por nombre.
+     */
+    public List<CacheEstadisticaDTO> estadisticas() {
+        return caches.values().stream()
+                .map(TwoLevelCache::estadisticas)
+                .sorted(Comparator.comparing(CacheEstadisticaDTO::getRegion))
+                .toList();
+    }
+
+    /**
+     * Publica en Micrometer las métricas de las regiones ya creadas y de las que se creen después.
+     */
+    public void registrarMetricas(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        caches.values().forEach(cache -> cache.registrarMetricas(registry));
+    }
+
+    public String getNodoId() {
+        return nodoId;
+    }
+
+    private TwoLevelCache crearCache(String name) {
+        TwoLevelCacheProperties.Spec spec = properties.specFor(name);
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> local = Caffeine.newBuilder()
+                .maximumSize(spec.getMaxSize())
+                .expireAfterWrite(properties.localTtlFor(name))
+                .recordStats()
+                .build();
+        Cache remota = remoto.getCache(name);
+        if (remota == null) {
+            throw new IllegalStateException("El CacheManager remoto no pudo crear la región " + name);
+        }
+        TwoLevelCache cache = new TwoLevelCache(name, local, remota, bus, nodoId);
+        if (meterRegistry != null) {
+            cache.registrarMetricas(meterRegistry);
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.ProyectoTaw.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Propiedades de la caché de dos niveles (Caffeine local + Redis compartido).
+ * Se leen del prefijo {@code app.cache} en application.properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class TwoLevelCacheProperties {
+
+    /** Si es false, el nivel L2 se reemplaza por un mapa en memoria (útil en pruebas y desarrollo). */
+    private boolean redisEnabled = true;
+
+    /** Canal pub/sub de Redis por el que los nodos se avisan de las invalidaciones. */
+    private String invalidationChannel = "proyectotaw:cache:invalidacion";
+
+    /** Prefijo de las claves en Redis, para no chocar con otras aplicaciones. */
+    private String keyPrefix = "proyectotaw:";
+
+    /** TTL por defecto de una región que no tenga configuración propia. */
+    private Duration defaultTtl = Duration.ofMinutes(10);
+
+    /** Número máximo de entradas por defecto en el nivel local (L1) de cada región. */
+    private long defaultMaxSize = 1000;
+
+    /**
+     * TTL máximo del nivel local. Acota cuánto puede quedar obsoleta una entrada L1
+     * si un mensaje de invalidación se pierde.
+     */
+    private Duration localMaxTtl = Duration.ofMinutes(2);
+
+    /** Configuración por región (nombre de caché usado en @Cacheable). */
+    private Map<String, Spec> specs = new HashMap<>();
+
+    /**
+     * Devuelve la configuración de una región, usando los valores por defecto
+     * para lo que no esté definido.
+     */
+    public Spec specFor(String cacheName) {
+        Spec spec = specs.get(cacheName);
+        Spec resuelta = new Spec();
+        resuelta.setTtl(spec != null && spec.getTtl() != null ? spec.getTtl() : defaultTtl);
+        resuelta.setMaxSize(spec != null && spec.getMaxSize() != null ? spec.getMaxSize() : defaultMaxSize);
+        return resuelta;
+    }
+
+    /**
+     * TTL efectivo del nivel local para una región: nunca mayor que el de Redis
+     * ni que {@link #localMaxTtl}.
+     */
+    public Duration localTtlFor(String cacheName) {
+        Duration ttl = specFor(cacheName).getTtl();
+        return ttl.compareTo(localMaxTtl) < 0 ? ttl : localMaxTtl;
+    }
+
+    @Data
+    public static class Spec {
+        private Duration ttl;
+        private Long maxSize;
+    }
+}
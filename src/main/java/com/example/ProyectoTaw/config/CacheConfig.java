@@ -0,0 +1,108 @@
+package com.example.ProyectoTaw.config;
+
+import com.example.ProyectoTaw.cache.CacheInvalidationBus;
+import com.example.ProyectoTaw.cache.RedisCacheInvalidationBus;
+import com.example.ProyectoTaw.cache.TwoLevelCacheManager;
+import com.example.ProyectoTaw.cache.TwoLevelCacheProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuración de la caché de dos niveles usada por los @Cacheable de los servicios.
+ *
+ * Con {@code app.cache.redis-enabled=true} el nivel L2 es Redis y las invalidaciones
+ * viajan por pub/sub. Con {@code false} el L2 es un mapa en memoria que hace de
+ * sustituto de Redis (pruebas, desarrollo en un solo nodo).
+ */
+@Configuration
+@EnableConfigurationProperties(TwoLevelCacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache", name = "redis-enabled", havingValue = "true", matchIfMissing = true)
+    public RedisTemplate<String, Object> cacheInvalidationRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new JdkSerializationRedisSerializer(getClass().getClassLoader()));
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache", name = "redis-enabled", havingValue = "true", matchIfMissing = true)
+    public RedisCacheInvalidationBus redisCacheInvalidationBus(RedisTemplate<String, Object> cacheInvalidationRedisTemplate,
+                                                               TwoLevelCacheProperties properties) {
+        return new RedisCacheInvalidationBus(cacheInvalidationRedisTemplate, properties.getInvalidationChannel());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache", name = "redis-enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                           RedisCacheInvalidationBus bus,
+                                                                           TwoLevelCacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(bus, new ChannelTopic(properties.getInvalidationChannel()));
+        return container;
+    }
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(TwoLevelCacheProperties properties,
+                                             ObjectProvider<RedisConnectionFactory> connectionFactory,
+                                             ObjectProvider<RedisCacheInvalidationBus> redisBus,
+                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        CacheManager remoto;
+        CacheInvalidationBus bus;
+        if (properties.isRedisEnabled()) {
+            remoto = redisCacheManager(connectionFactory.getObject(), properties);
+            bus = redisBus.getObject();
+        } else {
+            remoto = new ConcurrentMapCacheManager();
+            bus = CacheInvalidationBus.LOCAL;
+        }
+
+        TwoLevelCacheManager manager = new TwoLevelCacheManager(remoto, properties, bus);
+        if (bus instanceof RedisCacheInvalidationBus redisCacheInvalidationBus) {
+            redisCacheInvalidationBus.setCacheManager(manager);
+        }
+        // Las regiones se crean bajo demanda, así que el registro de métricas lo hace el propio manager
+        meterRegistry.ifAvailable(manager::registrarMetricas);
+        return manager;
+    }
+
+    private RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory, TwoLevelCacheProperties properties) {
+        RedisCacheConfiguration base = RedisCacheConfiguration.defaultCacheConfig(getClass().getClassLoader())
+                .prefixCacheNameWith(properties.getKeyPrefix())
+                .entryTtl(properties.getDefaultTtl());
+
+        Map<String, RedisCacheConfiguration> porRegion = new HashMap<>();
+        properties.getSpecs().keySet().forEach(nombre ->
+                porRegion.put(nombre, base.entryTtl(properties.specFor(nombre).getTtl())));
+
+        RedisCacheManager manager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(base)
+                .withInitialCacheConfigurations(porRegion)
+                .build();
+        manager.afterPropertiesSet();
+        return manager;
+    }
+}
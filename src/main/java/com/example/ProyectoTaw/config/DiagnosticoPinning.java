@@ -0,0 +1,134 @@
+package com.example.ProyectoTaw.config;
+
+import com.example.ProyectoTaw.dto.PinningEstadisticaDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// Diagnóstico de pinning con hilos virtuales: escucha en proceso el evento JFR jdk.VirtualThreadPinned, que el
+// JDK emite cuando un hilo virtual se bloquea dentro de un synchronized (o en código nativo) y por tanto no puede
+// soltar a su hilo portador. Es el caso típico de drivers JDBC con métodos synchronized.
+// Cada origen se registra en WARN la primera vez, con la pila resumida, y se acumula para
+// GET /api/admin/hilos/pinning. Alternativa sin la aplicación: arrancar la JVM con -Djdk.tracePinnedThreads=short.
+@Component
+public class DiagnosticoPinning {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiagnosticoPinning.class);
+
+    private static final String EVENTO = "jdk.VirtualThreadPinned";
+    private static final String PAQUETE_APLICACION = "com.example.ProyectoTaw.";
+    private static final int MARCOS_EN_LOG = 8;
+
+    private final boolean habilitado;
+    private final Duration umbral;
+    private final Map<String, Acumulado> porOrigen = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public DiagnosticoPinning(@Value("${app.threads.pinning-diagnostics.enabled:false}") boolean habilitado,
+                              @Value("${app.threads.pinning-diagnostics.threshold:20ms}") Duration umbral) {
+        this.habilitado = habilitado;
+        this.umbral = umbral;
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(EVENTO).withThreshold(umbral).withStackTrace();
+        stream.onEvent(EVENTO, this::registrar);
+        stream.startAsync();
+        logger.info("Diagnóstico de pinning de hilos virtuales activo (umbral {} ms)", umbral.toMillis());
+    }
+
+    @PreDestroy
+    public void detener() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    // Orígenes ordenados por número de eventos, el más frecuente primero
+    public List<PinningEstadisticaDTO> estadisticas() {
+        return porOrigen.entrySet().stream()
+                .map(e -> PinningEstadisticaDTO.builder()
+                        .origen(e.getKey())
+                        .eventos(e.getValue().eventos.sum())
+                        .duracionTotalMs(e.getValue().nanos.sum() / 1_000_000.0)
+                        .duracionMaximaMs(e.getValue().maximoNanos.get() / 1_000_000.0)
+                        .build())
+                .sorted(Comparator.comparingLong(PinningEstadisticaDTO::getEventos).reversed())
+                .collect(Collectors.toList());
+    }
+
+    void registrar(RecordedEvent evento) {
+        List<RecordedFrame> marcos = evento.getStackTrace() != null ? evento.getStackTrace().getFrames() : List.of();
+        String origen = origen(marcos);
+        long nanos = evento.getDuration().toNanos();
+
+        Acumulado acumulado = porOrigen.computeIfAbsent(origen, o -> {
+            logger.warn("Hilo virtual fijado a su portador {} ms en {}\n{}", nanos / 1_000_000, o, resumen(marcos));
+            return new Acumulado();
+        });
+        acumulado.eventos.increment();
+        acumulado.nanos.add(nanos);
+        acumulado.maximoNanos.accumulate(nanos);
+    }
+
+    // Primer marco fuera del JDK (el que retiene el monitor) y, si es otro, el primero de la aplicación
+    private static String origen(List<RecordedFrame> marcos) {
+        String externo = null;
+        String aplicacion = null;
+        for (RecordedFrame marco : marcos) {
+            String tipo = marco.getMethod().getType().getName();
+            if (externo == null && !esDelJdk(tipo)) {
+                externo = describir(marco);
+            }
+            if (tipo.startsWith(PAQUETE_APLICACION)) {
+                aplicacion = describir(marco);
+                break;
+            }
+        }
+        if (externo == null) {
+            return marcos.isEmpty() ? "desconocido" : describir(marcos.get(0));
+        }
+        return aplicacion == null || aplicacion.equals(externo) ? externo : externo + " ← " + aplicacion;
+    }
+
+    private static boolean esDelJdk(String tipo) {
+        return tipo.startsWith("java.") || tipo.startsWith("jdk.") || tipo.startsWith("sun.");
+    }
+
+    private static String describir(RecordedFrame marco) {
+        return marco.getMethod().getType().getName() + "." + marco.getMethod().getName() + ":" + marco.getLineNumber();
+    }
+
+    private static String resumen(List<RecordedFrame> marcos) {
+        return marcos.stream()
+                .limit(MARCOS_EN_LOG)
+                .map(marco -> "\tat " + describir(marco))
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static final class Acumulado {
+        private final LongAdder eventos = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAccumulator maximoNanos = new LongAccumulator(Math::max, 0);
+    }
+}
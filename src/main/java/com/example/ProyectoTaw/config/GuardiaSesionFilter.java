@@ -0,0 +1,104 @@
+package com.example.ProyectoTaw.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.session.web.http.SessionRepositoryFilter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Guardia de la API sin estado: detecta las peticiones que crean o usan una HttpSession (con cualquier almacén
+// de SesionConfig) y las cuenta en sesiones.peticiones{uri, resultado=creada|usada}. Cada combinación se
+// registra en WARN la primera vez. Con app.session.guard.reject-creation=true, crear una sesión lanza
+// IllegalStateException en el punto exacto que la pide (útil en pruebas para encontrar al culpable).
+// Va justo después del SessionRepositoryFilter de Spring Session para envolver la petición que ese filtro
+// entrega a la aplicación, y antes de Spring Security.
+@Component
+@Order(SessionRepositoryFilter.DEFAULT_ORDER + 1)
+public class GuardiaSesionFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(GuardiaSesionFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean rechazarCreacion;
+    private final Set<String> avisadas = ConcurrentHashMap.newKeySet();
+
+    public GuardiaSesionFilter(MeterRegistry meterRegistry,
+                               @Value("${app.session.guard.reject-creation:false}") boolean rechazarCreacion) {
+        this.meterRegistry = meterRegistry;
+        this.rechazarCreacion = rechazarCreacion;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        PeticionVigilada vigilada = new PeticionVigilada(request, rechazarCreacion);
+        try {
+            filterChain.doFilter(vigilada, response);
+        } finally {
+            if (vigilada.resultado != null) {
+                reportar(request, vigilada.resultado);
+            }
+        }
+    }
+
+    private void reportar(HttpServletRequest request, String resultado) {
+        // El patrón de la ruta (/api/cursos/{id}) y no la URI real, para no crear una serie por ID
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = patron != null ? patron.toString() : "NO_MAPEADA";
+        Counter.builder("sesiones.peticiones")
+                .description("Peticiones que crean o usan una HttpSession en la API sin estado")
+                .tag("uri", uri)
+                .tag("resultado", resultado)
+                .register(meterRegistry)
+                .increment();
+        if (avisadas.add(resultado + " " + request.getMethod() + " " + uri)) {
+            logger.warn("La petición {} {} {} una HttpSession; la API es sin estado (JWT)",
+                    request.getMethod(), uri, resultado.equals("creada") ? "crea" : "usa");
+        }
+    }
+
+    private static final class PeticionVigilada extends HttpServletRequestWrapper {
+
+        private final boolean rechazarCreacion;
+        private String resultado; // null, "usada" o "creada"
+
+        PeticionVigilada(HttpServletRequest request, boolean rechazarCreacion) {
+            super(request);
+            this.rechazarCreacion = rechazarCreacion;
+        }
+
+        @Override
+        public HttpSession getSession() {
+            return getSession(true);
+        }
+
+        @Override
+        public HttpSession getSession(boolean create) {
+            if (create && rechazarCreacion && super.getSession(false) == null) {
+                throw new IllegalStateException("Se intentó crear una HttpSession en una API sin estado "
+                        + "(app.session.guard.reject-creation=true)");
+            }
+            HttpSession sesion = super.getSession(create);
+            if (sesion != null && !"creada".equals(resultado)) {
+                resultado = sesion.isNew() ? "creada" : "usada";
+            }
+            return sesion;
+        }
+    }
+}
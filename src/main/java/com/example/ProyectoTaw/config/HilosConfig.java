@@ -0,0 +1,22 @@
+package com.example.ProyectoTaw.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Modo de ejecución de peticiones y tareas asíncronas.
+ *
+ * Con {@code spring.threads.virtual.enabled=true} Spring Boot atiende cada petición de Tomcat en un hilo
+ * virtual y configura el applicationTaskExecutor (el de @Async y las peticiones asíncronas de MVC) con un
+ * hilo virtual por tarea. Con {@code false} se mantienen los pools de hilos de plataforma. Aquí solo se
+ * habilita @Async, que usa ese mismo ejecutor en cualquiera de los dos modos.
+ *
+ * Con hilos virtuales el número de peticiones en curso ya no lo acota Tomcat: el límite efectivo frente a
+ * la base de datos es el pool de HikariCP (spring.datasource.hikari.*), y el de tareas @Async
+ * spring.task.execution.simple.concurrency-limit. DiagnosticoPinning avisa de los tramos que fijan el hilo
+ * virtual a su portador (bloques synchronized del driver JDBC, por ejemplo).
+ */
+@Configuration
+@EnableAsync
+public class HilosConfig {
+}
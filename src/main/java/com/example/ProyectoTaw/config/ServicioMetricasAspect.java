@@ -0,0 +1,46 @@
+package com.example.ProyectoTaw.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+// Temporizador "servicio.metodo" para cada método público de las implementaciones de I*Service, con las mismas
+// etiquetas que @Timed de Micrometer: class, method y exception ("none" si terminó bien).
+// Va por fuera de @Cacheable y @Transactional (máxima precedencia): un acierto de caché cuenta como una llamada
+// rápida y el tiempo de commit queda incluido. Las rutas HTTP ya las mide Spring Boot en http.server.requests.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServicioMetricasAspect {
+
+    private final MeterRegistry registry;
+
+    public ServicioMetricasAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.example.ProyectoTaw.service.I*Service+.*(..))")
+    public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample muestra = Timer.start(registry);
+        String excepcion = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            excepcion = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            muestra.stop(Timer.builder("servicio.metodo")
+                    .description("Duración de los métodos de los servicios")
+                    .tag("class", ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", excepcion)
+                    .register(registry));
+        }
+    }
+}
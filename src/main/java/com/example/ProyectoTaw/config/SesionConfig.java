@@ -0,0 +1,127 @@
+package com.example.ProyectoTaw.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.session.JdbcSessionDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.session.JdbcSessionProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.MapSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import org.springframework.session.data.redis.RedisSessionRepository;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Almacén de las HttpSession, elegido con {@code app.session.store}.
+ *
+ * La API es sin estado (JWT y SessionCreationPolicy.STATELESS), así que el valor por defecto es {@code none}:
+ * no se registra el SessionRepositoryFilter de Spring Session y ninguna petición lee ni escribe en una tabla
+ * de sesiones. Si algún código llega a pedir una sesión, el contenedor crea una en memoria y
+ * GuardiaSesionFilter lo avisa. Para los despliegues que sí necesiten sesiones compartidas:
+ * <ul>
+ *   <li>{@code memory}: Spring Session sobre un mapa en memoria, con purga periódica de las vencidas.</li>
+ *   <li>{@code redis}: Spring Session en Redis; las sesiones vencen con el TTL de sus claves.</li>
+ *   <li>{@code jdbc}: Spring Session en las tablas spring_session, con escritura diferida y limpieza por lotes
+ *       (ver SesionesJdbcDiferidas).</li>
+ * </ul>
+ * SessionAutoConfiguration está excluida en ProyectoTawApplication: con spring-session-jdbc en el classpath
+ * activaba el almacén JDBC para todas las peticiones aunque ninguna usara la sesión.
+ */
+@Configuration
+public class SesionConfig {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "app.session", name = "store", havingValue = "memory")
+    @EnableSpringHttpSession
+    @EnableScheduling
+    static class Memoria {
+
+        private final Map<String, Session> sesiones = new ConcurrentHashMap<>();
+
+        @Bean
+        public MapSessionRepository sessionRepository(@Value("${spring.session.timeout:30m}") Duration timeout) {
+            MapSessionRepository repositorio = new MapSessionRepository(sesiones);
+            repositorio.setDefaultMaxInactiveInterval(timeout);
+            return repositorio;
+        }
+
+        // MapSessionRepository solo descarta una sesión vencida cuando se vuelve a pedir
+        @Scheduled(fixedDelayString = "${app.session.memory.cleanup-interval:1m}")
+        public void purgarVencidas() {
+            sesiones.values().removeIf(Session::isExpired);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "app.session", name = "store", havingValue = "redis")
+    @EnableSpringHttpSession
+    static class Redis {
+
+        @Bean
+        public RedisSessionRepository sessionRepository(RedisConnectionFactory connectionFactory,
+                                                        @Value("${spring.session.timeout:30m}") Duration timeout) {
+            RedisTemplate<String, Object> template = new RedisTemplate<>();
+            template.setConnectionFactory(connectionFactory);
+            template.setKeySerializer(new StringRedisSerializer());
+            template.setHashKeySerializer(new StringRedisSerializer());
+            template.afterPropertiesSet();
+
+            RedisSessionRepository repositorio = new RedisSessionRepository(template);
+            repositorio.setDefaultMaxInactiveInterval(timeout);
+            repositorio.setRedisKeyNamespace("proyectotaw:sesiones");
+            return repositorio;
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "app.session", name = "store", havingValue = "jdbc")
+    @EnableConfigurationProperties(JdbcSessionProperties.class)
+    @EnableSpringHttpSession
+    @EnableScheduling
+    static class Jdbc {
+
+        @Bean
+        public JdbcSessionDataSourceScriptDatabaseInitializer jdbcSessionDataSourceInitializer(
+                DataSource dataSource, JdbcSessionProperties properties) {
+            return new JdbcSessionDataSourceScriptDatabaseInitializer(dataSource, properties);
+        }
+
+        @Bean
+        public SesionesJdbcDiferidas<?> sessionRepository(
+                JdbcTemplate jdbcTemplate,
+                PlatformTransactionManager transactionManager,
+                JdbcSessionProperties properties,
+                MeterRegistry meterRegistry,
+                @Value("${spring.session.timeout:30m}") Duration timeout,
+                @Value("${app.session.jdbc.write-behind:true}") boolean escrituraDiferida,
+                @Value("${app.session.jdbc.cleanup-batch-size:500}") int tamanoLote) {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            JdbcIndexedSessionRepository repositorio = new JdbcIndexedSessionRepository(jdbcTemplate, transactionTemplate);
+            repositorio.setTableName(properties.getTableName());
+            repositorio.setDefaultMaxInactiveInterval(timeout);
+            repositorio.setFlushMode(properties.getFlushMode());
+            repositorio.setSaveMode(properties.getSaveMode());
+            // La limpieza de sesiones vencidas la hace SesionesJdbcDiferidas por lotes, no un único DELETE
+            repositorio.setCleanupCron(Scheduled.CRON_DISABLED);
+            repositorio.afterPropertiesSet();
+            return new SesionesJdbcDiferidas<>(repositorio, jdbcTemplate, transactionTemplate, properties.getTableName(),
+                    escrituraDiferida, tamanoLote, meterRegistry);
+        }
+    }
+}
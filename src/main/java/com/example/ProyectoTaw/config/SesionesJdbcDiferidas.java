@@ -0,0 +1,149 @@
+package com.example.ProyectoTaw.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Almacén JDBC de Spring Session (app.session.store=jdbc) con escritura diferida y limpieza por lotes.
+ *
+ * Escritura diferida (app.session.jdbc.write-behind=true): save() deja la sesión en memoria y
+ * volcar() la escribe cada app.session.jdbc.flush-interval, cada una en su propia transacción corta: si una
+ * falla, vuelve a quedar pendiente para el volcado siguiente sin arrastrar a las demás. Varias peticiones
+ * sobre la misma sesión dentro del intervalo cuestan un solo UPDATE (sobre todo el de LAST_ACCESS_TIME),
+ * y mientras tanto findById la devuelve desde memoria. A cambio, si el proceso cae se pierden los cambios
+ * del último intervalo y dos nodos no ven al instante lo que escribe el otro: con varias instancias
+ * detrás de un balanceador sin afinidad, desactivarla o usar app.session.store=redis.
+ *
+ * Limpieza: en lugar del DELETE único de JdbcIndexedSessionRepository (que en una tabla grande bloquea
+ * muchas filas a la vez), purgarVencidas() borra las vencidas en lotes de app.session.jdbc.cleanup-batch-size
+ * filas, cada lote en su propia transacción corta.
+ */
+public class SesionesJdbcDiferidas<S extends Session> implements SessionRepository<S>, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SesionesJdbcDiferidas.class);
+
+    private final SessionRepository<S> delegado;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String borrarVencidasSql;
+    private final boolean escrituraDiferida;
+    private final int tamanoLote;
+    private final Map<String, S> pendientes = new ConcurrentHashMap<>();
+    private final Counter guardadosSolicitados;
+    private final Counter guardadosEscritos;
+
+    // delegado: el JdbcIndexedSessionRepository (su tipo de sesión no es público, de ahí el genérico)
+    public SesionesJdbcDiferidas(SessionRepository<S> delegado, JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate, String tabla,
+                                 boolean escrituraDiferida, int tamanoLote, MeterRegistry meterRegistry) {
+        this.delegado = delegado;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.escrituraDiferida = escrituraDiferida;
+        this.tamanoLote = tamanoLote;
+        // Los atributos se borran en cascada (FK ON DELETE CASCADE de SPRING_SESSION_ATTRIBUTES)
+        this.borrarVencidasSql = "DELETE FROM " + tabla + " WHERE PRIMARY_ID IN (SELECT PRIMARY_ID FROM " + tabla
+                + " WHERE EXPIRY_TIME < ? LIMIT " + tamanoLote + ")";
+        this.guardadosSolicitados = Counter.builder("sesiones.jdbc.guardados")
+                .description("Guardados de sesión pedidos por Spring Session y escritos en la base de datos")
+                .tag("resultado", "solicitado")
+                .register(meterRegistry);
+        this.guardadosEscritos = Counter.builder("sesiones.jdbc.guardados")
+                .description("Guardados de sesión pedidos por Spring Session y escritos en la base de datos")
+                .tag("resultado", "escrito")
+                .register(meterRegistry);
+        Gauge.builder("sesiones.jdbc.pendientes", pendientes, Map::size)
+                .description("Sesiones modificadas a la espera del siguiente volcado")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public S createSession() {
+        return delegado.createSession();
+    }
+
+    @Override
+    public void save(S session) {
+        guardadosSolicitados.increment();
+        if (!escrituraDiferida) {
+            delegado.save(session);
+            guardadosEscritos.increment();
+            return;
+        }
+        pendientes.put(session.getId(), session); // Si ya estaba pendiente, se sustituye: un solo UPDATE por intervalo
+    }
+
+    @Override
+    public S findById(String id) {
+        S pendiente = pendientes.get(id);
+        if (pendiente != null && id.equals(pendiente.getId())) { // Tras changeSessionId la clave antigua no vale
+            if (pendiente.isExpired()) {
+                deleteById(id);
+                return null;
+            }
+            return pendiente;
+        }
+        return delegado.findById(id);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        pendientes.remove(id);
+        delegado.deleteById(id);
+    }
+
+    @Scheduled(fixedDelayString = "${app.session.jdbc.flush-interval:5s}")
+    public void volcar() {
+        if (pendientes.isEmpty()) {
+            return;
+        }
+        pendientes.forEach((id, sesion) -> {
+            // remove(id, sesion): si otra petición la vuelve a guardar mientras tanto, queda para el siguiente volcado
+            if (!pendientes.remove(id, sesion)) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> delegado.save(sesion));
+                guardadosEscritos.increment();
+            } catch (RuntimeException e) {
+                // putIfAbsent: si otra petición la guardó mientras tanto, esa versión es la más nueva
+                pendientes.putIfAbsent(id, sesion);
+                logger.warn("No se pudo volcar la sesión {}; se reintenta en el siguiente volcado: {}", id, e.getMessage());
+            }
+        });
+    }
+
+    @Scheduled(cron = "${app.session.jdbc.cleanup-cron:0 * * * * *}")
+    public void purgarVencidas() {
+        int total = 0;
+        int borradas;
+        do {
+            borradas = jdbcTemplate.update(borrarVencidasSql, System.currentTimeMillis());
+            total += borradas;
+        } while (borradas == tamanoLote);
+        if (total > 0) {
+            logger.debug("Sesiones vencidas eliminadas: {}", total);
+        }
+    }
+
+    // Al parar la aplicación se escribe lo pendiente antes de cerrar el pool de conexiones
+    @Override
+    public void destroy() throws Exception {
+        volcar();
+        if (delegado instanceof DisposableBean disposable) {
+            disposable.destroy();
+        }
+    }
+}
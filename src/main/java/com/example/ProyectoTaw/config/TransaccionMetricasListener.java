@@ -0,0 +1,65 @@
+package com.example.ProyectoTaw.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Métricas de las transacciones del JpaTransactionManager (Spring Boot registra este listener en él):
+// "transacciones" mide desde el inicio hasta el commit o rollback (resultado=commit|rollback|error-commit,
+// solo-lectura=true|false) y "transacciones.inicio.fallido" cuenta las que no pudieron empezar, normalmente
+// porque el pool de HikariCP no entregó una conexión a tiempo (la API responde 503).
+// Solo se miden las transacciones reales; las que participan en una ya abierta no disparan el listener.
+@Component
+public class TransaccionMetricasListener implements TransactionExecutionListener {
+
+    private final MeterRegistry registry;
+    private final Counter iniciosFallidos;
+    private final Map<TransactionExecution, Long> inicios = new ConcurrentHashMap<>();
+
+    public TransaccionMetricasListener(MeterRegistry registry) {
+        this.registry = registry;
+        this.iniciosFallidos = Counter.builder("transacciones.inicio.fallido")
+                .description("Transacciones que no pudieron empezar (sin conexión disponible, base de datos caída)")
+                .register(registry);
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, @Nullable Throwable beginFailure) {
+        if (beginFailure != null) {
+            iniciosFallidos.increment();
+        } else {
+            inicios.put(transaction, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        registrar(transaction, commitFailure == null ? "commit" : "error-commit");
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, @Nullable Throwable rollbackFailure) {
+        registrar(transaction, "rollback");
+    }
+
+    private void registrar(TransactionExecution transaction, String resultado) {
+        Long inicio = inicios.remove(transaction);
+        if (inicio == null) {
+            return;
+        }
+        Timer.builder("transacciones")
+                .description("Duración de las transacciones desde el inicio hasta el commit o rollback")
+                .tag("resultado", resultado)
+                .tag("solo-lectura", String.valueOf(transaction.isReadOnly()))
+                .register(registry)
+                .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,14 +1,22 @@
 package com.example.ProyectoTaw.controller;
 
+import com.example.ProyectoTaw.dto.BloqueoEdicionDTO;
 import com.example.ProyectoTaw.dto.AsisteDTO;
-import com.example.ProyectoTaw.model.Asiste; // Necesario para el método de bloqueo
+import com.example.ProyectoTaw.dto.AsistenciaLoteDTO;
+import com.example.ProyectoTaw.dto.AsistenciaLoteResultadoDTO;
+import com.example.ProyectoTaw.dto.AsistenciaResumenDTO;
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
+import com.example.ProyectoTaw.service.IBloqueoEdicionService;
 import com.example.ProyectoTaw.service.IAsisteService;
+import com.example.ProyectoTaw.service.IAsistenciaResumenService;
 
 import jakarta.validation.Valid; // Para habilitar la validación en el DTO
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -17,10 +25,15 @@ import java.util.List;
 public class AsisteController {
 
     private final IAsisteService asisteService;
+    private final IBloqueoEdicionService bloqueoEdicionService;
+    private final IAsistenciaResumenService asistenciaResumenService;
 
     @Autowired // Inyección de dependencias del servicio
-    public AsisteController(IAsisteService asisteService) {
+    public AsisteController(IAsisteService asisteService, IBloqueoEdicionService bloqueoEdicionService,
+                            IAsistenciaResumenService asistenciaResumenService) {
         this.asisteService = asisteService;
+        this.bloqueoEdicionService = bloqueoEdicionService;
+        this.asistenciaResumenService = asistenciaResumenService;
     }
 
     /**
@@ -34,6 +47,31 @@ public class AsisteController {
         return new ResponseEntity<>(asistencias, HttpStatus.OK);
     }
 
+    /**
+     * Endpoint para obtener las asistencias paginadas y ordenadas.
+     * GET /api/asistencias?page=0&size=20&sort=fecha,desc
+     * @param pageable Página (desde 0), tamaño (máx. 100) y orden por atributos de la entidad.
+     * @return ResponseEntity con un PaginaDTO de AsisteDTO y estado HTTP 200 (OK).
+     */
+    @GetMapping(params = {"page", "!cursor"})
+    public ResponseEntity<PaginaDTO<AsisteDTO>> getAsistenciasPaginadas(Pageable pageable) {
+        return new ResponseEntity<>(asisteService.obtenerAsistenciasPaginadas(pageable), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint para recorrer las asistencias por cursor (paginación keyset por clave primaria).
+     * GET /api/asistencias?cursor=&size=50 para la primera página; después ?cursor={siguienteCursor}
+     * @param cursor Valor de siguienteCursor de la página anterior (vacío para empezar).
+     * @param size Tamaño de página (máx. 100).
+     * @return ResponseEntity con un CursorPaginaDTO de AsisteDTO y estado HTTP 200 (OK).
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPaginaDTO<AsisteDTO>> getAsistenciasPorCursor(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return new ResponseEntity<>(asisteService.obtenerAsistenciasDesde(cursor, size), HttpStatus.OK);
+    }
+
     /**
      * Endpoint para obtener un registro de asistencia por su ID.
      * GET /api/asistencias/{id}
@@ -71,6 +109,28 @@ public class AsisteController {
         return new ResponseEntity<>(asistencias, HttpStatus.OK);
     }
 
+    /**
+     * Endpoint para obtener el porcentaje de asistencia de cada estudiante de un curso.
+     * GET /api/asistencias/curso/{cursoIdCurso}/resumen
+     * @param cursoIdCurso El ID del curso.
+     * @return ResponseEntity con una lista de AsistenciaResumenDTO y estado HTTP 200 (OK).
+     */
+    @GetMapping("/curso/{cursoIdCurso}/resumen")
+    public ResponseEntity<List<AsistenciaResumenDTO>> getResumenByCursoIdCurso(@PathVariable Integer cursoIdCurso) {
+        return new ResponseEntity<>(asistenciaResumenService.obtenerResumenPorCurso(cursoIdCurso), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint para obtener el porcentaje de asistencia de un estudiante en cada uno de sus cursos.
+     * GET /api/asistencias/estudiante/{estudianteCi}/resumen
+     * @param estudianteCi La CI del estudiante.
+     * @return ResponseEntity con una lista de AsistenciaResumenDTO y estado HTTP 200 (OK).
+     */
+    @GetMapping("/estudiante/{estudianteCi}/resumen")
+    public ResponseEntity<List<AsistenciaResumenDTO>> getResumenByEstudianteCi(@PathVariable String estudianteCi) {
+        return new ResponseEntity<>(asistenciaResumenService.obtenerResumenPorEstudiante(estudianteCi), HttpStatus.OK);
+    }
+
     /**
      * Endpoint para obtener todos los registros de asistencia de un estudiante en un curso específico.
      * GET /api/asistencias/estudiante/{estudianteCi}/curso/{cursoIdCurso}
@@ -98,6 +158,19 @@ public class AsisteController {
         return new ResponseEntity<>(createdAsistencia, HttpStatus.CREATED);
     }
 
+    /**
+     * Endpoint para registrar la asistencia de todo un curso en una fecha (toma de lista).
+     * Crea o actualiza todos los registros en una sola transacción.
+     * POST /api/asistencias/lote
+     * @param loteDTO Curso, fecha y mapa CI del estudiante → presente. Se valida automáticamente con @Valid.
+     * @return ResponseEntity con el resumen del lote y estado HTTP 200 (OK).
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<AsistenciaLoteResultadoDTO> registrarAsistenciaLote(@Valid @RequestBody AsistenciaLoteDTO loteDTO) {
+        AsistenciaLoteResultadoDTO resultado = asisteService.registrarAsistenciaLote(loteDTO);
+        return new ResponseEntity<>(resultado, HttpStatus.OK);
+    }
+
     /**
      * Endpoint para actualizar un registro de asistencia existente por su ID.
      * PUT /api/asistencias/{id}
@@ -126,16 +199,19 @@ public class AsisteController {
     }
 
     /**
-     * Endpoint para obtener un registro de asistencia con bloqueo pesimista.
-     * Este endpoint es para casos específicos de alta concurrencia donde se necesita asegurar
-     * la exclusividad sobre un registro durante una operación.
-     * GET /api/asistencias/{id}/bloqueo
-     * @param id El ID del registro de asistencia.
-     * @return ResponseEntity con la entidad Asiste y estado HTTP 200 (OK).
+     * Endpoint para bloquear un registro de asistencia mientras se edita (bloqueo con vencimiento).
+     * Si otro usuario ya lo tiene y no ha vencido, responde 409 (CONFLICT) sin esperar.
+     * Se renueva con PUT /api/bloqueos/{token} y se libera con DELETE /api/bloqueos/{token}.
+     * POST /api/asistencias/{id}/bloqueo?ttlSegundos=
+     * @param id El ID del registro.
+     * @param ttlSegundos Duración del bloqueo (opcional, app.bloqueos.ttl-por-defecto si no se indica).
+     * @return ResponseEntity con el BloqueoEdicionDTO y estado HTTP 201 (CREATED).
      */
-    @GetMapping("/{id}/bloqueo")
-    public ResponseEntity<Asiste> getAsistenciaWithLock(@PathVariable Long id) {
-        Asiste asistencia = asisteService.obtenerAsistenciaConBloqueo(id);
-        return new ResponseEntity<>(asistencia, HttpStatus.OK);
+    @PostMapping("/{id}/bloqueo")
+    public ResponseEntity<BloqueoEdicionDTO> adquirirBloqueo(@PathVariable Long id,
+                                                             @RequestParam(required = false) Integer ttlSegundos) {
+        asisteService.obtenerAsistenciaPorId(id); // Valida que el registro exista
+        BloqueoEdicionDTO bloqueo = bloqueoEdicionService.adquirir("asistencia", String.valueOf(id), ttlSegundos);
+        return new ResponseEntity<>(bloqueo, HttpStatus.CREATED);
     }
 }
\ No newline at end of file
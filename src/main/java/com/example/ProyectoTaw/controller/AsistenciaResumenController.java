@@ -0,0 +1,32 @@
+package com.example.ProyectoTaw.controller;
+
+import com.example.ProyectoTaw.dto.ReconstruccionResumenDTO;
+import com.example.ProyectoTaw.service.IAsistenciaResumenService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/asistencia-resumen") // Protegido por SecurityConfig: solo ROL_ADMIN
+public class AsistenciaResumenController {
+
+    private final IAsistenciaResumenService asistenciaResumenService;
+
+    @Autowired
+    public AsistenciaResumenController(IAsistenciaResumenService asistenciaResumenService) {
+        this.asistenciaResumenService = asistenciaResumenService;
+    }
+
+    /**
+     * Endpoint para recalcular el resumen de asistencia desde la tabla asiste (p. ej. tras cargas directas en la base).
+     * POST /api/admin/asistencia-resumen/reconstruir
+     * @return ResponseEntity con un ReconstruccionResumenDTO y estado HTTP 200 (OK).
+     */
+    @PostMapping("/reconstruir")
+    public ResponseEntity<ReconstruccionResumenDTO> reconstruir() {
+        return ResponseEntity.ok(asistenciaResumenService.reconstruir());
+    }
+}
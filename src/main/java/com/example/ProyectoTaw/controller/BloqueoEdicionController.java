@@ -0,0 +1,54 @@
+package com.example.ProyectoTaw.controller;
+
+import com.example.ProyectoTaw.dto.BloqueoEdicionDTO;
+import com.example.ProyectoTaw.service.IBloqueoEdicionService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Renovación y liberación de los bloqueos de edición. Se adquieren con POST /api/{recurso}/{id}/bloqueo.
+ */
+@RestController
+@RequestMapping("/api/bloqueos") // Cualquier usuario autenticado; el servicio comprueba que sea el titular
+public class BloqueoEdicionController {
+
+    private final IBloqueoEdicionService bloqueoEdicionService;
+
+    @Autowired
+    public BloqueoEdicionController(IBloqueoEdicionService bloqueoEdicionService) {
+        this.bloqueoEdicionService = bloqueoEdicionService;
+    }
+
+    /**
+     * Endpoint para extender un bloqueo antes de que venza.
+     * PUT /api/bloqueos/{token}?ttlSegundos=
+     * @param token Token devuelto al adquirir el bloqueo.
+     * @param ttlSegundos Nueva duración a partir de ahora (opcional).
+     * @return ResponseEntity con el BloqueoEdicionDTO y estado HTTP 200 (OK), o 409 si ya no es del usuario.
+     */
+    @PutMapping("/{token}")
+    public ResponseEntity<BloqueoEdicionDTO> renovarBloqueo(@PathVariable String token,
+                                                            @RequestParam(required = false) Integer ttlSegundos) {
+        return ResponseEntity.ok(bloqueoEdicionService.renovar(token, ttlSegundos));
+    }
+
+    /**
+     * Endpoint para liberar un bloqueo al terminar de editar.
+     * DELETE /api/bloqueos/{token}
+     * @param token Token devuelto al adquirir el bloqueo.
+     * @return ResponseEntity con estado HTTP 204 (NO_CONTENT).
+     */
+    @DeleteMapping("/{token}")
+    public ResponseEntity<Void> liberarBloqueo(@PathVariable String token) {
+        bloqueoEdicionService.liberar(token);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.ProyectoTaw.controller;
+
+import com.example.ProyectoTaw.dto.PaginaDTO;
+import com.example.ProyectoTaw.dto.ResultadoBusquedaDTO;
+import com.example.ProyectoTaw.service.IBusquedaService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search") // Cualquier usuario autenticado
+public class BusquedaController {
+
+    private final IBusquedaService busquedaService;
+
+    @Autowired
+    public BusquedaController(IBusquedaService busquedaService) {
+        this.busquedaService = busquedaService;
+    }
+
+    /**
+     * Endpoint de búsqueda en estudiantes, docentes y materias, ordenada por relevancia.
+     * GET /api/search?q=jose perez&tipos=ESTUDIANTE,DOCENTE&page=0&size=20
+     * @param q Texto a buscar; sin distinguir mayúsculas ni tildes, cada palabra puede ser un prefijo.
+     * @param tipos Opcional: ESTUDIANTE, DOCENTE y/o MATERIA (por defecto los tres).
+     */
+    @GetMapping
+    public ResponseEntity<PaginaDTO<ResultadoBusquedaDTO>> buscar(
+            @RequestParam String q,
+            @RequestParam(required = false) Set<ResultadoBusquedaDTO.Tipo> tipos,
+            Pageable pageable) {
+        return new ResponseEntity<>(busquedaService.buscar(q, tipos, pageable), HttpStatus.OK);
+    }
+}
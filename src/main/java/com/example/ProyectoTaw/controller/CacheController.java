@@ -0,0 +1,34 @@
+package com.example.ProyectoTaw.controller;
+
+import com.example.ProyectoTaw.cache.TwoLevelCacheManager;
+import com.example.ProyectoTaw.dto.CacheEstadisticaDTO;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/cache") // Protegido por SecurityConfig: solo ROL_ADMIN
+public class CacheController {
+
+    private final TwoLevelCacheManager cacheManager;
+
+    @Autowired
+    public CacheController(TwoLevelCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Endpoint para consultar el ratio de aciertos e invalidaciones de cada región de caché.
+     * GET /api/admin/cache/estadisticas
+     * @return ResponseEntity con una lista de CacheEstadisticaDTO y estado HTTP 200 (OK).
+     */
+    @GetMapping("/estadisticas")
+    public ResponseEntity<List<CacheEstadisticaDTO>> getEstadisticas() {
+        return ResponseEntity.ok(cacheManager.estadisticas());
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.ProyectoTaw.controller;
 
+import com.example.ProyectoTaw.dto.BloqueoEdicionDTO;
 import com.example.ProyectoTaw.dto.CursoDTO;
-import com.example.ProyectoTaw.model.Curso;
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
+import com.example.ProyectoTaw.service.IBloqueoEdicionService;
 import com.example.ProyectoTaw.service.ICursoService;
 import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException;
 
@@ -10,6 +13,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -18,10 +22,12 @@ import java.util.List;
 public class CursoController {
 
     private final ICursoService cursoService;
+    private final IBloqueoEdicionService bloqueoEdicionService;
 
     @Autowired
-    public CursoController(ICursoService cursoService) {
+    public CursoController(ICursoService cursoService, IBloqueoEdicionService bloqueoEdicionService) {
         this.cursoService = cursoService;
+        this.bloqueoEdicionService = bloqueoEdicionService;
     }
 
     @GetMapping
@@ -30,6 +36,18 @@ public class CursoController {
         return new ResponseEntity<>(cursos, HttpStatus.OK);
     }
 
+    @GetMapping(params = {"page", "!cursor"})
+    public ResponseEntity<PaginaDTO<CursoDTO>> getCursosPaginadas(Pageable pageable) {
+        return new ResponseEntity<>(cursoService.obtenerCursosPaginados(pageable), HttpStatus.OK);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPaginaDTO<CursoDTO>> getCursosPorCursor(
+            @RequestParam(required = false) Integer cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return new ResponseEntity<>(cursoService.obtenerCursosDesde(cursor, size), HttpStatus.OK);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<CursoDTO> getCursoById(@PathVariable Integer id) {
         CursoDTO curso = cursoService.obtenerCursoPorId(id);
@@ -73,9 +91,20 @@ public class CursoController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
-    @GetMapping("/{id}/bloqueo")
-    public ResponseEntity<Curso> getCursoWithLock(@PathVariable Integer id) {
-        Curso curso = cursoService.obtenerCursoConBloqueo(id);
-        return new ResponseEntity<>(curso, HttpStatus.OK);
+    /**
+     * Endpoint para bloquear un curso mientras se edita (bloqueo con vencimiento).
+     * Si otro usuario ya lo tiene y no ha vencido, responde 409 (CONFLICT) sin esperar.
+     * Se renueva con PUT /api/bloqueos/{token} y se libera con DELETE /api/bloqueos/{token}.
+     * POST /api/cursos/{id}/bloqueo?ttlSegundos=
+     * @param id El ID del registro.
+     * @param ttlSegundos Duración del bloqueo (opcional, app.bloqueos.ttl-por-defecto si no se indica).
+     * @return ResponseEntity con el BloqueoEdicionDTO y estado HTTP 201 (CREATED).
+     */
+    @PostMapping("/{id}/bloqueo")
+    public ResponseEntity<BloqueoEdicionDTO> adquirirBloqueo(@PathVariable Integer id,
+                                                             @RequestParam(required = false) Integer ttlSegundos) {
+        cursoService.obtenerCursoPorId(id); // Valida que el registro exista
+        BloqueoEdicionDTO bloqueo = bloqueoEdicionService.adquirir("curso", String.valueOf(id), ttlSegundos);
+        return new ResponseEntity<>(bloqueo, HttpStatus.CREATED);
     }
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.example.ProyectoTaw.controller;
 
+import com.example.ProyectoTaw.dto.BloqueoEdicionDTO;
 import com.example.ProyectoTaw.dto.DocenteDTO;
-import com.example.ProyectoTaw.model.Docente; // Necesario para el método de bloqueo
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
+import com.example.ProyectoTaw.service.IBloqueoEdicionService;
 import com.example.ProyectoTaw.service.IDocenteService;
 import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException; // Asegúrate de que esta ruta sea correcta
 
@@ -10,6 +13,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -19,10 +23,12 @@ import java.util.List;
 public class DocenteController {
 
     private final IDocenteService docenteService;
+    private final IBloqueoEdicionService bloqueoEdicionService;
 
     @Autowired // Inyección de dependencias del servicio
-    public DocenteController(IDocenteService docenteService) {
+    public DocenteController(IDocenteService docenteService, IBloqueoEdicionService bloqueoEdicionService) {
         this.docenteService = docenteService;
+        this.bloqueoEdicionService = bloqueoEdicionService;
     }
 
     /**
@@ -36,6 +42,31 @@ public class DocenteController {
         return new ResponseEntity<>(docentes, HttpStatus.OK);
     }
 
+    /**
+     * Endpoint para obtener los docentes paginados y ordenados.
+     * GET /api/docentes?page=0&size=20&sort=apellido,asc
+     * @param pageable Página (desde 0), tamaño (máx. 100) y orden por atributos de la entidad.
+     * @return ResponseEntity con un PaginaDTO de DocenteDTO y estado HTTP 200 (OK).
+     */
+    @GetMapping(params = {"page", "!cursor"})
+    public ResponseEntity<PaginaDTO<DocenteDTO>> getDocentesPaginadas(Pageable pageable) {
+        return new ResponseEntity<>(docenteService.obtenerDocentesPaginados(pageable), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint para recorrer los docentes por cursor (paginación keyset por clave primaria).
+     * GET /api/docentes?cursor=&size=50 para la primera página; después ?cursor={siguienteCursor}
+     * @param cursor Valor de siguienteCursor de la página anterior (vacío para empezar).
+     * @param size Tamaño de página (máx. 100).
+     * @return ResponseEntity con un CursorPaginaDTO de DocenteDTO y estado HTTP 200 (OK).
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPaginaDTO<DocenteDTO>> getDocentesPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return new ResponseEntity<>(docenteService.obtenerDocentesDesde(cursor, size), HttpStatus.OK);
+    }
+
     /**
      * Endpoint para obtener un Docente por su CI.
      * GET /api/docentes/{ci}
@@ -101,16 +132,19 @@ public class DocenteController {
     }
 
     /**
-     * Endpoint para obtener un Docente con bloqueo pesimista.
-     * Este endpoint es para casos específicos de alta concurrencia donde se necesita asegurar
-     * la exclusividad sobre un registro durante una operación.
-     * GET /api/docentes/{ci}/bloqueo
-     * @param ci El Carnet de Identidad del Docente.
-     * @return ResponseEntity con la entidad Docente y estado HTTP 200 (OK).
+     * Endpoint para bloquear un docente mientras se edita (bloqueo con vencimiento).
+     * Si otro usuario ya lo tiene y no ha vencido, responde 409 (CONFLICT) sin esperar.
+     * Se renueva con PUT /api/bloqueos/{token} y se libera con DELETE /api/bloqueos/{token}.
+     * POST /api/docentes/{ci}/bloqueo?ttlSegundos=
+     * @param ci El Carnet de Identidad del registro.
+     * @param ttlSegundos Duración del bloqueo (opcional, app.bloqueos.ttl-por-defecto si no se indica).
+     * @return ResponseEntity con el BloqueoEdicionDTO y estado HTTP 201 (CREATED).
      */
-    @GetMapping("/{ci}/bloqueo")
-    public ResponseEntity<Docente> getDocenteWithLock(@PathVariable String ci) {
-        Docente docente = docenteService.obtenerDocenteConBloqueo(ci);
-        return new ResponseEntity<>(docente, HttpStatus.OK);
+    @PostMapping("/{ci}/bloqueo")
+    public ResponseEntity<BloqueoEdicionDTO> adquirirBloqueo(@PathVariable String ci,
+                                                             @RequestParam(required = false) Integer ttlSegundos) {
+        docenteService.obtenerDocentePorCi(ci); // Valida que el registro exista
+        BloqueoEdicionDTO bloqueo = bloqueoEdicionService.adquirir("docente", String.valueOf(ci), ttlSegundos);
+        return new ResponseEntity<>(bloqueo, HttpStatus.CREATED);
     }
 }
@@ -1,7 +1,10 @@
 package com.example.ProyectoTaw.controller;
 
+import com.example.ProyectoTaw.dto.BloqueoEdicionDTO;
 import com.example.ProyectoTaw.dto.EstudianteDTO;
-import com.example.ProyectoTaw.model.Estudiante; // Necesario para el método de bloqueo
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
+import com.example.ProyectoTaw.service.IBloqueoEdicionService;
 import com.example.ProyectoTaw.service.IEstudianteService;
 import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException; // Asegúrate de que esta ruta sea correcta
 
@@ -10,6 +13,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -19,10 +23,12 @@ import java.util.List;
 public class EstudianteController {
 
     private final IEstudianteService estudianteService;
+    private final IBloqueoEdicionService bloqueoEdicionService;
 
     @Autowired // Inyección de dependencias del servicio
-    public EstudianteController(IEstudianteService estudianteService) {
+    public EstudianteController(IEstudianteService estudianteService, IBloqueoEdicionService bloqueoEdicionService) {
         this.estudianteService = estudianteService;
+        this.bloqueoEdicionService = bloqueoEdicionService;
     }
 
     /**
@@ -36,6 +42,31 @@ public class EstudianteController {
         return new ResponseEntity<>(estudiantes, HttpStatus.OK);
     }
 
+    /**
+     * Endpoint para obtener los estudiantes paginados y ordenados.
+     * GET /api/estudiantes?page=0&size=20&sort=apellido,asc
+     * @param pageable Página (desde 0), tamaño (máx. 100) y orden por atributos de la entidad.
+     * @return ResponseEntity con un PaginaDTO de EstudianteDTO y estado HTTP 200 (OK).
+     */
+    @GetMapping(params = {"page", "!cursor"})
+    public ResponseEntity<PaginaDTO<EstudianteDTO>> getEstudiantesPaginadas(Pageable pageable) {
+        return new ResponseEntity<>(estudianteService.obtenerEstudiantesPaginados(pageable), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint para recorrer los estudiantes por cursor (paginación keyset por clave primaria).
+     * GET /api/estudiantes?cursor=&size=50 para la primera página; después ?cursor={siguienteCursor}
+     * @param cursor Valor de siguienteCursor de la página anterior (vacío para empezar).
+     * @param size Tamaño de página (máx. 100).
+     * @return ResponseEntity con un CursorPaginaDTO de EstudianteDTO y estado HTTP 200 (OK).
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPaginaDTO<EstudianteDTO>> getEstudiantesPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return new ResponseEntity<>(estudianteService.obtenerEstudiantesDesde(cursor, size), HttpStatus.OK);
+    }
+
     /**
      * Endpoint para obtener un estudiante por su CI.
      * GET /api/estudiantes/{ci}
@@ -101,17 +132,20 @@ public class EstudianteController {
     }
 
     /**
-     * Endpoint para obtener un estudiante con bloqueo pesimista.
-     * Este endpoint es para casos específicos de alta concurrencia donde se necesita asegurar
-     * la exclusividad sobre un registro durante una operación.
-     * GET /api/estudiantes/{ci}/bloqueo
-     * @param ci El Carnet de Identidad del estudiante.
-     * @return ResponseEntity con la entidad Estudiante y estado HTTP 200 (OK).
+     * Endpoint para bloquear un estudiante mientras se edita (bloqueo con vencimiento).
+     * Si otro usuario ya lo tiene y no ha vencido, responde 409 (CONFLICT) sin esperar.
+     * Se renueva con PUT /api/bloqueos/{token} y se libera con DELETE /api/bloqueos/{token}.
+     * POST /api/estudiantes/{ci}/bloqueo?ttlSegundos=
+     * @param ci El Carnet de Identidad del registro.
+     * @param ttlSegundos Duración del bloqueo (opcional, app.bloqueos.ttl-por-defecto si no se indica).
+     * @return ResponseEntity con el BloqueoEdicionDTO y estado HTTP 201 (CREATED).
      */
-    @GetMapping("/{ci}/bloqueo")
-    public ResponseEntity<Estudiante> getEstudianteWithLock(@PathVariable String ci) {
-        Estudiante estudiante = estudianteService.obtenerEstudianteConBloqueo(ci);
-        return new ResponseEntity<>(estudiante, HttpStatus.OK);
+    @PostMapping("/{ci}/bloqueo")
+    public ResponseEntity<BloqueoEdicionDTO> adquirirBloqueo(@PathVariable String ci,
+                                                             @RequestParam(required = false) Integer ttlSegundos) {
+        estudianteService.obtenerEstudiantePorCi(ci); // Valida que el registro exista
+        BloqueoEdicionDTO bloqueo = bloqueoEdicionService.adquirir("estudiante", String.valueOf(ci), ttlSegundos);
+        return new ResponseEntity<>(bloqueo, HttpStatus.CREATED);
     }
     // Inside EstudianteController class
     /**
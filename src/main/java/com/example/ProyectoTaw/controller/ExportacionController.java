@@ -0,0 +1,78 @@
+package com.example.ProyectoTaw.controller;
+
+import com.example.ProyectoTaw.dto.FiltroExportacionDTO;
+import com.example.ProyectoTaw.export.FormatoExportacion;
+import com.example.ProyectoTaw.service.IExportacionService;
+import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/admin/exportaciones") // Protegido por SecurityConfig: solo ROL_ADMIN
+public class ExportacionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportacionController.class);
+
+    private final IExportacionService exportacionService;
+
+    @Autowired
+    public ExportacionController(IExportacionService exportacionService) {
+        this.exportacionService = exportacionService;
+    }
+
+    /**
+     * Endpoint para exportar asistencias escribiendo directamente en la respuesta, sin cargarlas en memoria.
+     * GET /api/admin/exportaciones/asistencias?formato=csv&cursoId=1&semestre=1&anio=2025&desde=2025-02-01&hasta=2025-06-30
+     * @param filtro Filtros opcionales por curso, semestre/año del curso y rango de fechas.
+     * @param formato ndjson (por defecto) o csv.
+     */
+    @GetMapping("/asistencias")
+    public void exportarAsistencias(FiltroExportacionDTO filtro,
+                                    @RequestParam(defaultValue = "ndjson") String formato,
+                                    HttpServletResponse response) throws IOException {
+        FormatoExportacion f = prepararRespuesta(filtro, formato, "asistencias", response);
+        long inicio = System.currentTimeMillis();
+        long filas = exportacionService.exportarAsistencias(filtro, f, response.getOutputStream());
+        logger.info("[EXPORTACION] asistencias: {} filas en {} ms", filas, System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Endpoint para exportar notas escribiendo directamente en la respuesta, sin cargarlas en memoria.
+     * GET /api/admin/exportaciones/notas?formato=ndjson&semestre=1&anio=2025
+     * @param filtro Filtros opcionales por curso, semestre/año del curso y rango de fechas.
+     * @param formato ndjson (por defecto) o csv.
+     */
+    @GetMapping("/notas")
+    public void exportarNotas(FiltroExportacionDTO filtro,
+                              @RequestParam(defaultValue = "ndjson") String formato,
+                              HttpServletResponse response) throws IOException {
+        FormatoExportacion f = prepararRespuesta(filtro, formato, "notas", response);
+        long inicio = System.currentTimeMillis();
+        long filas = exportacionService.exportarNotas(filtro, f, response.getOutputStream());
+        logger.info("[EXPORTACION] notas: {} filas en {} ms", filas, System.currentTimeMillis() - inicio);
+    }
+
+    // Valida antes de escribir nada: una vez empezado el stream ya no se puede responder con un error JSON
+    private FormatoExportacion prepararRespuesta(FiltroExportacionDTO filtro, String formato,
+                                                 String nombre, HttpServletResponse response) {
+        FormatoExportacion f = FormatoExportacion.desde(formato);
+        if (filtro.getDesde() != null && filtro.getHasta() != null && filtro.getDesde().isAfter(filtro.getHasta())) {
+            throw new BusinessException("La fecha 'desde' no puede ser posterior a 'hasta'.");
+        }
+        response.setContentType(f.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + nombre + "." + f.getExtension() + "\"");
+        return f;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.ProyectoTaw.controller;
+
+import com.example.ProyectoTaw.config.DiagnosticoPinning;
+import com.example.ProyectoTaw.dto.PinningEstadisticaDTO;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/hilos") // Protegido por SecurityConfig: solo ROL_ADMIN
+public class HilosController {
+
+    private final DiagnosticoPinning diagnosticoPinning;
+
+    @Autowired
+    public HilosController(DiagnosticoPinning diagnosticoPinning) {
+        this.diagnosticoPinning = diagnosticoPinning;
+    }
+
+    /**
+     * Endpoint para consultar dónde quedaron fijados los hilos virtuales a su hilo portador.
+     * Solo acumula datos con app.threads.pinning-diagnostics.enabled=true.
+     * GET /api/admin/hilos/pinning
+     * @return ResponseEntity con una lista de PinningEstadisticaDTO y estado HTTP 200 (OK).
+     */
+    @GetMapping("/pinning")
+    public ResponseEntity<List<PinningEstadisticaDTO>> getPinning() {
+        return ResponseEntity.ok(diagnosticoPinning.estadisticas());
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.ProyectoTaw.controller;
+
+import com.example.ProyectoTaw.dto.FranjaLibreDTO;
+import com.example.ProyectoTaw.service.IHorarioService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/horarios") // Cualquier usuario autenticado
+public class HorarioController {
+
+    private final IHorarioService horarioService;
+
+    @Autowired
+    public HorarioController(IHorarioService horarioService) {
+        this.horarioService = horarioService;
+    }
+
+    /**
+     * Endpoint para buscar tramos de la jornada libres para todos los docentes y estudiantes indicados.
+     * GET /api/horarios/libres?dia=Lunes&docentes=123,456&estudiantes=789&duracion=90
+     * @param dia Opcional: un día (por defecto de lunes a sábado).
+     * @param docentes Opcional: CIs de docentes.
+     * @param estudiantes Opcional: CIs de estudiantes. Sin docentes ni estudiantes, tramos sin ningún curso.
+     * @param duracion Minutos mínimos del tramo (por defecto 60).
+     * @return ResponseEntity con la lista de FranjaLibreDTO y estado HTTP 200 (OK).
+     */
+    @GetMapping("/libres")
+    public ResponseEntity<List<FranjaLibreDTO>> buscarFranjasLibres(
+            @RequestParam(required = false) String dia,
+            @RequestParam(required = false) List<String> docentes,
+            @RequestParam(required = false) List<String> estudiantes,
+            @RequestParam(defaultValue = "60") int duracion) {
+        return new ResponseEntity<>(horarioService.buscarFranjasLibres(dia, docentes, estudiantes, duracion), HttpStatus.OK);
+    }
+}
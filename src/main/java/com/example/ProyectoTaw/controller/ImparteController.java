@@ -1,7 +1,10 @@
 package com.example.ProyectoTaw.controller;
 
+import com.example.ProyectoTaw.dto.BloqueoEdicionDTO;
 import com.example.ProyectoTaw.dto.ImparteDTO;
-import com.example.ProyectoTaw.model.Imparte;
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
+import com.example.ProyectoTaw.service.IBloqueoEdicionService;
 import com.example.ProyectoTaw.service.IImparteService;
 
 import jakarta.validation.Valid;
@@ -9,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -20,10 +24,12 @@ import java.util.List;
 public class ImparteController {
 
     private final IImparteService imparteService;
+    private final IBloqueoEdicionService bloqueoEdicionService;
 
     @Autowired
-    public ImparteController(IImparteService imparteService) {
+    public ImparteController(IImparteService imparteService, IBloqueoEdicionService bloqueoEdicionService) {
         this.imparteService = imparteService;
+        this.bloqueoEdicionService = bloqueoEdicionService;
     }
 
     /**
@@ -34,6 +40,31 @@ public class ImparteController {
         return ResponseEntity.ok(imparteService.obtenerTodasLasRelaciones());
     }
 
+    /**
+     * Endpoint para obtener las relaciones Materia-Docente paginadas y ordenadas.
+     * GET /api/materiadocente?page=0&size=20&sort=idImparte,desc
+     * @param pageable Página (desde 0), tamaño (máx. 100) y orden por atributos de la entidad.
+     * @return ResponseEntity con un PaginaDTO de ImparteDTO y estado HTTP 200 (OK).
+     */
+    @GetMapping(params = {"page", "!cursor"})
+    public ResponseEntity<PaginaDTO<ImparteDTO>> getRelacionesPaginadas(Pageable pageable) {
+        return ResponseEntity.ok(imparteService.obtenerRelacionesPaginadas(pageable));
+    }
+
+    /**
+     * Endpoint para recorrer las relaciones Materia-Docente por cursor (paginación keyset por clave primaria).
+     * GET /api/materiadocente?cursor=&size=50 para la primera página; después ?cursor={siguienteCursor}
+     * @param cursor Valor de siguienteCursor de la página anterior (vacío para empezar).
+     * @param size Tamaño de página (máx. 100).
+     * @return ResponseEntity con un CursorPaginaDTO de ImparteDTO y estado HTTP 200 (OK).
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPaginaDTO<ImparteDTO>> getRelacionesPorCursor(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(imparteService.obtenerRelacionesDesde(cursor, size));
+    }
+
     /**
      * Obtiene una relación por su ID.
      */
@@ -97,11 +128,19 @@ public class ImparteController {
     }
 
     /**
-     * Obtiene una relación con bloqueo pesimista (simulación de concurrencia).
+     * Endpoint para bloquear una relación Docente-Materia mientras se edita (bloqueo con vencimiento).
+     * Si otro usuario ya lo tiene y no ha vencido, responde 409 (CONFLICT) sin esperar.
+     * Se renueva con PUT /api/bloqueos/{token} y se libera con DELETE /api/bloqueos/{token}.
+     * POST /api/materiadocente/{id}/bloqueo?ttlSegundos=
+     * @param id El ID del registro.
+     * @param ttlSegundos Duración del bloqueo (opcional, app.bloqueos.ttl-por-defecto si no se indica).
+     * @return ResponseEntity con el BloqueoEdicionDTO y estado HTTP 201 (CREATED).
      */
-    @GetMapping("/{id}/bloqueo")
-    public ResponseEntity<Imparte> getRelacionWithLock(@PathVariable Long id) {
-        Imparte bloqueada = imparteService.obtenerRelacionConBloqueo(id);
-        return ResponseEntity.ok(bloqueada);
+    @PostMapping("/{id}/bloqueo")
+    public ResponseEntity<BloqueoEdicionDTO> adquirirBloqueo(@PathVariable Long id,
+                                                             @RequestParam(required = false) Integer ttlSegundos) {
+        imparteService.obtenerRelacionPorId(id); // Valida que el registro exista
+        BloqueoEdicionDTO bloqueo = bloqueoEdicionService.adquirir("imparte", String.valueOf(id), ttlSegundos);
+        return new ResponseEntity<>(bloqueo, HttpStatus.CREATED);
     }
 }
@@ -0,0 +1,68 @@
+package com.example.ProyectoTaw.controller;
+
+import com.example.ProyectoTaw.export.FormatoExportacion;
+import com.example.ProyectoTaw.importacion.TipoImportacion;
+import com.example.ProyectoTaw.service.IImportacionService;
+import com.example.ProyectoTaw.service.IImportacionService.Resumen;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/admin/importaciones") // Protegido por SecurityConfig: solo ROL_ADMIN
+public class ImportacionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportacionController.class);
+
+    private final IImportacionService importacionService;
+
+    @Autowired
+    public ImportacionController(IImportacionService importacionService) {
+        this.importacionService = importacionService;
+    }
+
+    /**
+     * Endpoint para dar de alta estudiantes, docentes o materias desde un CSV con cabecera enviado como cuerpo
+     * (Content-Type: text/csv). El archivo se lee a medida que llega y el informe por fila se escribe en la respuesta.
+     * POST /api/admin/importaciones/estudiantes?formato=csv
+     * @param tipo estudiantes, docentes o materias.
+     * @param formato Formato del informe: ndjson (por defecto) o csv.
+     */
+    @PostMapping("/{tipo}")
+    public void importar(@PathVariable String tipo,
+                         @RequestParam(defaultValue = "ndjson") String formato,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        TipoImportacion t = TipoImportacion.desde(tipo);
+        FormatoExportacion f = FormatoExportacion.desde(formato);
+        String nombre = t.name().toLowerCase(Locale.ROOT);
+        long inicio = System.currentTimeMillis();
+        Resumen resumen = importacionService.importar(t, request.getInputStream(), f,
+                () -> prepararRespuesta(f, nombre, response));
+        logger.info("[IMPORTACION] {}: {} filas, {} insertadas en {} ms",
+                nombre, resumen.filas(), resumen.insertadas(), System.currentTimeMillis() - inicio);
+    }
+
+    // El servicio la llama tras validar la cabecera: si falla antes, la respuesta sigue siendo un error JSON
+    private static OutputStream prepararRespuesta(FormatoExportacion f, String nombre,
+                                                  HttpServletResponse response) throws IOException {
+        response.setContentType(f.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"importacion-" + nombre + "." + f.getExtension() + "\"");
+        return response.getOutputStream();
+    }
+}
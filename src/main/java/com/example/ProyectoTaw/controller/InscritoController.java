@@ -2,8 +2,13 @@
 
 package com.example.ProyectoTaw.controller;
 
+import com.example.ProyectoTaw.dto.BloqueoEdicionDTO;
 import com.example.ProyectoTaw.dto.InscritoDTO;
-import com.example.ProyectoTaw.model.Inscrito;
+import com.example.ProyectoTaw.dto.InscripcionDetalleDTO;
+import com.example.ProyectoTaw.dto.MateriaDTO;
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
+import com.example.ProyectoTaw.service.IBloqueoEdicionService;
 import com.example.ProyectoTaw.service.IInscritoService;
 import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException;
 
@@ -12,6 +17,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.data.domain.Pageable;
 import org.slf4j.Logger; // <--- Importar
 import org.slf4j.LoggerFactory; // <--- Importar
 
@@ -24,12 +30,14 @@ import java.util.List;
 public class InscritoController {
 
     private final IInscritoService inscritoService;
+    private final IBloqueoEdicionService bloqueoEdicionService;
     // <--- AGREGAR ESTO SI NO LO TIENES
     private static final Logger logger = LoggerFactory.getLogger(InscritoController.class);
 
     @Autowired
-    public InscritoController(IInscritoService inscritoService) {
+    public InscritoController(IInscritoService inscritoService, IBloqueoEdicionService bloqueoEdicionService) {
         this.inscritoService = inscritoService;
+        this.bloqueoEdicionService = bloqueoEdicionService;
     }
 
     @GetMapping
@@ -37,6 +45,18 @@ public class InscritoController {
         return new ResponseEntity<>(inscritoService.obtenerTodasLasInscripciones(), HttpStatus.OK);
     }
 
+    @GetMapping(params = {"page", "!cursor"})
+    public ResponseEntity<PaginaDTO<InscritoDTO>> getInscripcionesPaginadas(Pageable pageable) {
+        return new ResponseEntity<>(inscritoService.obtenerInscripcionesPaginadas(pageable), HttpStatus.OK);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPaginaDTO<InscritoDTO>> getInscripcionesPorCursor(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return new ResponseEntity<>(inscritoService.obtenerInscripcionesDesde(cursor, size), HttpStatus.OK);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<InscritoDTO> getInscripcionById(@PathVariable Long id) {
         return new ResponseEntity<>(inscritoService.obtenerInscripcionPorId(id), HttpStatus.OK);
@@ -47,6 +67,18 @@ public class InscritoController {
         return new ResponseEntity<>(inscritoService.obtenerInscripcionesPorEstudiante(estudianteCi), HttpStatus.OK);
     }
 
+    // Inscripciones con nombre y descripción de la materia, sus docentes y sus cursos, en una sola petición
+    @GetMapping("/estudiante/{estudianteCi}/detalle")
+    public ResponseEntity<List<InscripcionDetalleDTO>> getInscripcionesDetalleByEstudiante(@PathVariable String estudianteCi) {
+        return new ResponseEntity<>(inscritoService.obtenerInscripcionesDetallePorEstudiante(estudianteCi), HttpStatus.OK);
+    }
+
+    // Materias que el estudiante puede inscribir según sus notas, sus inscripciones recientes y los prerrequisitos
+    @GetMapping("/estudiante/{estudianteCi}/materias-disponibles")
+    public ResponseEntity<List<MateriaDTO>> getMateriasDisponibles(@PathVariable String estudianteCi) {
+        return new ResponseEntity<>(inscritoService.obtenerMateriasDisponibles(estudianteCi), HttpStatus.OK);
+    }
+
     @GetMapping("/materia/{materiaCodigoUnico}")
     public ResponseEntity<List<InscritoDTO>> getInscripcionesByMateria(@PathVariable String materiaCodigoUnico) {
         return new ResponseEntity<>(inscritoService.obtenerInscripcionesPorMateria(materiaCodigoUnico), HttpStatus.OK);
@@ -78,10 +110,21 @@ public class InscritoController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
-    @GetMapping("/{id}/bloqueo")
-    public ResponseEntity<Inscrito> getInscripcionWithLock(@PathVariable Long id) {
-        Inscrito inscripcion = inscritoService.obtenerInscripcionConBloqueo(id);
-        return new ResponseEntity<>(inscripcion, HttpStatus.OK);
+    /**
+     * Endpoint para bloquear una inscripción mientras se edita (bloqueo con vencimiento).
+     * Si otro usuario ya lo tiene y no ha vencido, responde 409 (CONFLICT) sin esperar.
+     * Se renueva con PUT /api/bloqueos/{token} y se libera con DELETE /api/bloqueos/{token}.
+     * POST /api/inscripciones/{id}/bloqueo?ttlSegundos=
+     * @param id El ID del registro.
+     * @param ttlSegundos Duración del bloqueo (opcional, app.bloqueos.ttl-por-defecto si no se indica).
+     * @return ResponseEntity con el BloqueoEdicionDTO y estado HTTP 201 (CREATED).
+     */
+    @PostMapping("/{id}/bloqueo")
+    public ResponseEntity<BloqueoEdicionDTO> adquirirBloqueo(@PathVariable Long id,
+                                                             @RequestParam(required = false) Integer ttlSegundos) {
+        inscritoService.obtenerInscripcionPorId(id); // Valida que el registro exista
+        BloqueoEdicionDTO bloqueo = bloqueoEdicionService.adquirir("inscripcion", String.valueOf(id), ttlSegundos);
+        return new ResponseEntity<>(bloqueo, HttpStatus.CREATED);
     }
 
     // *******************************************************************
@@ -3,6 +3,8 @@
 package com.example.ProyectoTaw.controller;
 
 import com.example.ProyectoTaw.dto.MateriaDTO;
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
 import com.example.ProyectoTaw.service.IMateriaService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -11,6 +13,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -37,6 +40,18 @@ public class MateriaController {
         return ResponseEntity.ok(materias);
     }
 
+    @GetMapping(params = {"page", "!cursor"})
+    public ResponseEntity<PaginaDTO<MateriaDTO>> getMateriasPaginadas(Pageable pageable) {
+        return ResponseEntity.ok(materiaService.obtenerMateriasPaginadas(pageable));
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPaginaDTO<MateriaDTO>> getMateriasPorCursor(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(materiaService.obtenerMateriasDesde(cursor, size));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<MateriaDTO> obtenerMateriaPorId(@PathVariable Long id) {
         long inicio = System.currentTimeMillis();
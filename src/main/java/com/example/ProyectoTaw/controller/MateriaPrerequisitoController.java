@@ -1,5 +1,6 @@
 package com.example.ProyectoTaw.controller;
 
+import com.example.ProyectoTaw.dto.MateriaPlanDTO;
 import com.example.ProyectoTaw.dto.MateriaPrerequisitoDTO;
 import com.example.ProyectoTaw.service.IMateriaPrerequisitoService;
 
@@ -40,6 +41,24 @@ public class MateriaPrerequisitoController {
         return ResponseEntity.ok(relaciones);
     }
 
+    /**
+     * Endpoint con la cadena completa de prerrequisitos de una materia, en orden de estudio.
+     * GET /api/materias-prerequisitos/materia/{materiaId}/cadena
+     */
+    @GetMapping("/materia/{materiaId}/cadena")
+    public ResponseEntity<List<MateriaPlanDTO>> listarCadena(@PathVariable Long materiaId) {
+        return ResponseEntity.ok(prerequisitoService.listarCadenaDePrerequisitos(materiaId));
+    }
+
+    /**
+     * Endpoint con todas las materias en orden topológico (por nivel): cada una después de sus prerrequisitos.
+     * GET /api/materias-prerequisitos/orden-estudio
+     */
+    @GetMapping("/orden-estudio")
+    public ResponseEntity<List<MateriaPlanDTO>> listarOrdenDeEstudio() {
+        return ResponseEntity.ok(prerequisitoService.listarOrdenDeEstudio());
+    }
+
     @GetMapping("/prerequisito/{prerequisitoId}")
     public ResponseEntity<List<MateriaPrerequisitoDTO>> listarPorPrerequisito(@PathVariable Long prerequisitoId) {
         List<MateriaPrerequisitoDTO> relaciones = prerequisitoService.listarPorPrerequisitoId(prerequisitoId);
@@ -1,6 +1,9 @@
 package com.example.ProyectoTaw.controller;
 
+import com.example.ProyectoTaw.dto.EstadisticasCursoDTO;
 import com.example.ProyectoTaw.dto.RegistraNotaDTO;
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
 import com.example.ProyectoTaw.service.IRegistraNotaService;
 
 import jakarta.transaction.Transactional;
@@ -10,6 +13,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.data.domain.Pageable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,6 +41,18 @@ public class RegistraNotaController {
         return ResponseEntity.ok(notas);
     }
 
+    @GetMapping(params = {"page", "!cursor"})
+    public ResponseEntity<PaginaDTO<RegistraNotaDTO>> getNotasPaginadas(Pageable pageable) {
+        return ResponseEntity.ok(registraNotaService.listarNotasPaginadas(pageable));
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPaginaDTO<RegistraNotaDTO>> getNotasPorCursor(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(registraNotaService.listarNotasDesde(cursor, size));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<RegistraNotaDTO> obtenerNotaPorId(@PathVariable Long id) {
         long inicio = System.currentTimeMillis();
@@ -47,6 +63,12 @@ public class RegistraNotaController {
         return ResponseEntity.ok(nota);
     }
 
+    // Promedio, percentiles, aprobados e histograma del curso y de cada evaluación (en caché por curso)
+    @GetMapping("/curso/{cursoId}/estadisticas")
+    public ResponseEntity<EstadisticasCursoDTO> obtenerEstadisticasDeCurso(@PathVariable Integer cursoId) {
+        return ResponseEntity.ok(registraNotaService.obtenerEstadisticasDeCurso(cursoId));
+    }
+
     @PostMapping
     @Transactional
     public ResponseEntity<RegistraNotaDTO> crearNota(@Valid @RequestBody RegistraNotaDTO notaDTO) {
@@ -1,7 +1,10 @@
 package com.example.ProyectoTaw.controller;
 
+import com.example.ProyectoTaw.dto.BloqueoEdicionDTO;
 import com.example.ProyectoTaw.dto.SeDaDTO;
-import com.example.ProyectoTaw.model.SeDa; // Necesario para el método de bloqueo
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
+import com.example.ProyectoTaw.service.IBloqueoEdicionService;
 import com.example.ProyectoTaw.service.ISeDaService;
 
 import jakarta.validation.Valid; // Para habilitar la validación en el DTO
@@ -9,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -17,10 +21,12 @@ import java.util.List;
 public class SeDaController {
 
     private final ISeDaService seDaService;
+    private final IBloqueoEdicionService bloqueoEdicionService;
 
     @Autowired // Inyección de dependencias del servicio
-    public SeDaController(ISeDaService seDaService) {
+    public SeDaController(ISeDaService seDaService, IBloqueoEdicionService bloqueoEdicionService) {
         this.seDaService = seDaService;
+        this.bloqueoEdicionService = bloqueoEdicionService;
     }
 
     /**
@@ -34,6 +40,31 @@ public class SeDaController {
         return new ResponseEntity<>(relaciones, HttpStatus.OK);
     }
 
+    /**
+     * Endpoint para obtener las relaciones Materia-Curso paginadas y ordenadas.
+     * GET /api/materiacurso?page=0&size=20&sort=idSeDa,desc
+     * @param pageable Página (desde 0), tamaño (máx. 100) y orden por atributos de la entidad.
+     * @return ResponseEntity con un PaginaDTO de SeDaDTO y estado HTTP 200 (OK).
+     */
+    @GetMapping(params = {"page", "!cursor"})
+    public ResponseEntity<PaginaDTO<SeDaDTO>> getRelacionesPaginadas(Pageable pageable) {
+        return new ResponseEntity<>(seDaService.obtenerRelacionesPaginadas(pageable), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint para recorrer las relaciones Materia-Curso por cursor (paginación keyset por clave primaria).
+     * GET /api/materiacurso?cursor=&size=50 para la primera página; después ?cursor={siguienteCursor}
+     * @param cursor Valor de siguienteCursor de la página anterior (vacío para empezar).
+     * @param size Tamaño de página (máx. 100).
+     * @return ResponseEntity con un CursorPaginaDTO de SeDaDTO y estado HTTP 200 (OK).
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPaginaDTO<SeDaDTO>> getRelacionesPorCursor(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return new ResponseEntity<>(seDaService.obtenerRelacionesDesde(cursor, size), HttpStatus.OK);
+    }
+
     /**
      * Endpoint para obtener una relación Materia-Curso por su ID.
      * GET /api/materiacurso/{id}
@@ -126,16 +157,19 @@ public class SeDaController {
     }
 
     /**
-     * Endpoint para obtener un registro de relación Materia-Curso con bloqueo pesimista.
-     * Este endpoint es para casos específicos de alta concurrencia donde se necesita asegurar
-     * la exclusividad sobre un registro durante una operación.
-     * GET /api/materiacurso/{id}/bloqueo
-     * @param id El ID del registro de la relación.
-     * @return ResponseEntity con la entidad SeDa y estado HTTP 200 (OK).
+     * Endpoint para bloquear una relación Materia-Curso mientras se edita (bloqueo con vencimiento).
+     * Si otro usuario ya lo tiene y no ha vencido, responde 409 (CONFLICT) sin esperar.
+     * Se renueva con PUT /api/bloqueos/{token} y se libera con DELETE /api/bloqueos/{token}.
+     * POST /api/materiacurso/{id}/bloqueo?ttlSegundos=
+     * @param id El ID del registro.
+     * @param ttlSegundos Duración del bloqueo (opcional, app.bloqueos.ttl-por-defecto si no se indica).
+     * @return ResponseEntity con el BloqueoEdicionDTO y estado HTTP 201 (CREATED).
      */
-    @GetMapping("/{id}/bloqueo")
-    public ResponseEntity<SeDa> getRelacionWithLock(@PathVariable Long id) {
-        SeDa relacion = seDaService.obtenerRelacionConBloqueo(id);
-        return new ResponseEntity<>(relacion, HttpStatus.OK);
+    @PostMapping("/{id}/bloqueo")
+    public ResponseEntity<BloqueoEdicionDTO> adquirirBloqueo(@PathVariable Long id,
+                                                             @RequestParam(required = false) Integer ttlSegundos) {
+        seDaService.obtenerRelacionPorId(id); // Valida que el registro exista
+        BloqueoEdicionDTO bloqueo = bloqueoEdicionService.adquirir("materiacurso", String.valueOf(id), ttlSegundos);
+        return new ResponseEntity<>(bloqueo, HttpStatus.CREATED);
     }
 }
\ No newline at end of file
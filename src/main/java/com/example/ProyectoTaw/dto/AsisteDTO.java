@@ -7,12 +7,13 @@ import lombok.NoArgsConstructor;
 
 import jakarta.validation.constraints.*;
 import java.time.LocalDate;
+import java.io.Serializable;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class AsisteDTO {
+public class AsisteDTO implements Serializable {
 
     private Long idAsiste; // Nuevo campo para el ID autoincrementable (puede ser nulo en la creación)
 
@@ -28,4 +29,6 @@ public class AsisteDTO {
 
     @NotNull(message = "El estado de presencia es obligatorio")
     private Boolean presente;
-}
\ No newline at end of file
+
+    private Long version; // Versión leída por el cliente; si se envía al actualizar debe coincidir con la actual
+}
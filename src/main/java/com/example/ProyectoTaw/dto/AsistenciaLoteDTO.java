@@ -0,0 +1,32 @@
+package com.example.ProyectoTaw.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.*;
+import java.time.LocalDate;
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Toma de asistencia de un curso completo en una fecha: CI del estudiante → presente.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AsistenciaLoteDTO implements Serializable {
+
+    @NotNull(message = "El ID del curso es obligatorio")
+    private Integer cursoIdCurso;
+
+    @NotNull(message = "La fecha de asistencia es obligatoria")
+    @PastOrPresent(message = "La fecha de asistencia no puede ser futura")
+    private LocalDate fecha;
+
+    @NotEmpty(message = "Debe indicar la asistencia de al menos un estudiante")
+    private Map<@NotBlank(message = "El C.I. del estudiante es obligatorio") String,
+                @NotNull(message = "El estado de presencia es obligatorio") Boolean> asistencias;
+}
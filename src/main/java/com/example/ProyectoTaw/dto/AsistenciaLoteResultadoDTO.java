@@ -0,0 +1,32 @@
+package com.example.ProyectoTaw.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.io.Serializable;
+
+/**
+ * Resumen de una toma de asistencia por lote.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AsistenciaLoteResultadoDTO implements Serializable {
+
+    private Integer cursoIdCurso;
+
+    private LocalDate fecha;
+
+    /** Registros nuevos insertados */
+    private int creadas;
+
+    /** Registros existentes cuyo estado de presencia cambió */
+    private int actualizadas;
+
+    /** Registros existentes que ya tenían el mismo estado */
+    private int sinCambios;
+}
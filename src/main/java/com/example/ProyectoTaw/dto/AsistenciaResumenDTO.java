@@ -0,0 +1,31 @@
+package com.example.ProyectoTaw.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Asistencia acumulada de un estudiante en un curso.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AsistenciaResumenDTO implements Serializable {
+
+    private Integer cursoIdCurso;
+
+    private String estudianteCi;
+
+    /** Asistencias con presente = true */
+    private int presentes;
+
+    /** Asistencias registradas */
+    private int total;
+
+    /** presentes / total en %, con dos decimales */
+    private double porcentaje;
+}
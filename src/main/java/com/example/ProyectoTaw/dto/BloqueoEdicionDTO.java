@@ -0,0 +1,36 @@
+package com.example.ProyectoTaw.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Bloqueo de edición concedido sobre un registro.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BloqueoEdicionDTO implements Serializable {
+
+    /** Tipo de registro: curso, estudiante, docente, asistencia, inscripcion, imparte, materiacurso */
+    private String recurso;
+
+    /** ID (o CI) del registro bloqueado */
+    private String recursoId;
+
+    /** Se envía para renovar (PUT /api/bloqueos/{token}) o liberar (DELETE /api/bloqueos/{token}) */
+    private String token;
+
+    /** Usuario que tiene el bloqueo */
+    private String titular;
+
+    private LocalDateTime adquiridoEn;
+
+    /** Pasado este instante, cualquier otro usuario puede adquirirlo */
+    private LocalDateTime expiraEn;
+}
@@ -0,0 +1,42 @@
+package com.example.ProyectoTaw.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Estadísticas de uso de una región de caché.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheEstadisticaDTO implements Serializable {
+
+    /** Nombre de la región (el usado en @Cacheable) */
+    private String region;
+
+    /** Lecturas resueltas por el nivel local (Caffeine) */
+    private long aciertosL1;
+
+    /** Lecturas resueltas por el nivel compartido (Redis) */
+    private long aciertosL2;
+
+    /** Lecturas que tuvieron que ir a la base de datos */
+    private long fallos;
+
+    /** (aciertosL1 + aciertosL2) / total de lecturas */
+    private double ratioAciertos;
+
+    /** Invalidaciones de una clave concreta */
+    private long invalidacionesPorClave;
+
+    /** Vaciados completos de la región (allEntries = true) */
+    private long limpiezasCompletas;
+
+    /** Entradas actualmente en el nivel local */
+    private long tamanoLocal;
+}
@@ -6,12 +6,13 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import jakarta.validation.constraints.*; // Import for validation annotations
+import java.io.Serializable;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class CursoDTO {
+public class CursoDTO implements Serializable {
 
     private Integer idCurso;
 
@@ -35,4 +36,6 @@ public class CursoDTO {
     @Min(value = 1900, message = "El año debe ser posterior a 1900")
     @Max(value = 2100, message = "El año no puede ser superior a 2100")
     private Integer anio;
-}
\ No newline at end of file
+
+    private Long version; // Versión leída por el cliente; si se envía al actualizar debe coincidir con la actual
+}
@@ -0,0 +1,61 @@
+package com.example.ProyectoTaw.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Una página de resultados por cursor (paginación keyset: ?cursor=&size=).
+ * El cursor es la clave primaria del último elemento devuelto; la página siguiente
+ * se pide con WHERE id > cursor ORDER BY id, así que su coste no crece con la
+ * profundidad (a diferencia de OFFSET) y no necesita COUNT(*).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPaginaDTO<T> implements Serializable {
+
+    /** Tamaño máximo de página aceptado */
+    public static final int TAMANO_MAXIMO = 100;
+
+    private List<T> contenido;
+
+    /** Tamaño de página aplicado */
+    private int tamano;
+
+    /** Valor a enviar como ?cursor= para obtener la página siguiente (null si no hay más) */
+    private String siguienteCursor;
+
+    /** true si existe una página siguiente */
+    private boolean hayMas;
+
+    /**
+     * Primera página ordenada por la clave del cursor, con el tamaño acotado a [1, TAMANO_MAXIMO].
+     * @param tamano Tamaño solicitado.
+     * @param campoClave Atributo de la entidad usado como cursor.
+     */
+    public static Pageable primeros(int tamano, String campoClave) {
+        int acotado = Math.max(1, Math.min(tamano, TAMANO_MAXIMO));
+        return PageRequest.of(0, acotado, Sort.by(campoClave));
+    }
+
+    public static <E, T> CursorPaginaDTO<T> de(Slice<E> slice, Function<E, T> conversor, Function<E, ?> clave) {
+        List<E> elementos = slice.getContent();
+        String siguiente = slice.hasNext() && !elementos.isEmpty()
+                ? String.valueOf(clave.apply(elementos.get(elementos.size() - 1)))
+                : null;
+        return new CursorPaginaDTO<>(
+                elementos.stream().map(conversor).toList(),
+                slice.getSize(),
+                siguiente,
+                slice.hasNext());
+    }
+}
@@ -8,12 +8,13 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate; // Usamos LocalDate para manejar fechas sin hora
 
 import jakarta.validation.constraints.*; // Importamos las anotaciones de validación
+import java.io.Serializable;
 
 @Data // Genera automáticamente getters, setters, toString, equals y hashCode
 @NoArgsConstructor // Genera un constructor sin argumentos
 @AllArgsConstructor // Genera un constructor con todos los argumentos
 @Builder // Permite construir instancias del objeto usando el patrón Builder
-public class DocenteDTO {
+public class DocenteDTO implements Serializable {
 
     @NotBlank(message = "La C.I. es obligatoria")
     @Size(min = 5, max = 10, message = "La C.I. debe tener entre 5 y 10 caracteres")
@@ -43,4 +44,6 @@ public class DocenteDTO {
     @NotBlank(message = "El nombre es obligatorio")
     @Size(min = 1, max = 4, message = "El nombre debe tener entre 1 y 5 caracteres")
     private String nroEmpleado;
-}
\ No newline at end of file
+
+    private Long version; // Versión leída por el cliente; si se envía al actualizar debe coincidir con la actual
+}
@@ -0,0 +1,26 @@
+package com.example.ProyectoTaw.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Datos públicos de un docente para mostrarlos junto a una materia (sin email ni datos de empleado).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocenteResumenDTO implements Serializable {
+
+    private String ci;
+
+    private String nombre;
+
+    private String apellido;
+
+    private String departamento;
+}
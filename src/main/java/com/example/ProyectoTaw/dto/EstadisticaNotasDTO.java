@@ -0,0 +1,50 @@
+package com.example.ProyectoTaw.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Estadísticas de un conjunto de notas (una evaluación de un curso, o el curso completo).
+ * Los valores decimales se redondean a dos cifras.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EstadisticaNotasDTO implements Serializable {
+
+    /** null en las estadísticas del curso completo */
+    private String evaluacion;
+
+    private long cantidad;
+
+    private double promedio;
+
+    /** Desviación estándar poblacional */
+    private double desviacion;
+
+    private double minima;
+
+    private double maxima;
+
+    private double percentil25;
+
+    private double mediana;
+
+    private double percentil75;
+
+    private double percentil90;
+
+    private long aprobados;
+
+    /** aprobados / cantidad en %, con dos decimales */
+    private double tasaAprobacion;
+
+    /** Cantidad de notas en [0,10), [10,20), ..., [90,100] */
+    private List<Long> histograma;
+}
@@ -0,0 +1,32 @@
+package com.example.ProyectoTaw.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estadísticas de las notas de un curso: todas juntas y por evaluación.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EstadisticasCursoDTO implements Serializable {
+
+    private Integer cursoId;
+
+    /** Nota mínima usada para contar aprobados (app.academico.nota-aprobacion) */
+    private double notaAprobacion;
+
+    /** null si el curso aún no tiene notas */
+    private EstadisticaNotasDTO general;
+
+    /** Ordenadas por evaluación */
+    @Builder.Default
+    private List<EstadisticaNotasDTO> porEvaluacion = new ArrayList<>();
+}
@@ -9,12 +9,13 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate; // Usamos LocalDate para manejar fechas sin hora
 
 import jakarta.validation.constraints.*; // Importamos las anotaciones de validación
+import java.io.Serializable;
 
 @Data // Genera automáticamente getters, setters, toString, equals y hashCode
 @NoArgsConstructor // Genera un constructor sin argumentos
 @AllArgsConstructor // Genera un constructor con todos los argumentos
 @Builder // Permite construir instancias del objeto usando el patrón Builder
-public class EstudianteDTO {
+public class EstudianteDTO implements Serializable {
 
     @NotBlank(message = "La C.I. es obligatoria")
     @Size(min = 5, max = 10, message = "La C.I. debe tener entre 5 y 10 caracteres")
@@ -36,4 +37,6 @@ public class EstudianteDTO {
     @NotNull(message = "La fecha de nacimiento es obligatoria")
     @Past(message = "La fecha de nacimiento debe ser anterior a la fecha actual")
     private LocalDate fechaNac; // Corresponde al campo 'fechaNac' de la entidad
-}
\ No newline at end of file
+
+    private Long version; // Versión leída por el cliente; si se envía al actualizar debe coincidir con la actual
+}
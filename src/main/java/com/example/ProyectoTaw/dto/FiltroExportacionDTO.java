@@ -0,0 +1,36 @@
+package com.example.ProyectoTaw.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Filtros opcionales de una exportación; los que llegan a null no se aplican.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FiltroExportacionDTO implements Serializable {
+
+    private Integer cursoId;
+
+    /** Semestre del curso (campo Curso.semestre) */
+    private String semestre;
+
+    /** Año del curso (campo Curso.anio) */
+    private Integer anio;
+
+    /** Fecha mínima del registro, inclusive */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate desde;
+
+    /** Fecha máxima del registro, inclusive */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate hasta;
+}
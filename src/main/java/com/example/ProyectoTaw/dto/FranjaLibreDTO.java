@@ -0,0 +1,28 @@
+package com.example.ProyectoTaw.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Tramo de un día en que ninguno de los cursos consultados está en clase.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FranjaLibreDTO implements Serializable {
+
+    private String dia;
+
+    /** "HH:mm" */
+    private String inicio;
+
+    /** "HH:mm" */
+    private String fin;
+
+    private int minutos;
+}
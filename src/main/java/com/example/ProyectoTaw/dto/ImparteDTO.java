@@ -22,4 +22,6 @@ public class ImparteDTO implements Serializable {
 
     @NotNull(message = "El CI del docente es obligatorio")
     private String ciDocente; // Corresponde a Docente.idDocente
+
+    private Long version; // Versión leída por el cliente; si se envía al actualizar debe coincidir con la actual
 }
@@ -0,0 +1,40 @@
+package com.example.ProyectoTaw.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inscripción con los datos de su materia, los docentes que la imparten (Imparte)
+ * y los cursos en que se dicta (SeDa), para mostrarla sin consultas adicionales.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InscripcionDetalleDTO implements Serializable {
+
+    private Long idInscrito;
+
+    private String estudianteCi;
+
+    private LocalDate fechaInscripcion;
+
+    private String materiaCodigoUnico;
+
+    private String materiaNombre;
+
+    private String materiaDescripcion;
+
+    @Builder.Default
+    private List<DocenteResumenDTO> docentes = new ArrayList<>();
+
+    @Builder.Default
+    private List<CursoDTO> cursos = new ArrayList<>();
+}
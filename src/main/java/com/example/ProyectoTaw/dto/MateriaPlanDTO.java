@@ -0,0 +1,31 @@
+package com.example.ProyectoTaw.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Una materia dentro del orden de estudio del plan (ver GrafoPrerequisitos).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MateriaPlanDTO implements Serializable {
+
+    private Long materiaId;
+
+    private String codigoUnico;
+
+    private String nombre;
+
+    /** 0 sin prerrequisitos; cada materia tiene un nivel mayor que todos sus prerrequisitos */
+    private int nivel;
+
+    /** IDs de las materias que requiere directamente */
+    private List<Long> prerequisitosDirectos;
+}
@@ -0,0 +1,46 @@
+package com.example.ProyectoTaw.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Una página de resultados por número de página (?page=&size=&sort=).
+ * Se usa en lugar de serializar Page directamente para que el JSON sea estable
+ * y la página se pueda guardar en caché.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDTO<T> implements Serializable {
+
+    private List<T> contenido;
+
+    /** Número de página (empieza en 0) */
+    private int pagina;
+
+    /** Tamaño de página solicitado */
+    private int tamano;
+
+    private long totalElementos;
+
+    private int totalPaginas;
+
+    /** true si existe una página siguiente */
+    private boolean hayMas;
+
+    public static <E, T> PaginaDTO<T> de(Page<E> pagina, Function<E, T> conversor) {
+        return new PaginaDTO<>(
+                pagina.getContent().stream().map(conversor).toList(),
+                pagina.getNumber(),
+                pagina.getSize(),
+                pagina.getTotalElements(),
+                pagina.getTotalPages(),
+                pagina.hasNext());
+    }
+}
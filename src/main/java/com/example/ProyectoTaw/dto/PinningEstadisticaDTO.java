@@ -0,0 +1,30 @@
+package com.example.ProyectoTaw.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Veces que un hilo virtual quedó fijado a su hilo portador en un mismo punto del código.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PinningEstadisticaDTO implements Serializable {
+
+    /** Método que mantenía el hilo fijado (p. ej. un synchronized del driver) y, si lo hay, el de la aplicación que lo llamó */
+    private String origen;
+
+    /** Eventos jdk.VirtualThreadPinned que superaron el umbral */
+    private long eventos;
+
+    /** Tiempo total que el portador estuvo bloqueado por este origen */
+    private double duracionTotalMs;
+
+    /** Bloqueo más largo observado */
+    private double duracionMaximaMs;
+}
@@ -0,0 +1,26 @@
+package com.example.ProyectoTaw.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Resultado de recalcular asistencia_resumen desde asiste.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReconstruccionResumenDTO implements Serializable {
+
+    /** Cursos recalculados, cada uno en su propia transacción */
+    private int cursos;
+
+    /** Filas de resumen resultantes */
+    private int filas;
+
+    private long milisegundos;
+}
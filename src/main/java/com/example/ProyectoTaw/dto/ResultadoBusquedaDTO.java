@@ -0,0 +1,33 @@
+package com.example.ProyectoTaw.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Un resultado de GET /api/search. El id es el de la entidad (CI o ID de materia) para abrir su ficha.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResultadoBusquedaDTO implements Serializable {
+
+    public enum Tipo { ESTUDIANTE, DOCENTE, MATERIA }
+
+    private Tipo tipo;
+
+    private String id;
+
+    /** Nombre y apellido, o nombre de la materia */
+    private String titulo;
+
+    /** Email del estudiante, departamento del docente o código de la materia */
+    private String detalle;
+
+    /** Mayor es más relevante; solo sirve para comparar resultados de la misma búsqueda */
+    private double relevancia;
+}
@@ -22,4 +22,6 @@ public class SeDaDTO implements Serializable {
 
     @NotNull(message = "El ID del curso es obligatorio")
     private Integer cursoIdCurso; // Corresponde a curso.idCurso
-}
\ No newline at end of file
+
+    private Long version; // Versión leída por el cliente; si se envía al actualizar debe coincidir con la actual
+}
@@ -0,0 +1,115 @@
+package com.example.ProyectoTaw.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Escribe filas de una exportación directamente en un OutputStream, en NDJSON o CSV.
+ *
+ * No acumula nada: cada fila se serializa al buffer de salida en cuanto llega,
+ * así que la memoria usada es constante sea cual sea el número de filas.
+ * close() solo vacía el buffer; el stream subyacente lo cierra quien lo abrió.
+ */
+public class EscritorExportacion implements Closeable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int TAMANO_BUFFER = 16 * 1024;
+
+    private final FormatoExportacion formato;
+    private final String[] columnas;
+    private final Writer writer;
+    private final JsonGenerator json;
+    private long filas;
+
+    public EscritorExportacion(FormatoExportacion formato, OutputStream salida, String... columnas) throws IOException {
+        this.formato = formato;
+        this.columnas = columnas;
+        this.writer = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), TAMANO_BUFFER);
+        if (formato == FormatoExportacion.NDJSON) {
+            this.json = JSON_FACTORY.createGenerator(writer);
+            this.json.setRootValueSeparator(null); // El separador de línea lo escribe fila()
+        } else {
+            this.json = null;
+            escribirFilaCsv((Object[]) columnas);
+        }
+    }
+
+    /**
+     * Escribe una fila.
+     * @param valores Un valor por columna, en el mismo orden que las columnas del constructor.
+     */
+    public void fila(Object... valores) throws IOException {
+        if (valores.length != columnas.length) {
+            throw new IllegalArgumentException("Se esperaban " + columnas.length + " valores y llegaron " + valores.length);
+        }
+        if (json != null) {
+            json.writeStartObject();
+            for (int i = 0; i < columnas.length; i++) {
+                json.writeFieldName(columnas[i]);
+                escribirValorJson(valores[i]);
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        } else {
+            escribirFilaCsv(valores);
+        }
+        filas++;
+    }
+
+    /** Número de filas de datos escritas (sin contar la cabecera CSV) */
+    public long getFilas() {
+        return filas;
+    }
+
+    public FormatoExportacion getFormato() {
+        return formato;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (json != null) {
+            json.flush();
+        }
+        writer.flush();
+    }
+
+    private void escribirValorJson(Object valor) throws IOException {
+        if (valor == null) {
+            json.writeNull();
+        } else if (valor instanceof Integer || valor instanceof Long) {
+            json.writeNumber(((Number) valor).longValue());
+        } else if (valor instanceof Number numero) {
+            json.writeNumber(numero.doubleValue());
+        } else if (valor instanceof Boolean booleano) {
+            json.writeBoolean(booleano);
+        } else {
+            json.writeString(valor.toString()); // LocalDate se escribe en ISO-8601 (yyyy-MM-dd)
+        }
+    }
+
+    private void escribirFilaCsv(Object... valores) throws IOException {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (valores[i] != null) {
+                writer.write(escaparCsv(valores[i].toString()));
+            }
+        }
+        writer.write("\r\n"); // RFC 4180
+    }
+
+    private static String escaparCsv(String valor) {
+        boolean requiereComillas = valor.indexOf(',') >= 0 || valor.indexOf('"') >= 0
+                || valor.indexOf('\n') >= 0 || valor.indexOf('\r') >= 0;
+        return requiereComillas ? '"' + valor.replace("\"", "\"\"") + '"' : valor;
+    }
+}
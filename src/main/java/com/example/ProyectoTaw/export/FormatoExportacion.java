@@ -0,0 +1,43 @@
+package com.example.ProyectoTaw.export;
+
+import java.util.Locale;
+
+/**
+ * Formatos de salida de las exportaciones masivas.
+ */
+public enum FormatoExportacion {
+
+    /** Un objeto JSON por línea (application/x-ndjson) */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /** Valores separados por comas con fila de cabecera */
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    FormatoExportacion(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Convierte el parámetro ?formato= (sin distinguir mayúsculas) en un formato.
+     * @throws IllegalArgumentException si el formato no está soportado.
+     */
+    public static FormatoExportacion desde(String valor) {
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Formato de exportación no soportado: " + valor + " (use ndjson o csv)");
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.ProyectoTaw.grafo;
+
+import com.example.ProyectoTaw.model.MateriaPrerequisito;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grafo de prerrequisitos del plan de estudios completo, inmutable.
+ *
+ * Cada materia ocupa una posición y guarda en un BitSet todos sus prerrequisitos, directos e indirectos
+ * (cierre transitivo), así que "¿A requiere B?" es un solo bit. Las modificaciones devuelven un grafo nuevo:
+ * añadir una relación solo suma los prerrequisitos de B a A y a las materias que requieren A; quitar una
+ * recalcula el cierre (un BitSet OR por relación, en orden topológico).
+ *
+ * El nivel de una materia es la cadena más larga de prerrequisitos que tiene debajo: 0 sin prerrequisitos,
+ * y todas sus materias previas tienen un nivel menor. Si los datos ya traen un ciclo (anteriores a la validación),
+ * las materias del ciclo y las que dependen de él tienen nivel -1.
+ */
+public final class GrafoPrerequisitos implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Una fila de materia_prerequisito: materiaId requiere prerequisitoId. */
+    public record Arista(long materiaId, long prerequisitoId) implements Serializable {
+    }
+
+    private final Map<Long, Arista> relaciones; // Por ID de MateriaPrerequisito (puede haber pares repetidos)
+    private final Map<Long, Integer> posiciones; // ID de materia -> posición
+    private final long[] materias;               // Posición -> ID de materia
+    private final BitSet[] directos;             // Prerrequisitos directos de cada posición
+    private final BitSet[] ancestros;            // Cierre transitivo de directos
+    private final int[] niveles;
+
+    public static GrafoPrerequisitos de(Collection<MateriaPrerequisito> relaciones) {
+        Map<Long, Arista> aristas = new LinkedHashMap<>();
+        for (MateriaPrerequisito relacion : relaciones) {
+            aristas.put(relacion.getId(), new Arista(relacion.getMateriaId(), relacion.getPrerequisitoId()));
+        }
+        return new GrafoPrerequisitos(aristas);
+    }
+
+    private GrafoPrerequisitos(Map<Long, Arista> relaciones) {
+        this.relaciones = relaciones;
+        this.materias = relaciones.values().stream()
+                .flatMapToLong(a -> Arrays.stream(new long[]{a.materiaId(), a.prerequisitoId()}))
+                .distinct()
+                .sorted()
+                .toArray();
+        this.posiciones = new HashMap<>();
+        for (int i = 0; i < materias.length; i++) {
+            posiciones.put(materias[i], i);
+        }
+        this.directos = vacios(materias.length);
+        relaciones.values().forEach(a -> directos[posiciones.get(a.materiaId())].set(posiciones.get(a.prerequisitoId())));
+        this.ancestros = vacios(materias.length);
+        int[] orden = ordenTopologico();
+        for (int x : orden) {
+            directos[x].stream().forEach(p -> {
+                ancestros[x].or(ancestros[p]);
+                ancestros[x].set(p);
+            });
+        }
+        if (orden.length < materias.length) {
+            cerrarCiclos(orden);
+        }
+        this.niveles = calcularNiveles(orden);
+    }
+
+    private GrafoPrerequisitos(Map<Long, Arista> relaciones, Map<Long, Integer> posiciones, long[] materias,
+                               BitSet[] directos, BitSet[] ancestros) {
+        this.relaciones = relaciones;
+        this.posiciones = posiciones;
+        this.materias = materias;
+        this.directos = directos;
+        this.ancestros = ancestros;
+        this.niveles = calcularNiveles(ordenTopologico());
+    }
+
+    /** true si materiaId requiere prerequisitoId, directa o indirectamente. O(1). */
+    public boolean requiere(long materiaId, long prerequisitoId) {
+        Integer m = posiciones.get(materiaId);
+        Integer p = posiciones.get(prerequisitoId);
+        return m != null && p != null && ancestros[m].get(p);
+    }
+
+    /** true si añadir "materiaId requiere prerequisitoId" cerraría un ciclo. */
+    public boolean creariaCiclo(long materiaId, long prerequisitoId) {
+        return materiaId == prerequisitoId || requiere(prerequisitoId, materiaId);
+    }
+
+    /**
+     * Una cadena de requisitos desde → ... → hasta (cada materia requiere directamente a la siguiente),
+     * o vacía si desde no requiere hasta. Sirve para explicar por qué una relación cerraría un ciclo.
+     */
+    public List<Long> cadena(long desde, long hasta) {
+        if (!requiere(desde, hasta)) {
+            return List.of();
+        }
+        int destino = posiciones.get(hasta);
+        List<Long> cadena = new ArrayList<>();
+        int actual = posiciones.get(desde);
+        cadena.add(desde);
+        while (actual != destino && cadena.size() <= materias.length) { // El límite solo importa con ciclos previos
+            int siguiente = directos[actual].get(destino) ? destino : directos[actual].stream()
+                    .filter(p -> ancestros[p].get(destino))
+                    .findFirst().orElseThrow();
+            cadena.add(materias[siguiente]);
+            actual = siguiente;
+        }
+        return cadena;
+    }
+
+    /** Todos los prerrequisitos de la materia, directos e indirectos, en orden de estudio (nivel, ID). */
+    public List<Long> prerequisitos(long materiaId) {
+        Integer m = posiciones.get(materiaId);
+        if (m == null) {
+            return List.of();
+        }
+        return enOrdenDeEstudio(ancestros[m]);
+    }
+
+    public List<Long> prerequisitosDirectos(long materiaId) {
+        Integer m = posiciones.get(materiaId);
+        return m == null ? List.of() : directos[m].stream().mapToObj(p -> materias[p]).toList();
+    }
+
+    /** 0 para las materias sin prerrequisitos (o que no aparecen en ninguna relación); -1 si dependen de un ciclo. */
+    public int nivel(long materiaId) {
+        Integer m = posiciones.get(materiaId);
+        return m == null ? 0 : niveles[m];
+    }
+
+    /** Materias que se requieren a sí mismas a través de otras; vacía si el grafo es acíclico. */
+    public List<Long> enCiclo() {
+        BitSet ciclo = new BitSet();
+        for (int x = 0; x < materias.length; x++) {
+            if (ancestros[x].get(x)) {
+                ciclo.set(x);
+            }
+        }
+        return ciclo.stream().mapToObj(x -> materias[x]).toList();
+    }
+
+    /**
+     * El grafo con una relación más (o con la relación id cambiada). Quien llama comprueba antes creariaCiclo.
+     */
+    public GrafoPrerequisitos conRelacion(long id, long materiaId, long prerequisitoId) {
+        if (relaciones.containsKey(id)) {
+            return sinRelacion(id).conRelacion(id, materiaId, prerequisitoId);
+        }
+        if (creariaCiclo(materiaId, prerequisitoId)) {
+            throw new IllegalArgumentException("La relación " + materiaId + " -> " + prerequisitoId + " cierra un ciclo");
+        }
+        Map<Long, Arista> nuevasRelaciones = new LinkedHashMap<>(relaciones);
+        nuevasRelaciones.put(id, new Arista(materiaId, prerequisitoId));
+
+        Map<Long, Integer> nuevasPosiciones = new HashMap<>(posiciones);
+        long[] nuevasMaterias = Arrays.copyOf(materias, materias.length + 2);
+        int total = materias.length;
+        for (long materia : new long[]{materiaId, prerequisitoId}) {
+            if (!nuevasPosiciones.containsKey(materia)) {
+                nuevasPosiciones.put(materia, total);
+                nuevasMaterias[total++] = materia;
+            }
+        }
+        nuevasMaterias = Arrays.copyOf(nuevasMaterias, total);
+        BitSet[] nuevosDirectos = copiar(directos, total);
+        BitSet[] nuevosAncestros = copiar(ancestros, total);
+
+        int m = nuevasPosiciones.get(materiaId);
+        int p = nuevasPosiciones.get(prerequisitoId);
+        nuevosDirectos[m].set(p);
+        BitSet aportados = (BitSet) nuevosAncestros[p].clone();
+        aportados.set(p);
+        for (int x = 0; x < total; x++) {
+            if (x == m || nuevosAncestros[x].get(m)) {
+                nuevosAncestros[x].or(aportados);
+            }
+        }
+        return new GrafoPrerequisitos(nuevasRelaciones, nuevasPosiciones, nuevasMaterias, nuevosDirectos, nuevosAncestros);
+    }
+
+    /** El grafo sin la relación id; si no estaba, el mismo grafo. */
+    public GrafoPrerequisitos sinRelacion(long id) {
+        if (!relaciones.containsKey(id)) {
+            return this;
+        }
+        Map<Long, Arista> nuevasRelaciones = new LinkedHashMap<>(relaciones);
+        nuevasRelaciones.remove(id);
+        return new GrafoPrerequisitos(nuevasRelaciones);
+    }
+
+    // Kahn: primero las materias sin prerrequisitos. Las de un ciclo (y las que dependen de él) no aparecen.
+    private int[] ordenTopologico() {
+        int n = materias.length;
+        int[] pendientes = new int[n];
+        BitSet[] dependientes = vacios(n);
+        Deque<Integer> listas = new ArrayDeque<>();
+        for (int x = 0; x < n; x++) {
+            pendientes[x] = directos[x].cardinality();
+            int materia = x;
+            directos[x].stream().forEach(p -> dependientes[p].set(materia));
+            if (pendientes[x] == 0) {
+                listas.add(x);
+            }
+        }
+        int[] orden = new int[n];
+        int total = 0;
+        while (!listas.isEmpty()) {
+            int x = listas.poll();
+            orden[total++] = x;
+            dependientes[x].stream().forEach(d -> {
+                if (--pendientes[d] == 0) {
+                    listas.add(d);
+                }
+            });
+        }
+        return Arrays.copyOf(orden, total);
+    }
+
+    // Punto fijo para las materias fuera del orden topológico; solo ocurre con datos anteriores a la validación
+    private void cerrarCiclos(int[] orden) {
+        BitSet resto = new BitSet(materias.length);
+        resto.set(0, materias.length);
+        Arrays.stream(orden).forEach(resto::clear);
+        boolean cambio = true;
+        while (cambio) {
+            cambio = false;
+            for (int x = resto.nextSetBit(0); x >= 0; x = resto.nextSetBit(x + 1)) {
+                int antes = ancestros[x].cardinality();
+                int materia = x;
+                directos[x].stream().forEach(p -> {
+                    ancestros[materia].or(ancestros[p]);
+                    ancestros[materia].set(p);
+                });
+                cambio |= ancestros[x].cardinality() != antes;
+            }
+        }
+    }
+
+    private int[] calcularNiveles(int[] orden) {
+        int[] resultado = new int[materias.length];
+        Arrays.fill(resultado, -1);
+        for (int x : orden) {
+            resultado[x] = directos[x].stream().map(p -> resultado[p] + 1).max().orElse(0);
+        }
+        return resultado;
+    }
+
+    private List<Long> enOrdenDeEstudio(BitSet conjunto) {
+        return conjunto.stream()
+                .boxed()
+                .sorted(Comparator.<Integer>comparingInt(x -> niveles[x]).thenComparingLong(x -> materias[x]))
+                .map(x -> materias[x])
+                .toList();
+    }
+
+    private static BitSet[] vacios(int n) {
+        BitSet[] conjuntos = new BitSet[n];
+        for (int i = 0; i < n; i++) {
+            conjuntos[i] = new BitSet(n);
+        }
+        return conjuntos;
+    }
+
+    private static BitSet[] copiar(BitSet[] originales, int n) {
+        BitSet[] copias = vacios(n);
+        for (int i = 0; i < originales.length; i++) {
+            copias[i].or(originales[i]);
+        }
+        return copias;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.ProyectoTaw.horario;
+
+import java.io.Serializable;
+import java.text.Normalizer;
+import java.time.DayOfWeek;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Día y horario de un curso ya interpretados: [inicio, fin) en minutos desde las 00:00.
+ *
+ * Curso guarda ambos como texto ("Miércoles", "08:00 a 10:00"); aquí se aceptan también el día sin tilde y
+ * el separador "-" de los datos cargados antes de la validación del DTO.
+ */
+public record Franja(DayOfWeek dia, int inicio, int fin) implements Serializable {
+
+    private static final Pattern HORARIO = Pattern.compile("^\\s*(\\d{1,2}):(\\d{2})\\s*(?:a|-)\\s*(\\d{1,2}):(\\d{2})\\s*$");
+
+    private static final Map<String, DayOfWeek> DIAS = Map.of(
+            "lunes", DayOfWeek.MONDAY,
+            "martes", DayOfWeek.TUESDAY,
+            "miercoles", DayOfWeek.WEDNESDAY,
+            "jueves", DayOfWeek.THURSDAY,
+            "viernes", DayOfWeek.FRIDAY,
+            "sabado", DayOfWeek.SATURDAY,
+            "domingo", DayOfWeek.SUNDAY);
+
+    private static final String[] NOMBRES = {"Lunes", "Martes", "Miércoles", "Jueves", "Viernes", "Sábado", "Domingo"};
+
+    /** Vacío si el día o el horario no se pueden interpretar o el horario no termina después de empezar. */
+    public static Optional<Franja> de(String dia, String horario) {
+        Optional<DayOfWeek> diaSemana = dia(dia);
+        if (diaSemana.isEmpty() || horario == null) {
+            return Optional.empty();
+        }
+        Matcher m = HORARIO.matcher(horario);
+        if (!m.matches()) {
+            return Optional.empty();
+        }
+        int inicio = minutos(m.group(1), m.group(2));
+        int fin = minutos(m.group(3), m.group(4));
+        return inicio < 0 || fin < 0 || inicio >= fin ? Optional.empty() : Optional.of(new Franja(diaSemana.get(), inicio, fin));
+    }
+
+    /** "Lunes", "miercoles", "SÁBADO"... sin distinguir mayúsculas ni tildes. */
+    public static Optional<DayOfWeek> dia(String dia) {
+        if (dia == null) {
+            return Optional.empty();
+        }
+        String normalizado = Normalizer.normalize(dia.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        return Optional.ofNullable(DIAS.get(normalizado));
+    }
+
+    public static String nombre(DayOfWeek dia) {
+        return NOMBRES[dia.getValue() - 1];
+    }
+
+    /** "HH:mm" de un minuto del día. */
+    public static String hora(int minutos) {
+        return String.format("%02d:%02d", minutos / 60, minutos % 60);
+    }
+
+    /** Mismo día y los intervalos se cruzan; una franja que termina a las 10:00 no choca con otra que empieza a esa hora. */
+    public boolean solapa(Franja otra) {
+        return dia == otra.dia && inicio < otra.fin && otra.inicio < fin;
+    }
+
+    @Override
+    public String toString() {
+        return nombre(dia) + " " + hora(inicio) + " a " + hora(fin);
+    }
+
+    private static int minutos(String horas, String minutos) {
+        int h = Integer.parseInt(horas);
+        int m = Integer.parseInt(minutos);
+        return h > 23 || m > 59 ? -1 : h * 60 + m;
+    }
+}
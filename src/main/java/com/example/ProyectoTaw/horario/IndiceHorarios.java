@@ -0,0 +1,152 @@
+package com.example.ProyectoTaw.horario;
+
+import com.example.ProyectoTaw.model.Curso;
+
+import java.io.Serializable;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Franjas de todos los cursos, inmutable, con un árbol de intervalos por día.
+ *
+ * Cada día guarda sus franjas ordenadas por inicio; el árbol es implícito sobre ese arreglo (la raíz de
+ * [lo, hi) es el centro) y cada nodo guarda el mayor fin de su subárbol, así que buscar los cursos que se
+ * superponen con una franja cuesta O(log n + k). Los cursos cuyo día u horario no se puede interpretar no se indexan.
+ */
+public final class IndiceHorarios implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Map<Integer, Franja> porCurso;
+    private final EnumMap<DayOfWeek, Dia> dias;
+
+    public static IndiceHorarios de(Collection<Curso> cursos) {
+        Map<Integer, Franja> franjas = new HashMap<>();
+        for (Curso curso : cursos) {
+            Franja.de(curso.getDia(), curso.getHorario()).ifPresent(f -> franjas.put(curso.getIdCurso(), f));
+        }
+        EnumMap<DayOfWeek, Dia> dias = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek dia : DayOfWeek.values()) {
+            dias.put(dia, Dia.de(franjas, dia));
+        }
+        return new IndiceHorarios(franjas, dias);
+    }
+
+    private IndiceHorarios(Map<Integer, Franja> porCurso, EnumMap<DayOfWeek, Dia> dias) {
+        this.porCurso = porCurso;
+        this.dias = dias;
+    }
+
+    /** null si el curso no existe o su horario no se pudo interpretar. */
+    public Franja franja(Integer cursoId) {
+        return porCurso.get(cursoId);
+    }
+
+    /** IDs de los cursos cuya franja se superpone con la dada, por hora de inicio. */
+    public List<Integer> solapados(Franja franja) {
+        List<Integer> resultado = new ArrayList<>();
+        dias.get(franja.dia()).solapados(franja.inicio(), franja.fin(), resultado);
+        return resultado;
+    }
+
+    /**
+     * Tramos de al menos duracion minutos entre desde y hasta en que ninguno de los cursos está en clase.
+     * @param cursos Cursos que ocupan el día; null para todos.
+     * @return Pares [inicio, fin] en minutos, en orden.
+     */
+    public List<int[]> libres(DayOfWeek dia, int desde, int hasta, int duracion, Set<Integer> cursos) {
+        Dia d = dias.get(dia);
+        List<int[]> libres = new ArrayList<>();
+        int libreDesde = desde;
+        for (int i = 0; i < d.cursos.length; i++) { // Ya ordenadas por inicio: basta un recorrido
+            if (cursos != null && !cursos.contains(d.cursos[i])) {
+                continue;
+            }
+            if (d.inicios[i] >= hasta) {
+                break;
+            }
+            if (d.inicios[i] - libreDesde >= duracion) {
+                libres.add(new int[]{libreDesde, d.inicios[i]});
+            }
+            libreDesde = Math.max(libreDesde, d.fines[i]);
+        }
+        if (hasta - libreDesde >= duracion) {
+            libres.add(new int[]{libreDesde, hasta});
+        }
+        return libres;
+    }
+
+    // Árbol de intervalos implícito: nodo = centro de [lo, hi), hijos = mitades; maxFin[centro] = mayor fin de [lo, hi)
+    private static final class Dia implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] inicios;
+        private final int[] fines;
+        private final int[] cursos;
+        private final int[] maxFin;
+
+        static Dia de(Map<Integer, Franja> franjas, DayOfWeek dia) {
+            List<Map.Entry<Integer, Franja>> delDia = franjas.entrySet().stream()
+                    .filter(e -> e.getValue().dia() == dia)
+                    .sorted(Comparator.<Map.Entry<Integer, Franja>>comparingInt(e -> e.getValue().inicio())
+                            .thenComparingInt(Map.Entry::getKey))
+                    .toList();
+            return new Dia(delDia);
+        }
+
+        private Dia(List<Map.Entry<Integer, Franja>> delDia) {
+            int n = delDia.size();
+            inicios = new int[n];
+            fines = new int[n];
+            cursos = new int[n];
+            for (int i = 0; i < n; i++) {
+                inicios[i] = delDia.get(i).getValue().inicio();
+                fines[i] = delDia.get(i).getValue().fin();
+                cursos[i] = delDia.get(i).getKey();
+            }
+            maxFin = new int[n];
+            Arrays.fill(maxFin, Integer.MIN_VALUE);
+            calcularMaxFin(0, n);
+        }
+
+        private int calcularMaxFin(int lo, int hi) {
+            if (lo >= hi) {
+                return Integer.MIN_VALUE;
+            }
+            int centro = (lo + hi) >>> 1;
+            maxFin[centro] = Math.max(fines[centro], Math.max(calcularMaxFin(lo, centro), calcularMaxFin(centro + 1, hi)));
+            return maxFin[centro];
+        }
+
+        void solapados(int inicio, int fin, List<Integer> resultado) {
+            buscar(0, inicios.length, inicio, fin, resultado);
+        }
+
+        private void buscar(int lo, int hi, int inicio, int fin, List<Integer> resultado) {
+            if (lo >= hi) {
+                return;
+            }
+            int centro = (lo + hi) >>> 1;
+            if (maxFin[centro] <= inicio) { // Todo el subárbol termina antes de que empiece la franja
+                return;
+            }
+            buscar(lo, centro, inicio, fin, resultado);
+            if (inicios[centro] >= fin) { // Este y los de la derecha empiezan cuando la franja ya terminó
+                return;
+            }
+            if (fines[centro] > inicio) {
+                resultado.add(cursos[centro]);
+            }
+            buscar(centro + 1, hi, inicio, fin, resultado);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.ProyectoTaw.importacion;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lee un CSV (RFC 4180, UTF-8) registro a registro desde un InputStream, sin cargarlo entero.
+ *
+ * Acepta campos entre comillas con comas, saltos de línea y comillas duplicadas (""), finales de línea
+ * \r\n, \n o \r y un BOM inicial. Lo que supera MAX_CAMPO caracteres en un campo o MAX_CAMPOS campos en un
+ * registro se descarta y el registro se marca como truncado: así una comilla sin cerrar no puede llevar el
+ * resto del archivo a memoria.
+ * El stream no se cierra; lo cierra quien lo abrió.
+ */
+public class LectorCsv {
+
+    public static final int MAX_CAMPO = 4 * 1024;
+    public static final int MAX_CAMPOS = 64;
+
+    private static final int TAMANO_BUFFER = 16 * 1024;
+    private static final int FIN = -1;
+    private static final int NADA = -2;
+
+    private final Reader reader;
+    private int pendiente = NADA; // Carácter leído de más al mirar qué sigue a un \r o a una comilla
+    private long linea = 1;
+    private long lineaRegistro;
+    private boolean truncado;
+    private boolean inicio = true;
+
+    public LectorCsv(InputStream entrada) {
+        this.reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8), TAMANO_BUFFER);
+    }
+
+    /**
+     * Lee el siguiente registro.
+     * @return Los campos del registro (una línea vacía da un solo campo vacío), o null al final del archivo.
+     */
+    public List<String> siguiente() throws IOException {
+        int c = leer();
+        if (inicio) {
+            inicio = false;
+            if (c == '\uFEFF') { // BOM que añaden algunas hojas de cálculo
+                c = leer();
+            }
+        }
+        if (c == FIN) {
+            return null;
+        }
+        lineaRegistro = linea;
+        truncado = false;
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        boolean campoEntreComillas = false;
+        while (true) {
+            if (c == FIN) {
+                terminarCampo(campos, campo); // Comilla sin cerrar al final: se devuelve lo leído
+                return campos;
+            }
+            if (entreComillas) {
+                if (c == '"') {
+                    int s = leer();
+                    if (s == '"') {
+                        agregar(campo, '"');
+                    } else {
+                        entreComillas = false;
+                        devolver(s);
+                    }
+                } else {
+                    if (c == '\n' || (c == '\r' && !siguienteEs('\n'))) {
+                        linea++;
+                    }
+                    agregar(campo, (char) c);
+                }
+            } else if (c == ',') {
+                terminarCampo(campos, campo);
+                campoEntreComillas = false;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && siguienteEs('\n')) {
+                    leer();
+                }
+                linea++;
+                terminarCampo(campos, campo);
+                return campos;
+            } else if (c == '"' && campo.isEmpty() && !campoEntreComillas) {
+                entreComillas = true;
+                campoEntreComillas = true;
+            } else {
+                agregar(campo, (char) c); // Texto tras la comilla de cierre: se conserva tal cual
+            }
+            c = leer();
+        }
+    }
+
+    /** Línea del archivo (desde 1) en que empieza el último registro leído. */
+    public long getLinea() {
+        return lineaRegistro;
+    }
+
+    /** Si el último registro superaba MAX_CAMPO caracteres en algún campo o MAX_CAMPOS campos y se cortó. */
+    public boolean isTruncado() {
+        return truncado;
+    }
+
+    private void agregar(StringBuilder campo, char c) {
+        if (campo.length() < MAX_CAMPO) {
+            campo.append(c);
+        } else {
+            truncado = true;
+        }
+    }
+
+    private void terminarCampo(List<String> campos, StringBuilder campo) {
+        if (campos.size() < MAX_CAMPOS) {
+            campos.add(campo.toString());
+        } else {
+            truncado = true;
+        }
+        campo.setLength(0);
+    }
+
+    private int leer() throws IOException {
+        if (pendiente != NADA) {
+            int c = pendiente;
+            pendiente = NADA;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void devolver(int c) {
+        pendiente = c;
+    }
+
+    private boolean siguienteEs(char esperado) throws IOException {
+        int s = leer();
+        devolver(s);
+        return s == esperado;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.ProyectoTaw.importacion;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Qué se importa y con qué columnas. Los nombres de columna son los de los campos del DTO
+ * (sin distinguir mayúsculas) y pueden venir en cualquier orden.
+ */
+public enum TipoImportacion {
+
+    ESTUDIANTES("ci", List.of("ci", "nombre", "apellido", "email", "fechaNac"), List.of()),
+
+    DOCENTES("ci", List.of("ci", "nombre", "apellido", "email", "fechaNac", "departamento", "nroEmpleado"), List.of()),
+
+    MATERIAS("codigoUnico", List.of("codigoUnico", "nombreMateria"), List.of("descripcion"));
+
+    private final String columnaClave;
+    private final List<String> obligatorias;
+    private final List<String> opcionales;
+
+    TipoImportacion(String columnaClave, List<String> obligatorias, List<String> opcionales) {
+        this.columnaClave = columnaClave;
+        this.obligatorias = obligatorias;
+        this.opcionales = opcionales;
+    }
+
+    /** Columna que identifica la fila en el informe (CI o código único). */
+    public String getColumnaClave() {
+        return columnaClave;
+    }
+
+    public List<String> getObligatorias() {
+        return obligatorias;
+    }
+
+    public List<String> getOpcionales() {
+        return opcionales;
+    }
+
+    /**
+     * Convierte el tipo de la ruta (sin distinguir mayúsculas) en un tipo de importación.
+     * @throws IllegalArgumentException si el tipo no está soportado.
+     */
+    public static TipoImportacion desde(String valor) {
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Importación no soportada: " + valor + " (use estudiantes, docentes o materias)");
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.ProyectoTaw.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.io.Serializable;
 import java.time.LocalDate;
 import lombok.AllArgsConstructor;
@@ -9,7 +10,16 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "asiste")
+// Una asistencia por estudiante, curso y fecha (migración V4__asiste_unica_por_estudiante_curso_fecha)
+@Table(name = "asiste", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_asiste_estudiante_curso_fecha", columnNames = {"estudiante_ci", "curso_id_curso", "fecha"})
+})
+// Planes de carga: el listado solo usa los IDs de las FK; el detalle trae estudiante y curso
+@NamedEntityGraph(name = "Asiste.lista")
+@NamedEntityGraph(name = "Asiste.detalle", attributeNodes = {
+    @NamedAttributeNode("estudiante"),
+    @NamedAttributeNode("curso")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,15 +29,17 @@ public class Asiste implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // ID autoincrementable
+    // Secuencia con optimizador pooled: reserva bloques de 50 IDs para que Hibernate pueda agrupar los INSERT
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "asiste_seq")
+    @SequenceGenerator(name = "asiste_seq", sequenceName = "asiste_seq", allocationSize = 50)
     @Column(name = "id_asiste")
     private Long idAsiste; // Usamos Long para IDs autoincrementables
 
-    @ManyToOne // Relación con Estudiante
+    @ManyToOne(fetch = FetchType.LAZY, optional = false) // Relación con Estudiante
     @JoinColumn(name = "estudiante_ci", referencedColumnName = "ci", nullable = false)
     private Estudiante estudiante;
 
-    @ManyToOne // Relación con Curso
+    @ManyToOne(fetch = FetchType.LAZY, optional = false) // Relación con Curso
     @JoinColumn(name = "curso_id_curso", referencedColumnName = "id_curso", nullable = false)
     private Curso curso;
 
@@ -37,11 +49,8 @@ public class Asiste implements Serializable {
     @Column(name = "presente", nullable = false)
     private Boolean presente; // Asumiendo 'presente' es un valor booleano
 
-    // Opcional: Agregar una restricción de unicidad si la combinación estudiante_ci, curso_id_curso, fecha
-    // debe ser única a nivel de base de datos.
-    /*
-    @Table(name = "asiste", uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"estudiante_ci", "curso_id_curso", "fecha"})
-    })
-    */
+    @Version
+    @ColumnDefault("0") // Las filas anteriores a esta columna parten de la versión 0
+    @Column(name = "version", nullable = false)
+    private Long version; // Control de concurrencia optimista
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.example.ProyectoTaw.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Asistencias de un estudiante en un curso: cuántas hay y en cuántas estuvo presente.
+ * Es un modelo de lectura derivado de asiste; solo lo escribe AsistenciaResumenBatchRepository (por diferencias).
+ */
+@Entity
+@Immutable
+@Table(name = "asistencia_resumen", indexes = {
+        @Index(name = "idx_asistencia_resumen_estudiante", columnList = "estudiante_ci")
+})
+@IdClass(AsistenciaResumen.Clave.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AsistenciaResumen implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "curso_id_curso")
+    private Integer cursoIdCurso;
+
+    @Id
+    @Column(name = "estudiante_ci", length = 20)
+    private String estudianteCi;
+
+    @Column(name = "presentes", nullable = false)
+    private Integer presentes;
+
+    @Column(name = "total", nullable = false)
+    private Integer total;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Clave implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Integer cursoIdCurso;
+
+        private String estudianteCi;
+    }
+}
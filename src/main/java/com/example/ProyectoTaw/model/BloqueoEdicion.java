@@ -0,0 +1,52 @@
+package com.example.ProyectoTaw.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bloqueo de edición con vencimiento (lease) sobre un registro: como mucho uno por registro,
+ * porque la clave es "recurso:id". Vencido, cualquiera puede volver a adquirirlo.
+ */
+@Entity
+@Table(name = "bloqueo_edicion", indexes = {
+        @Index(name = "uk_bloqueo_edicion_token", columnList = "token", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BloqueoEdicion implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "clave", length = 100)
+    private String clave; // "curso:15", "estudiante:1234567", ...
+
+    @Column(name = "recurso", nullable = false, length = 30)
+    private String recurso;
+
+    @Column(name = "recurso_id", nullable = false, length = 60)
+    private String recursoId;
+
+    @Column(name = "token", nullable = false, length = 36)
+    private String token;
+
+    @Column(name = "titular", nullable = false, length = 100)
+    private String titular; // username de quien lo adquirió
+
+    @Column(name = "adquirido_en", nullable = false)
+    private LocalDateTime adquiridoEn;
+
+    @Column(name = "expira_en", nullable = false)
+    private LocalDateTime expiraEn;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version; // Dos renovaciones o recuperaciones simultáneas: solo una gana, la otra recibe 409
+}
@@ -1,6 +1,7 @@
 package com.example.ProyectoTaw.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.io.Serializable;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,7 +19,9 @@ public class Curso implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Secuencia con optimizador pooled: reserva bloques de 50 IDs para que Hibernate pueda agrupar los INSERT
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "curso_seq")
+    @SequenceGenerator(name = "curso_seq", sequenceName = "curso_seq", allocationSize = 50)
     @Column(name = "id_curso")
     private Integer idCurso;
 
@@ -33,4 +36,9 @@ public class Curso implements Serializable {
 
     @Column(name = "anio")
     private Integer anio;
-}
\ No newline at end of file
+
+    @Version
+    @ColumnDefault("0") // Las filas anteriores a esta columna parten de la versión 0
+    @Column(name = "version", nullable = false)
+    private Long version; // Control de concurrencia optimista
+}
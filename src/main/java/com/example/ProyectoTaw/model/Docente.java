@@ -1,6 +1,7 @@
 package com.example.ProyectoTaw.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.Date;
@@ -44,4 +45,9 @@ public class Docente implements Serializable {
 
     @Column(name = "nroEmpleado", length = 100)
     private String nroEmpleado;
-}
\ No newline at end of file
+
+    @Version
+    @ColumnDefault("0") // Las filas anteriores a esta columna parten de la versión 0
+    @Column(name = "version", nullable = false)
+    private Long version; // Control de concurrencia optimista
+}
@@ -1,6 +1,7 @@
 package com.example.ProyectoTaw.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.Date;
@@ -42,5 +43,10 @@ public class Estudiante implements Serializable {
     @Column(name = "fecha_nac") 
     @Temporal(TemporalType.DATE) 
     @Basic(optional = false)
-    private LocalDate fechaNac; 
-}
\ No newline at end of file
+    private LocalDate fechaNac;
+
+    @Version
+    @ColumnDefault("0") // Las filas anteriores a esta columna parten de la versión 0
+    @Column(name = "version", nullable = false)
+    private Long version; // Control de concurrencia optimista
+}
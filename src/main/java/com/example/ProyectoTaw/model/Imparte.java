@@ -1,6 +1,7 @@
 package com.example.ProyectoTaw.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.io.Serializable;
 
 import lombok.AllArgsConstructor;
@@ -12,6 +13,12 @@ import lombok.NoArgsConstructor;
 @Table(name = "imparte", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"materia_codigo_unico", "docente_ci_docente"})
 })
+// Planes de carga: materia se une siempre porque el DTO expone su codigo_unico, que no es su PK
+@NamedEntityGraph(name = "Imparte.lista", attributeNodes = @NamedAttributeNode("materia"))
+@NamedEntityGraph(name = "Imparte.detalle", attributeNodes = {
+    @NamedAttributeNode("materia"),
+    @NamedAttributeNode("docente")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,7 +28,9 @@ public class Imparte implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Secuencia con optimizador pooled: reserva bloques de 50 IDs para que Hibernate pueda agrupar los INSERT
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "imparte_seq")
+    @SequenceGenerator(name = "imparte_seq", sequenceName = "imparte_seq", allocationSize = 50)
     @Column(name = "id_imparte")
     private Long idImparte;
 
@@ -32,4 +41,9 @@ public class Imparte implements Serializable {
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "docente_ci_docente", referencedColumnName = "ci_docente", nullable = false)
     private Docente docente;
+
+    @Version
+    @ColumnDefault("0") // Las filas anteriores a esta columna parten de la versión 0
+    @Column(name = "version", nullable = false)
+    private Long version; // Control de concurrencia optimista
 }
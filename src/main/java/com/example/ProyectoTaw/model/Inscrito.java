@@ -14,6 +14,12 @@ import lombok.NoArgsConstructor;
     // Restricción: un estudiante no puede inscribirse en la misma materia en la misma fecha DOS VECES.
     @UniqueConstraint(columnNames = {"estudiante_ci", "materia_codigo_unico", "fecha_inscripcion"})
 })
+// Planes de carga: materia se une siempre porque el DTO expone su codigo_unico, que no es su PK
+@NamedEntityGraph(name = "Inscrito.lista", attributeNodes = @NamedAttributeNode("materia"))
+@NamedEntityGraph(name = "Inscrito.detalle", attributeNodes = {
+    @NamedAttributeNode("estudiante"),
+    @NamedAttributeNode("materia")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,15 +29,17 @@ public class Inscrito implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Secuencia con optimizador pooled: reserva bloques de 50 IDs para que Hibernate pueda agrupar los INSERT
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inscrito_seq")
+    @SequenceGenerator(name = "inscrito_seq", sequenceName = "inscrito_seq", allocationSize = 50)
     @Column(name = "id_inscrito")
     private Long idInscrito;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "estudiante_ci", referencedColumnName = "ci", nullable = false)
     private Estudiante estudiante;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "materia_codigo_unico", referencedColumnName = "codigo_unico", nullable = false)
     private Materia materia;
 
@@ -20,7 +20,9 @@ public class Materia {
      * ID único de la materia.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Secuencia con optimizador pooled: reserva bloques de 50 IDs para que Hibernate pueda agrupar los INSERT
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "materia_seq")
+    @SequenceGenerator(name = "materia_seq", sequenceName = "materia_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -16,19 +16,27 @@ import java.time.LocalDate;
 @Builder
 @Entity
 @Table(name = "registra_nota")
+// Planes de carga: el listado solo usa los IDs de las FK; el detalle trae estudiante y curso
+@NamedEntityGraph(name = "RegistraNota.lista")
+@NamedEntityGraph(name = "RegistraNota.detalle", attributeNodes = {
+    @NamedAttributeNode("estudiante"),
+    @NamedAttributeNode("curso")
+})
 public class RegistraNota {
 
     /**
      * ID de la nota registrada.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Secuencia con optimizador pooled: reserva bloques de 50 IDs para que Hibernate pueda agrupar los INSERT
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "registra_nota_seq")
+    @SequenceGenerator(name = "registra_nota_seq", sequenceName = "registra_nota_seq", allocationSize = 50)
     private Long id;
 
     /**
      * Estudiante al que pertenece la nota.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "estudiante_id", nullable = false)
     @NotNull(message = "El estudiante es obligatorio")
     private Estudiante estudiante;
@@ -36,7 +44,7 @@ public class RegistraNota {
     /**
      * Curso al que corresponde la nota.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "curso_id", nullable = false)
     @NotNull(message = "El curso es obligatorio")
     private Curso curso;
@@ -1,6 +1,7 @@
 package com.example.ProyectoTaw.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.io.Serializable;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,6 +12,12 @@ import lombok.NoArgsConstructor;
 @Table(name = "se_da", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"materia_codigo_unico", "curso_id_curso"}) // Añadir restricción de unicidad aquí
 })
+// Planes de carga: materia se une siempre porque el DTO expone su codigo_unico, que no es su PK
+@NamedEntityGraph(name = "SeDa.lista", attributeNodes = @NamedAttributeNode("materia"))
+@NamedEntityGraph(name = "SeDa.detalle", attributeNodes = {
+    @NamedAttributeNode("materia"),
+    @NamedAttributeNode("curso")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,18 +27,25 @@ public class SeDa implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // ID autoincrementable
+    // Secuencia con optimizador pooled: reserva bloques de 50 IDs para que Hibernate pueda agrupar los INSERT
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "se_da_seq")
+    @SequenceGenerator(name = "se_da_seq", sequenceName = "se_da_seq", allocationSize = 50)
     @Column(name = "id_se_da") // Nombre de columna para el nuevo ID
     private Long idSeDa; // Usamos Long para IDs autoincrementables
 
-    @ManyToOne // Relación con Materia
+    @ManyToOne(fetch = FetchType.LAZY, optional = false) // Relación con Materia
     // La relación se basa en el 'codigoUnico' de Materia, no en su 'id' autoincrementable.
     @JoinColumn(name = "materia_codigo_unico", referencedColumnName = "codigo_unico", nullable = false)
     private Materia materia;
 
-    @ManyToOne // Relación con Curso
+    @ManyToOne(fetch = FetchType.LAZY, optional = false) // Relación con Curso
     @JoinColumn(name = "curso_id_curso", referencedColumnName = "id_curso", nullable = false)
     private Curso curso;
 
     // No hay atributos adicionales en la relación 'se_da' según el diagrama ER.
-}
\ No newline at end of file
+
+    @Version
+    @ColumnDefault("0") // Las filas anteriores a esta columna parten de la versión 0
+    @Column(name = "version", nullable = false)
+    private Long version; // Control de concurrencia optimista
+}
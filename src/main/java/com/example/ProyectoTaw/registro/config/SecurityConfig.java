@@ -103,6 +103,10 @@ public class SecurityConfig {
                 .requestMatchers("/api/estudiantes/**").hasRole("ESTUDIANTE") // Solo para usuarios con rol ESTUDIANTE
                 .requestMatchers("/api/docentes/**").hasRole("DOCENTE")   // Solo para usuarios con rol DOCENTE
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")       // Solo para usuarios con rol ADMIN
+
+                // Actuator: health abierto para sondas; métricas y /actuator/prometheus solo para ADMIN
+                .requestMatchers("/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 
                 .anyRequest().authenticated() // Cualquier otra solicitud requiere que el usuario esté autenticado
             );
@@ -8,6 +8,7 @@ import com.example.ProyectoTaw.registro.model.Rol;
 import com.example.ProyectoTaw.registro.model.Usuario;
 import com.example.ProyectoTaw.registro.repository.RolRepository;
 import com.example.ProyectoTaw.registro.repository.UsuarioRepository;
+import com.example.ProyectoTaw.registro.security.JwtPrincipalCache;
 import com.example.ProyectoTaw.registro.security.JwtUtils;
 import com.example.ProyectoTaw.registro.service.UserDetailsImpl; // IMPORTAR UserDetailsImpl
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +21,7 @@ import org.springframework.security.core.userdetails.UserDetails; // Mantener es
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.util.HashSet;
 import java.util.List;
@@ -45,6 +47,9 @@ public class AuthController {
     @Autowired
     JwtUtils jwtUtils;
 
+    @Autowired
+    JwtPrincipalCache principalCache;
+
     @PostMapping("/login")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
@@ -156,7 +161,12 @@ public class AuthController {
     }
     
     @PostMapping("/logout")
-    public ResponseEntity<?> logoutUser() {
+    public ResponseEntity<?> logoutUser(HttpServletRequest request) {
+        // El token deja de aceptarse aunque no haya expirado (JwtAuthenticationFilter consulta la revocación)
+        String headerAuth = request.getHeader("Authorization");
+        if (headerAuth != null && headerAuth.startsWith("Bearer ")) {
+            principalCache.revocarToken(headerAuth.substring(7));
+        }
         SecurityContextHolder.clearContext();
         return ResponseEntity.ok(new MessageResponse("Sesión cerrada exitosamente!"));
     }
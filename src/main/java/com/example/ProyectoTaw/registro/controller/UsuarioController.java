@@ -1,9 +1,15 @@
 package com.example.ProyectoTaw.registro.controller;
 
 
+import com.example.ProyectoTaw.registro.dto.AuthDTO.MessageResponse;
+import com.example.ProyectoTaw.registro.security.JwtPrincipalCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -15,7 +21,8 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api")
 public class UsuarioController { // Controlador para manejar las peticiones relacionadas con los usuarios
     // Aquí puedes inyectar los servicios necesarios para manejar la lógica de negocio relacionada con los usuarios
-    
+    @Autowired
+    private JwtPrincipalCache principalCache;
 
     @GetMapping("/public/test") // Endpoint público accesible sin autenticación
     @PreAuthorize("permitAll()") // Permite el acceso a todos los usuarios, sin importar su rol
@@ -46,4 +53,14 @@ public class UsuarioController { // Controlador para manejar las peticiones rela
     public String adminAccess() {
         return "Contenido para administradores";
     }
+
+    // Endpoint protegido que requiere autenticación y autorización
+    // Invalida todos los tokens emitidos hasta ahora para el usuario (p. ej. tras cambiarle los roles o darlo de baja),
+    // ya que los roles se leen del propio token y no de la base de datos
+    @PostMapping("/admin/usuarios/{username}/revocar-tokens")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MessageResponse> revocarTokens(@PathVariable String username) {
+        principalCache.revocarUsuario(username);
+        return ResponseEntity.ok(new MessageResponse("Tokens de " + username + " revocados"));
+    }
 }
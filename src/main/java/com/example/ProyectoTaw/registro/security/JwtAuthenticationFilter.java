@@ -12,7 +12,9 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 
+import com.example.ProyectoTaw.registro.service.UserDetailsImpl;
 import com.example.ProyectoTaw.registro.service.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 
 
 import jakarta.servlet.FilterChain;
@@ -35,6 +37,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    // Caché de principales ya validados y revocación de tokens (logout, cambios de roles)
+    @Autowired
+    private JwtPrincipalCache principalCache;
+
     // Logger para registrar información y errores
     // Utiliza SLF4J para registrar mensajes de información y errors
     // en la consola o en un archivo de registro, según la configuración del logger
@@ -49,12 +55,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Extrae el token JWT del encabezado de autorización de la solicitud HTTP
             // y lo valida utilizando el método parseJwt
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                // Si el token es válido, carga los detalles del usuario utilizando el nombre de usuario extraído del token
-                // y establece la autenticación del usuario en el contexto de seguridad de Spring
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = jwt != null ? resolverUsuario(jwt) : null;
+            if (userDetails != null) {
+                // Si el token es válido, establece la autenticación del usuario en el contexto de seguridad de Spring
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -72,6 +75,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Obtiene el usuario del token: primero de la caché de principales; si no está, verifica la firma
+    // una sola vez y construye el UserDetails desde los claims ("roles", "id", "email") sin ir a la base de datos.
+    // Solo los tokens emitidos antes de incluir id/email en el JWT recurren a loadUserByUsername.
+    private UserDetails resolverUsuario(String jwt) {
+        UserDetailsImpl cacheado = principalCache.obtener(jwt);
+        if (cacheado != null) {
+            return cacheado;
+        }
+
+        Claims claims = jwtUtils.getClaimsIfValid(jwt);
+        if (claims == null || principalCache.estaRevocado(jwt, claims)) {
+            return null;
+        }
+
+        UserDetailsImpl userDetails = UserDetailsImpl.build(claims);
+        if (userDetails == null) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        principalCache.guardar(jwt, userDetails, claims);
+        return userDetails;
+    }
+
     // Método para extraer el token JWT del encabezado de autorización de la solicitud HTTP
     // Verifica si el encabezado tiene el prefijo "Bearer " y extrae el token
     private String parseJwt(HttpServletRequest request) { 
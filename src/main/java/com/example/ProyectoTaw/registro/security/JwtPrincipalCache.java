@@ -0,0 +1,98 @@
+package com.example.ProyectoTaw.registro.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.ProyectoTaw.registro.service.UserDetailsImpl;
+
+import java.time.Duration;
+
+// Caché de corta duración token → UserDetails para que JwtAuthenticationFilter no verifique la firma
+// HS512 en cada petición del mismo token, más los ganchos de revocación que la acompañan.
+// Al construir el usuario desde los claims, un cambio de roles o una baja no se notan hasta que el token
+// expira; revocarUsuario y revocarToken permiten cortar esos tokens antes de tiempo.
+// El estado vive en memoria de cada instancia: con varias réplicas la revocación es local al nodo que la recibe.
+@Component
+public class JwtPrincipalCache {
+
+    private final boolean habilitada;
+
+    // token → principal ya validado (solo si la caché está habilitada)
+    private final Cache<String, Entrada> principales;
+
+    // token → revocado (logout); basta con recordarlo lo que dura un token
+    private final Cache<String, Boolean> tokensRevocados;
+
+    // username → instante (ms, truncado a segundos como el claim iat) hasta el que se rechazan sus tokens;
+    // iat solo tiene resolución de segundos, así que también se rechazan los emitidos en ese mismo segundo
+    private final Cache<String, Long> usuariosRevocados;
+
+    public JwtPrincipalCache(@Value("${app.security.principal-cache.enabled:true}") boolean habilitada,
+                             @Value("${app.security.principal-cache.ttl:30s}") Duration ttl,
+                             @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+                             @Value("${app.jwtExpirationMs}") long jwtExpirationMs) {
+        this.habilitada = habilitada;
+        this.principales = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxSize).build();
+        this.tokensRevocados = Caffeine.newBuilder().expireAfterWrite(Duration.ofMillis(jwtExpirationMs)).build();
+        this.usuariosRevocados = Caffeine.newBuilder().expireAfterWrite(Duration.ofMillis(jwtExpirationMs)).build();
+    }
+
+    // Devuelve el principal cacheado para el token, o null si no está, ha expirado o fue revocado
+    public UserDetailsImpl obtener(String token) {
+        if (!habilitada) {
+            return null;
+        }
+        Entrada entrada = principales.getIfPresent(token);
+        if (entrada == null) {
+            return null;
+        }
+        if (entrada.expiraEn() <= System.currentTimeMillis()
+                || estaRevocado(token, entrada.usuario().getUsername(), entrada.emitidoEn())) {
+            principales.invalidate(token);
+            return null;
+        }
+        return entrada.usuario();
+    }
+
+    // Guarda el principal de un token recién validado
+    public void guardar(String token, UserDetailsImpl usuario, Claims claims) {
+        if (habilitada && claims.getExpiration() != null) {
+            principales.put(token, new Entrada(usuario, emitidoEn(claims), claims.getExpiration().getTime()));
+        }
+    }
+
+    // Indica si un token válido ha sido revocado por logout o por revocación de su usuario
+    public boolean estaRevocado(String token, Claims claims) {
+        return estaRevocado(token, claims.getSubject(), emitidoEn(claims));
+    }
+
+    // Revoca un token concreto (logout)
+    public void revocarToken(String token) {
+        tokensRevocados.put(token, Boolean.TRUE);
+        principales.invalidate(token);
+    }
+
+    // Revoca todos los tokens de un usuario emitidos hasta ahora (cambio de roles, baja...)
+    public void revocarUsuario(String username) {
+        usuariosRevocados.put(username, System.currentTimeMillis() / 1000 * 1000);
+        principales.asMap().values().removeIf(entrada -> entrada.usuario().getUsername().equals(username));
+    }
+
+    private boolean estaRevocado(String token, String username, long emitidoEn) {
+        if (tokensRevocados.getIfPresent(token) != null) {
+            return true;
+        }
+        Long revocadoDesde = usuariosRevocados.getIfPresent(username);
+        return revocadoDesde != null && emitidoEn <= revocadoDesde;
+    }
+
+    private static long emitidoEn(Claims claims) {
+        return claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L;
+    }
+
+    private record Entrada(UserDetailsImpl usuario, long emitidoEn, long expiraEn) {
+    }
+}
@@ -11,6 +11,8 @@ import org.springframework.security.core.GrantedAuthority; // Importar
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.example.ProyectoTaw.registro.service.UserDetailsImpl;
+
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
@@ -30,6 +32,9 @@ public class JwtUtils {
 
     private SecretKey secretKey;
 
+    // El parser es inmutable y thread-safe: se construye una sola vez en lugar de en cada petición
+    private JwtParser parser;
+
     @PostConstruct
     public void init() {
         byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
@@ -37,6 +42,7 @@ public class JwtUtils {
             throw new IllegalArgumentException("La clave secreta para HS512 debe tener al menos 64 bytes.");
         }
         this.secretKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder().setSigningKey(secretKey).build();
     }
 
     // Genera un token JWT para el usuario autenticado
@@ -48,30 +54,35 @@ public class JwtUtils {
                 .map(GrantedAuthority::getAuthority) // Obtiene el string del rol (ej. "ROLE_ESTUDIANTE")
                 .collect(Collectors.toList());
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(userPrincipal.getUsername())
                 .claim("roles", roles) // AÑADIDO: Incluir los roles como un claim en el JWT
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(secretKey, SignatureAlgorithm.HS512)
-                .compact();
+                .signWith(secretKey, SignatureAlgorithm.HS512);
+
+        // ID y email permiten reconstruir el UserDetails desde el token sin consultar la base de datos
+        if (userPrincipal instanceof UserDetailsImpl usuario) {
+            builder.claim("id", usuario.getId()).claim("email", usuario.getEmail());
+        }
+        return builder.compact();
     }
 
     // Extrae el nombre de usuario desde el token JWT
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parser.parseClaimsJws(token).getBody().getSubject();
     }
 
     // Valida el token JWT
     public boolean validateJwtToken(String authToken) {
+        return getClaimsIfValid(authToken) != null;
+    }
+
+    // Valida el token JWT y devuelve sus claims en una sola verificación de firma,
+    // o null si el token no es válido (el motivo queda registrado en el log)
+    public Claims getClaimsIfValid(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(authToken);
-            return true;
+            return parser.parseClaimsJws(authToken).getBody();
         } catch (SecurityException | MalformedJwtException e) {
             logger.error("Token JWT inválido: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -81,6 +92,6 @@ public class JwtUtils {
         } catch (IllegalArgumentException e) {
             logger.error("La cadena de claims JWT está vacía: {}", e.getMessage());
         }
-        return false;
+        return null;
     }
 }
\ No newline at end of file
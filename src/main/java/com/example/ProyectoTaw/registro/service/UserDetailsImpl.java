@@ -2,6 +2,7 @@ package com.example.ProyectoTaw.registro.service;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.example.ProyectoTaw.registro.model.Usuario;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -46,6 +47,27 @@ public class UserDetailsImpl implements UserDetails {
                 authorities);
     }
 
+    // Método estático para construir UserDetailsImpl desde los claims de un JWT ya validado
+    // (subject, "roles", "id" y "email" que añade JwtUtils.generateJwtToken), sin consultar la base de datos.
+    // Devuelve null si el token no trae esos claims (tokens emitidos antes de incluir id y email).
+    public static UserDetailsImpl build(Claims claims) {
+        Object roles = claims.get("roles");
+        Number id = claims.get("id", Number.class);
+        if (!(roles instanceof Collection<?> nombresRol) || id == null) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = nombresRol.stream()
+                .map(rol -> new SimpleGrantedAuthority(String.valueOf(rol))) // Ya vienen con prefijo "ROLE_"
+                .collect(Collectors.toList());
+
+        return new UserDetailsImpl(
+                id.longValue(),
+                claims.getSubject(),
+                null, // La contraseña nunca viaja en el token
+                claims.get("email", String.class),
+                authorities);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
@@ -0,0 +1,90 @@
+package com.example.ProyectoTaw.repository;
+
+import com.example.ProyectoTaw.model.Asiste;
+import com.example.ProyectoTaw.model.Curso;
+import com.example.ProyectoTaw.model.Estudiante;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Escrituras masivas sobre la tabla asiste agrupadas en lotes JDBC.
+ * Las inserciones pasan por Hibernate (IDs de secuencia + hibernate.jdbc.batch_size)
+ * y las actualizaciones de presencia usan JdbcTemplate.batchUpdate.
+ * Participa en la transacción JPA activa (misma conexión), por lo que un lote
+ * se confirma o se revierte junto con el resto de la operación del servicio.
+ */
+@Repository
+public class AsisteBatchRepository {
+
+    private static final String ACTUALIZAR_PRESENTE =
+            "UPDATE asiste SET presente = ?, version = version + 1 WHERE id_asiste = ? AND presente <> ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public AsisteBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserta en lote las asistencias de un curso y fecha.
+     * Estudiante y Curso se referencian sin cargarlos (getReference): ya fueron validados por el servicio.
+     * @param cursoIdCurso El ID del curso.
+     * @param fecha La fecha de la asistencia.
+     * @param presentes CI del estudiante → presente.
+     * @return Número de filas insertadas.
+     */
+    public int insertarLote(Integer cursoIdCurso, LocalDate fecha, Map<String, Boolean> presentes) {
+        if (presentes.isEmpty()) {
+            return 0;
+        }
+        Curso curso = entityManager.getReference(Curso.class, cursoIdCurso);
+        presentes.forEach((ci, presente) -> entityManager.persist(Asiste.builder()
+                .estudiante(entityManager.getReference(Estudiante.class, ci))
+                .curso(curso)
+                .fecha(fecha)
+                .presente(presente)
+                .build()));
+        entityManager.flush(); // Los INSERT salen agrupados según hibernate.jdbc.batch_size
+        return presentes.size();
+    }
+
+    /**
+     * Actualiza en un solo lote el estado de presencia de asistencias existentes.
+     * Cada UPDATE solo cambia la fila si su presencia aún es distinta de la pedida: si otra transacción ya la
+     * dejó con ese valor después de que el servicio la leyera, la fila no se toca ni cuenta como actualizada.
+     * @param presentesPorId ID de la asistencia → presente.
+     * @return IDs de las asistencias que realmente cambiaron, en el orden del mapa.
+     */
+    public Set<Long> actualizarPresenteLote(Map<Long, Boolean> presentesPorId) {
+        if (presentesPorId.isEmpty()) {
+            return Set.of();
+        }
+        List<Map.Entry<Long, Boolean>> entradas = List.copyOf(presentesPorId.entrySet());
+        List<Object[]> filas = entradas.stream()
+                .map(e -> new Object[]{e.getValue(), e.getKey(), e.getValue()})
+                .toList();
+        int[] resultados = jdbcTemplate.batchUpdate(ACTUALIZAR_PRESENTE, filas);
+        Set<Long> actualizadas = new LinkedHashSet<>();
+        for (int i = 0; i < resultados.length; i++) {
+            // Algunos drivers devuelven SUCCESS_NO_INFO (-2) en lotes reescritos: sin el recuento, la fila cuenta como cambiada
+            if (resultados[i] == 1 || resultados[i] == Statement.SUCCESS_NO_INFO) {
+                actualizadas.add(entradas.get(i).getKey());
+            }
+        }
+        return actualizadas;
+    }
+}
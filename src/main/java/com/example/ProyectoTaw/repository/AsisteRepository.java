@@ -4,55 +4,108 @@ import com.example.ProyectoTaw.model.Asiste;
 // import com.example.ProyectoTaw.model.AsisteId; // ¡Esta línea debe ser ELIMINADA!
 import com.example.ProyectoTaw.model.Curso;
 import com.example.ProyectoTaw.model.Estudiante;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
-import org.springframework.data.jpa.repository.Lock;
-import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository // Indica que esta interfaz es un componente de repositorio de Spring
 public interface AsisteRepository extends JpaRepository<Asiste, Long> { // CAMBIO AQUÍ: Ahora es Long
 
+    // --- Planes de carga (@NamedEntityGraph de la entidad) ---
+    // Listados: "Asiste.lista"; lectura de una fila: "Asiste.detalle".
+
+    @Override
+    @EntityGraph("Asiste.lista")
+    List<Asiste> findAll();
+
+    @Override
+    @EntityGraph("Asiste.lista")
+    Page<Asiste> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph("Asiste.detalle")
+    Optional<Asiste> findById(Long id);
+
     // --- Métodos de Búsqueda Personalizada (READ) ---
 
     // Buscar todas las asistencias de un estudiante específico por su CI
+    @EntityGraph("Asiste.lista")
     List<Asiste> findByEstudianteCi(String estudianteCi);
 
     // Buscar todas las asistencias para un curso específico por su ID
+    @EntityGraph("Asiste.lista")
     List<Asiste> findByCursoIdCurso(Integer cursoIdCurso);
 
     // Buscar asistencias por estudiante y fecha
+    @EntityGraph("Asiste.lista")
     List<Asiste> findByEstudianteCiAndFecha(String estudianteCi, LocalDate fecha);
 
     // Buscar asistencias por curso y fecha
+    @EntityGraph("Asiste.lista")
     List<Asiste> findByCursoIdCursoAndFecha(Integer cursoIdCurso, LocalDate fecha);
 
     // Buscar asistencias de un estudiante para un curso específico
+    @EntityGraph("Asiste.lista")
     List<Asiste> findByEstudianteCiAndCursoIdCurso(String estudianteCi, Integer cursoIdCurso);
 
     // Buscar asistencias por estudiante, curso y estado de presencia
+    @EntityGraph("Asiste.lista")
     List<Asiste> findByEstudianteCiAndCursoIdCursoAndPresente(String estudianteCi, Integer cursoIdCurso, Boolean presente);
 
     // Buscar asistencias por fecha
+    @EntityGraph("Asiste.lista")
     List<Asiste> findByFecha(LocalDate fecha);
 
     // Buscar asistencias por estado de presencia
+    @EntityGraph("Asiste.lista")
     List<Asiste> findByPresente(Boolean presente);
 
+    // Asistencias ya registradas de un curso en una fecha, sin cargar Estudiante ni Curso.
+    // La usa la toma de asistencia por lote para decidir qué filas insertar y cuáles actualizar.
+    @Query("SELECT a.idAsiste AS idAsiste, a.estudiante.ci AS estudianteCi, a.presente AS presente " +
+           "FROM Asiste a WHERE a.curso.idCurso = :cursoIdCurso AND a.fecha = :fecha")
+    List<AsistenciaRegistrada> findRegistradasPorCursoYFecha(@Param("cursoIdCurso") Integer cursoIdCurso,
+                                                            @Param("fecha") LocalDate fecha);
+
+    // Exportación masiva: cursor de servidor (fetch size) sobre una proyección, sin entidades gestionadas,
+    // para que la memoria no dependa del tamaño de la tabla. Debe consumirse dentro de una transacción.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a.idAsiste AS idAsiste, e.ci AS estudianteCi, e.nombre AS estudianteNombre, " +
+           "e.apellido AS estudianteApellido, c.idCurso AS cursoIdCurso, c.semestre AS semestre, c.anio AS anio, " +
+           "a.fecha AS fecha, a.presente AS presente " +
+           "FROM Asiste a JOIN a.estudiante e JOIN a.curso c " +
+           "WHERE (:cursoId IS NULL OR c.idCurso = :cursoId) " +
+           "AND (:semestre IS NULL OR c.semestre = :semestre) " +
+           "AND (:anio IS NULL OR c.anio = :anio) " +
+           "AND (:desde IS NULL OR a.fecha >= :desde) " +
+           "AND (:hasta IS NULL OR a.fecha <= :hasta) " +
+           "ORDER BY a.idAsiste")
+    Stream<AsistenciaExportada> streamParaExportar(@Param("cursoId") Integer cursoId,
+                                                   @Param("semestre") String semestre,
+                                                   @Param("anio") Integer anio,
+                                                   @Param("desde") LocalDate desde,
+                                                   @Param("hasta") LocalDate hasta);
+
     // --- Métodos de Verificación de Existencia ---
 
     // Verificar si ya existe un registro de asistencia para un estudiante, curso y fecha específicos
     // (Útil si quieres que esta combinación sea única, aunque el ID ahora sea autoincrementable)
     Boolean existsByEstudianteCiAndCursoIdCursoAndFecha(String estudianteCi, Integer cursoIdCurso, LocalDate fecha);
 
-    // --- Métodos de Transacción y Bloqueo ---
-    // El método findById ya usa el nuevo tipo de ID (Long) automáticamente.
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    Optional<Asiste> findById(Long id); // CAMBIO AQUÍ: Ahora el parámetro es Long
-    
+    @EntityGraph("Asiste.lista")
     Optional<Asiste> findByEstudianteCiAndCursoIdCursoAndFecha(String estudianteCi, Integer cursoIdCurso, LocalDate fecha);
 
     // Eliminar asistencias por estudiante y curso (útil para borrar todas las asistencias de un estudiante en un curso)
@@ -63,4 +116,32 @@ public interface AsisteRepository extends JpaRepository<Asiste, Long> { // CAMBI
 
     // Eliminar asistencias por curso
     void deleteByCursoIdCurso(Integer cursoIdCurso);
-}
\ No newline at end of file
+
+    // Paginación keyset: página siguiente a partir de la última clave devuelta (WHERE idAsiste > :cursor ORDER BY idAsiste).
+    @EntityGraph("Asiste.lista")
+    Slice<Asiste> findByIdAsisteGreaterThan(Long idAsiste, Pageable pageable);
+
+    /**
+     * Proyección mínima de una asistencia existente.
+     */
+    interface AsistenciaRegistrada {
+        Long getIdAsiste();
+        String getEstudianteCi();
+        Boolean getPresente();
+    }
+
+    /**
+     * Fila de la exportación de asistencias.
+     */
+    interface AsistenciaExportada {
+        Long getIdAsiste();
+        String getEstudianteCi();
+        String getEstudianteNombre();
+        String getEstudianteApellido();
+        Integer getCursoIdCurso();
+        String getSemestre();
+        Integer getAnio();
+        LocalDate getFecha();
+        Boolean getPresente();
+    }
+}
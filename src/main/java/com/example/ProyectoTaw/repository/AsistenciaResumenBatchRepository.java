@@ -0,0 +1,122 @@
+package com.example.ProyectoTaw.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Escrituras sobre asistencia_resumen: diferencias de presentes/total por (curso, estudiante) y recálculo por curso.
+ * Como AsisteBatchRepository, participa en la transacción activa: el resumen cambia junto con asiste o no cambia.
+ *
+ * Sumar una diferencia es un upsert atómico: INSERT ... ON CONFLICT DO UPDATE en PostgreSQL y MERGE en otras
+ * bases (H2 en las pruebas). La fila que queda con total 0 se borra.
+ */
+@Repository
+public class AsistenciaResumenBatchRepository {
+
+    /** Cambio en el resumen de un estudiante en un curso. */
+    public record Delta(Integer cursoIdCurso, String estudianteCi, int presentes, int total) {
+
+        /** Delta de una asistencia: signo 1 si se añade, -1 si se quita. */
+        public static Delta de(Integer cursoIdCurso, String estudianteCi, Boolean presente, int signo) {
+            return new Delta(cursoIdCurso, estudianteCi, Boolean.TRUE.equals(presente) ? signo : 0, signo);
+        }
+
+        public Delta mas(Delta otra) {
+            return new Delta(cursoIdCurso, estudianteCi, presentes + otra.presentes, total + otra.total);
+        }
+    }
+
+    private static final String SUMAR_POSTGRES = """
+            INSERT INTO asistencia_resumen (curso_id_curso, estudiante_ci, presentes, total)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (curso_id_curso, estudiante_ci) DO UPDATE
+            SET presentes = asistencia_resumen.presentes + EXCLUDED.presentes,
+                total = asistencia_resumen.total + EXCLUDED.total
+            """;
+
+    private static final String SUMAR_PORTABLE = """
+            MERGE INTO asistencia_resumen r
+            USING (VALUES (CAST(? AS INTEGER), CAST(? AS VARCHAR(20)), CAST(? AS INTEGER), CAST(? AS INTEGER)))
+                AS d (curso_id_curso, estudiante_ci, presentes, total)
+            ON r.curso_id_curso = d.curso_id_curso AND r.estudiante_ci = d.estudiante_ci
+            WHEN MATCHED THEN UPDATE SET presentes = r.presentes + d.presentes, total = r.total + d.total
+            WHEN NOT MATCHED THEN INSERT (curso_id_curso, estudiante_ci, presentes, total)
+                VALUES (d.curso_id_curso, d.estudiante_ci, d.presentes, d.total)
+            """;
+
+    private static final String BORRAR_VACIA =
+            "DELETE FROM asistencia_resumen WHERE curso_id_curso = ? AND estudiante_ci = ? AND total <= 0";
+
+    private static final String BORRAR_CURSO = "DELETE FROM asistencia_resumen WHERE curso_id_curso = ?";
+
+    private static final String RECALCULAR_CURSO = """
+            INSERT INTO asistencia_resumen (curso_id_curso, estudiante_ci, presentes, total)
+            SELECT curso_id_curso, estudiante_ci, SUM(CASE WHEN presente THEN 1 ELSE 0 END), COUNT(*)
+            FROM asiste
+            WHERE curso_id_curso = ?
+            GROUP BY curso_id_curso, estudiante_ci
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    @Autowired
+    public AsistenciaResumenBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Suma las diferencias en un lote JDBC y borra las filas que quedan vacías.
+     * Quien llama agrupa antes las diferencias de un mismo par (no se repiten claves en el lote).
+     */
+    public void aplicar(Collection<Delta> deltas) {
+        List<Delta> cambios = deltas.stream().filter(d -> d.presentes() != 0 || d.total() != 0).toList();
+        if (cambios.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(esPostgres() ? SUMAR_POSTGRES : SUMAR_PORTABLE, cambios.stream()
+                .map(d -> new Object[]{d.cursoIdCurso(), d.estudianteCi(), d.presentes(), d.total()})
+                .toList());
+        List<Object[]> posiblesVacias = cambios.stream()
+                .filter(d -> d.total() < 0)
+                .map(d -> new Object[]{d.cursoIdCurso(), d.estudianteCi()})
+                .toList();
+        if (!posiblesVacias.isEmpty()) {
+            jdbcTemplate.batchUpdate(BORRAR_VACIA, posiblesVacias);
+        }
+    }
+
+    /**
+     * Recalcula desde asiste el resumen de un curso (borra sus filas y las vuelve a insertar).
+     * @return Número de filas del curso.
+     */
+    public int recalcularCurso(Integer cursoIdCurso) {
+        jdbcTemplate.update(BORRAR_CURSO, cursoIdCurso);
+        return jdbcTemplate.update(RECALCULAR_CURSO, cursoIdCurso);
+    }
+
+    /** IDs de los cursos con asistencias o con filas de resumen (las que pueden sobrar también se recalculan). */
+    public List<Integer> cursosARecalcular() {
+        return jdbcTemplate.queryForList("""
+                SELECT curso_id_curso FROM asiste
+                UNION
+                SELECT curso_id_curso FROM asistencia_resumen
+                """, Integer.class);
+    }
+
+    private boolean esPostgres() {
+        Boolean resultado = postgres;
+        if (resultado == null) {
+            resultado = jdbcTemplate.execute((ConnectionCallback<Boolean>) conexion ->
+                    "PostgreSQL".equals(conexion.getMetaData().getDatabaseProductName()));
+            postgres = resultado;
+        }
+        return Boolean.TRUE.equals(resultado);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.ProyectoTaw.repository;
+
+import com.example.ProyectoTaw.model.AsistenciaResumen;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AsistenciaResumenRepository extends JpaRepository<AsistenciaResumen, AsistenciaResumen.Clave> {
+
+    // Prefijo de la clave primaria (curso_id_curso, estudiante_ci)
+    List<AsistenciaResumen> findByCursoIdCursoOrderByEstudianteCi(Integer cursoIdCurso);
+
+    // idx_asistencia_resumen_estudiante
+    List<AsistenciaResumen> findByEstudianteCiOrderByCursoIdCurso(String estudianteCi);
+}
@@ -0,0 +1,17 @@
+package com.example.ProyectoTaw.repository;
+
+import com.example.ProyectoTaw.model.BloqueoEdicion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface BloqueoEdicionRepository extends JpaRepository<BloqueoEdicion, String> {
+
+    Optional<BloqueoEdicion> findByToken(String token);
+
+    // Bloqueos vigentes (métrica bloqueos.activos)
+    long countByExpiraEnAfter(LocalDateTime instante);
+}
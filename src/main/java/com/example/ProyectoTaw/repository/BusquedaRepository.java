@@ -0,0 +1,177 @@
+package com.example.ProyectoTaw.repository;
+
+import com.example.ProyectoTaw.dto.ResultadoBusquedaDTO;
+import com.example.ProyectoTaw.dto.ResultadoBusquedaDTO.Tipo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Búsqueda por relevancia en estudiante, docente y materia sobre la columna generada texto_busqueda
+ * (migraciones V5__texto_busqueda): los campos buscables en minúsculas y sin tildes.
+ *
+ * En PostgreSQL cada palabra buscada es un prefijo de texto completo ("jos pe" es jos:* & pe:*) y, además,
+ * se aceptan coincidencias aproximadas por trigramas (operador <%, para errores de escritura); ambas condiciones
+ * usan índices GIN y la relevancia es ts_rank + word_similarity. En otras bases (H2 en las pruebas) cada palabra
+ * debe aparecer en el texto (LIKE) y puntúa más si empieza una palabra.
+ */
+@Repository
+public class BusquedaRepository {
+
+    /** Máximo de resultados de buscarEstudiantes, buscarDocentes y buscarMaterias, que no paginan */
+    public static final int LIMITE_LISTA = 100;
+
+    // Con menos caracteres casi todo coincide: se devuelve una página vacía en lugar de recorrer índices enteros
+    private static final int LONGITUD_MINIMA = 2;
+    private static final int MAXIMO_PALABRAS = 6;
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private record Fuente(Tipo tipo, String tabla, String id, String titulo, String detalle) {
+    }
+
+    private static final List<Fuente> FUENTES = List.of(
+            new Fuente(Tipo.ESTUDIANTE, "estudiante", "t.ci",
+                    "TRIM(COALESCE(t.nombre, '') || ' ' || COALESCE(t.apellido, ''))", "t.email"),
+            new Fuente(Tipo.DOCENTE, "docente", "t.ci_docente",
+                    "TRIM(COALESCE(t.nombre, '') || ' ' || COALESCE(t.apellido, ''))", "t.departamento"),
+            new Fuente(Tipo.MATERIA, "materia", "CAST(t.id AS VARCHAR(20))", "t.nombre_materia", "t.codigo_unico"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres; // Se averigua en la primera búsqueda
+
+    @Autowired
+    public BusquedaRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Page<ResultadoBusquedaDTO> buscar(String texto, Set<Tipo> tipos, Pageable pageable) {
+        List<String> palabras = palabras(texto);
+        if (palabras.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        Set<Tipo> buscados = tipos == null || tipos.isEmpty() ? EnumSet.allOf(Tipo.class) : tipos;
+
+        MapSqlParameterSource parametros = new MapSqlParameterSource();
+        String union = FUENTES.stream()
+                .filter(fuente -> buscados.contains(fuente.tipo()))
+                .map(fuente -> esPostgres() ? selectPostgres(fuente) : selectPortable(fuente, palabras.size()))
+                .collect(Collectors.joining(" UNION ALL "));
+        if (esPostgres()) {
+            parametros.addValue("consulta", palabras.stream().map(p -> p + ":*").collect(Collectors.joining(" & ")));
+            parametros.addValue("texto", String.join(" ", palabras));
+        } else {
+            for (int i = 0; i < palabras.size(); i++) {
+                parametros.addValue("contiene" + i, "%" + palabras.get(i) + "%");
+                parametros.addValue("inicio" + i, palabras.get(i) + "%");
+                parametros.addValue("palabra" + i, "% " + palabras.get(i) + "%");
+            }
+        }
+        parametros.addValue("limite", pageable.getPageSize());
+        parametros.addValue("desplazamiento", pageable.getOffset());
+
+        long[] total = {0};
+        List<ResultadoBusquedaDTO> resultados = jdbcTemplate.query(
+                "SELECT r.tipo, r.id, r.titulo, r.detalle, r.relevancia, COUNT(*) OVER () AS total "
+                        + "FROM (" + union + ") r "
+                        + "ORDER BY r.relevancia DESC, r.tipo, r.id LIMIT :limite OFFSET :desplazamiento",
+                parametros,
+                (rs, fila) -> {
+                    total[0] = rs.getLong("total");
+                    return ResultadoBusquedaDTO.builder()
+                            .tipo(Tipo.valueOf(rs.getString("tipo")))
+                            .id(rs.getString("id"))
+                            .titulo(rs.getString("titulo"))
+                            .detalle(rs.getString("detalle"))
+                            .relevancia(rs.getDouble("relevancia"))
+                            .build();
+                });
+        if (resultados.isEmpty() && pageable.getOffset() > 0) {
+            // Página más allá del final: COUNT(*) OVER () no llega a calcularse sin filas
+            Long filas = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (" + union + ") r", parametros, Long.class);
+            total[0] = filas != null ? filas : 0;
+        }
+        return new PageImpl<>(resultados, pageable, total[0]);
+    }
+
+    /** IDs de los resultados más relevantes de un tipo, en orden de relevancia. */
+    public List<String> buscarIds(String texto, Tipo tipo, int limite) {
+        return buscar(texto, EnumSet.of(tipo), PageRequest.of(0, limite)).stream()
+                .map(ResultadoBusquedaDTO::getId)
+                .toList();
+    }
+
+    /**
+     * Minúsculas y sin tildes ni diéresis ("Núñez" es "nunez"), igual que unaccent(lower(...)) en PostgreSQL.
+     * En H2 es la función f_unaccent de la columna texto_busqueda (db/vendor/h2/V5__texto_busqueda.sql).
+     */
+    public static String sinAcentos(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        return MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    // Solo letras y dígitos: ninguna palabra puede contener operadores de tsquery ni comodines de LIKE
+    static List<String> palabras(String texto) {
+        if (texto == null) {
+            return List.of();
+        }
+        List<String> palabras = new ArrayList<>(Arrays.stream(SEPARADORES.split(sinAcentos(texto)))
+                .filter(p -> !p.isEmpty())
+                .distinct()
+                .limit(MAXIMO_PALABRAS)
+                .toList());
+        return String.join("", palabras).length() < LONGITUD_MINIMA ? List.of() : palabras;
+    }
+
+    private static String selectPostgres(Fuente fuente) {
+        return "SELECT '" + fuente.tipo() + "' AS tipo, " + fuente.id() + " AS id, " + fuente.titulo() + " AS titulo, "
+                + fuente.detalle() + " AS detalle, "
+                + "ts_rank(to_tsvector('simple', t.texto_busqueda), to_tsquery('simple', :consulta)) "
+                + "+ word_similarity(:texto, t.texto_busqueda) AS relevancia "
+                + "FROM " + fuente.tabla() + " t "
+                + "WHERE to_tsvector('simple', t.texto_busqueda) @@ to_tsquery('simple', :consulta) "
+                + "OR :texto <% t.texto_busqueda";
+    }
+
+    private static String selectPortable(Fuente fuente, int palabras) {
+        List<String> puntos = new ArrayList<>();
+        List<String> condiciones = new ArrayList<>();
+        for (int i = 0; i < palabras; i++) {
+            puntos.add("CASE WHEN t.texto_busqueda LIKE :inicio" + i + " OR t.texto_busqueda LIKE :palabra" + i
+                    + " THEN 2 ELSE 1 END");
+            condiciones.add("t.texto_busqueda LIKE :contiene" + i);
+        }
+        return "SELECT '" + fuente.tipo() + "' AS tipo, " + fuente.id() + " AS id, " + fuente.titulo() + " AS titulo, "
+                + fuente.detalle() + " AS detalle, " + String.join(" + ", puntos) + " AS relevancia "
+                + "FROM " + fuente.tabla() + " t WHERE " + String.join(" AND ", condiciones);
+    }
+
+    private boolean esPostgres() {
+        Boolean resultado = postgres;
+        if (resultado == null) {
+            resultado = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) conexion ->
+                    "PostgreSQL".equals(conexion.getMetaData().getDatabaseProductName()));
+            postgres = resultado;
+        }
+        return Boolean.TRUE.equals(resultado);
+    }
+}
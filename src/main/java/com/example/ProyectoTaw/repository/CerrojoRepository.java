@@ -0,0 +1,34 @@
+package com.example.ProyectoTaw.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Cerrojos de la tabla cerrojo (migración V7), tomados con SELECT ... FOR UPDATE.
+ * El bloqueo de fila dura hasta el fin de la transacción activa, así que solo serializa si se llama
+ * dentro de un método @Transactional, antes de leer lo que se va a validar.
+ */
+@Repository
+public class CerrojoRepository {
+
+    /** Altas y cambios de relaciones materia-prerrequisito. */
+    public static final String MATERIA_PREREQUISITO = "materia_prerequisito";
+
+    private static final String TOMAR = "SELECT nombre FROM cerrojo WHERE nombre = ? FOR UPDATE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CerrojoRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Espera a que ninguna otra transacción tenga el cerrojo y lo retiene hasta el commit o rollback de la actual.
+     * @param nombre Fila del cerrojo (p. ej. {@link #MATERIA_PREREQUISITO}).
+     */
+    public void tomar(String nombre) {
+        jdbcTemplate.queryForObject(TOMAR, String.class, nombre);
+    }
+}
@@ -3,8 +3,8 @@ package com.example.ProyectoTaw.repository;
 import com.example.ProyectoTaw.model.Curso;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
-import org.springframework.data.jpa.repository.Lock;
-import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import java.util.Optional;
 import java.util.List;
 
@@ -25,6 +25,6 @@ public interface CursoRepository extends JpaRepository<Curso, Integer> {
 
     List<Curso> findBySemestreAndAnio(String semestre, Integer anio);
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    Optional<Curso> findById(Integer idCurso);
+    // Paginación keyset: página siguiente a partir de la última clave devuelta (WHERE idCurso > :cursor ORDER BY idCurso).
+    Slice<Curso> findByIdCursoGreaterThan(Integer idCurso, Pageable pageable);
 }
\ No newline at end of file
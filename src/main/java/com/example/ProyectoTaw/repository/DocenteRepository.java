@@ -3,10 +3,9 @@ package com.example.ProyectoTaw.repository;
 import com.example.ProyectoTaw.model.Docente;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
-import org.springframework.data.jpa.repository.Lock;
-import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import java.util.Optional;
-import java.util.List;
 
 @Repository // Indica que esta interfaz es un componente de repositorio de Spring
 
@@ -29,15 +28,9 @@ public interface DocenteRepository extends JpaRepository<Docente, String> {
     // Ajustado a 'String' para coincidir con el tipo de 'ci' en la entidad.
     Optional<Docente> findByCiDocente(String ci); 
 
-    // --- Métodos de Búsqueda Personalizada (READ) ---
-    // Busca docente cuyo nombre o apellido contengan la cadena dada (ignorando mayúsculas/minúsculas).
-    List<Docente> findByNombreContainingIgnoreCaseOrApellidoContainingIgnoreCase(String nombre, String apellido);
+    // La búsqueda por texto (nombre, apellido, CI, email, departamento) está en BusquedaRepository.
 
-    // --- Métodos de Transacción y Bloqueo ---
-    // Bloquea el registro del Docente para escritura (bloqueo pesimista).
-    // Esto es útil en entornos de alta concurrencia para evitar problemas de datos sucios.
-    // Aquí el método original findById(Integer ci) se ajusta a findById(String ci)
-    // para usar la CI como clave primaria de tipo String.
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    Optional<Docente> findById(String ci); 
+
+    // Paginación keyset: página siguiente a partir de la última clave devuelta (WHERE ciDocente > :cursor ORDER BY ciDocente).
+    Slice<Docente> findByCiDocenteGreaterThan(String ciDocente, Pageable pageable);
 }
\ No newline at end of file
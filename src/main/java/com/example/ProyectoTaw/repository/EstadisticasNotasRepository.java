@@ -0,0 +1,74 @@
+package com.example.ProyectoTaw.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Estadísticas de las notas de un curso calculadas en la base, en una sola consulta que usa idx_registra_nota_curso:
+ * una fila por evaluación y otra (evaluacion NULL) con todas las notas del curso. Media, desviación, extremos,
+ * percentiles (PERCENTILE_CONT, en PostgreSQL y en H2), aprobados e histograma en tramos de 10 puntos
+ * (el último incluye el 100). Solo viajan las filas agregadas, no las notas.
+ */
+@Repository
+public class EstadisticasNotasRepository {
+
+    public static final int CUBETAS = 10;
+
+    /** Fila agregada; evaluacion es null en la del curso completo. */
+    public record Agregado(String evaluacion, long cantidad, double promedio, double desviacion, double minima,
+                           double maxima, double percentil25, double mediana, double percentil75, double percentil90,
+                           long aprobados, List<Long> histograma) {
+    }
+
+    private static final String COLUMNAS = """
+            COUNT(*), AVG(nota), STDDEV_POP(nota), MIN(nota), MAX(nota),
+            PERCENTILE_CONT(0.25) WITHIN GROUP (ORDER BY nota),
+            PERCENTILE_CONT(0.5) WITHIN GROUP (ORDER BY nota),
+            PERCENTILE_CONT(0.75) WITHIN GROUP (ORDER BY nota),
+            PERCENTILE_CONT(0.9) WITHIN GROUP (ORDER BY nota),
+            SUM(CASE WHEN nota >= :notaAprobacion THEN 1 ELSE 0 END),
+            """ + IntStream.range(0, CUBETAS)
+            .mapToObj(i -> i == CUBETAS - 1
+                    ? "SUM(CASE WHEN nota >= " + i * 10 + " THEN 1 ELSE 0 END)"
+                    : "SUM(CASE WHEN nota >= " + i * 10 + " AND nota < " + (i + 1) * 10 + " THEN 1 ELSE 0 END)")
+            .collect(Collectors.joining(", "));
+
+    private static final String ESTADISTICAS_CURSO =
+            "SELECT evaluacion, " + COLUMNAS + " FROM registra_nota WHERE curso_id = :cursoId GROUP BY evaluacion"
+            + " UNION ALL "
+            + "SELECT CAST(NULL AS VARCHAR(50)), " + COLUMNAS + " FROM registra_nota WHERE curso_id = :cursoId HAVING COUNT(*) > 0";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public EstadisticasNotasRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param cursoId El ID del curso.
+     * @param notaAprobacion Nota mínima que cuenta como aprobada.
+     * @return Las filas por evaluación y la del curso completo; vacía si el curso no tiene notas.
+     */
+    public List<Agregado> estadisticasDeCurso(Integer cursoId, double notaAprobacion) {
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("cursoId", cursoId)
+                .addValue("notaAprobacion", notaAprobacion);
+        return jdbcTemplate.query(ESTADISTICAS_CURSO, parametros, (rs, fila) -> {
+            List<Long> histograma = new ArrayList<>(CUBETAS);
+            for (int i = 0; i < CUBETAS; i++) {
+                histograma.add(rs.getLong(12 + i));
+            }
+            return new Agregado(rs.getString(1), rs.getLong(2), rs.getDouble(3), rs.getDouble(4), rs.getDouble(5),
+                    rs.getDouble(6), rs.getDouble(7), rs.getDouble(8), rs.getDouble(9), rs.getDouble(10),
+                    rs.getLong(11), histograma);
+        });
+    }
+}
@@ -3,8 +3,11 @@ package com.example.ProyectoTaw.repository;
 import com.example.ProyectoTaw.model.Estudiante;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
-import org.springframework.data.jpa.repository.Lock;
-import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
@@ -28,15 +31,13 @@ public interface EstudianteRepository extends JpaRepository<Estudiante, String>
     // Ajustado a 'String' para coincidir con el tipo de 'ci' en la entidad.
     Optional<Estudiante> findByCi(String ci); 
 
-    // --- Métodos de Búsqueda Personalizada (READ) ---
-    // Busca estudiantes cuyo nombre o apellido contengan la cadena dada (ignorando mayúsculas/minúsculas).
-    List<Estudiante> findByNombreContainingIgnoreCaseOrApellidoContainingIgnoreCase(String nombre, String apellido);
+    // La búsqueda por texto (nombre, apellido, CI, email) está en BusquedaRepository.
 
-    // --- Métodos de Transacción y Bloqueo ---
-    // Bloquea el registro del estudiante para escritura (bloqueo pesimista).
-    // Esto es útil en entornos de alta concurrencia para evitar problemas de datos sucios.
-    // Aquí el método original findById(Integer ci) se ajusta a findById(String ci)
-    // para usar la CI como clave primaria de tipo String.
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    Optional<Estudiante> findById(String ci); 
+    // De las CI dadas, devuelve solo las que existen, en una única consulta IN (sin cargar las entidades).
+    @Query("SELECT e.ci FROM Estudiante e WHERE e.ci IN :cis")
+    List<String> findCisExistentes(@Param("cis") Collection<String> cis);
+
+
+    // Paginación keyset: página siguiente a partir de la última clave devuelta (WHERE ci > :cursor ORDER BY ci).
+    Slice<Estudiante> findByCiGreaterThan(String ci, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.example.ProyectoTaw.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Historial académico de un estudiante por ID de materia, en una sola consulta.
+ *
+ * Una materia está aprobada si el promedio de las notas del estudiante en alguno de los cursos que la dictan
+ * (se_da) alcanza la nota mínima; está en curso si tiene una inscripción dentro del intervalo indicado.
+ * Ambas partes empiezan por un índice cuyo primer campo es el estudiante: idx_registra_nota_estudiante_curso_evaluacion
+ * (V3) y la clave única de inscrito (estudiante_ci, materia_codigo_unico, fecha_inscripcion).
+ */
+@Repository
+public class HistorialAcademicoRepository {
+
+    private static final String HISTORIAL = """
+            SELECT m.id, 'A' AS estado
+            FROM registra_nota rn
+            JOIN se_da sd ON sd.curso_id_curso = rn.curso_id
+            JOIN materia m ON m.codigo_unico = sd.materia_codigo_unico
+            WHERE rn.estudiante_id = ?
+            GROUP BY m.id, rn.curso_id
+            HAVING AVG(rn.nota) >= ?
+            UNION ALL
+            SELECT m.id, 'C' AS estado
+            FROM inscrito i
+            JOIN materia m ON m.codigo_unico = i.materia_codigo_unico
+            WHERE i.estudiante_ci = ? AND i.fecha_inscripcion > ? AND i.fecha_inscripcion < ?
+            """;
+
+    /** IDs de materia aprobadas y en curso; una materia aprobada no figura en cursando. */
+    public record Historial(Set<Long> aprobadas, Set<Long> cursando) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public HistorialAcademicoRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param estudianteCi CI del estudiante.
+     * @param notaAprobacion Promedio mínimo de un curso para aprobar la materia.
+     * @param cursandoDesde Las inscripciones posteriores a esta fecha y anteriores a cursandoHasta cuentan como
+     *                      materia en curso.
+     * @param cursandoHasta Fin (exclusivo) de ese intervalo.
+     */
+    public Historial buscarPorEstudiante(String estudianteCi, double notaAprobacion,
+                                         LocalDate cursandoDesde, LocalDate cursandoHasta) {
+        Set<Long> aprobadas = new HashSet<>();
+        Set<Long> cursando = new HashSet<>();
+        jdbcTemplate.query(HISTORIAL, rs -> {
+            (rs.getString(2).equals("A") ? aprobadas : cursando).add(rs.getLong(1));
+        }, estudianteCi, notaAprobacion, estudianteCi, Date.valueOf(cursandoDesde), Date.valueOf(cursandoHasta));
+        cursando.removeAll(aprobadas);
+        return new Historial(aprobadas, cursando);
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.ProyectoTaw.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Qué cursos ocupan a un docente (imparte × se_da) o a un estudiante (inscrito × se_da), restringido a los cursos
+ * candidatos que el índice de horarios ya encontró superpuestos. Así cada comprobación es una sola consulta
+ * por índice sobre unas pocas filas, y no hace falta cargar el horario completo de nadie.
+ *
+ * Índices: imparte por docente (V3) y por (materia, docente) (UNIQUE de V1); inscrito por (estudiante_ci, ...)
+ * (UNIQUE de V1) y por materia (V3); se_da por (materia, curso) (UNIQUE de V1).
+ */
+@Repository
+public class HorarioRepository {
+
+    /** persona tiene materia en el curso cursoId, y también materiaPropia (la de la escritura que se valida). */
+    public record Ocupacion(String persona, String materiaPropia, Integer cursoId, String materia) {
+    }
+
+    // Cerrojo por persona: una segunda escritura del mismo docente o estudiante espera al commit de la primera
+    private static final String BLOQUEAR_DOCENTE = """
+            SELECT ci_docente FROM docente WHERE ci_docente = :persona FOR UPDATE
+            """;
+
+    private static final String BLOQUEAR_ESTUDIANTE = """
+            SELECT ci FROM estudiante WHERE ci = :persona FOR UPDATE
+            """;
+
+    private static final String CURSOS_DE_MATERIA = """
+            SELECT curso_id_curso FROM se_da WHERE materia_codigo_unico = :materia
+            """;
+
+    private static final String MATERIAS_DEL_CURSO = """
+            SELECT materia_codigo_unico FROM se_da WHERE curso_id_curso = :curso
+            """;
+
+    private static final String CURSOS_DEL_DOCENTE = """
+            SELECT sd.curso_id_curso, sd.materia_codigo_unico
+            FROM imparte i
+            JOIN se_da sd ON sd.materia_codigo_unico = i.materia_codigo_unico
+            WHERE i.docente_ci_docente = :persona AND i.id_imparte <> :excluir
+              AND i.materia_codigo_unico <> :materia AND sd.curso_id_curso IN (:cursos)
+            """;
+
+    private static final String CURSOS_DEL_ESTUDIANTE = """
+            SELECT sd.curso_id_curso, sd.materia_codigo_unico
+            FROM inscrito i
+            JOIN se_da sd ON sd.materia_codigo_unico = i.materia_codigo_unico
+            WHERE i.estudiante_ci = :persona AND i.id_inscrito <> :excluir AND i.fecha_inscripcion >= :desde
+              AND i.materia_codigo_unico <> :materia AND sd.curso_id_curso IN (:cursos)
+            """;
+
+    // Docentes de alguna de las materias que también dictan otra materia en un curso candidato
+    private static final String DOCENTES_DE_MATERIAS = """
+            SELECT otra.docente_ci_docente, propia.materia_codigo_unico, sd.curso_id_curso, sd.materia_codigo_unico
+            FROM imparte propia
+            JOIN imparte otra ON otra.docente_ci_docente = propia.docente_ci_docente
+                             AND otra.materia_codigo_unico <> propia.materia_codigo_unico
+            JOIN se_da sd ON sd.materia_codigo_unico = otra.materia_codigo_unico
+            WHERE propia.materia_codigo_unico IN (:materias) AND sd.id_se_da <> :excluir AND sd.curso_id_curso IN (:cursos)
+            """;
+
+    private static final String ESTUDIANTES_DE_MATERIAS = """
+            SELECT otra.estudiante_ci, propia.materia_codigo_unico, sd.curso_id_curso, sd.materia_codigo_unico
+            FROM inscrito propia
+            JOIN inscrito otra ON otra.estudiante_ci = propia.estudiante_ci
+                              AND otra.materia_codigo_unico <> propia.materia_codigo_unico
+                              AND otra.fecha_inscripcion >= :desde
+            JOIN se_da sd ON sd.materia_codigo_unico = otra.materia_codigo_unico
+            WHERE propia.materia_codigo_unico IN (:materias) AND propia.fecha_inscripcion >= :desde
+              AND sd.id_se_da <> :excluir AND sd.curso_id_curso IN (:cursos)
+            """;
+
+    private static final String CURSOS_DE_DOCENTES = """
+            SELECT sd.curso_id_curso
+            FROM imparte i
+            JOIN se_da sd ON sd.materia_codigo_unico = i.materia_codigo_unico
+            WHERE i.docente_ci_docente IN (:personas)
+            """;
+
+    private static final String CURSOS_DE_ESTUDIANTES = """
+            SELECT sd.curso_id_curso
+            FROM inscrito i
+            JOIN se_da sd ON sd.materia_codigo_unico = i.materia_codigo_unico
+            WHERE i.estudiante_ci IN (:personas) AND i.fecha_inscripcion >= :desde
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public HorarioRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Bloquea la fila del docente hasta el fin de la transacción activa. */
+    public void bloquearDocente(String ciDocente) {
+        jdbcTemplate.queryForList(BLOQUEAR_DOCENTE, new MapSqlParameterSource("persona", ciDocente), String.class);
+    }
+
+    /** Bloquea la fila del estudiante hasta el fin de la transacción activa. */
+    public void bloquearEstudiante(String estudianteCi) {
+        jdbcTemplate.queryForList(BLOQUEAR_ESTUDIANTE, new MapSqlParameterSource("persona", estudianteCi), String.class);
+    }
+
+    public List<Integer> cursosDeMateria(String materiaCodigoUnico) {
+        return jdbcTemplate.queryForList(CURSOS_DE_MATERIA, new MapSqlParameterSource("materia", materiaCodigoUnico), Integer.class);
+    }
+
+    public List<String> materiasDelCurso(Integer cursoId) {
+        return jdbcTemplate.queryForList(MATERIAS_DEL_CURSO, new MapSqlParameterSource("curso", cursoId), String.class);
+    }
+
+    /**
+     * Cursos candidatos en que el docente dicta otra materia distinta de materiaCodigoUnico.
+     * @param excluirImparte Relación imparte que se está modificando (sus datos anteriores no cuentan), o null.
+     */
+    public List<Ocupacion> cursosDelDocente(String ciDocente, String materiaCodigoUnico, Long excluirImparte,
+                                            Collection<Integer> cursos) {
+        if (cursos.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("persona", ciDocente)
+                .addValue("materia", materiaCodigoUnico)
+                .addValue("excluir", excluirImparte != null ? excluirImparte : -1L)
+                .addValue("cursos", cursos);
+        return jdbcTemplate.query(CURSOS_DEL_DOCENTE, params, (rs, i) ->
+                new Ocupacion(ciDocente, materiaCodigoUnico, rs.getInt(1), rs.getString(2)));
+    }
+
+    /**
+     * Cursos candidatos de otras materias en que el estudiante tiene una inscripción desde la fecha indicada.
+     * @param excluirInscrito Inscripción que se está modificando, o null.
+     */
+    public List<Ocupacion> cursosDelEstudiante(String estudianteCi, String materiaCodigoUnico, Long excluirInscrito,
+                                               LocalDate desde, Collection<Integer> cursos) {
+        if (cursos.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("persona", estudianteCi)
+                .addValue("materia", materiaCodigoUnico)
+                .addValue("excluir", excluirInscrito != null ? excluirInscrito : -1L)
+                .addValue("desde", Date.valueOf(desde))
+                .addValue("cursos", cursos);
+        return jdbcTemplate.query(CURSOS_DEL_ESTUDIANTE, params, (rs, i) ->
+                new Ocupacion(estudianteCi, materiaCodigoUnico, rs.getInt(1), rs.getString(2)));
+    }
+
+    /**
+     * Docentes de alguna de las materias que dictan otra materia en un curso candidato.
+     * @param excluirSeDa Relación se_da que se está modificando, o null.
+     */
+    public List<Ocupacion> docentesDeMaterias(Collection<String> materias, Long excluirSeDa, Collection<Integer> cursos) {
+        if (materias.isEmpty() || cursos.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("materias", materias)
+                .addValue("excluir", excluirSeDa != null ? excluirSeDa : -1L)
+                .addValue("cursos", cursos);
+        return jdbcTemplate.query(DOCENTES_DE_MATERIAS, params, (rs, i) ->
+                new Ocupacion(rs.getString(1), rs.getString(2), rs.getInt(3), rs.getString(4)));
+    }
+
+    /** Estudiantes inscritos desde la fecha en alguna de las materias y en otra que se da en un curso candidato. */
+    public List<Ocupacion> estudiantesDeMaterias(Collection<String> materias, Long excluirSeDa, LocalDate desde,
+                                                 Collection<Integer> cursos) {
+        if (materias.isEmpty() || cursos.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("materias", materias)
+                .addValue("excluir", excluirSeDa != null ? excluirSeDa : -1L)
+                .addValue("desde", Date.valueOf(desde))
+                .addValue("cursos", cursos);
+        return jdbcTemplate.query(ESTUDIANTES_DE_MATERIAS, params, (rs, i) ->
+                new Ocupacion(rs.getString(1), rs.getString(2), rs.getInt(3), rs.getString(4)));
+    }
+
+    /** Cursos de todas las materias que dictan los docentes o en que están inscritos (desde la fecha) los estudiantes. */
+    public Set<Integer> cursosOcupados(Collection<String> docentes, Collection<String> estudiantes, LocalDate desde) {
+        Set<Integer> cursos = new HashSet<>();
+        if (!docentes.isEmpty()) {
+            cursos.addAll(jdbcTemplate.queryForList(CURSOS_DE_DOCENTES,
+                    new MapSqlParameterSource("personas", docentes), Integer.class));
+        }
+        if (!estudiantes.isEmpty()) {
+            cursos.addAll(jdbcTemplate.queryForList(CURSOS_DE_ESTUDIANTES, new MapSqlParameterSource()
+                    .addValue("personas", estudiantes)
+                    .addValue("desde", Date.valueOf(desde)), Integer.class));
+        }
+        return cursos;
+    }
+}
@@ -1,36 +1,56 @@
 package com.example.ProyectoTaw.repository;
 
 import com.example.ProyectoTaw.model.Imparte;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
-import jakarta.persistence.LockModeType;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ImparteRepository extends JpaRepository<Imparte, Long> {
 
+    // --- Planes de carga (@NamedEntityGraph de la entidad) ---
+    // Listados: "Imparte.lista"; lectura de una fila: "Imparte.detalle".
+
+    @Override
+    @EntityGraph("Imparte.lista")
+    List<Imparte> findAll();
+
+    @Override
+    @EntityGraph("Imparte.lista")
+    Page<Imparte> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph("Imparte.detalle")
+    Optional<Imparte> findById(Long id);
+
     // Búsqueda por materia
+    @EntityGraph("Imparte.lista")
     List<Imparte> findByMateriaCodigoUnico(String materiaCodigoUnico);
 
     // Búsqueda por docente
+    @EntityGraph("Imparte.lista")
     List<Imparte> findByDocenteCiDocente(String ciDocente);
 
     // Búsqueda por combinación
+    @EntityGraph("Imparte.lista")
     Optional<Imparte> findByMateriaCodigoUnicoAndDocenteCiDocente(String materiaCodigoUnico, String ciDocente);
 
     // Verificación de existencia de una relación específica
     boolean existsByMateriaCodigoUnicoAndDocenteCiDocente(String materiaCodigoUnico, String ciDocente);
 
-    // Bloqueo pesimista por ID
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    Optional<Imparte> findById(Long id); // Usado para bloqueo en `obtenerRelacionConBloqueo`
-
     // Eliminación por materia
     void deleteByMateriaCodigoUnico(String materiaCodigoUnico);
 
     // Eliminación por docente
     void deleteByDocenteCiDocente(String ciDocente);
+
+    // Paginación keyset: página siguiente a partir de la última clave devuelta (WHERE idImparte > :cursor ORDER BY idImparte).
+    @EntityGraph("Imparte.lista")
+    Slice<Imparte> findByIdImparteGreaterThan(Long idImparte, Pageable pageable);
 }
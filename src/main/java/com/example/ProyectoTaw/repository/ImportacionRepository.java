@@ -0,0 +1,102 @@
+package com.example.ProyectoTaw.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Consultas e inserciones por lote de la importación CSV.
+ *
+ * Cada comprobación de unicidad es una sola consulta IN (...) por lote de filas sobre la clave primaria o el
+ * UNIQUE de email/código (V1), en lugar de un existsBy por fila. Las inserciones pasan por Hibernate como en
+ * AsisteBatchRepository (hibernate.jdbc.batch_size) y participan en la transacción activa.
+ */
+@Repository
+public class ImportacionRepository {
+
+    private static final String CIS_ESTUDIANTE = """
+            SELECT ci FROM estudiante WHERE ci IN (:valores)
+            """;
+
+    private static final String EMAILS_ESTUDIANTE = """
+            SELECT email FROM estudiante WHERE email IN (:valores)
+            """;
+
+    private static final String CIS_DOCENTE = """
+            SELECT ci_docente FROM docente WHERE ci_docente IN (:valores)
+            """;
+
+    private static final String EMAILS_DOCENTE = """
+            SELECT email FROM docente WHERE email IN (:valores)
+            """;
+
+    private static final String CODIGOS_MATERIA = """
+            SELECT codigo_unico FROM materia WHERE codigo_unico IN (:valores)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public ImportacionRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Las CI que ya tienen un estudiante. */
+    public Set<String> cisEstudianteExistentes(Collection<String> cis) {
+        return existentes(CIS_ESTUDIANTE, cis);
+    }
+
+    /** Los emails que ya usa un estudiante. */
+    public Set<String> emailsEstudianteExistentes(Collection<String> emails) {
+        return existentes(EMAILS_ESTUDIANTE, emails);
+    }
+
+    /** Las CI que ya tienen un docente. */
+    public Set<String> cisDocenteExistentes(Collection<String> cis) {
+        return existentes(CIS_DOCENTE, cis);
+    }
+
+    /** Los emails que ya usa un docente. */
+    public Set<String> emailsDocenteExistentes(Collection<String> emails) {
+        return existentes(EMAILS_DOCENTE, emails);
+    }
+
+    /** Los códigos únicos que ya tiene una materia. */
+    public Set<String> codigosMateriaExistentes(Collection<String> codigos) {
+        return existentes(CODIGOS_MATERIA, codigos);
+    }
+
+    /**
+     * Inserta en lote entidades nuevas (estudiantes, docentes o materias).
+     * Vacía el contexto de persistencia al terminar: con open-in-view el mismo EntityManager dura toda la
+     * petición y, sin clear(), acumularía todas las filas del archivo.
+     * @return Número de filas insertadas.
+     */
+    public int insertarLote(List<?> entidades) {
+        if (entidades.isEmpty()) {
+            return 0;
+        }
+        entidades.forEach(entityManager::persist);
+        entityManager.flush(); // Los INSERT salen agrupados según hibernate.jdbc.batch_size
+        entityManager.clear();
+        return entidades.size();
+    }
+
+    private Set<String> existentes(String sql, Collection<String> valores) {
+        if (valores.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(sql, new MapSqlParameterSource("valores", valores), String.class));
+    }
+}
@@ -3,7 +3,13 @@
 package com.example.ProyectoTaw.repository;
 
 import com.example.ProyectoTaw.model.Inscrito;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -13,10 +19,28 @@ import java.util.Optional;
 @Repository
 public interface InscritoRepository extends JpaRepository<Inscrito, Long> {
 
+    // --- Planes de carga (@NamedEntityGraph de la entidad) ---
+    // Listados: "Inscrito.lista"; lectura de una fila: "Inscrito.detalle".
+
+    @Override
+    @EntityGraph("Inscrito.lista")
+    List<Inscrito> findAll();
+
+    @Override
+    @EntityGraph("Inscrito.lista")
+    Page<Inscrito> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph("Inscrito.detalle")
+    Optional<Inscrito> findById(Long id);
+
+    @EntityGraph("Inscrito.lista")
     List<Inscrito> findByEstudianteCi(String estudianteCi);
 
+    @EntityGraph("Inscrito.lista")
     List<Inscrito> findByMateriaCodigoUnico(String materiaCodigoUnico);
 
+    @EntityGraph("Inscrito.lista")
     Optional<Inscrito> findByEstudianteCiAndMateriaCodigoUnicoAndFechaInscripcion(String estudianteCi, String materiaCodigoUnico, LocalDate fechaInscripcion);
 
     // *******************************************************************
@@ -25,8 +49,49 @@ public interface InscritoRepository extends JpaRepository<Inscrito, Long> {
     // Este método permite a Spring Data JPA buscar una inscripción
     // por el CI del estudiante (atravesando la relación 'estudiante')
     // y por el código único de la materia (atravesando la relación 'materia').
+    @EntityGraph("Inscrito.lista")
     Optional<Inscrito> findByEstudianteCiAndMateriaCodigoUnico(String estudianteCi, String materiaCodigoUnico);
 
     // Si tuvieras una regla de 6 meses que verificar, por ejemplo:
     // Boolean existsByEstudianteCiAndMateriaCodigoUnicoAndFechaInscripcionAfter(String estudianteCi, String materiaCodigoUnico, LocalDate date);
-}
\ No newline at end of file
+
+    // Paginación keyset: página siguiente a partir de la última clave devuelta (WHERE idInscrito > :cursor ORDER BY idInscrito).
+    @EntityGraph("Inscrito.lista")
+    Slice<Inscrito> findByIdInscritoGreaterThan(Long idInscrito, Pageable pageable);
+
+    // Vista enriquecida de las inscripciones de un estudiante en una sola consulta:
+    // materia + docentes (Imparte) + cursos (SeDa). Devuelve una fila por combinación
+    // docente x curso de cada inscripción; el servicio las agrupa.
+    @Query("SELECT i.idInscrito AS idInscrito, i.fechaInscripcion AS fechaInscripcion, " +
+           "m.codigoUnico AS materiaCodigoUnico, m.nombre AS materiaNombre, m.descripcion AS materiaDescripcion, " +
+           "d.ciDocente AS docenteCi, d.nombre AS docenteNombre, d.apellido AS docenteApellido, " +
+           "d.departamento AS docenteDepartamento, " +
+           "c.idCurso AS cursoIdCurso, c.dia AS cursoDia, c.horario AS cursoHorario, " +
+           "c.semestre AS cursoSemestre, c.anio AS cursoAnio " +
+           "FROM Inscrito i JOIN i.materia m " +
+           "LEFT JOIN Imparte im ON im.materia = m LEFT JOIN im.docente d " +
+           "LEFT JOIN SeDa s ON s.materia = m LEFT JOIN s.curso c " +
+           "WHERE i.estudiante.ci = :estudianteCi " +
+           "ORDER BY i.fechaInscripcion, i.idInscrito, d.ciDocente, c.idCurso")
+    List<InscripcionDetalleFila> findDetallePorEstudiante(@Param("estudianteCi") String estudianteCi);
+
+    /**
+     * Fila plana de la vista enriquecida de inscripciones.
+     */
+    interface InscripcionDetalleFila {
+        Long getIdInscrito();
+        LocalDate getFechaInscripcion();
+        String getMateriaCodigoUnico();
+        String getMateriaNombre();
+        String getMateriaDescripcion();
+        String getDocenteCi();
+        String getDocenteNombre();
+        String getDocenteApellido();
+        String getDocenteDepartamento();
+        Integer getCursoIdCurso();
+        String getCursoDia();
+        String getCursoHorario();
+        String getCursoSemestre();
+        Integer getCursoAnio();
+    }
+}
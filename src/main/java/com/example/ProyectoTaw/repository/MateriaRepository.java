@@ -4,10 +4,11 @@ package com.example.ProyectoTaw.repository;
 
 import com.example.ProyectoTaw.model.Materia;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
-import java.util.List;
 
 @Repository
 public interface MateriaRepository extends JpaRepository<Materia, Long> {
@@ -19,6 +20,8 @@ public interface MateriaRepository extends JpaRepository<Materia, Long> {
 
     Boolean existsByCodigoUnico(String codigoUnico);
 
-    // Asegúrate de que el nombre del método para buscar por nombre y descripción sea el correcto:
-    List<Materia> findByNombreContainingIgnoreCaseOrDescripcionContainingIgnoreCase(String nombre, String descripcion);
+    // La búsqueda por texto (nombre, código, descripción) está en BusquedaRepository.
+
+    // Paginación keyset: página siguiente a partir de la última clave devuelta (WHERE id > :cursor ORDER BY id).
+    Slice<Materia> findByIdGreaterThan(Long id, Pageable pageable);
 }
\ No newline at end of file
@@ -1,12 +1,79 @@
 package com.example.ProyectoTaw.repository;
 
 import com.example.ProyectoTaw.model.RegistraNota;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RegistraNotaRepository extends JpaRepository<RegistraNota, Long> {
+    // --- Planes de carga (@NamedEntityGraph de la entidad) ---
+    // Listados: "RegistraNota.lista"; lectura de una fila: "RegistraNota.detalle".
+
+    @Override
+    @EntityGraph("RegistraNota.lista")
+    List<RegistraNota> findAll();
+
+    @Override
+    @EntityGraph("RegistraNota.lista")
+    Page<RegistraNota> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph("RegistraNota.detalle")
+    Optional<RegistraNota> findById(Long id);
+
+    @EntityGraph("RegistraNota.lista")
     Optional<RegistraNota> findByEstudianteCiAndCursoIdCursoAndEvaluacion(String estudianteCi, Integer cursoId, String evaluacion);
+
+    // Paginación keyset: página siguiente a partir de la última clave devuelta (WHERE id > :cursor ORDER BY id).
+    @EntityGraph("RegistraNota.lista")
+    Slice<RegistraNota> findByIdGreaterThan(Long id, Pageable pageable);
+
+    // Exportación masiva: cursor de servidor (fetch size) sobre una proyección, sin entidades gestionadas.
+    // Debe consumirse dentro de una transacción.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT r.id AS id, e.ci AS estudianteCi, e.nombre AS estudianteNombre, e.apellido AS estudianteApellido, " +
+           "c.idCurso AS cursoIdCurso, c.semestre AS semestre, c.anio AS anio, " +
+           "r.evaluacion AS evaluacion, r.nota AS nota, r.fecha AS fecha " +
+           "FROM RegistraNota r JOIN r.estudiante e JOIN r.curso c " +
+           "WHERE (:cursoId IS NULL OR c.idCurso = :cursoId) " +
+           "AND (:semestre IS NULL OR c.semestre = :semestre) " +
+           "AND (:anio IS NULL OR c.anio = :anio) " +
+           "AND (:desde IS NULL OR r.fecha >= :desde) " +
+           "AND (:hasta IS NULL OR r.fecha <= :hasta) " +
+           "ORDER BY r.id")
+    Stream<NotaExportada> streamParaExportar(@Param("cursoId") Integer cursoId,
+                                             @Param("semestre") String semestre,
+                                             @Param("anio") Integer anio,
+                                             @Param("desde") LocalDate desde,
+                                             @Param("hasta") LocalDate hasta);
+
+    /**
+     * Fila de la exportación de notas.
+     */
+    interface NotaExportada {
+        Long getId();
+        String getEstudianteCi();
+        String getEstudianteNombre();
+        String getEstudianteApellido();
+        Integer getCursoIdCurso();
+        String getSemestre();
+        Integer getAnio();
+        String getEvaluacion();
+        Double getNota();
+        LocalDate getFecha();
+    }
 }
\ No newline at end of file
@@ -3,10 +3,12 @@ package com.example.ProyectoTaw.repository;
 import com.example.ProyectoTaw.model.SeDa;
 import com.example.ProyectoTaw.model.Curso;
 import com.example.ProyectoTaw.model.Materia;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
-import org.springframework.data.jpa.repository.Lock;
-import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,6 +18,21 @@ public interface SeDaRepository extends JpaRepository<SeDa, Long> {
     // JpaRepository<[Clase de Entidad], [Tipo de la Clave Primaria]>
     // Aquí usamos 'Long' porque 'idSeDa' (la clave primaria) es de tipo Long en tu entidad SeDa.
 
+    // --- Planes de carga (@NamedEntityGraph de la entidad) ---
+    // Listados: "SeDa.lista"; lectura de una fila: "SeDa.detalle".
+
+    @Override
+    @EntityGraph("SeDa.lista")
+    List<SeDa> findAll();
+
+    @Override
+    @EntityGraph("SeDa.lista")
+    Page<SeDa> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph("SeDa.detalle")
+    Optional<SeDa> findById(Long id);
+
     // --- Métodos de Búsqueda Personalizada (READ) ---
 
     /**
@@ -23,6 +40,7 @@ public interface SeDaRepository extends JpaRepository<SeDa, Long> {
      * @param materiaCodigoUnico El código único de la materia.
      * @return Lista de SeDa que corresponden a la materia.
      */
+    @EntityGraph("SeDa.lista")
     List<SeDa> findByMateriaCodigoUnico(String materiaCodigoUnico);
 
     /**
@@ -30,6 +48,7 @@ public interface SeDaRepository extends JpaRepository<SeDa, Long> {
      * @param cursoIdCurso El ID del curso.
      * @return Lista de SeDa que corresponden al curso.
      */
+    @EntityGraph("SeDa.lista")
     List<SeDa> findByCursoIdCurso(Integer cursoIdCurso);
 
     /**
@@ -39,6 +58,7 @@ public interface SeDaRepository extends JpaRepository<SeDa, Long> {
      * @param cursoIdCurso El ID del curso.
      * @return Un Optional que contiene el registro SeDa si existe, o vacío si no.
      */
+    @EntityGraph("SeDa.lista")
     Optional<SeDa> findByMateriaCodigoUnicoAndCursoIdCurso(String materiaCodigoUnico, Integer cursoIdCurso);
 
     // --- Métodos de Verificación de Existencia ---
@@ -52,17 +72,6 @@ public interface SeDaRepository extends JpaRepository<SeDa, Long> {
      */
     Boolean existsByMateriaCodigoUnicoAndCursoIdCurso(String materiaCodigoUnico, Integer cursoIdCurso);
 
-    // --- Métodos de Transacción y Bloqueo ---
-
-    /**
-     * Bloquea el registro de 'se_da' para escritura (bloqueo pesimista) por su ID.
-     * Esto es útil en entornos de alta concurrencia para evitar problemas de datos sucios.
-     * @param id El ID del registro 'se_da'.
-     * @return Un Optional que contiene la entidad SeDa con el bloqueo aplicado.
-     */
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    Optional<SeDa> findById(Long id);
-
     // --- Métodos de Eliminación Personalizada (si fueran necesarios) ---
 
     /**
@@ -76,4 +85,8 @@ public interface SeDaRepository extends JpaRepository<SeDa, Long> {
      * @param cursoIdCurso El ID del curso.
      */
     void deleteByCursoIdCurso(Integer cursoIdCurso);
+
+    // Paginación keyset: página siguiente a partir de la última clave devuelta (WHERE idSeDa > :cursor ORDER BY idSeDa).
+    @EntityGraph("SeDa.lista")
+    Slice<SeDa> findByIdSeDaGreaterThan(Long idSeDa, Pageable pageable);
 }
\ No newline at end of file
@@ -1,10 +1,14 @@
 package com.example.ProyectoTaw.service;
 
 import com.example.ProyectoTaw.dto.AsisteDTO;
-import com.example.ProyectoTaw.model.Asiste; // Importamos Asiste si necesitamos devolver la entidad para algún método específico (como el bloqueo)
+import com.example.ProyectoTaw.dto.AsistenciaLoteDTO;
+import com.example.ProyectoTaw.dto.AsistenciaLoteResultadoDTO;
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
 
 import java.time.LocalDate;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 
 public interface IAsisteService {
 
@@ -14,6 +18,21 @@ public interface IAsisteService {
      */
     List<AsisteDTO> obtenerTodasLasAsistencias();
 
+    /**
+     * Obtiene una página de las asistencias, con orden opcional.
+     * @param pageable Número de página, tamaño y orden.
+     * @return PaginaDTO de AsisteDTO.
+     */
+    PaginaDTO<AsisteDTO> obtenerAsistenciasPaginadas(Pageable pageable);
+
+    /**
+     * Obtiene las asistencias siguientes a un cursor (paginación keyset por clave primaria).
+     * @param cursor Última clave recibida, o null para empezar desde el principio.
+     * @param tamano Número máximo de elementos (se acota a CursorPaginaDTO.TAMANO_MAXIMO).
+     * @return CursorPaginaDTO de AsisteDTO.
+     */
+    CursorPaginaDTO<AsisteDTO> obtenerAsistenciasDesde(Long cursor, int tamano);
+
     /**
      * Obtiene una asistencia por su ID único.
      * @param idAsiste El ID de la asistencia.
@@ -50,6 +69,14 @@ public interface IAsisteService {
      */
     AsisteDTO crearAsistencia(AsisteDTO asisteDTO);
 
+    /**
+     * Registra la asistencia de varios estudiantes de un curso en una fecha, en una sola transacción.
+     * Crea los registros que no existen y actualiza el estado de presencia de los que ya existían.
+     * @param loteDTO Curso, fecha y mapa CI del estudiante → presente.
+     * @return Resumen con el número de registros creados, actualizados y sin cambios.
+     */
+    AsistenciaLoteResultadoDTO registrarAsistenciaLote(AsistenciaLoteDTO loteDTO);
+
     /**
      * Actualiza la información de un registro de asistencia existente.
      * @param idAsiste El ID de la asistencia a actualizar.
@@ -64,11 +91,4 @@ public interface IAsisteService {
      */
     void eliminarAsistencia(Long idAsiste);
 
-    /**
-     * Obtiene un registro de asistencia por su ID con un bloqueo pesimista.
-     * Esto es útil para operaciones que requieren exclusividad sobre el registro.
-     * @param idAsiste El ID de la asistencia.
-     * @return La entidad Asiste con el bloqueo aplicado.
-     */
-    Asiste obtenerAsistenciaConBloqueo(Long idAsiste);
 }
\ No newline at end of file
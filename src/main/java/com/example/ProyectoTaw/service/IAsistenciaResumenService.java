@@ -0,0 +1,29 @@
+package com.example.ProyectoTaw.service;
+
+import com.example.ProyectoTaw.dto.AsistenciaResumenDTO;
+import com.example.ProyectoTaw.dto.ReconstruccionResumenDTO;
+
+import java.util.List;
+
+public interface IAsistenciaResumenService {
+
+    /**
+     * Presentes y total de cada estudiante del curso, en una lectura por la clave primaria del resumen.
+     * @param cursoIdCurso El ID del curso.
+     * @return Lista de AsistenciaResumenDTO ordenada por CI (vacía si el curso no tiene asistencias).
+     */
+    List<AsistenciaResumenDTO> obtenerResumenPorCurso(Integer cursoIdCurso);
+
+    /**
+     * Presentes y total del estudiante en cada uno de sus cursos.
+     * @param estudianteCi La CI del estudiante.
+     * @return Lista de AsistenciaResumenDTO ordenada por curso.
+     */
+    List<AsistenciaResumenDTO> obtenerResumenPorEstudiante(String estudianteCi);
+
+    /**
+     * Recalcula todo el resumen desde asiste, varios cursos a la vez.
+     * @return Cursos y filas recalculados y duración.
+     */
+    ReconstruccionResumenDTO reconstruir();
+}
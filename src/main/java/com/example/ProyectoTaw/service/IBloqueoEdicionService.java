@@ -0,0 +1,12 @@
+package com.example.ProyectoTaw.service;
+
+import com.example.ProyectoTaw.dto.BloqueoEdicionDTO;
+
+public interface IBloqueoEdicionService {
+
+    BloqueoEdicionDTO adquirir(String recurso, String recursoId, Integer ttlSegundos);
+
+    BloqueoEdicionDTO renovar(String token, Integer ttlSegundos);
+
+    void liberar(String token);
+}
@@ -0,0 +1,16 @@
+package com.example.ProyectoTaw.service;
+
+import com.example.ProyectoTaw.dto.PaginaDTO;
+import com.example.ProyectoTaw.dto.ResultadoBusquedaDTO;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Set;
+
+public interface IBusquedaService {
+
+    /**
+     * Busca el texto en estudiantes, docentes y materias, sin distinguir mayúsculas ni tildes, y devuelve los
+     * resultados ordenados por relevancia. tipos vacío o null busca en los tres; el orden de pageable se ignora.
+     */
+    PaginaDTO<ResultadoBusquedaDTO> buscar(String texto, Set<ResultadoBusquedaDTO.Tipo> tipos, Pageable pageable);
+}
@@ -1,14 +1,20 @@
 package com.example.ProyectoTaw.service;
 
 import com.example.ProyectoTaw.dto.CursoDTO;
-import com.example.ProyectoTaw.model.Curso;
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
 
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 
 public interface ICursoService {
 
     List<CursoDTO> obtenerTodosLosCursos();
 
+    PaginaDTO<CursoDTO> obtenerCursosPaginados(Pageable pageable);
+
+    CursorPaginaDTO<CursoDTO> obtenerCursosDesde(Integer cursor, int tamano);
+
     CursoDTO obtenerCursoPorId(Integer idCurso);
 
     List<CursoDTO> buscarCursosPorSemestre(String semestre);
@@ -23,5 +29,4 @@ public interface ICursoService {
 
     void eliminarCurso(Integer idCurso);
 
-    Curso obtenerCursoConBloqueo(Integer idCurso);
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.example.ProyectoTaw.service;
 
 import com.example.ProyectoTaw.dto.DocenteDTO;
-import com.example.ProyectoTaw.model.Docente;
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
 
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 
 public interface IDocenteService {
 
@@ -13,6 +15,21 @@ public interface IDocenteService {
      */
     List<DocenteDTO> obtenerTodosLosDocentes();
 
+    /**
+     * Obtiene una página de los docentes, con orden opcional.
+     * @param pageable Número de página, tamaño y orden.
+     * @return PaginaDTO de DocenteDTO.
+     */
+    PaginaDTO<DocenteDTO> obtenerDocentesPaginados(Pageable pageable);
+
+    /**
+     * Obtiene los docentes siguientes a un cursor (paginación keyset por clave primaria).
+     * @param cursor Última clave recibida, o null para empezar desde el principio.
+     * @param tamano Número máximo de elementos (se acota a CursorPaginaDTO.TAMANO_MAXIMO).
+     * @return CursorPaginaDTO de DocenteDTO.
+     */
+    CursorPaginaDTO<DocenteDTO> obtenerDocentesDesde(String cursor, int tamano);
+
     /**
      * Obtiene un Docente por su Carnet de Identidad (CI).
      * @param ci El Carnet de Identidad del Docente.
@@ -48,11 +65,4 @@ public interface IDocenteService {
      */
     void eliminarDocente(String ci); // Tipo cambiado a String
 
-    /**
-     * Obtiene un Docente por su Carnet de Identidad (CI) con un bloqueo pesimista.
-     * Esto es útil para operaciones que requieren exclusividad sobre el registro.
-     * @param ci El Carnet de Identidad (CI) del Docente.
-     * @return La entidad Docente con el bloqueo aplicado.
-     */
-    Docente obtenerDocenteConBloqueo(String ci); // Tipo cambiado a String
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.example.ProyectoTaw.service;
 
 import com.example.ProyectoTaw.dto.EstudianteDTO;
-import com.example.ProyectoTaw.model.Estudiante;
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
 
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 
 public interface IEstudianteService {
 
@@ -13,6 +15,21 @@ public interface IEstudianteService {
      */
     List<EstudianteDTO> obtenerTodosLosEstudiantes();
 
+    /**
+     * Obtiene una página de los estudiantes, con orden opcional.
+     * @param pageable Número de página, tamaño y orden.
+     * @return PaginaDTO de EstudianteDTO.
+     */
+    PaginaDTO<EstudianteDTO> obtenerEstudiantesPaginados(Pageable pageable);
+
+    /**
+     * Obtiene los estudiantes siguientes a un cursor (paginación keyset por clave primaria).
+     * @param cursor Última clave recibida, o null para empezar desde el principio.
+     * @param tamano Número máximo de elementos (se acota a CursorPaginaDTO.TAMANO_MAXIMO).
+     * @return CursorPaginaDTO de EstudianteDTO.
+     */
+    CursorPaginaDTO<EstudianteDTO> obtenerEstudiantesDesde(String cursor, int tamano);
+
     /**
      * Obtiene un estudiante por su Carnet de Identidad (CI).
      * @param ci El Carnet de Identidad del estudiante.
@@ -48,14 +65,6 @@ public interface IEstudianteService {
      */
     void eliminarEstudiante(String ci); // Tipo cambiado a String
 
-    /**
-     * Obtiene un estudiante por su Carnet de Identidad (CI) con un bloqueo pesimista.
-     * Esto es útil para operaciones que requieren exclusividad sobre el registro.
-     * @param ci El Carnet de Identidad (CI) del estudiante.
-     * @return La entidad Estudiante con el bloqueo aplicado.
-     */
-    Estudiante obtenerEstudianteConBloqueo(String ci); // Tipo cambiado a String
-
     // Inside IEstudianteService interface
 EstudianteDTO obtenerEstudiantePorEmail(String email);
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.example.ProyectoTaw.service;
+
+import com.example.ProyectoTaw.dto.FiltroExportacionDTO;
+import com.example.ProyectoTaw.export.FormatoExportacion;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface IExportacionService {
+
+    /**
+     * Escribe en la salida todas las asistencias que cumplen el filtro, fila a fila.
+     * @param filtro Curso, semestre/año del curso y rango de fechas (todos opcionales).
+     * @param formato NDJSON o CSV.
+     * @param salida Stream de destino (normalmente el de la respuesta HTTP); no se cierra.
+     * @return Número de filas exportadas.
+     */
+    long exportarAsistencias(FiltroExportacionDTO filtro, FormatoExportacion formato, OutputStream salida) throws IOException;
+
+    /**
+     * Escribe en la salida todas las notas que cumplen el filtro, fila a fila.
+     * @param filtro Curso, semestre/año del curso y rango de fechas (todos opcionales).
+     * @param formato NDJSON o CSV.
+     * @param salida Stream de destino (normalmente el de la respuesta HTTP); no se cierra.
+     * @return Número de filas exportadas.
+     */
+    long exportarNotas(FiltroExportacionDTO filtro, FormatoExportacion formato, OutputStream salida) throws IOException;
+}
@@ -0,0 +1,65 @@
+package com.example.ProyectoTaw.service;
+
+import com.example.ProyectoTaw.dto.FranjaLibreDTO;
+import com.example.ProyectoTaw.horario.IndiceHorarios;
+
+import java.util.List;
+
+public interface IHorarioService {
+
+    /**
+     * Índice de franjas de todos los cursos, en caché.
+     * @return IndiceHorarios actual.
+     */
+    IndiceHorarios obtenerIndice();
+
+    /**
+     * Valida que el docente no quede en dos cursos superpuestos al dictar la materia.
+     * Bloquea la fila del docente hasta el fin de la transacción que escribe la relación.
+     * @param ciDocente La CI del docente.
+     * @param materiaCodigoUnico La materia que pasa a dictar.
+     * @param idImparte La relación que se modifica, o null si es una creación.
+     */
+    void validarImparte(String ciDocente, String materiaCodigoUnico, Long idImparte);
+
+    /**
+     * Valida que el estudiante no quede inscrito en materias con cursos superpuestos.
+     * Bloquea la fila del estudiante hasta el fin de la transacción que escribe la inscripción.
+     * @param estudianteCi La CI del estudiante.
+     * @param materiaCodigoUnico La materia en que se inscribe.
+     * @param idInscrito La inscripción que se modifica, o null si es una creación.
+     */
+    void validarInscripcion(String estudianteCi, String materiaCodigoUnico, Long idInscrito);
+
+    /**
+     * Valida que dar la materia en el curso no cree un choque para sus docentes ni para sus estudiantes.
+     * @param materiaCodigoUnico La materia.
+     * @param cursoIdCurso El curso en que se da.
+     * @param idSeDa La relación que se modifica, o null si es una creación.
+     */
+    void validarSeDa(String materiaCodigoUnico, Integer cursoIdCurso, Long idSeDa);
+
+    /**
+     * Valida que mover el curso a otro día u horario no cree un choque para los docentes y estudiantes de sus materias.
+     * @param idCurso El curso que se modifica.
+     * @param dia El nuevo día.
+     * @param horario El nuevo horario.
+     */
+    void validarCurso(Integer idCurso, String dia, String horario);
+
+    /**
+     * Invalida el índice tras el commit de un alta, cambio o baja de curso; la siguiente lectura lo reconstruye.
+     */
+    void cursoModificado();
+
+    /**
+     * Tramos libres de la jornada para todos los docentes y estudiantes indicados a la vez.
+     * Sin docentes ni estudiantes, los tramos en que no hay ningún curso.
+     * @param dia Día a consultar; null para lunes a sábado.
+     * @param docentes CIs de docentes.
+     * @param estudiantes CIs de estudiantes (cuentan sus inscripciones en curso).
+     * @param duracion Minutos mínimos del tramo.
+     * @return Lista de FranjaLibreDTO por día y hora.
+     */
+    List<FranjaLibreDTO> buscarFranjasLibres(String dia, List<String> docentes, List<String> estudiantes, int duracion);
+}
@@ -1,9 +1,11 @@
 package com.example.ProyectoTaw.service;
 
 import com.example.ProyectoTaw.dto.ImparteDTO;
-import com.example.ProyectoTaw.model.Imparte;
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
 
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 
 public interface IImparteService {
 
@@ -26,6 +28,21 @@ public interface IImparteService {
      */
     List<ImparteDTO> obtenerTodasLasRelaciones();
 
+    /**
+     * Obtiene una página de las relaciones Materia-Docente, con orden opcional.
+     * @param pageable Número de página, tamaño y orden.
+     * @return PaginaDTO de ImparteDTO.
+     */
+    PaginaDTO<ImparteDTO> obtenerRelacionesPaginadas(Pageable pageable);
+
+    /**
+     * Obtiene las relaciones Materia-Docente siguientes a un cursor (paginación keyset por clave primaria).
+     * @param cursor Última clave recibida, o null para empezar desde el principio.
+     * @param tamano Número máximo de elementos (se acota a CursorPaginaDTO.TAMANO_MAXIMO).
+     * @return CursorPaginaDTO de ImparteDTO.
+     */
+    CursorPaginaDTO<ImparteDTO> obtenerRelacionesDesde(Long cursor, int tamano);
+
     /**
      * Obtiene una relación específica por su ID único.
      *
@@ -81,11 +98,4 @@ public interface IImparteService {
 
     // -------------------- TRANSACCIONES AVANZADAS --------------------
 
-    /**
-     * Obtiene una relación con bloqueo pesimista (para operaciones críticas concurrentes).
-     *
-     * @param idImparte ID de la relación.
-     * @return Entidad Imparte con el bloqueo aplicado.
-     */
-    Imparte obtenerRelacionConBloqueo(Long idImparte);
 }
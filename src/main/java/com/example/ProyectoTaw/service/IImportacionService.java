@@ -0,0 +1,33 @@
+package com.example.ProyectoTaw.service;
+
+import com.example.ProyectoTaw.export.FormatoExportacion;
+import com.example.ProyectoTaw.importacion.TipoImportacion;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface IImportacionService {
+
+    /** Filas de datos leídas del archivo (sin cabecera ni líneas vacías) y cuántas se insertaron. */
+    record Resumen(long filas, long insertadas) {
+    }
+
+    /** Dónde escribir el informe; se abre solo si la cabecera es válida (después ya no se puede responder un error). */
+    @FunctionalInterface
+    interface Destino {
+        OutputStream abrir() throws IOException;
+    }
+
+    /**
+     * Inserta las filas válidas de un CSV con cabecera y escribe en la salida el resultado de cada fila
+     * (columnas fila, clave, estado INSERTADA/RECHAZADA y mensaje), a medida que procesa cada lote.
+     * La cabecera se valida antes de escribir nada; una fila rechazada no impide insertar las demás.
+     * @param tipo Estudiantes, docentes o materias.
+     * @param entrada CSV en UTF-8; no se cierra.
+     * @param formato Formato del informe: NDJSON o CSV.
+     * @param destino Stream del informe (normalmente el de la respuesta HTTP); no se cierra.
+     * @return Totales de la importación.
+     */
+    Resumen importar(TipoImportacion tipo, InputStream entrada, FormatoExportacion formato, Destino destino) throws IOException;
+}
@@ -3,31 +3,45 @@
 package com.example.ProyectoTaw.service;
 
 import com.example.ProyectoTaw.dto.InscritoDTO;
-import com.example.ProyectoTaw.model.Inscrito;
+import com.example.ProyectoTaw.dto.InscripcionDetalleDTO;
+import com.example.ProyectoTaw.dto.MateriaDTO;
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
 
 import java.time.LocalDate;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 
 public interface IInscritoService {
 
     List<InscritoDTO> obtenerTodasLasInscripciones();
 
+    PaginaDTO<InscritoDTO> obtenerInscripcionesPaginadas(Pageable pageable);
+
+    CursorPaginaDTO<InscritoDTO> obtenerInscripcionesDesde(Long cursor, int tamano);
+
     InscritoDTO obtenerInscripcionPorId(Long idInscrito);
 
     List<InscritoDTO> obtenerInscripcionesPorEstudiante(String estudianteCi);
 
+    List<InscripcionDetalleDTO> obtenerInscripcionesDetallePorEstudiante(String estudianteCi);
+
     List<InscritoDTO> obtenerInscripcionesPorMateria(String materiaCodigoUnico);
 
     InscritoDTO obtenerInscripcionPorEstudianteMateriaYFecha(String estudianteCi, String materiaCodigoUnico, LocalDate fechaInscripcion);
 
+    /**
+     * Materias que el estudiante puede inscribir: no aprobadas, sin inscripción en los últimos 6 meses
+     * y con todos sus prerrequisitos directos aprobados.
+     */
+    List<MateriaDTO> obtenerMateriasDisponibles(String estudianteCi);
+
     InscritoDTO crearInscripcion(InscritoDTO inscritoDTO);
 
     InscritoDTO actualizarInscripcion(Long idInscrito, InscritoDTO inscritoDTO);
 
     void eliminarInscripcion(Long idInscrito);
 
-    Inscrito obtenerInscripcionConBloqueo(Long idInscrito);
-
     // *******************************************************************
     // ****** AGREGAR ESTE NUEVO MÉTODO EN IInscritoService.java ******
     // *******************************************************************
@@ -1,6 +1,8 @@
 package com.example.ProyectoTaw.service;
 
+import com.example.ProyectoTaw.dto.MateriaPlanDTO;
 import com.example.ProyectoTaw.dto.MateriaPrerequisitoDTO;
+import com.example.ProyectoTaw.grafo.GrafoPrerequisitos;
 
 import java.util.List;
 
@@ -16,4 +18,13 @@ public interface IMateriaPrerequisitoService {
 
     MateriaPrerequisitoDTO actualizarRelacion(Long id, MateriaPrerequisitoDTO dto);
 
+    /** Todos los prerrequisitos de la materia, directos e indirectos, en el orden en que se pueden cursar. */
+    List<MateriaPlanDTO> listarCadenaDePrerequisitos(Long materiaId);
+
+    /** Todas las materias ordenadas por nivel: cada una aparece después de todos sus prerrequisitos. */
+    List<MateriaPlanDTO> listarOrdenDeEstudio();
+
+    /** El grafo de prerrequisitos en caché (se carga de la base la primera vez). */
+    GrafoPrerequisitos obtenerGrafo();
+
 }
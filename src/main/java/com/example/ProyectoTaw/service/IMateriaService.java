@@ -3,14 +3,20 @@
 package com.example.ProyectoTaw.service;
 
 import com.example.ProyectoTaw.dto.MateriaDTO;
-import com.example.ProyectoTaw.model.Materia; // Importar si es necesario para métodos de bloqueo
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
 
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 
 public interface IMateriaService {
 
     List<MateriaDTO> obtenerTodasLasMaterias();
 
+    PaginaDTO<MateriaDTO> obtenerMateriasPaginadas(Pageable pageable);
+
+    CursorPaginaDTO<MateriaDTO> obtenerMateriasDesde(Long cursor, int tamano);
+
     MateriaDTO obtenerMateriaPorId(Long id);
 
     List<MateriaDTO> buscarMaterias(String query);
@@ -21,8 +27,6 @@ public interface IMateriaService {
 
     void eliminarMateria(Long id);
 
-    Materia obtenerMateriaConBloqueo(Long id);
-
     // *******************************************************************
     // ****** AGREGAR/VERIFICAR ESTE MÉTODO EN IMateriaService.java ******
     // *******************************************************************
@@ -1,15 +1,27 @@
 
 package com.example.ProyectoTaw.service;
 
+import com.example.ProyectoTaw.dto.EstadisticasCursoDTO;
 import com.example.ProyectoTaw.dto.RegistraNotaDTO;
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
 import com.example.ProyectoTaw.model.RegistraNota;
 
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 
 public interface IRegistraNotaService {
     RegistraNotaDTO crearNota(RegistraNotaDTO dto);
     RegistraNotaDTO obtenerNotaPorId(Long id);
     List<RegistraNotaDTO> listarNotas();
+    PaginaDTO<RegistraNotaDTO> listarNotasPaginadas(Pageable pageable);
+    CursorPaginaDTO<RegistraNotaDTO> listarNotasDesde(Long cursor, int tamano);
     RegistraNotaDTO actualizarNota(Long id, RegistraNotaDTO dto);
     void eliminarNota(Long id);
+
+    /**
+     * Promedio, desviación, percentiles, aprobados e histograma de las notas del curso, en total y por evaluación.
+     * Se calcula en una consulta agregada y se guarda en caché por curso hasta que cambie una de sus notas.
+     */
+    EstadisticasCursoDTO obtenerEstadisticasDeCurso(Integer cursoId);
 }
\ No newline at end of file
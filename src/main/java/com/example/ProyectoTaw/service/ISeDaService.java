@@ -1,9 +1,11 @@
 package com.example.ProyectoTaw.service;
 
 import com.example.ProyectoTaw.dto.SeDaDTO;
-import com.example.ProyectoTaw.model.SeDa; // Importamos SeDa si necesitamos devolver la entidad para algún método específico (como el bloqueo)
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
 
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 
 public interface ISeDaService {
 
@@ -13,6 +15,21 @@ public interface ISeDaService {
      */
     List<SeDaDTO> obtenerTodasLasRelaciones();
 
+    /**
+     * Obtiene una página de las relaciones Materia-Curso, con orden opcional.
+     * @param pageable Número de página, tamaño y orden.
+     * @return PaginaDTO de SeDaDTO.
+     */
+    PaginaDTO<SeDaDTO> obtenerRelacionesPaginadas(Pageable pageable);
+
+    /**
+     * Obtiene las relaciones Materia-Curso siguientes a un cursor (paginación keyset por clave primaria).
+     * @param cursor Última clave recibida, o null para empezar desde el principio.
+     * @param tamano Número máximo de elementos (se acota a CursorPaginaDTO.TAMANO_MAXIMO).
+     * @return CursorPaginaDTO de SeDaDTO.
+     */
+    CursorPaginaDTO<SeDaDTO> obtenerRelacionesDesde(Long cursor, int tamano);
+
     /**
      * Obtiene una relación Materia-Curso por su ID único.
      * @param idSeDa El ID de la relación.
@@ -65,11 +82,4 @@ public interface ISeDaService {
      */
     void eliminarRelacion(Long idSeDa);
 
-    /**
-     * Obtiene un registro de relación Materia-Curso por su ID con un bloqueo pesimista.
-     * Esto es útil para operaciones que requieren exclusividad sobre el registro.
-     * @param idSeDa El ID de la relación.
-     * @return La entidad SeDa con el bloqueo aplicado.
-     */
-    SeDa obtenerRelacionConBloqueo(Long idSeDa);
 }
\ No newline at end of file
@@ -1,10 +1,18 @@
 package com.example.ProyectoTaw.service.impl;
 
+import com.example.ProyectoTaw.cache.CacheInvalidator;
 import com.example.ProyectoTaw.dto.AsisteDTO;
+import com.example.ProyectoTaw.dto.AsistenciaLoteDTO;
+import com.example.ProyectoTaw.dto.AsistenciaLoteResultadoDTO;
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
 import com.example.ProyectoTaw.model.Asiste;
 import com.example.ProyectoTaw.model.Estudiante; // Necesario para buscar Estudiante
 import com.example.ProyectoTaw.model.Curso;     // Necesario para buscar Curso
+import com.example.ProyectoTaw.repository.AsisteBatchRepository;
 import com.example.ProyectoTaw.repository.AsisteRepository;
+import com.example.ProyectoTaw.repository.AsistenciaResumenBatchRepository;
+import com.example.ProyectoTaw.repository.AsistenciaResumenBatchRepository.Delta;
 import com.example.ProyectoTaw.repository.EstudianteRepository; // Necesario
 import com.example.ProyectoTaw.repository.CursoRepository;     // Necesario
 import com.example.ProyectoTaw.service.IAsisteService;
@@ -12,33 +20,50 @@ import com.example.ProyectoTaw.validator.AsisteValidator; // Asumimos que tendr
 import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException; // Asegúrate de que esta clase exista
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class AsisteServiceImpl implements IAsisteService {
 
     private final AsisteRepository asisteRepository;
+    private final AsisteBatchRepository asisteBatchRepository; // Inserciones/actualizaciones JDBC por lote
     private final EstudianteRepository estudianteRepository; // Para buscar estudiantes
     private final CursoRepository cursoRepository;           // Para buscar cursos
     private final AsisteValidator asisteValidator;           // Tu validador para Asiste
+    private final CacheInvalidator cacheInvalidator;         // Invalida solo las claves afectadas
+    private final AsistenciaResumenBatchRepository asistenciaResumenBatchRepository; // Presentes/total por estudiante y curso
 
     @Autowired
     public AsisteServiceImpl(AsisteRepository asisteRepository,
+                             AsisteBatchRepository asisteBatchRepository,
                              EstudianteRepository estudianteRepository,
                              CursoRepository cursoRepository,
-                             AsisteValidator asisteValidator) {
+                             AsisteValidator asisteValidator,
+                             CacheInvalidator cacheInvalidator,
+                             AsistenciaResumenBatchRepository asistenciaResumenBatchRepository) {
         this.asisteRepository = asisteRepository;
+        this.asisteBatchRepository = asisteBatchRepository;
         this.estudianteRepository = estudianteRepository;
         this.cursoRepository = cursoRepository;
         this.asisteValidator = asisteValidator;
+        this.cacheInvalidator = cacheInvalidator;
+        this.asistenciaResumenBatchRepository = asistenciaResumenBatchRepository;
     }
 
     @Override
@@ -49,6 +74,20 @@ public class AsisteServiceImpl implements IAsisteService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Cacheable(value = "asistenciasPagina", key = "'p-' + #pageable.pageNumber + '-' + #pageable.pageSize + '-' + #pageable.sort")
+    public PaginaDTO<AsisteDTO> obtenerAsistenciasPaginadas(Pageable pageable) {
+        return PaginaDTO.de(asisteRepository.findAll(pageable), this::convertToDTO);
+    }
+
+    @Override
+    @Cacheable(value = "asistenciasPagina", key = "'c-' + #cursor + '-' + #tamano")
+    public CursorPaginaDTO<AsisteDTO> obtenerAsistenciasDesde(Long cursor, int tamano) {
+        Pageable primeros = CursorPaginaDTO.primeros(tamano, "idAsiste");
+        return CursorPaginaDTO.de(asisteRepository.findByIdAsisteGreaterThan(cursor != null ? cursor : 0L, primeros),
+                this::convertToDTO, Asiste::getIdAsiste);
+    }
+
     @Override
     @Cacheable(value = "asistencia", key = "#idAsiste")
     public AsisteDTO obtenerAsistenciaPorId(Long idAsiste) {
@@ -82,7 +121,6 @@ public class AsisteServiceImpl implements IAsisteService {
     }
 
     @Override
-    @CacheEvict(value = {"asistencias", "asistenciasPorEstudiante", "asistenciasPorCurso", "asistenciasDeEstudianteEnCurso"}, allEntries = true)
     @Transactional
     public AsisteDTO crearAsistencia(AsisteDTO asisteDTO) {
         // Validar que el estudiante y el curso existan
@@ -102,18 +140,94 @@ public class AsisteServiceImpl implements IAsisteService {
         asisteValidator.validarCreacionAsistencia(asisteDTO); // Asume que este método valida el DTO
 
         Asiste asistencia = convertToEntity(asisteDTO, estudiante, curso);
-        Asiste asistenciaGuardada = asisteRepository.save(asistencia);
-        return convertToDTO(asistenciaGuardada);
+        AsisteDTO creada = convertToDTO(asisteRepository.save(asistencia));
+        actualizarResumen(null, creada);
+        // Solo se invalidan las listas del estudiante y del curso afectados
+        cacheInvalidator.asistenciaModificada(creada);
+        return creada;
+    }
+
+    @Override
+    @Transactional
+    public AsistenciaLoteResultadoDTO registrarAsistenciaLote(AsistenciaLoteDTO loteDTO) {
+        Integer cursoIdCurso = loteDTO.getCursoIdCurso();
+        LocalDate fecha = loteDTO.getFecha();
+        Map<String, Boolean> asistencias = loteDTO.getAsistencias();
+
+        if (!cursoRepository.existsById(cursoIdCurso)) {
+            throw new BusinessException("Curso con ID " + cursoIdCurso + " no encontrado.");
+        }
+
+        // Una sola consulta IN para validar todos los estudiantes del lote
+        Set<String> existentes = new HashSet<>(estudianteRepository.findCisExistentes(asistencias.keySet()));
+        List<String> noEncontrados = asistencias.keySet().stream()
+                .filter(ci -> !existentes.contains(ci))
+                .sorted()
+                .toList();
+        if (!noEncontrados.isEmpty()) {
+            throw new BusinessException("Estudiantes no encontrados: " + String.join(", ", noEncontrados));
+        }
+
+        // Una sola consulta para saber qué estudiantes ya tienen registro ese día en el curso
+        Map<String, AsisteRepository.AsistenciaRegistrada> registradas = new HashMap<>();
+        for (AsisteRepository.AsistenciaRegistrada registrada : asisteRepository.findRegistradasPorCursoYFecha(cursoIdCurso, fecha)) {
+            registradas.put(registrada.getEstudianteCi(), registrada);
+        }
+
+        Map<String, Boolean> nuevas = new LinkedHashMap<>();
+        Map<Long, Boolean> cambios = new LinkedHashMap<>();
+        Map<Long, String> ciPorIdAsiste = new HashMap<>();
+        List<Delta> resumen = new ArrayList<>(); // Una CI aparece una sola vez en el lote: no hay deltas que agrupar
+        int sinCambios = 0;
+        for (Map.Entry<String, Boolean> entrada : asistencias.entrySet()) {
+            AsisteRepository.AsistenciaRegistrada registrada = registradas.get(entrada.getKey());
+            if (registrada == null) {
+                nuevas.put(entrada.getKey(), entrada.getValue());
+                resumen.add(Delta.de(cursoIdCurso, entrada.getKey(), entrada.getValue(), 1));
+            } else if (!Objects.equals(registrada.getPresente(), entrada.getValue())) {
+                cambios.put(registrada.getIdAsiste(), entrada.getValue());
+                ciPorIdAsiste.put(registrada.getIdAsiste(), entrada.getKey());
+            } else {
+                sinCambios++;
+            }
+        }
+
+        int creadas = asisteBatchRepository.insertarLote(cursoIdCurso, fecha, nuevas);
+        // El delta de un cambio sale solo de las filas que el UPDATE condicionado modificó de verdad: si otra
+        // transacción ya dejó ese valor tras la lectura de arriba, su delta ya está aplicado
+        Set<Long> actualizadas = asisteBatchRepository.actualizarPresenteLote(cambios);
+        for (Long idAsiste : actualizadas) {
+            resumen.add(new Delta(cursoIdCurso, ciPorIdAsiste.get(idAsiste), Boolean.TRUE.equals(cambios.get(idAsiste)) ? 1 : -1, 0));
+        }
+        sinCambios += cambios.size() - actualizadas.size();
+        asistenciaResumenBatchRepository.aplicar(resumen);
+
+        // Una única invalidación para todo el lote, tras el commit
+        cacheInvalidator.asistenciasRegistradasEnLote(cursoIdCurso, asistencias.keySet(), new ArrayList<>(cambios.keySet()));
+
+        return AsistenciaLoteResultadoDTO.builder()
+                .cursoIdCurso(cursoIdCurso)
+                .fecha(fecha)
+                .creadas(creadas)
+                .actualizadas(actualizadas.size())
+                .sinCambios(sinCambios)
+                .build();
     }
 
     @Override
     @CachePut(value = "asistencia", key = "#idAsiste")
-    @CacheEvict(value = {"asistencias", "asistenciasPorEstudiante", "asistenciasPorCurso", "asistenciasDeEstudianteEnCurso"}, allEntries = true)
     @Transactional
     public AsisteDTO actualizarAsistencia(Long idAsiste, AsisteDTO asisteDTO) {
         Asiste asistenciaExistente = asisteRepository.findById(idAsiste)
                 .orElseThrow(() -> new BusinessException("Asistencia con ID " + idAsiste + " no encontrada para actualizar"));
 
+        // Bloqueo optimista: si el cliente envía la versión que leyó y otro la modificó antes, se rechaza (409)
+        if (asisteDTO.getVersion() != null && !asisteDTO.getVersion().equals(asistenciaExistente.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Asiste.class, idAsiste);
+        }
+
+        AsisteDTO anterior = convertToDTO(asistenciaExistente);
+
         // Validar que el estudiante y el curso existan si se intenta cambiar (aunque normalmente no se cambia)
         Estudiante nuevoEstudiante = estudianteRepository.findByCi(asisteDTO.getEstudianteCi())
                 .orElseThrow(() -> new BusinessException("Estudiante con CI " + asisteDTO.getEstudianteCi() + " no encontrado."));
@@ -140,34 +254,36 @@ public class AsisteServiceImpl implements IAsisteService {
         asistenciaExistente.setFecha(asisteDTO.getFecha());
         asistenciaExistente.setPresente(asisteDTO.getPresente());
 
-        Asiste asistenciaActualizada = asisteRepository.save(asistenciaExistente);
-        return convertToDTO(asistenciaActualizada);
+        AsisteDTO actualizada = convertToDTO(asisteRepository.saveAndFlush(asistenciaExistente));
+        actualizarResumen(anterior, actualizada);
+        // Se invalidan las claves del estado anterior y del nuevo (puede cambiar de estudiante o curso)
+        cacheInvalidator.asistenciaModificada(anterior, actualizada);
+        return actualizada;
     }
 
     @Override
-    @CacheEvict(value = {"asistencia", "asistencias", "asistenciasPorEstudiante", "asistenciasPorCurso", "asistenciasDeEstudianteEnCurso"}, allEntries = true)
     @Transactional
     public void eliminarAsistencia(Long idAsiste) {
-        if (!asisteRepository.existsById(idAsiste)) {
-            throw new BusinessException("Asistencia con ID " + idAsiste + " no encontrada para eliminar");
-        }
-        asisteRepository.deleteById(idAsiste);
+        Asiste asistencia = asisteRepository.findById(idAsiste)
+                .orElseThrow(() -> new BusinessException("Asistencia con ID " + idAsiste + " no encontrada para eliminar"));
+        asisteRepository.delete(asistencia);
+        AsisteDTO eliminada = convertToDTO(asistencia);
+        actualizarResumen(eliminada, null);
+        cacheInvalidator.asistenciaModificada(eliminada);
     }
 
-    @Override
-    @Transactional
-    public Asiste obtenerAsistenciaConBloqueo(Long idAsiste) {
-        Asiste asiste = asisteRepository.findById(idAsiste)
-                .orElseThrow(() -> new BusinessException("Asistencia con ID " + idAsiste + " no encontrada."));
-
-        // Simula un proceso largo que mantiene el bloqueo
-        try {
-            Thread.sleep(15000); // 15 segundos
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new BusinessException("La operación de bloqueo fue interrumpida.");
+    // La versión anterior resta y la nueva suma; si son del mismo estudiante y curso se agrupan en una sola fila
+    private void actualizarResumen(AsisteDTO anterior, AsisteDTO nueva) {
+        Map<String, Delta> porPar = new LinkedHashMap<>();
+        if (anterior != null) {
+            porPar.merge(anterior.getCursoIdCurso() + ":" + anterior.getEstudianteCi(),
+                    Delta.de(anterior.getCursoIdCurso(), anterior.getEstudianteCi(), anterior.getPresente(), -1), Delta::mas);
+        }
+        if (nueva != null) {
+            porPar.merge(nueva.getCursoIdCurso() + ":" + nueva.getEstudianteCi(),
+                    Delta.de(nueva.getCursoIdCurso(), nueva.getEstudianteCi(), nueva.getPresente(), 1), Delta::mas);
         }
-        return asiste;
+        asistenciaResumenBatchRepository.aplicar(porPar.values());
     }
 
     // --- Métodos de Conversión DTO <-> Entidad ---
@@ -183,6 +299,7 @@ public class AsisteServiceImpl implements IAsisteService {
                 .cursoIdCurso(asiste.getCurso().getIdCurso())
                 .fecha(asiste.getFecha())
                 .presente(asiste.getPresente())
+                .version(asiste.getVersion())
                 .build();
     }
 
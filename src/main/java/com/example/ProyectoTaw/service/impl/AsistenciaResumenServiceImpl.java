@@ -0,0 +1,120 @@
+package com.example.ProyectoTaw.service.impl;
+
+import com.example.ProyectoTaw.dto.AsistenciaResumenDTO;
+import com.example.ProyectoTaw.dto.ReconstruccionResumenDTO;
+import com.example.ProyectoTaw.model.AsistenciaResumen;
+import com.example.ProyectoTaw.repository.AsistenciaResumenBatchRepository;
+import com.example.ProyectoTaw.repository.AsistenciaResumenRepository;
+import com.example.ProyectoTaw.service.IAsistenciaResumenService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+@Service
+public class AsistenciaResumenServiceImpl implements IAsistenciaResumenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsistenciaResumenServiceImpl.class);
+
+    private final AsistenciaResumenRepository asistenciaResumenRepository;
+    private final AsistenciaResumenBatchRepository asistenciaResumenBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor taskExecutor; // applicationTaskExecutor: hilos virtuales si están habilitados
+    private final int paralelismo;
+
+    @Autowired
+    public AsistenciaResumenServiceImpl(AsistenciaResumenRepository asistenciaResumenRepository,
+                                        AsistenciaResumenBatchRepository asistenciaResumenBatchRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+                                        @Value("${app.asistencia-resumen.reconstruccion.paralelismo:4}") int paralelismo) {
+        this.asistenciaResumenRepository = asistenciaResumenRepository;
+        this.asistenciaResumenBatchRepository = asistenciaResumenBatchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.paralelismo = Math.max(1, paralelismo);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AsistenciaResumenDTO> obtenerResumenPorCurso(Integer cursoIdCurso) {
+        return asistenciaResumenRepository.findByCursoIdCursoOrderByEstudianteCi(cursoIdCurso).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AsistenciaResumenDTO> obtenerResumenPorEstudiante(String estudianteCi) {
+        return asistenciaResumenRepository.findByEstudianteCiOrderByCursoIdCurso(estudianteCi).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public ReconstruccionResumenDTO reconstruir() {
+        long inicio = System.nanoTime();
+        List<Integer> cursos = asistenciaResumenBatchRepository.cursosARecalcular();
+
+        // Cada tarea recorre su parte de los cursos; cada curso es una transacción corta (borrar + INSERT ... SELECT),
+        // así un fallo no deshace lo ya recalculado y las altas concurrentes solo esperan por las filas de ese curso
+        List<Future<Integer>> tareas = new ArrayList<>();
+        for (int t = 0; t < Math.min(paralelismo, cursos.size()); t++) {
+            int desde = t;
+            tareas.add(taskExecutor.submit(() -> {
+                int filas = 0;
+                for (int i = desde; i < cursos.size(); i += paralelismo) {
+                    Integer curso = cursos.get(i);
+                    filas += transactionTemplate.execute(estado -> asistenciaResumenBatchRepository.recalcularCurso(curso));
+                }
+                return filas;
+            }));
+        }
+        int filas = 0;
+        for (Future<Integer> tarea : tareas) {
+            filas += esperar(tarea);
+        }
+
+        long milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+        logger.info("Resumen de asistencia recalculado: {} cursos, {} filas en {} ms", cursos.size(), filas, milisegundos);
+        return ReconstruccionResumenDTO.builder()
+                .cursos(cursos.size())
+                .filas(filas)
+                .milisegundos(milisegundos)
+                .build();
+    }
+
+    private static int esperar(Future<Integer> tarea) {
+        try {
+            return tarea.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconstrucción del resumen de asistencia interrumpida", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException causa ? causa : new IllegalStateException(e.getCause());
+        }
+    }
+
+    private AsistenciaResumenDTO convertToDTO(AsistenciaResumen resumen) {
+        return AsistenciaResumenDTO.builder()
+                .cursoIdCurso(resumen.getCursoIdCurso())
+                .estudianteCi(resumen.getEstudianteCi())
+                .presentes(resumen.getPresentes())
+                .total(resumen.getTotal())
+                .porcentaje(Math.round(resumen.getPresentes() * 10000.0 / resumen.getTotal()) / 100.0)
+                .build();
+    }
+}
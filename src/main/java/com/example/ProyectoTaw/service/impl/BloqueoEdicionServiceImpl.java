@@ -0,0 +1,178 @@
+package com.example.ProyectoTaw.service.impl;
+
+import com.example.ProyectoTaw.dto.BloqueoEdicionDTO;
+import com.example.ProyectoTaw.model.BloqueoEdicion;
+import com.example.ProyectoTaw.repository.BloqueoEdicionRepository;
+import com.example.ProyectoTaw.service.IBloqueoEdicionService;
+import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException;
+import com.example.ProyectoTaw.validator.GlobalExceptionHandler.RecursoNoDisponibleException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Bloqueos de edición con vencimiento (leases) en la tabla bloqueo_edicion, en lugar de mantener un
+ * SELECT ... FOR UPDATE abierto mientras el usuario edita.
+ *
+ * Cada operación es una transacción corta: nadie espera un bloqueo de fila. Si el registro ya lo tiene otro
+ * usuario y no ha vencido, se responde 409 de inmediato. El bloqueo es cooperativo (como un advisory lock
+ * de PostgreSQL): lo respetan los clientes que lo piden antes de editar, no el resto de escrituras.
+ *
+ * Métricas: bloqueos.activos (vigentes), bloqueos.solicitudes con resultado=adquirido|reentrada|recuperado|
+ * conflicto (conflicto es cada 409, lo que antes habría sido una espera) y bloqueos.retencion (tiempo hasta liberar).
+ */
+@Service
+public class BloqueoEdicionServiceImpl implements IBloqueoEdicionService {
+
+    private final BloqueoEdicionRepository bloqueoEdicionRepository;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttlPorDefecto;
+    private final Duration ttlMaximo;
+
+    @Autowired
+    public BloqueoEdicionServiceImpl(BloqueoEdicionRepository bloqueoEdicionRepository,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.bloqueos.ttl-por-defecto:5m}") Duration ttlPorDefecto,
+                                     @Value("${app.bloqueos.ttl-maximo:30m}") Duration ttlMaximo) {
+        this.bloqueoEdicionRepository = bloqueoEdicionRepository;
+        this.meterRegistry = meterRegistry;
+        this.ttlPorDefecto = ttlPorDefecto;
+        this.ttlMaximo = ttlMaximo;
+        Gauge.builder("bloqueos.activos", bloqueoEdicionRepository,
+                        r -> r.countByExpiraEnAfter(LocalDateTime.now()))
+                .description("Bloqueos de edición vigentes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional
+    public BloqueoEdicionDTO adquirir(String recurso, String recursoId, Integer ttlSegundos) {
+        Duration ttl = resolverTtl(ttlSegundos);
+        String titular = usuarioActual();
+        LocalDateTime ahora = LocalDateTime.now();
+        String clave = recurso + ":" + recursoId;
+
+        BloqueoEdicion bloqueo = bloqueoEdicionRepository.findById(clave).orElse(null);
+        String resultado;
+        if (bloqueo == null) {
+            bloqueo = BloqueoEdicion.builder()
+                    .clave(clave)
+                    .recurso(recurso)
+                    .recursoId(recursoId)
+                    .token(UUID.randomUUID().toString())
+                    .titular(titular)
+                    .adquiridoEn(ahora)
+                    .build();
+            resultado = "adquirido";
+        } else if (bloqueo.getTitular().equals(titular)) {
+            // El mismo usuario vuelve a pedirlo (p. ej. reabre el formulario): conserva el token y se extiende
+            resultado = "reentrada";
+        } else if (bloqueo.getExpiraEn().isAfter(ahora)) {
+            contar("conflicto");
+            throw new RecursoNoDisponibleException("El registro " + clave + " está bloqueado por "
+                    + bloqueo.getTitular() + " hasta " + bloqueo.getExpiraEn() + ".");
+        } else {
+            // Vencido: pasa al nuevo titular con un token nuevo, el anterior deja de servir
+            bloqueo.setToken(UUID.randomUUID().toString());
+            bloqueo.setTitular(titular);
+            bloqueo.setAdquiridoEn(ahora);
+            resultado = "recuperado";
+        }
+        bloqueo.setExpiraEn(ahora.plus(ttl));
+
+        try {
+            bloqueo = bloqueoEdicionRepository.saveAndFlush(bloqueo);
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            // Otro usuario lo insertó o lo recuperó entre la lectura y la escritura
+            contar("conflicto");
+            throw new RecursoNoDisponibleException("El registro " + clave + " acaba de ser bloqueado por otro usuario.");
+        }
+        contar(resultado);
+        return convertToDTO(bloqueo);
+    }
+
+    @Override
+    @Transactional
+    public BloqueoEdicionDTO renovar(String token, Integer ttlSegundos) {
+        Duration ttl = resolverTtl(ttlSegundos);
+        BloqueoEdicion bloqueo = bloqueoDelUsuario(token);
+        bloqueo.setExpiraEn(LocalDateTime.now().plus(ttl));
+        try {
+            return convertToDTO(bloqueoEdicionRepository.saveAndFlush(bloqueo));
+        } catch (OptimisticLockingFailureException e) {
+            throw new RecursoNoDisponibleException("El bloqueo " + token + " cambió de titular mientras se renovaba.");
+        }
+    }
+
+    @Override
+    @Transactional
+    public void liberar(String token) {
+        BloqueoEdicion bloqueo = bloqueoEdicionRepository.findByToken(token).orElse(null);
+        if (bloqueo == null) {
+            return; // Ya liberado o recuperado por otro tras vencer: liberar es idempotente
+        }
+        if (!bloqueo.getTitular().equals(usuarioActual())) {
+            throw new RecursoNoDisponibleException("El bloqueo " + token + " pertenece a " + bloqueo.getTitular() + ".");
+        }
+        bloqueoEdicionRepository.delete(bloqueo);
+        Timer.builder("bloqueos.retencion")
+                .description("Tiempo desde que se adquiere un bloqueo de edición hasta que se libera")
+                .register(meterRegistry)
+                .record(Duration.between(bloqueo.getAdquiridoEn(), LocalDateTime.now()));
+    }
+
+    private BloqueoEdicion bloqueoDelUsuario(String token) {
+        BloqueoEdicion bloqueo = bloqueoEdicionRepository.findByToken(token)
+                .orElseThrow(() -> new RecursoNoDisponibleException(
+                        "El bloqueo " + token + " ya no existe: se liberó o lo recuperó otro usuario al vencer."));
+        if (!bloqueo.getTitular().equals(usuarioActual())) {
+            throw new RecursoNoDisponibleException("El bloqueo " + token + " pertenece a " + bloqueo.getTitular() + ".");
+        }
+        return bloqueo;
+    }
+
+    private Duration resolverTtl(Integer ttlSegundos) {
+        if (ttlSegundos == null) {
+            return ttlPorDefecto;
+        }
+        if (ttlSegundos <= 0 || ttlSegundos > ttlMaximo.toSeconds()) {
+            throw new BusinessException("El TTL del bloqueo debe estar entre 1 y " + ttlMaximo.toSeconds() + " segundos.");
+        }
+        return Duration.ofSeconds(ttlSegundos);
+    }
+
+    private static String usuarioActual() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication.getName() == null) {
+            throw new BusinessException("Se necesita un usuario autenticado para bloquear un registro.");
+        }
+        return authentication.getName();
+    }
+
+    private void contar(String resultado) {
+        meterRegistry.counter("bloqueos.solicitudes", "resultado", resultado).increment();
+    }
+
+    private BloqueoEdicionDTO convertToDTO(BloqueoEdicion bloqueo) {
+        return BloqueoEdicionDTO.builder()
+                .recurso(bloqueo.getRecurso())
+                .recursoId(bloqueo.getRecursoId())
+                .token(bloqueo.getToken())
+                .titular(bloqueo.getTitular())
+                .adquiridoEn(bloqueo.getAdquiridoEn())
+                .expiraEn(bloqueo.getExpiraEn())
+                .build();
+    }
+}
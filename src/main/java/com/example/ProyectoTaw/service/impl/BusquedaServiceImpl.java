@@ -0,0 +1,33 @@
+package com.example.ProyectoTaw.service.impl;
+
+import com.example.ProyectoTaw.dto.PaginaDTO;
+import com.example.ProyectoTaw.dto.ResultadoBusquedaDTO;
+import com.example.ProyectoTaw.repository.BusquedaRepository;
+import com.example.ProyectoTaw.service.IBusquedaService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.function.Function;
+
+// Sin caché: cada texto buscado es distinto y los índices GIN ya responden sin recorrer las tablas
+@Service
+public class BusquedaServiceImpl implements IBusquedaService {
+
+    private final BusquedaRepository busquedaRepository;
+
+    @Autowired
+    public BusquedaServiceImpl(BusquedaRepository busquedaRepository) {
+        this.busquedaRepository = busquedaRepository;
+    }
+
+    @Override
+    public PaginaDTO<ResultadoBusquedaDTO> buscar(String texto, Set<ResultadoBusquedaDTO.Tipo> tipos, Pageable pageable) {
+        // El orden es siempre por relevancia
+        Pageable pagina = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return PaginaDTO.de(busquedaRepository.buscar(texto, tipos, pagina), Function.identity());
+    }
+}
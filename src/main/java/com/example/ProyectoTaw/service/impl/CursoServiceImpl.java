@@ -1,18 +1,23 @@
 package com.example.ProyectoTaw.service.impl;
 
 import com.example.ProyectoTaw.dto.CursoDTO;
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
 import com.example.ProyectoTaw.model.Curso;
 import com.example.ProyectoTaw.repository.CursoRepository;
 import com.example.ProyectoTaw.service.ICursoService;
+import com.example.ProyectoTaw.service.IHorarioService;
 import com.example.ProyectoTaw.validator.CursoValidator;
 import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -22,11 +27,13 @@ public class CursoServiceImpl implements ICursoService {
 
     private final CursoRepository cursoRepository;
     private final CursoValidator cursoValidator;
+    private final IHorarioService horarioService; // Índice de franjas y choques de horario
 
     @Autowired
-    public CursoServiceImpl(CursoRepository cursoRepository, CursoValidator cursoValidator) {
+    public CursoServiceImpl(CursoRepository cursoRepository, CursoValidator cursoValidator, IHorarioService horarioService) {
         this.cursoRepository = cursoRepository;
         this.cursoValidator = cursoValidator;
+        this.horarioService = horarioService;
     }
 
     @Override
@@ -37,6 +44,20 @@ public class CursoServiceImpl implements ICursoService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Cacheable(value = "cursosPagina", key = "'p-' + #pageable.pageNumber + '-' + #pageable.pageSize + '-' + #pageable.sort")
+    public PaginaDTO<CursoDTO> obtenerCursosPaginados(Pageable pageable) {
+        return PaginaDTO.de(cursoRepository.findAll(pageable), this::convertToDTO);
+    }
+
+    @Override
+    @Cacheable(value = "cursosPagina", key = "'c-' + #cursor + '-' + #tamano")
+    public CursorPaginaDTO<CursoDTO> obtenerCursosDesde(Integer cursor, int tamano) {
+        Pageable primeros = CursorPaginaDTO.primeros(tamano, "idCurso");
+        return CursorPaginaDTO.de(cursoRepository.findByIdCursoGreaterThan(cursor != null ? cursor : 0, primeros),
+                this::convertToDTO, Curso::getIdCurso);
+    }
+
     @Override
     @Cacheable(value = "curso", key = "#idCurso")
     public CursoDTO obtenerCursoPorId(Integer idCurso) {
@@ -71,72 +92,58 @@ public class CursoServiceImpl implements ICursoService {
 
     @Override
     @CachePut(value = "curso", key = "#result.idCurso")
-    @CacheEvict(value = {"cursos"}, allEntries = true)
+    @CacheEvict(value = {"cursos", "cursosPagina"}, allEntries = true)
     @Transactional
     public CursoDTO crearCurso(CursoDTO cursoDTO) {
         // Validation for format handled by @Pattern in DTO
-        // Uniqueness check for dia and horario (both Strings now)
-        if (cursoRepository.existsByDiaAndHorario(cursoDTO.getDia(), cursoDTO.getHorario())) {
-            throw new BusinessException("Ya existe un curso programado para el " + cursoDTO.getDia() + " a las " + cursoDTO.getHorario());
-        }
-
-        cursoValidator.validacionCompletaCurso(cursoDTO); // This will call validaDiaHorarioUnico with String
+        // Un curso nuevo no tiene materias (se_da): todavía no puede chocar con el horario de nadie
+        cursoValidator.validacionCompletaCurso(cursoDTO);
 
         Curso curso = convertToEntity(cursoDTO);
         Curso cursoGuardado = cursoRepository.save(curso);
+        horarioService.cursoModificado();
         return convertToDTO(cursoGuardado);
     }
 
     @Override
     @CachePut(value = "curso", key = "#idCurso")
-    @CacheEvict(value = {"cursos"}, allEntries = true)
+    @CacheEvict(value = {"cursos", "cursosPagina", "inscripcionesDetallePorEstudiante"}, allEntries = true)
     @Transactional
     public CursoDTO actualizarCurso(Integer idCurso, CursoDTO cursoDTO) {
         Curso cursoExistente = cursoRepository.findById(idCurso)
                 .orElseThrow(() -> new BusinessException("Curso con ID " + idCurso + " no encontrado para actualizar"));
 
-        // Validate if day and horario combination, if changed, doesn't exist for another course
-        if (!cursoExistente.getDia().equalsIgnoreCase(cursoDTO.getDia()) || !cursoExistente.getHorario().equals(cursoDTO.getHorario())) {
-             if (cursoRepository.existsByDiaAndHorario(cursoDTO.getDia(), cursoDTO.getHorario())) {
-                 throw new BusinessException("Ya existe otro curso con el mismo día y horario: " + cursoDTO.getDia() + " " + cursoDTO.getHorario());
-             }
+        // Bloqueo optimista: si el cliente envía la versión que leyó y otro la modificó antes, se rechaza (409)
+        if (cursoDTO.getVersion() != null && !cursoDTO.getVersion().equals(cursoExistente.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Curso.class, idCurso);
         }
 
-        cursoValidator.validarActualizacionCurso(cursoDTO, cursoExistente); // This will call validaDiaHorarioUnico with String
+        cursoValidator.validarActualizacionCurso(cursoDTO, cursoExistente);
+
+        // Si cambia la franja, los docentes y estudiantes de sus materias no pueden quedar en dos cursos a la vez
+        if (!cursoExistente.getDia().equalsIgnoreCase(cursoDTO.getDia()) || !cursoExistente.getHorario().equals(cursoDTO.getHorario())) {
+            horarioService.validarCurso(idCurso, cursoDTO.getDia(), cursoDTO.getHorario());
+        }
 
         cursoExistente.setDia(cursoDTO.getDia()); // Set the String value directly
         cursoExistente.setHorario(cursoDTO.getHorario()); // Set the String value directly
         cursoExistente.setSemestre(cursoDTO.getSemestre());
         cursoExistente.setAnio(cursoDTO.getAnio());
 
-        Curso cursoActualizado = cursoRepository.save(cursoExistente);
+        Curso cursoActualizado = cursoRepository.saveAndFlush(cursoExistente);
+        horarioService.cursoModificado();
         return convertToDTO(cursoActualizado);
     }
 
     @Override
-    @CacheEvict(value = {"curso", "cursos"}, allEntries = true)
+    @CacheEvict(value = {"curso", "cursos", "cursosPagina", "inscripcionesDetallePorEstudiante"}, allEntries = true)
     @Transactional
     public void eliminarCurso(Integer idCurso) {
         if (!cursoRepository.existsById(idCurso)) {
             throw new BusinessException("Curso con ID " + idCurso + " no encontrado para eliminar");
         }
         cursoRepository.deleteById(idCurso);
-    }
-
-    @Override
-    @Transactional
-    public Curso obtenerCursoConBloqueo(Integer idCurso) {
-        Curso curso = cursoRepository.findById(idCurso)
-                .orElseThrow(() -> new BusinessException("Curso con ID " + idCurso + " no encontrado"));
-
-        try {
-            // This is a simulated delay for pessimistic locking demonstration
-            Thread.sleep(15000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new BusinessException("La operación de bloqueo fue interrumpida.");
-        }
-        return curso;
+        horarioService.cursoModificado();
     }
 
     // --- Métodos de Conversión DTO <-> Entidad ---
@@ -148,6 +155,7 @@ public class CursoServiceImpl implements ICursoService {
                 .horario(curso.getHorario()) // Directly use the String
                 .semestre(curso.getSemestre())
                 .anio(curso.getAnio())
+                .version(curso.getVersion())
                 .build();
     }
 
@@ -1,9 +1,14 @@
 package com.example.ProyectoTaw.service.impl;
 
+import com.example.ProyectoTaw.cache.MemoConsultas;
 import com.example.ProyectoTaw.dto.DocenteDTO;
 import com.example.ProyectoTaw.dto.DocenteDTO;
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
+import com.example.ProyectoTaw.dto.ResultadoBusquedaDTO.Tipo;
 import com.example.ProyectoTaw.model.Docente;
 import com.example.ProyectoTaw.model.Docente;
+import com.example.ProyectoTaw.repository.BusquedaRepository;
 import com.example.ProyectoTaw.repository.DocenteRepository;
 import com.example.ProyectoTaw.repository.DocenteRepository;
 import com.example.ProyectoTaw.service.IDocenteService;
@@ -12,13 +17,18 @@ import com.example.ProyectoTaw.validator.DocenteValidator;
 import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException; // Asegúrate de que esta clase exista
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.sql.Date;
 import java.time.LocalDate;
@@ -29,11 +39,16 @@ public class DocenteServiceImpl implements IDocenteService {
 
     private final DocenteRepository docenteRepository;
     private final DocenteValidator docenteValidator;
+    private final BusquedaRepository busquedaRepository;
+    private final MemoConsultas memoConsultas; // Comparte con el validador las búsquedas por CI y email
 
     @Autowired
-    public DocenteServiceImpl(DocenteRepository docenteRepository, DocenteValidator docenteValidator) {
+    public DocenteServiceImpl(DocenteRepository docenteRepository, DocenteValidator docenteValidator,
+                              BusquedaRepository busquedaRepository, MemoConsultas memoConsultas) {
         this.docenteRepository = docenteRepository;
         this.docenteValidator = docenteValidator;
+        this.busquedaRepository = busquedaRepository;
+        this.memoConsultas = memoConsultas;
     }
 
     @Override
@@ -44,6 +59,20 @@ public class DocenteServiceImpl implements IDocenteService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Cacheable(value = "docentesPagina", key = "'p-' + #pageable.pageNumber + '-' + #pageable.pageSize + '-' + #pageable.sort")
+    public PaginaDTO<DocenteDTO> obtenerDocentesPaginados(Pageable pageable) {
+        return PaginaDTO.de(docenteRepository.findAll(pageable), this::convertToDTO);
+    }
+
+    @Override
+    @Cacheable(value = "docentesPagina", key = "'c-' + #cursor + '-' + #tamano")
+    public CursorPaginaDTO<DocenteDTO> obtenerDocentesDesde(String cursor, int tamano) {
+        Pageable primeros = CursorPaginaDTO.primeros(tamano, "ciDocente");
+        return CursorPaginaDTO.de(docenteRepository.findByCiDocenteGreaterThan(cursor != null ? cursor : "", primeros),
+                this::convertToDTO, Docente::getCiDocente);
+    }
+
     @Override
     @Cacheable(value = "docente", key = "#ci") // Cambiado a 'ci'
     public DocenteDTO obtenerDocentePorCi(String ci) { // Cambiado a 'obtenerDocentePorCi' y tipo a String
@@ -55,22 +84,28 @@ public class DocenteServiceImpl implements IDocenteService {
     @Override
     @Cacheable(value = "docentes", key = "#query")
     public List<DocenteDTO> buscarDocentes(String query) {
-        return docenteRepository.findByNombreContainingIgnoreCaseOrApellidoContainingIgnoreCase(query, query).stream()
+        // Los más relevantes primero (ver BusquedaRepository); findAllById no conserva ese orden
+        List<String> cis = busquedaRepository.buscarIds(query, Tipo.DOCENTE, BusquedaRepository.LIMITE_LISTA);
+        Map<String, Docente> porCi = docenteRepository.findAllById(cis).stream()
+                .collect(Collectors.toMap(Docente::getCiDocente, Function.identity()));
+        return cis.stream()
+                .map(porCi::get)
+                .filter(Objects::nonNull)
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
     @CachePut(value = "docente", key = "#result.ci") // Ajustado a result.ci
-    @CacheEvict(value = {"docentes"}, allEntries = true)
+    @CacheEvict(value = {"docentes", "docentesPagina"}, allEntries = true)
     @Transactional // Agregado @Transactional para operaciones de escritura
     public DocenteDTO crearDocente(DocenteDTO docenteDTO) {
         // Validar si el CI ya existe antes de crear
-        if (docenteRepository.existsByCiDocente(docenteDTO.getCi())) {
+        if (memoConsultas.docente(docenteDTO.getCi()).isPresent()) {
             throw new BusinessException("Ya existe un Docente con la CI: " + docenteDTO.getCi());
         }
         // Validar si el email ya existe antes de crear
-        if (docenteRepository.existsByEmail(docenteDTO.getEmail())) {
+        if (memoConsultas.docentePorEmail(docenteDTO.getEmail()).isPresent()) {
             throw new BusinessException("Ya existe un Docente con el email: " + docenteDTO.getEmail());
         }
 
@@ -78,19 +113,25 @@ public class DocenteServiceImpl implements IDocenteService {
 
         Docente docente = convertToEntity(docenteDTO);
         Docente docenteGuardado = docenteRepository.save(docente);
+        memoConsultas.olvidar();
         return convertToDTO(docenteGuardado);
     }
 
     @Override
     @CachePut(value = "docente", key = "#ci")
-    @CacheEvict(value = {"docentes"}, allEntries = true)
+    @CacheEvict(value = {"docentes", "docentesPagina", "inscripcionesDetallePorEstudiante"}, allEntries = true)
     @Transactional // Agregado @Transactional para operaciones de escritura
     public DocenteDTO actualizarDocente(String ci, DocenteDTO docenteDTO) { // Tipo cambiado a String
         Docente docenteExistente = docenteRepository.findById(ci) // Usando findById
                 .orElseThrow(() -> new BusinessException("Docente con CI " + ci + " no encontrado para actualizar"));
 
+        // Bloqueo optimista: si el cliente envía la versión que leyó y otro la modificó antes, se rechaza (409)
+        if (docenteDTO.getVersion() != null && !docenteDTO.getVersion().equals(docenteExistente.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Docente.class, ci);
+        }
+
         // Validar que el email, si se cambia, no exista para otro Docente
-        if (!docenteExistente.getEmail().equals(docenteDTO.getEmail()) && docenteRepository.existsByEmail(docenteDTO.getEmail())) {
+        if (!docenteExistente.getEmail().equals(docenteDTO.getEmail()) && memoConsultas.docentePorEmail(docenteDTO.getEmail()).isPresent()) {
             throw new BusinessException("El email '" + docenteDTO.getEmail() + "' ya está registrado para otro docente.");
         }
 
@@ -106,36 +147,20 @@ public class DocenteServiceImpl implements IDocenteService {
         docenteExistente.setDepartamento(docenteDTO.getDepartamento());
         docenteExistente.setNroEmpleado(docenteDTO.getNroEmpleado());
 
-        Docente docenteActualizado = docenteRepository.save(docenteExistente);
+        Docente docenteActualizado = docenteRepository.saveAndFlush(docenteExistente);
+        memoConsultas.olvidar();
         return convertToDTO(docenteActualizado);
     }
 
     @Override
-    @CacheEvict(value = {"docente", "docentes"}, allEntries = true)
+    @CacheEvict(value = {"docente", "docentes", "docentesPagina", "inscripcionesDetallePorEstudiante"}, allEntries = true)
     @Transactional // Agregado @Transactional para operaciones de escritura
     public void eliminarDocente(String ci) { // Tipo cambiado a String
         if (!docenteRepository.existsById(ci)) {
             throw new BusinessException("docente con CI " + ci + " no encontrado para eliminar");
         }
         docenteRepository.deleteById(ci);
-    }
-
-    @Override
-    @Transactional // Asegura que esta operación se ejecute dentro de una transacción
-    public Docente obtenerDocenteConBloqueo(String ci) { // Tipo cambiado a String
-        // Usamos el findById que tiene la anotación @Lock en el repositorio
-        Docente est = docenteRepository.findById(ci) 
-                .orElseThrow(() -> new BusinessException("Docente con CI " + ci + " no encontrado"));
-        
-        // Simula un proceso largo que mantiene el bloqueo
-        try {
-            Thread.sleep(15000); // 15 segundos
-        } catch (InterruptedException e) {
-            // Restaura el estado de interrupción
-            Thread.currentThread().interrupt(); 
-            throw new BusinessException("La operación de bloqueo fue interrumpida.");
-        }
-        return est;
+        memoConsultas.olvidar();
     }
 
     // --- Métodos de Conversión DTO <-> Entidad ---
@@ -151,6 +176,7 @@ public class DocenteServiceImpl implements IDocenteService {
                 .fechaNac(docente.getFechaNac())
                 .departamento(docente.getDepartamento())
                 .nroEmpleado(docente.getNroEmpleado())
+                .version(docente.getVersion())
                 .build();
     }
 
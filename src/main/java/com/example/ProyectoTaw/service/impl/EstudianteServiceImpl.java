@@ -1,20 +1,30 @@
 package com.example.ProyectoTaw.service.impl;
 
+import com.example.ProyectoTaw.cache.MemoConsultas;
 import com.example.ProyectoTaw.dto.EstudianteDTO;
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
+import com.example.ProyectoTaw.dto.ResultadoBusquedaDTO.Tipo;
 import com.example.ProyectoTaw.model.Estudiante;
+import com.example.ProyectoTaw.repository.BusquedaRepository;
 import com.example.ProyectoTaw.repository.EstudianteRepository;
 import com.example.ProyectoTaw.service.IEstudianteService;
 import com.example.ProyectoTaw.validator.EstudianteValidator;
 import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 // import java.sql.Date; // No longer strictly needed if using LocalDate for entity
 import java.time.LocalDate;
@@ -25,16 +35,16 @@ public class EstudianteServiceImpl implements IEstudianteService {
 
     private final EstudianteRepository estudianteRepository;
     private final EstudianteValidator estudianteValidator;
+    private final BusquedaRepository busquedaRepository;
+    private final MemoConsultas memoConsultas; // Comparte con el validador las búsquedas por CI y email
 
     @Autowired
-    public EstudianteServiceImpl(EstudianteRepository estudianteRepository, EstudianteValidator estudianteValidator) {
+    public EstudianteServiceImpl(EstudianteRepository estudianteRepository, EstudianteValidator estudianteValidator,
+                                 BusquedaRepository busquedaRepository, MemoConsultas memoConsultas) {
         this.estudianteRepository = estudianteRepository;
         this.estudianteValidator = estudianteValidator;
-    }
-
-    public EstudianteServiceImpl(EstudianteRepository estudianteRepository) {
-        this.estudianteRepository = estudianteRepository;
-        this.estudianteValidator = null;
+        this.busquedaRepository = busquedaRepository;
+        this.memoConsultas = memoConsultas;
     }
 
     @Override
@@ -45,6 +55,20 @@ public class EstudianteServiceImpl implements IEstudianteService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Cacheable(value = "estudiantesPagina", key = "'p-' + #pageable.pageNumber + '-' + #pageable.pageSize + '-' + #pageable.sort")
+    public PaginaDTO<EstudianteDTO> obtenerEstudiantesPaginados(Pageable pageable) {
+        return PaginaDTO.de(estudianteRepository.findAll(pageable), this::convertToDTO);
+    }
+
+    @Override
+    @Cacheable(value = "estudiantesPagina", key = "'c-' + #cursor + '-' + #tamano")
+    public CursorPaginaDTO<EstudianteDTO> obtenerEstudiantesDesde(String cursor, int tamano) {
+        Pageable primeros = CursorPaginaDTO.primeros(tamano, "ci");
+        return CursorPaginaDTO.de(estudianteRepository.findByCiGreaterThan(cursor != null ? cursor : "", primeros),
+                this::convertToDTO, Estudiante::getCi);
+    }
+
     @Override
     @Cacheable(value = "estudiante", key = "#ci")
     public EstudianteDTO obtenerEstudiantePorCi(String ci) {
@@ -56,20 +80,26 @@ public class EstudianteServiceImpl implements IEstudianteService {
     @Override
     @Cacheable(value = "estudiantes", key = "#query")
     public List<EstudianteDTO> buscarEstudiantes(String query) {
-        return estudianteRepository.findByNombreContainingIgnoreCaseOrApellidoContainingIgnoreCase(query, query).stream()
+        // Los más relevantes primero (ver BusquedaRepository); findAllById no conserva ese orden
+        List<String> cis = busquedaRepository.buscarIds(query, Tipo.ESTUDIANTE, BusquedaRepository.LIMITE_LISTA);
+        Map<String, Estudiante> porCi = estudianteRepository.findAllById(cis).stream()
+                .collect(Collectors.toMap(Estudiante::getCi, Function.identity()));
+        return cis.stream()
+                .map(porCi::get)
+                .filter(Objects::nonNull)
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
     @CachePut(value = "estudiante", key = "#result.ci")
-    @CacheEvict(value = {"estudiantes"}, allEntries = true)
+    @CacheEvict(value = {"estudiantes", "estudiantesPagina"}, allEntries = true)
     @Transactional
     public EstudianteDTO crearEstudiante(EstudianteDTO estudianteDTO) {
-        if (estudianteRepository.existsByCi(estudianteDTO.getCi())) {
+        if (memoConsultas.estudiante(estudianteDTO.getCi()).isPresent()) {
             throw new BusinessException("Ya existe un estudiante con la CI: " + estudianteDTO.getCi());
         }
-        if (estudianteRepository.existsByEmail(estudianteDTO.getEmail())) {
+        if (memoConsultas.estudiantePorEmail(estudianteDTO.getEmail()).isPresent()) {
             throw new BusinessException("Ya existe un estudiante con el email: " + estudianteDTO.getEmail());
         }
 
@@ -79,18 +109,24 @@ public class EstudianteServiceImpl implements IEstudianteService {
 
         Estudiante estudiante = convertToEntity(estudianteDTO);
         Estudiante estudianteGuardado = estudianteRepository.save(estudiante);
+        memoConsultas.olvidar();
         return convertToDTO(estudianteGuardado);
     }
 
     @Override
     @CachePut(value = "estudiante", key = "#ci")
-    @CacheEvict(value = {"estudiantes"}, allEntries = true)
+    @CacheEvict(value = {"estudiantes", "estudiantesPagina"}, allEntries = true)
     @Transactional
     public EstudianteDTO actualizarEstudiante(String ci, EstudianteDTO estudianteDTO) {
         Estudiante estudianteExistente = estudianteRepository.findById(ci)
                 .orElseThrow(() -> new BusinessException("Estudiante con CI " + ci + " no encontrado para actualizar"));
 
-        if (!estudianteExistente.getEmail().equals(estudianteDTO.getEmail()) && estudianteRepository.existsByEmail(estudianteDTO.getEmail())) {
+        // Bloqueo optimista: si el cliente envía la versión que leyó y otro la modificó antes, se rechaza (409)
+        if (estudianteDTO.getVersion() != null && !estudianteDTO.getVersion().equals(estudianteExistente.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Estudiante.class, ci);
+        }
+
+        if (!estudianteExistente.getEmail().equals(estudianteDTO.getEmail()) && memoConsultas.estudiantePorEmail(estudianteDTO.getEmail()).isPresent()) {
             throw new BusinessException("El email '" + estudianteDTO.getEmail() + "' ya está registrado para otro estudiante.");
         }
 
@@ -103,33 +139,20 @@ public class EstudianteServiceImpl implements IEstudianteService {
         estudianteExistente.setEmail(estudianteDTO.getEmail());
         estudianteExistente.setFechaNac(estudianteDTO.getFechaNac());
 
-        Estudiante estudianteActualizado = estudianteRepository.save(estudianteExistente);
+        Estudiante estudianteActualizado = estudianteRepository.saveAndFlush(estudianteExistente);
+        memoConsultas.olvidar();
         return convertToDTO(estudianteActualizado);
     }
 
     @Override
-    @CacheEvict(value = {"estudiante", "estudiantes"}, allEntries = true)
+    @CacheEvict(value = {"estudiante", "estudiantes", "estudiantesPagina"}, allEntries = true)
     @Transactional
     public void eliminarEstudiante(String ci) {
         if (!estudianteRepository.existsById(ci)) {
             throw new BusinessException("Estudiante con CI " + ci + " no encontrado para eliminar");
         }
         estudianteRepository.deleteById(ci);
-    }
-
-    @Override
-    @Transactional
-    public Estudiante obtenerEstudianteConBloqueo(String ci) {
-        Estudiante est = estudianteRepository.findById(ci)
-                .orElseThrow(() -> new BusinessException("Estudiante con CI " + ci + " no encontrado"));
-
-        try {
-            Thread.sleep(15000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new BusinessException("La operación de bloqueo fue interrumpida.");
-        }
-        return est;
+        memoConsultas.olvidar();
     }
 
     // --- Métodos de Conversión DTO <-> Entidad ---
@@ -141,6 +164,7 @@ public class EstudianteServiceImpl implements IEstudianteService {
                 .apellido(estudiante.getApellido())
                 .email(estudiante.getEmail())
                 .fechaNac(estudiante.getFechaNac())
+                .version(estudiante.getVersion())
                 .build();
     }
 
@@ -0,0 +1,72 @@
+package com.example.ProyectoTaw.service.impl;
+
+import com.example.ProyectoTaw.dto.FiltroExportacionDTO;
+import com.example.ProyectoTaw.export.EscritorExportacion;
+import com.example.ProyectoTaw.export.FormatoExportacion;
+import com.example.ProyectoTaw.repository.AsisteRepository;
+import com.example.ProyectoTaw.repository.AsisteRepository.AsistenciaExportada;
+import com.example.ProyectoTaw.repository.RegistraNotaRepository;
+import com.example.ProyectoTaw.repository.RegistraNotaRepository.NotaExportada;
+import com.example.ProyectoTaw.service.IExportacionService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class ExportacionServiceImpl implements IExportacionService {
+
+    private static final String[] COLUMNAS_ASISTENCIA = {
+            "idAsiste", "estudianteCi", "estudianteNombre", "estudianteApellido",
+            "cursoIdCurso", "semestre", "anio", "fecha", "presente"};
+
+    private static final String[] COLUMNAS_NOTA = {
+            "id", "estudianteCi", "estudianteNombre", "estudianteApellido",
+            "cursoIdCurso", "semestre", "anio", "evaluacion", "nota", "fecha"};
+
+    private final AsisteRepository asisteRepository;
+    private final RegistraNotaRepository registraNotaRepository;
+
+    @Autowired
+    public ExportacionServiceImpl(AsisteRepository asisteRepository, RegistraNotaRepository registraNotaRepository) {
+        this.asisteRepository = asisteRepository;
+        this.registraNotaRepository = registraNotaRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true) // El Stream necesita la conexión abierta mientras se recorre
+    public long exportarAsistencias(FiltroExportacionDTO filtro, FormatoExportacion formato, OutputStream salida) throws IOException {
+        try (Stream<AsistenciaExportada> filas = asisteRepository.streamParaExportar(
+                     filtro.getCursoId(), filtro.getSemestre(), filtro.getAnio(), filtro.getDesde(), filtro.getHasta());
+             EscritorExportacion escritor = new EscritorExportacion(formato, salida, COLUMNAS_ASISTENCIA)) {
+            Iterator<AsistenciaExportada> it = filas.iterator();
+            while (it.hasNext()) {
+                AsistenciaExportada a = it.next();
+                escritor.fila(a.getIdAsiste(), a.getEstudianteCi(), a.getEstudianteNombre(), a.getEstudianteApellido(),
+                        a.getCursoIdCurso(), a.getSemestre(), a.getAnio(), a.getFecha(), a.getPresente());
+            }
+            return escritor.getFilas();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportarNotas(FiltroExportacionDTO filtro, FormatoExportacion formato, OutputStream salida) throws IOException {
+        try (Stream<NotaExportada> filas = registraNotaRepository.streamParaExportar(
+                     filtro.getCursoId(), filtro.getSemestre(), filtro.getAnio(), filtro.getDesde(), filtro.getHasta());
+             EscritorExportacion escritor = new EscritorExportacion(formato, salida, COLUMNAS_NOTA)) {
+            Iterator<NotaExportada> it = filas.iterator();
+            while (it.hasNext()) {
+                NotaExportada n = it.next();
+                escritor.fila(n.getId(), n.getEstudianteCi(), n.getEstudianteNombre(), n.getEstudianteApellido(),
+                        n.getCursoIdCurso(), n.getSemestre(), n.getAnio(), n.getEvaluacion(), n.getNota(), n.getFecha());
+            }
+            return escritor.getFilas();
+        }
+    }
+}
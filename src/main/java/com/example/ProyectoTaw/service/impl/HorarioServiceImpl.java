@@ -0,0 +1,204 @@
+package com.example.ProyectoTaw.service.impl;
+
+import com.example.ProyectoTaw.cache.CacheInvalidator;
+import com.example.ProyectoTaw.dto.FranjaLibreDTO;
+import com.example.ProyectoTaw.horario.Franja;
+import com.example.ProyectoTaw.horario.IndiceHorarios;
+import com.example.ProyectoTaw.repository.CursoRepository;
+import com.example.ProyectoTaw.repository.HorarioRepository;
+import com.example.ProyectoTaw.repository.HorarioRepository.Ocupacion;
+import com.example.ProyectoTaw.service.IHorarioService;
+import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Choques de horario entre los cursos de un mismo docente (imparte × se_da) o estudiante (inscrito × se_da).
+ *
+ * El índice de franjas está en caché como una sola entrada y cada cambio de curso lo invalida, como el grafo de
+ * prerrequisitos. Validar una escritura es buscar en el árbol del día los cursos superpuestos y, solo si hay
+ * alguno, preguntar a la base si la persona está en uno de ellos. La inscripción y la asignación de docente
+ * bloquean antes la fila de la persona: dos escrituras simultáneas suyas no pueden pasar la validación a la vez. Dos secciones de la misma materia a la vez
+ * no son un choque: el estudiante o el docente asiste a una.
+ */
+@Service
+public class HorarioServiceImpl implements IHorarioService {
+
+    private static final String REGION_INDICE = "indiceHorarios";
+
+    // Misma ventana que materias disponibles: una inscripción más reciente cuenta como materia en curso
+    private static final int MESES_EN_CURSO = 6;
+
+    private static final Set<DayOfWeek> DIAS_LECTIVOS = EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.SATURDAY);
+
+    private final CursoRepository cursoRepository;
+    private final HorarioRepository horarioRepository;
+    private final CacheManager cacheManager;
+    private final CacheInvalidator cacheInvalidator;
+    private final int jornadaInicio;
+    private final int jornadaFin;
+
+    @Autowired
+    public HorarioServiceImpl(CursoRepository cursoRepository,
+                              HorarioRepository horarioRepository,
+                              CacheManager cacheManager,
+                              CacheInvalidator cacheInvalidator,
+                              @Value("${app.horarios.jornada:07:00 a 22:00}") String jornada) {
+        this.cursoRepository = cursoRepository;
+        this.horarioRepository = horarioRepository;
+        this.cacheManager = cacheManager;
+        this.cacheInvalidator = cacheInvalidator;
+        Franja franja = Franja.de("Lunes", jornada)
+                .orElseThrow(() -> new IllegalArgumentException("app.horarios.jornada no válida: " + jornada));
+        this.jornadaInicio = franja.inicio();
+        this.jornadaFin = franja.fin();
+    }
+
+    @Override
+    public IndiceHorarios obtenerIndice() {
+        return cacheManager.getCache(REGION_INDICE)
+                .get(SimpleKey.EMPTY, () -> IndiceHorarios.de(cursoRepository.findAll()));
+    }
+
+    @Override
+    public void validarImparte(String ciDocente, String materiaCodigoUnico, Long idImparte) {
+        horarioRepository.bloquearDocente(ciDocente);
+        IndiceHorarios indice = obtenerIndice();
+        List<Integer> propios = horarioRepository.cursosDeMateria(materiaCodigoUnico);
+        Set<Integer> candidatos = candidatos(indice, propios);
+        List<Ocupacion> ocupaciones = horarioRepository.cursosDelDocente(ciDocente, materiaCodigoUnico, idImparte, candidatos);
+        rechazarChoque("docente", ocupaciones, propios, indice);
+    }
+
+    @Override
+    public void validarInscripcion(String estudianteCi, String materiaCodigoUnico, Long idInscrito) {
+        horarioRepository.bloquearEstudiante(estudianteCi);
+        IndiceHorarios indice = obtenerIndice();
+        List<Integer> propios = horarioRepository.cursosDeMateria(materiaCodigoUnico);
+        Set<Integer> candidatos = candidatos(indice, propios);
+        List<Ocupacion> ocupaciones = horarioRepository.cursosDelEstudiante(
+                estudianteCi, materiaCodigoUnico, idInscrito, enCursoDesde(), candidatos);
+        rechazarChoque("estudiante", ocupaciones, propios, indice);
+    }
+
+    @Override
+    public void validarSeDa(String materiaCodigoUnico, Integer cursoIdCurso, Long idSeDa) {
+        IndiceHorarios indice = obtenerIndice();
+        Franja franja = indice.franja(cursoIdCurso);
+        if (franja == null) {
+            return;
+        }
+        validarPersonas(List.of(materiaCodigoUnico), cursoIdCurso, franja, idSeDa, indice);
+    }
+
+    @Override
+    public void validarCurso(Integer idCurso, String dia, String horario) {
+        Franja franja = Franja.de(dia, horario).orElse(null);
+        if (franja == null) {
+            return;
+        }
+        validarPersonas(horarioRepository.materiasDelCurso(idCurso), idCurso, franja, null, obtenerIndice());
+    }
+
+    @Override
+    public void cursoModificado() {
+        cacheInvalidator.invalidar(REGION_INDICE, SimpleKey.EMPTY);
+    }
+
+    @Override
+    public List<FranjaLibreDTO> buscarFranjasLibres(String dia, List<String> docentes, List<String> estudiantes, int duracion) {
+        if (duracion <= 0) {
+            throw new BusinessException("La duración debe ser de al menos un minuto.");
+        }
+        Set<DayOfWeek> dias = DIAS_LECTIVOS;
+        if (dia != null && !dia.isBlank()) {
+            dias = EnumSet.of(Franja.dia(dia).orElseThrow(() -> new BusinessException("Día no válido: " + dia)));
+        }
+        List<String> cisDocentes = docentes != null ? docentes : List.of();
+        List<String> cisEstudiantes = estudiantes != null ? estudiantes : List.of();
+        Set<Integer> ocupados = cisDocentes.isEmpty() && cisEstudiantes.isEmpty()
+                ? null // Tramos sin ningún curso
+                : horarioRepository.cursosOcupados(cisDocentes, cisEstudiantes, enCursoDesde());
+
+        IndiceHorarios indice = obtenerIndice();
+        List<FranjaLibreDTO> libres = new ArrayList<>();
+        for (DayOfWeek d : dias) {
+            for (int[] tramo : indice.libres(d, jornadaInicio, jornadaFin, duracion, ocupados)) {
+                libres.add(FranjaLibreDTO.builder()
+                        .dia(Franja.nombre(d))
+                        .inicio(Franja.hora(tramo[0]))
+                        .fin(Franja.hora(tramo[1]))
+                        .minutos(tramo[1] - tramo[0])
+                        .build());
+            }
+        }
+        return libres;
+    }
+
+    // Docentes y estudiantes de las materias del curso que ya tienen otra materia en un curso superpuesto
+    private void validarPersonas(List<String> materias, Integer cursoIdCurso, Franja franja, Long idSeDa,
+                                 IndiceHorarios indice) {
+        List<Integer> candidatos = indice.solapados(franja).stream()
+                .filter(id -> !id.equals(cursoIdCurso))
+                .toList();
+        if (candidatos.isEmpty() || materias.isEmpty()) {
+            return;
+        }
+        List<Ocupacion> docentes = horarioRepository.docentesDeMaterias(materias, idSeDa, candidatos);
+        if (!docentes.isEmpty()) {
+            throw choque("docente", docentes.get(0), cursoIdCurso, franja, indice);
+        }
+        List<Ocupacion> estudiantes = horarioRepository.estudiantesDeMaterias(materias, idSeDa, enCursoDesde(), candidatos);
+        if (!estudiantes.isEmpty()) {
+            throw choque("estudiante", estudiantes.get(0), cursoIdCurso, franja, indice);
+        }
+    }
+
+    // Cursos superpuestos con alguno de los propios (los propios no cuentan: son secciones de la misma materia)
+    private static Set<Integer> candidatos(IndiceHorarios indice, List<Integer> propios) {
+        Set<Integer> candidatos = new LinkedHashSet<>();
+        for (Integer curso : propios) {
+            Franja franja = indice.franja(curso);
+            if (franja != null) {
+                candidatos.addAll(indice.solapados(franja));
+            }
+        }
+        propios.forEach(candidatos::remove);
+        return candidatos;
+    }
+
+    // Una ocupación es un choque si su curso se superpone con alguno de los cursos propios
+    private static void rechazarChoque(String rol, List<Ocupacion> ocupaciones, List<Integer> propios, IndiceHorarios indice) {
+        for (Ocupacion o : ocupaciones) {
+            Franja ocupada = indice.franja(o.cursoId());
+            for (Integer curso : propios) {
+                Franja propia = indice.franja(curso);
+                if (ocupada != null && propia != null && propia.solapa(ocupada)) {
+                    throw choque(rol, o, curso, propia, indice);
+                }
+            }
+        }
+    }
+
+    private static BusinessException choque(String rol, Ocupacion o, Integer curso, Franja franja, IndiceHorarios indice) {
+        return new BusinessException("Choque de horario: el " + rol + " " + o.persona() + " ya tiene " + o.materia()
+                + " en el curso " + o.cursoId() + " (" + indice.franja(o.cursoId()) + "), que se superpone con "
+                + o.materiaPropia() + " en el curso " + curso + " (" + franja + ").");
+    }
+
+    private static LocalDate enCursoDesde() {
+        return LocalDate.now().minusMonths(MESES_EN_CURSO);
+    }
+}
@@ -1,22 +1,27 @@
 package com.example.ProyectoTaw.service.impl;
 
+import com.example.ProyectoTaw.cache.CacheInvalidator;
 import com.example.ProyectoTaw.dto.ImparteDTO;
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
 import com.example.ProyectoTaw.model.Imparte;
 import com.example.ProyectoTaw.model.Materia;
 import com.example.ProyectoTaw.model.Docente;
 import com.example.ProyectoTaw.repository.ImparteRepository;
 import com.example.ProyectoTaw.repository.MateriaRepository;
 import com.example.ProyectoTaw.repository.DocenteRepository;
+import com.example.ProyectoTaw.service.IHorarioService;
 import com.example.ProyectoTaw.service.IImparteService;
 import com.example.ProyectoTaw.validator.ImparteValidator;
 import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -32,16 +37,22 @@ public class ImparteServiceImpl implements IImparteService {
     private final MateriaRepository materiaRepository;
     private final DocenteRepository docenteRepository;
     private final ImparteValidator imparteValidator;
+    private final CacheInvalidator cacheInvalidator;
+    private final IHorarioService horarioService;
 
     @Autowired
     public ImparteServiceImpl(ImparteRepository imparteRepository,
                               MateriaRepository materiaRepository,
                               DocenteRepository docenteRepository,
-                              ImparteValidator imparteValidator) {
+                              ImparteValidator imparteValidator,
+                              CacheInvalidator cacheInvalidator,
+                              IHorarioService horarioService) {
         this.imparteRepository = imparteRepository;
         this.materiaRepository = materiaRepository;
         this.docenteRepository = docenteRepository;
         this.imparteValidator = imparteValidator;
+        this.cacheInvalidator = cacheInvalidator;
+        this.horarioService = horarioService;
     }
 
     @Override
@@ -53,6 +64,20 @@ public class ImparteServiceImpl implements IImparteService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Cacheable(value = "relacionesImpartePagina", key = "'p-' + #pageable.pageNumber + '-' + #pageable.pageSize + '-' + #pageable.sort")
+    public PaginaDTO<ImparteDTO> obtenerRelacionesPaginadas(Pageable pageable) {
+        return PaginaDTO.de(imparteRepository.findAll(pageable), this::convertToDTO);
+    }
+
+    @Override
+    @Cacheable(value = "relacionesImpartePagina", key = "'c-' + #cursor + '-' + #tamano")
+    public CursorPaginaDTO<ImparteDTO> obtenerRelacionesDesde(Long cursor, int tamano) {
+        Pageable primeros = CursorPaginaDTO.primeros(tamano, "idImparte");
+        return CursorPaginaDTO.de(imparteRepository.findByIdImparteGreaterThan(cursor != null ? cursor : 0L, primeros),
+                this::convertToDTO, Imparte::getIdImparte);
+    }
+
     @Override
     @Cacheable(value = "relacionImparte", key = "#idImparte")
     public ImparteDTO obtenerRelacionPorId(Long idImparte) {
@@ -91,7 +116,6 @@ public class ImparteServiceImpl implements IImparteService {
 
     @Override
     @Transactional
-    @CacheEvict(value = {"relacionesImparte", "relacionesPorMateria", "relacionesPorDocente", "relacionPorMateriaYDocente"}, allEntries = true)
     public ImparteDTO crearRelacion(ImparteDTO dto) {
         Materia materia = materiaRepository.findByCodigoUnico(dto.getMateriaCodigoUnico())
                 .orElseThrow(() -> new BusinessException("Materia con código '" + dto.getMateriaCodigoUnico() + "' no encontrada."));
@@ -104,21 +128,30 @@ public class ImparteServiceImpl implements IImparteService {
         }
 
         imparteValidator.validarCreacionRelacion(dto);
+        // El docente no puede quedar en dos cursos superpuestos de materias distintas
+        horarioService.validarImparte(dto.getCiDocente(), dto.getMateriaCodigoUnico(), null);
 
         Imparte nuevaRelacion = convertToEntity(dto, materia, docente);
-        Imparte guardada = imparteRepository.save(nuevaRelacion);
+        ImparteDTO creada = convertToDTO(imparteRepository.save(nuevaRelacion));
+        cacheInvalidator.imparteModificada(creada);
 
-        return convertToDTO(guardada);
+        return creada;
     }
 
     @Override
     @Transactional
     @CachePut(value = "relacionImparte", key = "#idImparte")
-    @CacheEvict(value = {"relacionesImparte", "relacionesPorMateria", "relacionesPorDocente", "relacionPorMateriaYDocente"}, allEntries = true)
     public ImparteDTO actualizarRelacion(Long idImparte, ImparteDTO dto) {
         Imparte existente = imparteRepository.findById(idImparte)
                 .orElseThrow(() -> new BusinessException("No se encontró la relación con ID " + idImparte + " para actualizar."));
 
+        // Bloqueo optimista: si el cliente envía la versión que leyó y otro la modificó antes, se rechaza (409)
+        if (dto.getVersion() != null && !dto.getVersion().equals(existente.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Imparte.class, idImparte);
+        }
+
+        ImparteDTO anterior = convertToDTO(existente);
+
         Materia nuevaMateria = materiaRepository.findByCodigoUnico(dto.getMateriaCodigoUnico())
                 .orElseThrow(() -> new BusinessException("Materia con código '" + dto.getMateriaCodigoUnico() + "' no encontrada."));
 
@@ -135,38 +168,25 @@ public class ImparteServiceImpl implements IImparteService {
         }
 
         imparteValidator.validarActualizacionRelacion(dto, existente);
+        if (cambiaronDatos) {
+            horarioService.validarImparte(dto.getCiDocente(), dto.getMateriaCodigoUnico(), idImparte);
+        }
 
         existente.setMateria(nuevaMateria);
         existente.setDocente(nuevoDocente);
 
-        Imparte actualizado = imparteRepository.save(existente);
-        return convertToDTO(actualizado);
+        ImparteDTO actualizado = convertToDTO(imparteRepository.saveAndFlush(existente));
+        cacheInvalidator.imparteModificada(anterior, actualizado);
+        return actualizado;
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = {"relacionImparte", "relacionesImparte", "relacionesPorMateria", "relacionesPorDocente", "relacionPorMateriaYDocente"}, allEntries = true)
     public void eliminarRelacion(Long idImparte) {
-        if (!imparteRepository.existsById(idImparte)) {
-            throw new BusinessException("No existe una relación con ID " + idImparte + " para eliminar.");
-        }
-        imparteRepository.deleteById(idImparte);
-    }
-
-    @Override
-    @Transactional
-    public Imparte obtenerRelacionConBloqueo(Long idImparte) {
         Imparte relacion = imparteRepository.findById(idImparte)
-                .orElseThrow(() -> new BusinessException("Relación con ID " + idImparte + " no encontrada."));
-
-        try {
-            Thread.sleep(15000); // Simula proceso que mantiene el bloqueo
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new BusinessException("Operación de bloqueo interrumpida.");
-        }
-
-        return relacion;
+                .orElseThrow(() -> new BusinessException("No existe una relación con ID " + idImparte + " para eliminar."));
+        imparteRepository.delete(relacion);
+        cacheInvalidator.imparteModificada(convertToDTO(relacion));
     }
 
     // ------------------------
@@ -178,6 +198,7 @@ public class ImparteServiceImpl implements IImparteService {
                 .idImparte(imparte.getIdImparte())
                 .materiaCodigoUnico(imparte.getMateria().getCodigoUnico())
                 .ciDocente(imparte.getDocente().getCiDocente())
+                .version(imparte.getVersion())
                 .build();
     }
 
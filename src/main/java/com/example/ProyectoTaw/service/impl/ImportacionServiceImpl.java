@@ -0,0 +1,523 @@
+package com.example.ProyectoTaw.service.impl;
+
+import com.example.ProyectoTaw.cache.CacheInvalidator;
+import com.example.ProyectoTaw.dto.DocenteDTO;
+import com.example.ProyectoTaw.dto.EstudianteDTO;
+import com.example.ProyectoTaw.dto.MateriaDTO;
+import com.example.ProyectoTaw.export.EscritorExportacion;
+import com.example.ProyectoTaw.export.FormatoExportacion;
+import com.example.ProyectoTaw.importacion.LectorCsv;
+import com.example.ProyectoTaw.importacion.TipoImportacion;
+import com.example.ProyectoTaw.model.Docente;
+import com.example.ProyectoTaw.model.Estudiante;
+import com.example.ProyectoTaw.model.Materia;
+import com.example.ProyectoTaw.repository.ImportacionRepository;
+import com.example.ProyectoTaw.service.IImportacionService;
+import com.example.ProyectoTaw.validator.DocenteValidator;
+import com.example.ProyectoTaw.validator.EstudianteValidator;
+import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Alta masiva de estudiantes, docentes y materias desde un CSV.
+ *
+ * El archivo se lee y se procesa por lotes de tamanoLote filas, así que la memoria no depende de su tamaño:
+ * se convierten y validan las filas del lote en paralelo (Bean Validation del DTO y las reglas sin base de
+ * datos del validador), se consultan de una vez las CI/emails/códigos del lote que ya existen y se insertan
+ * las filas restantes en una transacción con INSERT por lotes JDBC. El resultado de cada fila se escribe en el
+ * informe al terminar su lote. Las reglas son las de crearEstudiante, crearDocente y crearMateria.
+ */
+@Service
+public class ImportacionServiceImpl implements IImportacionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportacionServiceImpl.class);
+
+    private static final String[] COLUMNAS_INFORME = {"fila", "clave", "estado", "mensaje"};
+
+    private final ImportacionRepository importacionRepository;
+    private final EstudianteValidator estudianteValidator;
+    private final DocenteValidator docenteValidator;
+    private final Validator validator;
+    private final CacheInvalidator cacheInvalidator;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor taskExecutor; // applicationTaskExecutor: hilos virtuales si están habilitados
+    private final int tamanoLote;
+    private final int paralelismo;
+
+    @Autowired
+    public ImportacionServiceImpl(ImportacionRepository importacionRepository,
+                                  EstudianteValidator estudianteValidator,
+                                  DocenteValidator docenteValidator,
+                                  Validator validator,
+                                  CacheInvalidator cacheInvalidator,
+                                  PlatformTransactionManager transactionManager,
+                                  @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+                                  @Value("${app.importacion.tamano-lote:500}") int tamanoLote,
+                                  @Value("${app.importacion.paralelismo:4}") int paralelismo) {
+        this.importacionRepository = importacionRepository;
+        this.estudianteValidator = estudianteValidator;
+        this.docenteValidator = docenteValidator;
+        this.validator = validator;
+        this.cacheInvalidator = cacheInvalidator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.tamanoLote = Math.max(1, tamanoLote);
+        this.paralelismo = Math.max(1, paralelismo);
+    }
+
+    @Override
+    public Resumen importar(TipoImportacion tipo, InputStream entrada, FormatoExportacion formato,
+                            Destino destino) throws IOException {
+        return importar(importador(tipo), tipo, entrada, formato, destino);
+    }
+
+    private <D> Resumen importar(Importador<D> importador, TipoImportacion tipo, InputStream entrada,
+                                 FormatoExportacion formato, Destino destino) throws IOException {
+        LectorCsv lector = new LectorCsv(entrada);
+        List<String> cabecera = lector.siguiente();
+        Map<String, Integer> posiciones = posiciones(tipo, cabecera); // Antes de abrir el destino
+
+        long filas = 0;
+        long insertadas = 0;
+        try (EscritorExportacion informe = new EscritorExportacion(formato, destino.abrir(), COLUMNAS_INFORME)) {
+            List<Fila<D>> lote = new ArrayList<>(tamanoLote);
+            List<String> campos;
+            while ((campos = lector.siguiente()) != null) {
+                if (campos.stream().allMatch(String::isBlank)) {
+                    continue;
+                }
+                lote.add(new Fila<>(lector.getLinea(), campos, lector.isTruncado(), posiciones, tipo.getColumnaClave()));
+                if (lote.size() == tamanoLote) {
+                    insertadas += procesarLote(importador, cabecera.size(), lote, informe);
+                    filas += lote.size();
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                insertadas += procesarLote(importador, cabecera.size(), lote, informe);
+                filas += lote.size();
+            }
+        } finally {
+            if (insertadas > 0) { // Aunque la importación se corte a medias, lo ya confirmado debe verse
+                cacheInvalidator.vaciar(importador.regiones);
+            }
+        }
+        return new Resumen(filas, insertadas);
+    }
+
+    private <D> long procesarLote(Importador<D> importador, int columnas, List<Fila<D>> lote,
+                                  EscritorExportacion informe) throws IOException {
+        validarEnParalelo(importador, columnas, lote);
+        descartarExistentes(importador, lote);
+        long insertadas = insertar(importador, lote);
+        for (Fila<D> fila : lote) {
+            informe.fila(fila.linea, fila.clave, fila.error == null ? "INSERTADA" : "RECHAZADA", fila.error);
+        }
+        return insertadas;
+    }
+
+    // Cada tarea valida una de cada `paralelismo` filas; las filas solo se leen aquí tras esperar todas las tareas
+    private <D> void validarEnParalelo(Importador<D> importador, int columnas, List<Fila<D>> lote) {
+        int tareas = Math.min(paralelismo, lote.size());
+        List<Future<?>> futuros = new ArrayList<>(tareas);
+        for (int t = 0; t < tareas; t++) {
+            int desde = t;
+            futuros.add(taskExecutor.submit(() -> {
+                for (int i = desde; i < lote.size(); i += tareas) {
+                    validar(importador, columnas, lote.get(i));
+                }
+            }));
+        }
+        futuros.forEach(ImportacionServiceImpl::esperar);
+    }
+
+    private <D> void validar(Importador<D> importador, int columnas, Fila<D> fila) {
+        if (fila.truncada) {
+            fila.error = "La fila supera " + LectorCsv.MAX_CAMPO + " caracteres en un campo o "
+                    + LectorCsv.MAX_CAMPOS + " columnas.";
+            return;
+        }
+        if (fila.campos.size() != columnas) {
+            fila.error = "Se esperaban " + columnas + " columnas y llegaron " + fila.campos.size() + ".";
+            return;
+        }
+        try {
+            D dto = importador.convertir(fila);
+            Set<ConstraintViolation<D>> violaciones = validator.validate(dto);
+            if (!violaciones.isEmpty()) {
+                fila.error = violaciones.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                return;
+            }
+            importador.validar(dto);
+            fila.dto = dto;
+        } catch (BusinessException e) {
+            fila.error = e.getMessage();
+        }
+    }
+
+    // Una consulta por lote para las claves y otra para los emails; las repetidas dentro del lote se detectan
+    // en memoria (las de lotes anteriores ya están insertadas y las encuentra la consulta)
+    private <D> void descartarExistentes(Importador<D> importador, List<Fila<D>> lote) {
+        List<Fila<D>> validas = validas(lote);
+        if (validas.isEmpty()) {
+            return;
+        }
+        Set<String> clavesExistentes = importador.clavesExistentes(validas.stream()
+                .map(f -> importador.clave(f.dto)).collect(Collectors.toSet()));
+        Set<String> emailsExistentes = importador.emailsExistentes(validas.stream()
+                .map(f -> importador.email(f.dto)).filter(Objects::nonNull).collect(Collectors.toSet()));
+
+        Map<String, Long> claves = new HashMap<>();
+        Map<String, Long> emails = new HashMap<>();
+        for (Fila<D> fila : validas) {
+            String clave = importador.clave(fila.dto);
+            String email = importador.email(fila.dto);
+            if (clavesExistentes.contains(clave)) {
+                fila.error = "Ya existe " + importador.entidad + " con " + importador.nombreClave + ": " + clave;
+            } else if (email != null && emailsExistentes.contains(email)) {
+                fila.error = "Ya existe " + importador.entidad + " con el email: " + email;
+            } else if (claves.containsKey(clave)) {
+                fila.error = "Repite " + importador.nombreClave + " de la fila " + claves.get(clave) + ": " + clave;
+            } else if (email != null && emails.containsKey(email)) {
+                fila.error = "Repite el email de la fila " + emails.get(email) + ": " + email;
+            } else {
+                claves.put(clave, fila.linea);
+                if (email != null) {
+                    emails.put(email, fila.linea);
+                }
+            }
+            if (fila.error != null) {
+                fila.dto = null;
+            }
+        }
+    }
+
+    private <D> long insertar(Importador<D> importador, List<Fila<D>> lote) {
+        List<Fila<D>> validas = validas(lote);
+        if (validas.isEmpty()) {
+            return 0;
+        }
+        try {
+            List<Object> entidades = validas.stream().map(f -> importador.entidadDe(f.dto)).toList();
+            transactionTemplate.executeWithoutResult(estado -> importacionRepository.insertarLote(entidades));
+            return validas.size();
+        } catch (DataIntegrityViolationException e) {
+            // Otra petición dio de alta una de las claves después de la consulta: se reintenta fila a fila
+            logger.warn("[IMPORTACION] Lote con filas {} a {} rechazado por la base de datos; se inserta fila a fila: {}",
+                    validas.get(0).linea, validas.get(validas.size() - 1).linea, e.getMostSpecificCause().getMessage());
+        }
+        long insertadas = 0;
+        for (Fila<D> fila : validas) {
+            try {
+                Object entidad = importador.entidadDe(fila.dto);
+                transactionTemplate.executeWithoutResult(estado -> importacionRepository.insertarLote(List.of(entidad)));
+                insertadas++;
+            } catch (DataIntegrityViolationException e) {
+                fila.error = "Violación de restricción de datos: " + importador.nombreClave + " o el email ya existen.";
+            }
+        }
+        return insertadas;
+    }
+
+    private static <D> List<Fila<D>> validas(List<Fila<D>> lote) {
+        return lote.stream().filter(f -> f.error == null).toList();
+    }
+
+    // Posición de cada columna conocida en la cabecera, sin distinguir mayúsculas
+    private static Map<String, Integer> posiciones(TipoImportacion tipo, List<String> cabecera) {
+        List<String> columnas = new ArrayList<>(tipo.getObligatorias());
+        columnas.addAll(tipo.getOpcionales());
+        if (cabecera == null) {
+            throw new BusinessException("El archivo está vacío: la primera línea debe ser la cabecera ("
+                    + String.join(",", columnas) + ").");
+        }
+        Map<String, String> conocidas = columnas.stream()
+                .collect(Collectors.toMap(c -> c.toLowerCase(Locale.ROOT), c -> c));
+        Map<String, Integer> posiciones = new LinkedHashMap<>();
+        for (int i = 0; i < cabecera.size(); i++) {
+            String nombre = cabecera.get(i).trim();
+            String columna = conocidas.get(nombre.toLowerCase(Locale.ROOT));
+            if (columna == null) {
+                throw new BusinessException("Columna desconocida: '" + nombre + "'. Columnas válidas: "
+                        + String.join(",", columnas) + ".");
+            }
+            if (posiciones.put(columna, i) != null) {
+                throw new BusinessException("Columna repetida en la cabecera: " + columna);
+            }
+        }
+        List<String> faltan = tipo.getObligatorias().stream().filter(c -> !posiciones.containsKey(c)).toList();
+        if (!faltan.isEmpty()) {
+            throw new BusinessException("Faltan columnas obligatorias en la cabecera: " + String.join(",", faltan));
+        }
+        return posiciones;
+    }
+
+    private static LocalDate fecha(String columna, String valor) {
+        if (valor == null) {
+            return null; // Lo rechaza @NotNull
+        }
+        try {
+            return LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new BusinessException(columna + ": '" + valor + "' no es una fecha yyyy-MM-dd");
+        }
+    }
+
+    private static void esperar(Future<?> tarea) {
+        try {
+            tarea.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importación interrumpida", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException causa ? causa : new IllegalStateException(e.getCause());
+        }
+    }
+
+    private Importador<?> importador(TipoImportacion tipo) {
+        return switch (tipo) {
+            case ESTUDIANTES -> new Importador<EstudianteDTO>("un estudiante", "la CI", "estudiantes", "estudiantesPagina") {
+                @Override
+                EstudianteDTO convertir(Fila<EstudianteDTO> f) {
+                    return EstudianteDTO.builder()
+                            .ci(f.valor("ci"))
+                            .nombre(f.valor("nombre"))
+                            .apellido(f.valor("apellido"))
+                            .email(f.valor("email"))
+                            .fechaNac(fecha("fechaNac", f.valor("fechaNac")))
+                            .build();
+                }
+
+                @Override
+                void validar(EstudianteDTO dto) {
+                    estudianteValidator.validaDominioEmail(dto.getEmail());
+                    estudianteValidator.validaNombreEstudiante(dto.getNombre());
+                    estudianteValidator.validaApellidoEstudiante(dto.getApellido());
+                }
+
+                @Override
+                String clave(EstudianteDTO dto) {
+                    return dto.getCi();
+                }
+
+                @Override
+                String email(EstudianteDTO dto) {
+                    return dto.getEmail();
+                }
+
+                @Override
+                Set<String> clavesExistentes(Collection<String> cis) {
+                    return importacionRepository.cisEstudianteExistentes(cis);
+                }
+
+                @Override
+                Set<String> emailsExistentes(Collection<String> emails) {
+                    return importacionRepository.emailsEstudianteExistentes(emails);
+                }
+
+                @Override
+                Object entidadDe(EstudianteDTO dto) {
+                    return Estudiante.builder()
+                            .ci(dto.getCi())
+                            .nombre(dto.getNombre())
+                            .apellido(dto.getApellido())
+                            .email(dto.getEmail())
+                            .fechaNac(dto.getFechaNac())
+                            .build();
+                }
+            };
+            case DOCENTES -> new Importador<DocenteDTO>("un Docente", "la CI", "docentes", "docentesPagina") {
+                @Override
+                DocenteDTO convertir(Fila<DocenteDTO> f) {
+                    return DocenteDTO.builder()
+                            .ci(f.valor("ci"))
+                            .nombre(f.valor("nombre"))
+                            .apellido(f.valor("apellido"))
+                            .email(f.valor("email"))
+                            .fechaNac(fecha("fechaNac", f.valor("fechaNac")))
+                            .departamento(f.valor("departamento"))
+                            .nroEmpleado(f.valor("nroEmpleado"))
+                            .build();
+                }
+
+                @Override
+                void validar(DocenteDTO dto) {
+                    docenteValidator.validaDominioEmail(dto.getEmail());
+                    docenteValidator.validaNombreDocente(dto.getNombre());
+                    docenteValidator.validaApellidoDocente(dto.getApellido());
+                    docenteValidator.validaDepartamento(dto.getDepartamento());
+                    docenteValidator.validaNroEmpleado(dto.getNroEmpleado());
+                }
+
+                @Override
+                String clave(DocenteDTO dto) {
+                    return dto.getCi();
+                }
+
+                @Override
+                String email(DocenteDTO dto) {
+                    return dto.getEmail();
+                }
+
+                @Override
+                Set<String> clavesExistentes(Collection<String> cis) {
+                    return importacionRepository.cisDocenteExistentes(cis);
+                }
+
+                @Override
+                Set<String> emailsExistentes(Collection<String> emails) {
+                    return importacionRepository.emailsDocenteExistentes(emails);
+                }
+
+                @Override
+                Object entidadDe(DocenteDTO dto) {
+                    return Docente.builder()
+                            .ciDocente(dto.getCi())
+                            .nombre(dto.getNombre())
+                            .apellido(dto.getApellido())
+                            .email(dto.getEmail())
+                            .fechaNac(dto.getFechaNac())
+                            .departamento(dto.getDepartamento())
+                            .nroEmpleado(dto.getNroEmpleado())
+                            .build();
+                }
+            };
+            case MATERIAS -> new Importador<MateriaDTO>("una materia", "el código único", "materias", "materiasPagina") {
+                @Override
+                MateriaDTO convertir(Fila<MateriaDTO> f) {
+                    return MateriaDTO.builder()
+                            .codigoUnico(f.valor("codigoUnico"))
+                            .nombreMateria(f.valor("nombreMateria"))
+                            .descripcion(f.valor("descripcion"))
+                            .build();
+                }
+
+                @Override
+                void validar(MateriaDTO dto) {
+                    // crearMateria solo exige el código único; el resto lo cubren las anotaciones del DTO
+                }
+
+                @Override
+                String clave(MateriaDTO dto) {
+                    return dto.getCodigoUnico();
+                }
+
+                @Override
+                String email(MateriaDTO dto) {
+                    return null;
+                }
+
+                @Override
+                Set<String> clavesExistentes(Collection<String> codigos) {
+                    return importacionRepository.codigosMateriaExistentes(codigos);
+                }
+
+                @Override
+                Set<String> emailsExistentes(Collection<String> emails) {
+                    return Set.of();
+                }
+
+                @Override
+                Object entidadDe(MateriaDTO dto) {
+                    return Materia.builder()
+                            .nombre(dto.getNombreMateria())
+                            .codigoUnico(dto.getCodigoUnico())
+                            .descripcion(dto.getDescripcion())
+                            .build();
+                }
+            };
+        };
+    }
+
+    /** Conversión, reglas y unicidad de un tipo de importación. */
+    private abstract static class Importador<D> {
+
+        final String entidad;
+        final String nombreClave;
+        final String[] regiones; // Regiones de caché con listados que cambian al insertar
+
+        Importador(String entidad, String nombreClave, String... regiones) {
+            this.entidad = entidad;
+            this.nombreClave = nombreClave;
+            this.regiones = regiones;
+        }
+
+        abstract D convertir(Fila<D> fila);
+
+        /** Reglas del validador que no consultan la base de datos. */
+        abstract void validar(D dto);
+
+        abstract String clave(D dto);
+
+        abstract String email(D dto);
+
+        abstract Set<String> clavesExistentes(Collection<String> claves);
+
+        abstract Set<String> emailsExistentes(Collection<String> emails);
+
+        /** Una entidad nueva cada vez: la de un lote que falló ya pasó por persist(). */
+        abstract Object entidadDe(D dto);
+    }
+
+    /** Una fila de datos del archivo y su resultado. */
+    private static final class Fila<D> {
+
+        final long linea;
+        final List<String> campos;
+        final boolean truncada;
+        final Map<String, Integer> posiciones;
+        final String clave;
+        D dto;        // Convertida y válida hasta ahora
+        String error; // Motivo del rechazo, o null
+
+        Fila(long linea, List<String> campos, boolean truncada, Map<String, Integer> posiciones, String columnaClave) {
+            this.linea = linea;
+            this.campos = campos;
+            this.truncada = truncada;
+            this.posiciones = posiciones;
+            this.clave = valor(columnaClave);
+        }
+
+        /** Valor sin espacios a los lados, o null si la columna no está o viene vacía. */
+        String valor(String columna) {
+            Integer i = posiciones.get(columna);
+            if (i == null || i >= campos.size()) {
+                return null;
+            }
+            String valor = campos.get(i).trim();
+            return valor.isEmpty() ? null : valor;
+        }
+    }
+}
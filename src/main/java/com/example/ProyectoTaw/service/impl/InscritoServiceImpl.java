@@ -2,46 +2,87 @@
 
 package com.example.ProyectoTaw.service.impl;
 
+import com.example.ProyectoTaw.cache.CacheInvalidator;
+import com.example.ProyectoTaw.dto.CursoDTO;
+import com.example.ProyectoTaw.dto.DocenteResumenDTO;
+import com.example.ProyectoTaw.dto.InscripcionDetalleDTO;
 import com.example.ProyectoTaw.dto.InscritoDTO;
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.MateriaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
+import com.example.ProyectoTaw.grafo.GrafoPrerequisitos;
 import com.example.ProyectoTaw.model.Estudiante;
 import com.example.ProyectoTaw.model.Materia;
 import com.example.ProyectoTaw.model.Inscrito;
 import com.example.ProyectoTaw.repository.InscritoRepository;
+import com.example.ProyectoTaw.repository.InscritoRepository.InscripcionDetalleFila;
 import com.example.ProyectoTaw.repository.EstudianteRepository;
+import com.example.ProyectoTaw.repository.HistorialAcademicoRepository;
+import com.example.ProyectoTaw.repository.HistorialAcademicoRepository.Historial;
 import com.example.ProyectoTaw.repository.MateriaRepository;
+import com.example.ProyectoTaw.service.IHorarioService;
 import com.example.ProyectoTaw.service.IInscritoService;
+import com.example.ProyectoTaw.service.IMateriaPrerequisitoService;
+import com.example.ProyectoTaw.service.IMateriaService;
 import com.example.ProyectoTaw.validator.InscritoValidator;
 import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class InscritoServiceImpl implements IInscritoService {
 
+    // Misma ventana que la regla de los 6 meses: otra inscripción a menos de 6 meses cuenta como materia en curso
+    private static final int MESES_EN_CURSO = 6;
+
     private final InscritoRepository inscritoRepository;
     private final EstudianteRepository estudianteRepository;
     private final MateriaRepository materiaRepository;
     private final InscritoValidator inscritoValidator; // Asume que tienes este validador
+    private final CacheInvalidator cacheInvalidator;   // Invalida solo las claves afectadas
+    private final HistorialAcademicoRepository historialAcademicoRepository;
+    private final IMateriaPrerequisitoService materiaPrerequisitoService; // Grafo de prerrequisitos en caché
+    private final IMateriaService materiaService;                         // Catálogo de materias en caché
+    private final IHorarioService horarioService;                         // Choques de horario entre materias
+    private final double notaAprobacion;
 
     @Autowired
     public InscritoServiceImpl(InscritoRepository inscritoRepository,
                                EstudianteRepository estudianteRepository,
                                MateriaRepository materiaRepository,
-                               InscritoValidator inscritoValidator) { // Añade el validador al constructor si lo usas
+                               InscritoValidator inscritoValidator, // Añade el validador al constructor si lo usas
+                               CacheInvalidator cacheInvalidator,
+                               HistorialAcademicoRepository historialAcademicoRepository,
+                               IMateriaPrerequisitoService materiaPrerequisitoService,
+                               IMateriaService materiaService,
+                               IHorarioService horarioService,
+                               @Value("${app.academico.nota-aprobacion:51}") double notaAprobacion) {
         this.inscritoRepository = inscritoRepository;
         this.estudianteRepository = estudianteRepository;
         this.materiaRepository = materiaRepository;
         this.inscritoValidator = inscritoValidator; // Inicializa el validador
+        this.cacheInvalidator = cacheInvalidator;
+        this.historialAcademicoRepository = historialAcademicoRepository;
+        this.materiaPrerequisitoService = materiaPrerequisitoService;
+        this.materiaService = materiaService;
+        this.horarioService = horarioService;
+        this.notaAprobacion = notaAprobacion;
     }
 
     @Override
@@ -52,6 +93,20 @@ public class InscritoServiceImpl implements IInscritoService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Cacheable(value = "inscripcionesPagina", key = "'p-' + #pageable.pageNumber + '-' + #pageable.pageSize + '-' + #pageable.sort")
+    public PaginaDTO<InscritoDTO> obtenerInscripcionesPaginadas(Pageable pageable) {
+        return PaginaDTO.de(inscritoRepository.findAll(pageable), this::convertToDTO);
+    }
+
+    @Override
+    @Cacheable(value = "inscripcionesPagina", key = "'c-' + #cursor + '-' + #tamano")
+    public CursorPaginaDTO<InscritoDTO> obtenerInscripcionesDesde(Long cursor, int tamano) {
+        Pageable primeros = CursorPaginaDTO.primeros(tamano, "idInscrito");
+        return CursorPaginaDTO.de(inscritoRepository.findByIdInscritoGreaterThan(cursor != null ? cursor : 0L, primeros),
+                this::convertToDTO, Inscrito::getIdInscrito);
+    }
+
     @Override
     @Cacheable(value = "inscripcion", key = "#idInscrito")
     public InscritoDTO obtenerInscripcionPorId(Long idInscrito) {
@@ -68,6 +123,51 @@ public class InscritoServiceImpl implements IInscritoService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Cacheable(value = "inscripcionesDetallePorEstudiante", key = "#estudianteCi")
+    @Transactional(readOnly = true)
+    public List<InscripcionDetalleDTO> obtenerInscripcionesDetallePorEstudiante(String estudianteCi) {
+        // Una sola consulta; cada inscripción llega repetida una vez por combinación docente x curso, así que los
+        // docentes y cursos ya agregados se recuerdan por clave en lugar de buscarlos en las listas
+        Map<Long, InscripcionDetalleDTO> porId = new LinkedHashMap<>();
+        Set<ClaveDetalle> docentesAgregados = new HashSet<>();
+        Set<ClaveDetalle> cursosAgregados = new HashSet<>();
+        for (InscripcionDetalleFila fila : inscritoRepository.findDetallePorEstudiante(estudianteCi)) {
+            InscripcionDetalleDTO detalle = porId.computeIfAbsent(fila.getIdInscrito(), id -> InscripcionDetalleDTO.builder()
+                    .idInscrito(id)
+                    .estudianteCi(estudianteCi)
+                    .fechaInscripcion(fila.getFechaInscripcion())
+                    .materiaCodigoUnico(fila.getMateriaCodigoUnico())
+                    .materiaNombre(fila.getMateriaNombre())
+                    .materiaDescripcion(fila.getMateriaDescripcion())
+                    .build());
+            if (fila.getDocenteCi() != null
+                    && docentesAgregados.add(new ClaveDetalle(fila.getIdInscrito(), fila.getDocenteCi()))) {
+                detalle.getDocentes().add(DocenteResumenDTO.builder()
+                        .ci(fila.getDocenteCi())
+                        .nombre(fila.getDocenteNombre())
+                        .apellido(fila.getDocenteApellido())
+                        .departamento(fila.getDocenteDepartamento())
+                        .build());
+            }
+            if (fila.getCursoIdCurso() != null
+                    && cursosAgregados.add(new ClaveDetalle(fila.getIdInscrito(), fila.getCursoIdCurso()))) {
+                detalle.getCursos().add(CursoDTO.builder()
+                        .idCurso(fila.getCursoIdCurso())
+                        .dia(fila.getCursoDia())
+                        .horario(fila.getCursoHorario())
+                        .semestre(fila.getCursoSemestre())
+                        .anio(fila.getCursoAnio())
+                        .build());
+            }
+        }
+        return new ArrayList<>(porId.values());
+    }
+
+    // Docente (CI) o curso (ID) de una inscripción en el detalle
+    private record ClaveDetalle(Long idInscrito, Object clave) {
+    }
+
     @Override
     @Cacheable(value = "inscripcionesPorMateria", key = "#materiaCodigoUnico")
     public List<InscritoDTO> obtenerInscripcionesPorMateria(String materiaCodigoUnico) {
@@ -84,9 +184,22 @@ public class InscritoServiceImpl implements IInscritoService {
         return convertToDTO(inscrito);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<MateriaDTO> obtenerMateriasDisponibles(String estudianteCi) {
+        if (!estudianteRepository.existsById(estudianteCi)) {
+            throw new BusinessException("Estudiante con CI " + estudianteCi + " no encontrado.");
+        }
+        // Grafo y catálogo vienen de la caché: la única consulta es la del historial del estudiante
+        GrafoPrerequisitos grafo = materiaPrerequisitoService.obtenerGrafo();
+        Historial historial = historial(estudianteCi, LocalDate.now());
+        return materiaService.obtenerTodasLasMaterias().stream()
+                .filter(materia -> impedimento(materia.getId(), historial, grafo) == null)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @CachePut(value = "inscripcion", key = "#result.idInscrito")
-    @CacheEvict(value = {"inscripciones", "inscripcionesPorEstudiante", "inscripcionesPorMateria"}, allEntries = true)
     @Transactional
     public InscritoDTO crearInscripcion(InscritoDTO inscritoDTO) {
         // Validar primero las reglas de negocio
@@ -103,26 +216,26 @@ public class InscritoServiceImpl implements IInscritoService {
             throw new BusinessException("El estudiante ya está inscrito en esta materia en la fecha especificada.");
         }
 
-        // Regla: no permitir inscripciones a la misma materia antes de 6 meses
-        // Comentar si no aplica esta regla
-        // if (inscritoRepository.existsByEstudianteCiAndMateriaCodigoUnicoAndFechaInscripcionAfter(
-        //         inscritoDTO.getEstudianteCi(), inscritoDTO.getMateriaCodigoUnico(), inscritoDTO.getFechaInscripcion().minusMonths(6))) {
-        //     throw new BusinessException("No se puede inscribir la misma materia antes de 6 meses.");
-        // }
+        // Regla: la misma elegibilidad que materias disponibles (no aprobada, no en curso, prerrequisitos aprobados)
+        validarElegibilidad(estudiante.getCi(), materia, inscritoDTO.getFechaInscripcion());
+        // Regla: los cursos de la materia no pueden superponerse con los de otra materia en curso
+        horarioService.validarInscripcion(estudiante.getCi(), materia.getCodigoUnico(), null);
 
 
         Inscrito inscrito = convertToEntity(inscritoDTO, estudiante, materia);
-        Inscrito savedInscrito = inscritoRepository.save(inscrito);
-        return convertToDTO(savedInscrito);
+        InscritoDTO creada = convertToDTO(inscritoRepository.save(inscrito));
+        // Solo se invalidan las listas del estudiante y de la materia afectados
+        cacheInvalidator.inscripcionModificada(creada);
+        return creada;
     }
 
     @Override
     @CachePut(value = "inscripcion", key = "#idInscrito")
-    @CacheEvict(value = {"inscripciones", "inscripcionesPorEstudiante", "inscripcionesPorMateria"}, allEntries = true)
     @Transactional
     public InscritoDTO actualizarInscripcion(Long idInscrito, InscritoDTO inscritoDTO) {
         Inscrito existingInscrito = inscritoRepository.findById(idInscrito)
                 .orElseThrow(() -> new BusinessException("Inscripción con ID " + idInscrito + " no encontrada para actualizar."));
+        InscritoDTO anterior = convertToDTO(existingInscrito);
 
         // Si se cambia la CI o el Código Único de la materia, o la fecha, validamos las referencias
         Estudiante estudiante = estudianteRepository.findByCi(inscritoDTO.getEstudianteCi())
@@ -139,38 +252,30 @@ public class InscritoServiceImpl implements IInscritoService {
                 inscritoDTO.getEstudianteCi(), inscritoDTO.getMateriaCodigoUnico(), inscritoDTO.getFechaInscripcion()).isPresent()) {
                 throw new BusinessException("Ya existe una inscripción con la misma combinación de estudiante, materia y fecha.");
             }
+            horarioService.validarInscripcion(estudiante.getCi(), materia.getCodigoUnico(), idInscrito);
+        }
+        if (!existingInscrito.getEstudiante().getCi().equals(inscritoDTO.getEstudianteCi()) ||
+            !existingInscrito.getMateria().getCodigoUnico().equals(inscritoDTO.getMateriaCodigoUnico())) {
+            validarElegibilidad(estudiante.getCi(), materia, inscritoDTO.getFechaInscripcion());
         }
         
         existingInscrito.setEstudiante(estudiante);
         existingInscrito.setMateria(materia);
         existingInscrito.setFechaInscripcion(inscritoDTO.getFechaInscripcion());
 
-        Inscrito updatedInscrito = inscritoRepository.save(existingInscrito);
-        return convertToDTO(updatedInscrito);
+        InscritoDTO actualizada = convertToDTO(inscritoRepository.save(existingInscrito));
+        // Se invalidan las claves del estado anterior y del nuevo (puede cambiar de estudiante o materia)
+        cacheInvalidator.inscripcionModificada(anterior, actualizada);
+        return actualizada;
     }
 
     @Override
-    @CacheEvict(value = {"inscripcion", "inscripciones", "inscripcionesPorEstudiante", "inscripcionesPorMateria"}, allEntries = true)
     @Transactional
     public void eliminarInscripcion(Long idInscrito) {
-        if (!inscritoRepository.existsById(idInscrito)) {
-            throw new BusinessException("Inscripción con ID " + idInscrito + " no encontrada para eliminar.");
-        }
-        inscritoRepository.deleteById(idInscrito);
-    }
-
-    @Override
-    @Transactional
-    public Inscrito obtenerInscripcionConBloqueo(Long idInscrito) {
-        Inscrito inscripcion = inscritoRepository.findById(idInscrito)
-                .orElseThrow(() -> new BusinessException("Inscripción con ID " + idInscrito + " no encontrada."));
-        try {
-            Thread.sleep(15000); // Simulate long operation
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new BusinessException("La operación de bloqueo fue interrumpida.");
-        }
-        return inscripcion;
+        Inscrito inscrito = inscritoRepository.findById(idInscrito)
+                .orElseThrow(() -> new BusinessException("Inscripción con ID " + idInscrito + " no encontrada para eliminar."));
+        inscritoRepository.delete(inscrito);
+        cacheInvalidator.inscripcionModificada(convertToDTO(inscrito));
     }
 
     // *******************************************************************
@@ -178,7 +283,6 @@ public class InscritoServiceImpl implements IInscritoService {
     // *******************************************************************
     @Override
     @Transactional // Es crucial para operaciones de escritura (DELETE)
-    @CacheEvict(value = {"inscripcion", "inscripciones", "inscripcionesPorEstudiante", "inscripcionesPorMateria", "inscripcionPorEstudianteMateriaYFecha"}, allEntries = true) // Invalida cachés relevantes
     public void eliminarInscripcionPorEstudianteYMateria(String estudianteCi, String materiaCodigoUnico) {
         Optional<Inscrito> inscritoOptional = inscritoRepository.findByEstudianteCiAndMateriaCodigoUnico(estudianteCi, materiaCodigoUnico);
 
@@ -188,8 +292,61 @@ public class InscritoServiceImpl implements IInscritoService {
 
         Inscrito inscrito = inscritoOptional.get();
         inscritoRepository.delete(inscrito);
+        cacheInvalidator.inscripcionModificada(convertToDTO(inscrito)); // Invalida solo las claves de esta inscripción
+    }
+
+
+    // El grafo viene de la caché; una sola consulta trae las materias aprobadas y en curso. La ventana de "en curso"
+    // se mide desde la fecha de la inscripción pedida, no desde hoy
+    private void validarElegibilidad(String estudianteCi, Materia materia, LocalDate fechaInscripcion) {
+        GrafoPrerequisitos grafo = materiaPrerequisitoService.obtenerGrafo();
+        Historial historial = historial(estudianteCi, fechaInscripcion);
+        Impedimento impedimento = impedimento(materia.getId(), historial, grafo);
+        if (impedimento == null) {
+            return;
+        }
+        String prefijo = "No se puede inscribir en " + materia.getCodigoUnico() + ": ";
+        switch (impedimento) {
+            case APROBADA -> throw new BusinessException(prefijo + "el estudiante ya la aprobó.");
+            case EN_CURSO -> throw new BusinessException(prefijo + "el estudiante tiene otra inscripción en ella a menos de "
+                    + MESES_EN_CURSO + " meses de " + fechaInscripcion + ".");
+            case PREREQUISITOS -> {
+                Map<Long, String> codigos = materiaService.obtenerTodasLasMaterias().stream()
+                        .collect(Collectors.toMap(MateriaDTO::getId, MateriaDTO::getCodigoUnico));
+                throw new BusinessException(prefijo + "faltan aprobar los prerrequisitos "
+                        + grafo.prerequisitosDirectos(materia.getId()).stream()
+                        .filter(id -> !historial.aprobadas().contains(id))
+                        .map(id -> codigos.getOrDefault(id, String.valueOf(id)))
+                        .collect(Collectors.joining(", ")) + ".");
+            }
+        }
+    }
+
+    // Materias aprobadas y en curso (inscritas a menos de MESES_EN_CURSO meses de la fecha, antes o después) del estudiante
+    private Historial historial(String estudianteCi, LocalDate fecha) {
+        return historialAcademicoRepository.buscarPorEstudiante(estudianteCi, notaAprobacion,
+                fecha.minusMonths(MESES_EN_CURSO), fecha.plusMonths(MESES_EN_CURSO));
     }
 
+    private enum Impedimento { APROBADA, EN_CURSO, PREREQUISITOS }
+
+    /**
+     * Regla única de elegibilidad, la de materias disponibles y la de inscribir: la materia no está aprobada ni en
+     * curso y todos sus prerrequisitos directos están aprobados.
+     * @return El primer motivo por el que el estudiante no puede inscribirla, o null si puede.
+     */
+    private static Impedimento impedimento(Long materiaId, Historial historial, GrafoPrerequisitos grafo) {
+        if (historial.aprobadas().contains(materiaId)) {
+            return Impedimento.APROBADA;
+        }
+        if (historial.cursando().contains(materiaId)) {
+            return Impedimento.EN_CURSO;
+        }
+        if (!historial.aprobadas().containsAll(grafo.prerequisitosDirectos(materiaId))) {
+            return Impedimento.PREREQUISITOS;
+        }
+        return null;
+    }
 
     // --- Métodos de Conversión DTO <-> Entidad ---
 
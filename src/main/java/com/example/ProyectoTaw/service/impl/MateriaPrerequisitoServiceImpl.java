@@ -1,42 +1,104 @@
 package com.example.ProyectoTaw.service.impl;
 
+import com.example.ProyectoTaw.cache.CacheInvalidator;
+import com.example.ProyectoTaw.dto.MateriaPlanDTO;
 import com.example.ProyectoTaw.dto.MateriaPrerequisitoDTO;
+import com.example.ProyectoTaw.grafo.GrafoPrerequisitos;
+import com.example.ProyectoTaw.model.Materia;
 import com.example.ProyectoTaw.model.MateriaPrerequisito;
+import com.example.ProyectoTaw.repository.CerrojoRepository;
 import com.example.ProyectoTaw.repository.MateriaPrerequisitoRepository;
+import com.example.ProyectoTaw.repository.MateriaRepository;
 import com.example.ProyectoTaw.service.IMateriaPrerequisitoService;
 import com.example.ProyectoTaw.validator.MateriaPrerequisitoValidator;
 import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class MateriaPrerequisitoServiceImpl implements IMateriaPrerequisitoService {
 
+    // El grafo completo se guarda como una sola entrada para las lecturas; cada cambio la invalida tras el commit
+    private static final String REGION_GRAFO = "grafoPrerequisitos";
+
     private final MateriaPrerequisitoRepository prerequisitoRepository;
+    private final CerrojoRepository cerrojoRepository;
+    private final MateriaRepository materiaRepository;
     private final MateriaPrerequisitoValidator validator;
+    private final CacheManager cacheManager;
+    private final CacheInvalidator cacheInvalidator;
 
     @Autowired
     public MateriaPrerequisitoServiceImpl(MateriaPrerequisitoRepository prerequisitoRepository,
-                                          MateriaPrerequisitoValidator validator) {
+                                          CerrojoRepository cerrojoRepository,
+                                          MateriaRepository materiaRepository,
+                                          MateriaPrerequisitoValidator validator,
+                                          CacheManager cacheManager,
+                                          CacheInvalidator cacheInvalidator) {
         this.prerequisitoRepository = prerequisitoRepository;
+        this.cerrojoRepository = cerrojoRepository;
+        this.materiaRepository = materiaRepository;
         this.validator = validator;
+        this.cacheManager = cacheManager;
+        this.cacheInvalidator = cacheInvalidator;
     }
 
     @Override
+    @Transactional
     public MateriaPrerequisitoDTO crearRelacion(MateriaPrerequisitoDTO dto) {
+        cerrojoRepository.tomar(CerrojoRepository.MATERIA_PREREQUISITO);
         validator.validarRelacion(dto);
+        validator.validarSinCiclo(grafoConfirmado(), dto);
         MateriaPrerequisito relacion = MateriaPrerequisito.builder()
                 .materiaId(dto.getMateriaId())
                 .prerequisitoId(dto.getPrerequisitoId())
                 .build();
         relacion = prerequisitoRepository.save(relacion);
+        cacheInvalidator.invalidar(REGION_GRAFO, SimpleKey.EMPTY);
         return convertToDTO(relacion);
     }
 
+    @Override
+    public List<MateriaPlanDTO> listarCadenaDePrerequisitos(Long materiaId) {
+        if (!materiaRepository.existsById(materiaId)) {
+            throw new BusinessException("Materia con ID " + materiaId + " no encontrada");
+        }
+        GrafoPrerequisitos grafo = grafo();
+        List<Long> ids = grafo.prerequisitos(materiaId);
+        Map<Long, Materia> porId = materiaRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Materia::getId, Function.identity()));
+        return ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull) // Borrada entre la lectura del grafo y la de las materias
+                .map(materia -> convertToPlanDTO(materia, grafo))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<MateriaPlanDTO> listarOrdenDeEstudio() {
+        GrafoPrerequisitos grafo = grafo();
+        List<Long> enCiclo = grafo.enCiclo();
+        if (!enCiclo.isEmpty()) {
+            throw new BusinessException("El plan de estudios tiene un ciclo de prerrequisitos entre las materias "
+                    + enCiclo + "; elimine una de esas relaciones.");
+        }
+        return materiaRepository.findAll().stream()
+                .sorted(Comparator.<Materia>comparingInt(m -> grafo.nivel(m.getId())).thenComparing(Materia::getId))
+                .map(materia -> convertToPlanDTO(materia, grafo))
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<MateriaPrerequisitoDTO> listarPorMateriaId(Long materiaId) {
         return prerequisitoRepository.findByMateriaId(materiaId)
@@ -54,11 +116,40 @@ public class MateriaPrerequisitoServiceImpl implements IMateriaPrerequisitoServi
     }
 
     @Override
+    @Transactional
     public void eliminarRelacion(Long id) {
         if (!prerequisitoRepository.existsById(id)) {
             throw new BusinessException("La relación con ID " + id + " no existe.");
         }
         prerequisitoRepository.deleteById(id);
+        cacheInvalidator.invalidar(REGION_GRAFO, SimpleKey.EMPTY);
+    }
+
+    @Override
+    public GrafoPrerequisitos obtenerGrafo() {
+        return grafo();
+    }
+
+    private GrafoPrerequisitos grafo() {
+        return cacheManager.getCache(REGION_GRAFO).get(SimpleKey.EMPTY, this::grafoConfirmado);
+    }
+
+    /**
+     * El grafo leído de la tabla, no de la caché: con el cerrojo tomado incluye todo lo confirmado por las
+     * escrituras anteriores, aunque su invalidación aún no haya llegado a este nodo.
+     */
+    private GrafoPrerequisitos grafoConfirmado() {
+        return GrafoPrerequisitos.de(prerequisitoRepository.findAll());
+    }
+
+    private MateriaPlanDTO convertToPlanDTO(Materia materia, GrafoPrerequisitos grafo) {
+        return MateriaPlanDTO.builder()
+                .materiaId(materia.getId())
+                .codigoUnico(materia.getCodigoUnico())
+                .nombre(materia.getNombre())
+                .nivel(grafo.nivel(materia.getId()))
+                .prerequisitosDirectos(grafo.prerequisitosDirectos(materia.getId()))
+                .build();
     }
 
     private MateriaPrerequisitoDTO convertToDTO(MateriaPrerequisito entity) {
@@ -70,18 +161,22 @@ public class MateriaPrerequisitoServiceImpl implements IMateriaPrerequisitoServi
     }
 
     @Override
+    @Transactional
     public MateriaPrerequisitoDTO actualizarRelacion(Long id, MateriaPrerequisitoDTO dto) {
+        cerrojoRepository.tomar(CerrojoRepository.MATERIA_PREREQUISITO);
         MateriaPrerequisito existente = prerequisitoRepository.findById(id)
                 .orElseThrow(() -> new BusinessException("No se encontró la relación con ID " + id));
 
         // Validar nueva relación
         validator.validarRelacion(dto);
+        validator.validarSinCiclo(grafoConfirmado().sinRelacion(id), dto);
 
         // Actualizar campos
         existente.setMateriaId(dto.getMateriaId());
         existente.setPrerequisitoId(dto.getPrerequisitoId());
 
         prerequisitoRepository.save(existente);
+        cacheInvalidator.invalidar(REGION_GRAFO, SimpleKey.EMPTY);
         return convertToDTO(existente);
     }
 
@@ -3,7 +3,11 @@
 package com.example.ProyectoTaw.service.impl;
 
 import com.example.ProyectoTaw.dto.MateriaDTO;
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
+import com.example.ProyectoTaw.dto.ResultadoBusquedaDTO.Tipo;
 import com.example.ProyectoTaw.model.Materia;
+import com.example.ProyectoTaw.repository.BusquedaRepository;
 import com.example.ProyectoTaw.repository.MateriaRepository;
 import com.example.ProyectoTaw.service.IMateriaService;
 import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException; // Asegúrate de que esta ruta sea correcta
@@ -14,18 +18,24 @@ import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class MateriaServiceImpl implements IMateriaService {
 
     private final MateriaRepository materiaRepository;
+    private final BusquedaRepository busquedaRepository;
 
     @Autowired
-    public MateriaServiceImpl(MateriaRepository materiaRepository) {
+    public MateriaServiceImpl(MateriaRepository materiaRepository, BusquedaRepository busquedaRepository) {
         this.materiaRepository = materiaRepository;
+        this.busquedaRepository = busquedaRepository;
     }
 
     @Override
@@ -36,6 +46,20 @@ public class MateriaServiceImpl implements IMateriaService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Cacheable(value = "materiasPagina", key = "'p-' + #pageable.pageNumber + '-' + #pageable.pageSize + '-' + #pageable.sort")
+    public PaginaDTO<MateriaDTO> obtenerMateriasPaginadas(Pageable pageable) {
+        return PaginaDTO.de(materiaRepository.findAll(pageable), this::convertToDTO);
+    }
+
+    @Override
+    @Cacheable(value = "materiasPagina", key = "'c-' + #cursor + '-' + #tamano")
+    public CursorPaginaDTO<MateriaDTO> obtenerMateriasDesde(Long cursor, int tamano) {
+        Pageable primeros = CursorPaginaDTO.primeros(tamano, "id");
+        return CursorPaginaDTO.de(materiaRepository.findByIdGreaterThan(cursor != null ? cursor : 0L, primeros),
+                this::convertToDTO, Materia::getId);
+    }
+
     @Override
     @Cacheable(value = "materia", key = "#id")
     public MateriaDTO obtenerMateriaPorId(Long id) {
@@ -47,14 +71,22 @@ public class MateriaServiceImpl implements IMateriaService {
     @Override
     @Cacheable(value = "materias", key = "#query")
     public List<MateriaDTO> buscarMaterias(String query) {
-        return materiaRepository.findByNombreContainingIgnoreCaseOrDescripcionContainingIgnoreCase(query, query).stream()
+        // Los más relevantes primero (ver BusquedaRepository); findAllById no conserva ese orden
+        List<Long> ids = busquedaRepository.buscarIds(query, Tipo.MATERIA, BusquedaRepository.LIMITE_LISTA).stream()
+                .map(Long::valueOf)
+                .toList();
+        Map<Long, Materia> porId = materiaRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Materia::getId, Function.identity()));
+        return ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
     @CachePut(value = "materia", key = "#result.id")
-    @CacheEvict(value = {"materias"}, allEntries = true)
+    @CacheEvict(value = {"materias", "materiasPagina"}, allEntries = true)
     @Transactional
     public MateriaDTO crearMateria(MateriaDTO materiaDTO) {
         if (materiaRepository.existsByCodigoUnico(materiaDTO.getCodigoUnico())) {
@@ -68,7 +100,7 @@ public class MateriaServiceImpl implements IMateriaService {
 
     @Override
     @CachePut(value = "materia", key = "#id")
-    @CacheEvict(value = {"materias"}, allEntries = true)
+    @CacheEvict(value = {"materias", "materiasPagina", "inscripcionesDetallePorEstudiante"}, allEntries = true)
     @Transactional
     public MateriaDTO actualizarMateria(Long id, MateriaDTO materiaDTO) {
         Materia materiaExistente = materiaRepository.findById(id)
@@ -87,7 +119,7 @@ public class MateriaServiceImpl implements IMateriaService {
     }
 
     @Override
-    @CacheEvict(value = {"materia", "materias"}, allEntries = true)
+    @CacheEvict(value = {"materia", "materias", "materiasPagina", "inscripcionesDetallePorEstudiante"}, allEntries = true)
     @Transactional
     public void eliminarMateria(Long id) {
         if (!materiaRepository.existsById(id)) {
@@ -96,20 +128,6 @@ public class MateriaServiceImpl implements IMateriaService {
         materiaRepository.deleteById(id);
     }
 
-    @Override
-    @Transactional
-    public Materia obtenerMateriaConBloqueo(Long id) {
-        Materia materia = materiaRepository.findById(id)
-                .orElseThrow(() -> new BusinessException("Materia con ID " + id + " no encontrada"));
-        try {
-            Thread.sleep(15000); // Simulate long operation
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new BusinessException("La operación de bloqueo fue interrumpida.");
-        }
-        return materia;
-    }
-
     // *******************************************************************
     // ****** AGREGAR/VERIFICAR ESTE MÉTODO EN MateriaServiceImpl.java ******
     // *******************************************************************
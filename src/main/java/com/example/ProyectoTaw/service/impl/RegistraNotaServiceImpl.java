@@ -1,21 +1,31 @@
 package com.example.ProyectoTaw.service.impl;
 
+import com.example.ProyectoTaw.cache.CacheInvalidator;
+import com.example.ProyectoTaw.dto.EstadisticaNotasDTO;
+import com.example.ProyectoTaw.dto.EstadisticasCursoDTO;
 import com.example.ProyectoTaw.dto.RegistraNotaDTO;
-import com.example.ProyectoTaw.model.Curso;
-import com.example.ProyectoTaw.model.Estudiante;
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
 import com.example.ProyectoTaw.model.RegistraNota;
+import com.example.ProyectoTaw.repository.CursoRepository;
+import com.example.ProyectoTaw.repository.EstadisticasNotasRepository;
+import com.example.ProyectoTaw.repository.EstadisticasNotasRepository.Agregado;
+import com.example.ProyectoTaw.repository.EstudianteRepository;
 import com.example.ProyectoTaw.repository.RegistraNotaRepository;
 import com.example.ProyectoTaw.service.IRegistraNotaService;
 import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException;
 import com.example.ProyectoTaw.validator.RegistraNotaValidator;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Pageable;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,12 +34,25 @@ public class RegistraNotaServiceImpl implements IRegistraNotaService {
 
     private final RegistraNotaRepository registraNotaRepository;
     private final RegistraNotaValidator registraNotaValidator;
+    private final EstudianteRepository estudianteRepository;
+    private final CursoRepository cursoRepository;
+    private final EstadisticasNotasRepository estadisticasNotasRepository;
+    private final CacheInvalidator cacheInvalidator; // Estadísticas: solo la clave del curso afectado
+    private final double notaAprobacion;
 
 
     @Autowired
-    public RegistraNotaServiceImpl(RegistraNotaRepository registraNotaRepository, RegistraNotaValidator registraNotaValidator) {
+    public RegistraNotaServiceImpl(RegistraNotaRepository registraNotaRepository, RegistraNotaValidator registraNotaValidator,
+                                   EstudianteRepository estudianteRepository, CursoRepository cursoRepository,
+                                   EstadisticasNotasRepository estadisticasNotasRepository, CacheInvalidator cacheInvalidator,
+                                   @Value("${app.academico.nota-aprobacion:51}") double notaAprobacion) {
         this.registraNotaRepository = registraNotaRepository;
         this.registraNotaValidator = registraNotaValidator;
+        this.estudianteRepository = estudianteRepository;
+        this.cursoRepository = cursoRepository;
+        this.estadisticasNotasRepository = estadisticasNotasRepository;
+        this.cacheInvalidator = cacheInvalidator;
+        this.notaAprobacion = notaAprobacion;
     }
 
     @Override
@@ -40,6 +63,20 @@ public class RegistraNotaServiceImpl implements IRegistraNotaService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Cacheable(value = "registrosNotasPagina", key = "'p-' + #pageable.pageNumber + '-' + #pageable.pageSize + '-' + #pageable.sort")
+    public PaginaDTO<RegistraNotaDTO> listarNotasPaginadas(Pageable pageable) {
+        return PaginaDTO.de(registraNotaRepository.findAll(pageable), this::convertToDTO);
+    }
+
+    @Override
+    @Cacheable(value = "registrosNotasPagina", key = "'c-' + #cursor + '-' + #tamano")
+    public CursorPaginaDTO<RegistraNotaDTO> listarNotasDesde(Long cursor, int tamano) {
+        Pageable primeros = CursorPaginaDTO.primeros(tamano, "id");
+        return CursorPaginaDTO.de(registraNotaRepository.findByIdGreaterThan(cursor != null ? cursor : 0L, primeros),
+                this::convertToDTO, RegistraNota::getId);
+    }
+
     @Override
     @Cacheable(value = "registroNota", key = "#id")
     public RegistraNotaDTO obtenerNotaPorId(Long id) {
@@ -48,58 +85,90 @@ public class RegistraNotaServiceImpl implements IRegistraNotaService {
         return convertToDTO(registro);
     }
 
+    @Override
+    @Cacheable(value = "estadisticasNotasCurso", key = "#cursoId")
+    public EstadisticasCursoDTO obtenerEstadisticasDeCurso(Integer cursoId) {
+        List<Agregado> agregados = estadisticasNotasRepository.estadisticasDeCurso(cursoId, notaAprobacion);
+        if (agregados.isEmpty() && !cursoRepository.existsById(cursoId)) {
+            throw new BusinessException("Curso con ID " + cursoId + " no encontrado");
+        }
+        return EstadisticasCursoDTO.builder()
+                .cursoId(cursoId)
+                .notaAprobacion(notaAprobacion)
+                .general(agregados.stream()
+                        .filter(a -> a.evaluacion() == null)
+                        .map(this::convertToEstadisticaDTO)
+                        .findFirst().orElse(null))
+                .porEvaluacion(agregados.stream()
+                        .filter(a -> a.evaluacion() != null)
+                        .sorted(Comparator.comparing(Agregado::evaluacion))
+                        .map(this::convertToEstadisticaDTO)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
     @Override
     @CachePut(value = "registroNota", key = "#result.id")
-    @CacheEvict(value = {"registrosNotas"}, allEntries = true)
+    @CacheEvict(value = {"registrosNotas", "registrosNotasPagina"}, allEntries = true)
     public RegistraNotaDTO crearNota(RegistraNotaDTO dto) {
         registraNotaValidator.validacionCompletaNota(dto);
         RegistraNota registro = convertToEntity(dto);
-        return convertToDTO(registraNotaRepository.save(registro));
+        RegistraNotaDTO creada = convertToDTO(registraNotaRepository.save(registro));
+        cacheInvalidator.invalidar("estadisticasNotasCurso", creada.getCursoId());
+        return creada;
     }
 
     @Override
     @CachePut(value = "registroNota", key = "#id")
-    @CacheEvict(value = {"registrosNotas"}, allEntries = true)
+    @CacheEvict(value = {"registrosNotas", "registrosNotasPagina"}, allEntries = true)
     public RegistraNotaDTO actualizarNota(Long id, RegistraNotaDTO dto) {
         RegistraNota existente = registraNotaRepository.findById(id)
                 .orElseThrow(() -> new BusinessException("Registro de nota con ID " + id + " no encontrado"));
 
         registraNotaValidator.validarActualizacionNota(dto, existente);
+        Integer cursoAnterior = existente.getCurso().getIdCurso();
 
-        Estudiante estudiante = new Estudiante();
-        estudiante.setCi(dto.getEstudianteId());
-
-        Curso curso = new Curso();
-        curso.setIdCurso(dto.getCursoId());
-
-        existente.setEstudiante(estudiante);
-        existente.setCurso(curso);
+        existente.setEstudiante(estudianteRepository.getReferenceById(dto.getEstudianteId()));
+        existente.setCurso(cursoRepository.getReferenceById(dto.getCursoId()));
         existente.setEvaluacion(dto.getEvaluacion());
         existente.setNota(dto.getNota());
         existente.setFecha(dto.getFecha());
 
-        return convertToDTO(registraNotaRepository.save(existente));
+        RegistraNotaDTO actualizada = convertToDTO(registraNotaRepository.save(existente));
+        // Si la nota cambió de curso, cambian las estadísticas de los dos
+        cacheInvalidator.invalidar("estadisticasNotasCurso", cursoAnterior, actualizada.getCursoId());
+        return actualizada;
     }
 
     @Override
-    @CacheEvict(value = {"registroNota", "registrosNotas"}, allEntries = true)
+    @CacheEvict(value = {"registroNota", "registrosNotas", "registrosNotasPagina"}, allEntries = true)
     public void eliminarNota(Long id) {
-        if (!registraNotaRepository.existsById(id)) {
-            throw new BusinessException("Registro de nota con ID " + id + " no encontrado para eliminar");
-        }
-        registraNotaRepository.deleteById(id);
+        RegistraNota existente = registraNotaRepository.findById(id)
+                .orElseThrow(() -> new BusinessException("Registro de nota con ID " + id + " no encontrado para eliminar"));
+        registraNotaRepository.delete(existente);
+        cacheInvalidator.invalidar("estadisticasNotasCurso", existente.getCurso().getIdCurso());
     }
 
-    @Transactional
-    public RegistraNota obtenerRegistroConBloqueo(Long id) {
-        RegistraNota registro = registraNotaRepository.findById(id)
-                .orElseThrow(() -> new BusinessException("Registro de nota con ID " + id + " no encontrado"));
-        try {
-            Thread.sleep(15000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        return registro;
+    private EstadisticaNotasDTO convertToEstadisticaDTO(Agregado a) {
+        return EstadisticaNotasDTO.builder()
+                .evaluacion(a.evaluacion())
+                .cantidad(a.cantidad())
+                .promedio(redondear(a.promedio()))
+                .desviacion(redondear(a.desviacion()))
+                .minima(a.minima())
+                .maxima(a.maxima())
+                .percentil25(redondear(a.percentil25()))
+                .mediana(redondear(a.mediana()))
+                .percentil75(redondear(a.percentil75()))
+                .percentil90(redondear(a.percentil90()))
+                .aprobados(a.aprobados())
+                .tasaAprobacion(redondear(a.aprobados() * 100.0 / a.cantidad()))
+                .histograma(a.histograma())
+                .build();
+    }
+
+    private static double redondear(double valor) {
+        return Math.round(valor * 100) / 100.0;
     }
 
     private RegistraNotaDTO convertToDTO(RegistraNota r) {
@@ -117,16 +186,12 @@ public class RegistraNotaServiceImpl implements IRegistraNotaService {
     private RegistraNota convertToEntity(RegistraNotaDTO dto) {
         if (dto == null) return null;
 
-        Estudiante estudiante = new Estudiante();
-        estudiante.setCi(dto.getEstudianteId());
-
-        Curso curso = new Curso();
-        curso.setIdCurso(dto.getCursoId());
-
+        // Referencias (proxies) en lugar de entidades nuevas: Estudiante y Curso tienen @Version y Hibernate
+        // rechaza una entidad desasociada con la versión sin inicializar. El validador ya comprobó que existen.
         return RegistraNota.builder()
                 .id(dto.getId())
-                .estudiante(estudiante)
-                .curso(curso)
+                .estudiante(estudianteRepository.getReferenceById(dto.getEstudianteId()))
+                .curso(cursoRepository.getReferenceById(dto.getCursoId()))
                 .evaluacion(dto.getEvaluacion())
                 .nota(dto.getNota())
                 .fecha(dto.getFecha())
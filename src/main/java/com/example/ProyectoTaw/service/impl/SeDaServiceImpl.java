@@ -1,22 +1,27 @@
 package com.example.ProyectoTaw.service.impl;
 
+import com.example.ProyectoTaw.cache.CacheInvalidator;
 import com.example.ProyectoTaw.dto.SeDaDTO;
+import com.example.ProyectoTaw.dto.CursorPaginaDTO;
+import com.example.ProyectoTaw.dto.PaginaDTO;
 import com.example.ProyectoTaw.model.Materia; // Necesario para buscar Materia
 import com.example.ProyectoTaw.model.Curso;     // Necesario para buscar Curso
 import com.example.ProyectoTaw.model.SeDa;
 import com.example.ProyectoTaw.repository.SeDaRepository;
 import com.example.ProyectoTaw.repository.MateriaRepository; // Asume que tienes este repositorio
 import com.example.ProyectoTaw.repository.CursoRepository;     // Ya lo tienes
+import com.example.ProyectoTaw.service.IHorarioService;
 import com.example.ProyectoTaw.service.ISeDaService;
 import com.example.ProyectoTaw.validator.SeDaValidator; // Asumimos que tendrás un validador para SeDa
 import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException; // Asegúrate de que esta clase exista
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -28,16 +33,22 @@ public class SeDaServiceImpl implements ISeDaService {
     private final MateriaRepository materiaRepository; // Para buscar materias
     private final CursoRepository cursoRepository;     // Para buscar cursos
     private final SeDaValidator seDaValidator;         // Tu validador para SeDa
+    private final CacheInvalidator cacheInvalidator;   // Invalida solo las claves afectadas
+    private final IHorarioService horarioService;      // Choques de horario de docentes y estudiantes
 
     @Autowired
     public SeDaServiceImpl(SeDaRepository seDaRepository,
                            MateriaRepository materiaRepository,
                            CursoRepository cursoRepository,
-                           SeDaValidator seDaValidator) {
+                           SeDaValidator seDaValidator,
+                           CacheInvalidator cacheInvalidator,
+                           IHorarioService horarioService) {
         this.seDaRepository = seDaRepository;
         this.materiaRepository = materiaRepository;
         this.cursoRepository = cursoRepository;
         this.seDaValidator = seDaValidator;
+        this.cacheInvalidator = cacheInvalidator;
+        this.horarioService = horarioService;
     }
 
     @Override
@@ -48,6 +59,20 @@ public class SeDaServiceImpl implements ISeDaService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Cacheable(value = "relacionesSeDaPagina", key = "'p-' + #pageable.pageNumber + '-' + #pageable.pageSize + '-' + #pageable.sort")
+    public PaginaDTO<SeDaDTO> obtenerRelacionesPaginadas(Pageable pageable) {
+        return PaginaDTO.de(seDaRepository.findAll(pageable), this::convertToDTO);
+    }
+
+    @Override
+    @Cacheable(value = "relacionesSeDaPagina", key = "'c-' + #cursor + '-' + #tamano")
+    public CursorPaginaDTO<SeDaDTO> obtenerRelacionesDesde(Long cursor, int tamano) {
+        Pageable primeros = CursorPaginaDTO.primeros(tamano, "idSeDa");
+        return CursorPaginaDTO.de(seDaRepository.findByIdSeDaGreaterThan(cursor != null ? cursor : 0L, primeros),
+                this::convertToDTO, SeDa::getIdSeDa);
+    }
+
     @Override
     @Cacheable(value = "relacionSeDa", key = "#idSeDa")
     public SeDaDTO obtenerRelacionPorId(Long idSeDa) {
@@ -57,7 +82,7 @@ public class SeDaServiceImpl implements ISeDaService {
     }
 
     @Override
-    @Cacheable(value = "relacionesPorMateria", key = "#materiaCodigoUnico")
+    @Cacheable(value = "relacionesSeDaPorMateria", key = "#materiaCodigoUnico")
     public List<SeDaDTO> obtenerRelacionesPorMateria(String materiaCodigoUnico) {
         return seDaRepository.findByMateriaCodigoUnico(materiaCodigoUnico).stream()
                 .map(this::convertToDTO)
@@ -82,7 +107,6 @@ public class SeDaServiceImpl implements ISeDaService {
     }
 
     @Override
-    @CacheEvict(value = {"relacionesSeDa", "relacionesPorMateria", "relacionesPorCurso", "relacionPorMateriaYCurso"}, allEntries = true)
     @Transactional
     public SeDaDTO crearRelacion(SeDaDTO seDaDTO) {
         // Validar que la Materia y el Curso existan
@@ -100,20 +124,28 @@ public class SeDaServiceImpl implements ISeDaService {
         }
 
         seDaValidator.validarCreacionRelacion(seDaDTO); // Asume que este método valida el DTO
+        horarioService.validarSeDa(seDaDTO.getMateriaCodigoUnico(), seDaDTO.getCursoIdCurso(), null);
 
         SeDa relacion = convertToEntity(seDaDTO, materia, curso);
-        SeDa relacionGuardada = seDaRepository.save(relacion);
-        return convertToDTO(relacionGuardada);
+        SeDaDTO creada = convertToDTO(seDaRepository.save(relacion));
+        cacheInvalidator.seDaModificada(creada);
+        return creada;
     }
 
     @Override
     @CachePut(value = "relacionSeDa", key = "#idSeDa")
-    @CacheEvict(value = {"relacionesSeDa", "relacionesPorMateria", "relacionesPorCurso", "relacionPorMateriaYCurso"}, allEntries = true)
     @Transactional
     public SeDaDTO actualizarRelacion(Long idSeDa, SeDaDTO seDaDTO) {
         SeDa relacionExistente = seDaRepository.findById(idSeDa)
                 .orElseThrow(() -> new BusinessException("Relación Materia-Curso con ID " + idSeDa + " no encontrada para actualizar"));
 
+        // Bloqueo optimista: si el cliente envía la versión que leyó y otro la modificó antes, se rechaza (409)
+        if (seDaDTO.getVersion() != null && !seDaDTO.getVersion().equals(relacionExistente.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(SeDa.class, idSeDa);
+        }
+
+        SeDaDTO anterior = convertToDTO(relacionExistente);
+
         // Validar que la Materia y el Curso existan si se intenta cambiar
         Materia nuevaMateria = materiaRepository.findByCodigoUnico(seDaDTO.getMateriaCodigoUnico())
                 .orElseThrow(() -> new BusinessException("Materia con código único '" + seDaDTO.getMateriaCodigoUnico() + "' no encontrada."));
@@ -130,6 +162,7 @@ public class SeDaServiceImpl implements ISeDaService {
                 throw new BusinessException("Ya existe una relación entre la materia '" + seDaDTO.getMateriaCodigoUnico() +
                                             "' y el curso ID " + seDaDTO.getCursoIdCurso() + ".");
             }
+            horarioService.validarSeDa(seDaDTO.getMateriaCodigoUnico(), seDaDTO.getCursoIdCurso(), idSeDa);
         }
 
         seDaValidator.validarActualizacionRelacion(seDaDTO, relacionExistente); // Asume validación
@@ -138,34 +171,18 @@ public class SeDaServiceImpl implements ISeDaService {
         relacionExistente.setMateria(nuevaMateria);
         relacionExistente.setCurso(nuevoCurso);
 
-        SeDa relacionActualizada = seDaRepository.save(relacionExistente);
-        return convertToDTO(relacionActualizada);
+        SeDaDTO actualizada = convertToDTO(seDaRepository.saveAndFlush(relacionExistente));
+        cacheInvalidator.seDaModificada(anterior, actualizada);
+        return actualizada;
     }
 
     @Override
-    @CacheEvict(value = {"relacionSeDa", "relacionesSeDa", "relacionesPorMateria", "relacionesPorCurso", "relacionPorMateriaYCurso"}, allEntries = true)
     @Transactional
     public void eliminarRelacion(Long idSeDa) {
-        if (!seDaRepository.existsById(idSeDa)) {
-            throw new BusinessException("Relación Materia-Curso con ID " + idSeDa + " no encontrada para eliminar");
-        }
-        seDaRepository.deleteById(idSeDa);
-    }
-
-    @Override
-    @Transactional
-    public SeDa obtenerRelacionConBloqueo(Long idSeDa) {
         SeDa relacion = seDaRepository.findById(idSeDa)
-                .orElseThrow(() -> new BusinessException("Relación Materia-Curso con ID " + idSeDa + " no encontrada."));
-
-        // Simula un proceso largo que mantiene el bloqueo
-        try {
-            Thread.sleep(15000); // 15 segundos
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new BusinessException("La operación de bloqueo fue interrumpida.");
-        }
-        return relacion;
+                .orElseThrow(() -> new BusinessException("Relación Materia-Curso con ID " + idSeDa + " no encontrada para eliminar"));
+        seDaRepository.delete(relacion);
+        cacheInvalidator.seDaModificada(convertToDTO(relacion));
     }
 
     // --- Métodos de Conversión DTO <-> Entidad ---
@@ -179,6 +196,7 @@ public class SeDaServiceImpl implements ISeDaService {
                 .idSeDa(seDa.getIdSeDa())
                 .materiaCodigoUnico(seDa.getMateria().getCodigoUnico())
                 .cursoIdCurso(seDa.getCurso().getIdCurso())
+                .version(seDa.getVersion())
                 .build();
     }
 
@@ -2,32 +2,24 @@ package com.example.ProyectoTaw.validator;
 
 import org.springframework.stereotype.Component;
 import com.example.ProyectoTaw.dto.CursoDTO;
+import com.example.ProyectoTaw.horario.Franja;
 import com.example.ProyectoTaw.model.Curso;
-import com.example.ProyectoTaw.repository.CursoRepository;
 import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException;
 
-import java.util.Optional;
-
 @Component
 public class CursoValidator {
 
-    private final CursoRepository cursoRepository;
-
-    public CursoValidator(CursoRepository cursoRepository) {
-        this.cursoRepository = cursoRepository;
-    }
-
     /**
-     * Valida que no exista otro curso con el mismo día (string) y horario (string).
+     * Valida que el día y el horario se puedan interpretar y que el horario termine después de empezar
+     * (el formato ya lo exige el @Pattern del DTO). Dos cursos pueden compartir día y horario, p. ej. secciones
+     * paralelas: los choques se validan por docente y estudiante en IHorarioService.
      * @param dia El día de la semana del curso (String).
-     * @param horario La hora del curso (String).
-     * @param idCursoActual El ID del curso actual (si es una actualización) o null (si es una creación).
-     * @throws BusinessException si ya existe un curso con el mismo día y horario para otro curso.
+     * @param horario La hora del curso (String), "HH:mm a HH:mm".
+     * @throws BusinessException si el horario no es válido.
      */
-    public void validaDiaHorarioUnico(String dia, String horario, Integer idCursoActual) { // Changed type to String
-        Optional<Curso> existente = cursoRepository.findByDiaAndHorario(dia, horario); // Uses String horario
-        if (existente.isPresent() && (idCursoActual == null || !existente.get().getIdCurso().equals(idCursoActual))) {
-            throw new BusinessException("Ya existe un curso programado para el día " + dia + " a las " + horario);
+    public void validaHorario(String dia, String horario) {
+        if (Franja.de(dia, horario).isEmpty()) {
+            throw new BusinessException("El horario " + horario + " del " + dia + " no es válido: debe terminar después de empezar.");
         }
     }
 
@@ -66,8 +58,7 @@ public class CursoValidator {
      */
     public void validacionCompletaCurso(CursoDTO cursoDTO) {
         // The @Pattern annotation in CursoDTO handles the valid day and horario formats.
-        // This method still handles the uniqueness check.
-        validaDiaHorarioUnico(cursoDTO.getDia(), cursoDTO.getHorario(), null);
+        validaHorario(cursoDTO.getDia(), cursoDTO.getHorario());
         validaSemestre(cursoDTO.getSemestre());
         validaAnio(cursoDTO.getAnio());
     }
@@ -79,9 +70,9 @@ public class CursoValidator {
      * @throws BusinessException si alguna validación falla.
      */
     public void validarActualizacionCurso(CursoDTO cursoDTO, Curso cursoExistente) {
-        // If the day or horario combination has changed, validate its uniqueness
+        // If the day or horario combination has changed, validate the new slot
         if (!cursoExistente.getDia().equalsIgnoreCase(cursoDTO.getDia()) || !cursoExistente.getHorario().equals(cursoDTO.getHorario())) {
-            validaDiaHorarioUnico(cursoDTO.getDia(), cursoDTO.getHorario(), cursoExistente.getIdCurso());
+            validaHorario(cursoDTO.getDia(), cursoDTO.getHorario());
         }
 
         // Validations that always apply
@@ -1,9 +1,9 @@
 package com.example.ProyectoTaw.validator;
 
 import org.springframework.stereotype.Component;
+import com.example.ProyectoTaw.cache.MemoConsultas;
 import com.example.ProyectoTaw.dto.DocenteDTO;
 import com.example.ProyectoTaw.model.Docente;
-import com.example.ProyectoTaw.repository.DocenteRepository;
 import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException; // Asegúrate de que esta ruta sea correcta
 
 import java.util.Arrays;
@@ -12,11 +12,11 @@ import java.util.Optional;
 
 @Component // Indica que esta clase es un componente de Spring y puede ser inyectada
 public class DocenteValidator {
-    private final DocenteRepository docenteRepository;
+    private final MemoConsultas memoConsultas;
 
-    // Inyección de dependencias del repositorio a través del constructor
-    public DocenteValidator(DocenteRepository docenteRepository) {
-        this.docenteRepository = docenteRepository;
+    // CI y email salen del memo de la petición: DocenteServiceImpl los acaba de consultar
+    public DocenteValidator(MemoConsultas memoConsultas) {
+        this.memoConsultas = memoConsultas;
     }
 
     /**
@@ -26,7 +26,7 @@ public class DocenteValidator {
      * @throws BusinessException si el email ya existe para otro Docente.
      */
     public void validaEmailUnico(String email, String ciActual) { // CI ahora es String
-        Optional<Docente> existente = docenteRepository.findByEmail(email);
+        Optional<Docente> existente = memoConsultas.docentePorEmail(email);
         // Si existe un Docente con ese email Y su CI no es el CI del Docente actual
         if (existente.isPresent() && !existente.get().getCiDocente().equals(ciActual)) {
             throw new BusinessException("Ya existe un Docente con este email: " + email);
@@ -48,7 +48,7 @@ public class DocenteValidator {
      * @throws BusinessException si la CI ya existe para otro Docente.
      */
     public void validaCiUnico(String ci, String ciActual) { // CI ahora es String
-        Optional<Docente> existente = docenteRepository.findByCiDocente(ci); // Usa findByCi para String
+        Optional<Docente> existente = memoConsultas.docente(ci);
         // Si existe un Docente con esa CI Y su CI no es el CI del Docente actual
         if (existente.isPresent() && (ciActual == null || !existente.get().getCiDocente().equals(ciActual))) {
             throw new BusinessException("Ya existe un Docente con este CI: " + ci);
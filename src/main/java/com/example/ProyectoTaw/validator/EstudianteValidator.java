@@ -1,9 +1,9 @@
 package com.example.ProyectoTaw.validator;
 
 import org.springframework.stereotype.Component;
+import com.example.ProyectoTaw.cache.MemoConsultas;
 import com.example.ProyectoTaw.dto.EstudianteDTO;
 import com.example.ProyectoTaw.model.Estudiante;
-import com.example.ProyectoTaw.repository.EstudianteRepository;
 import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException; // Asegúrate de que esta ruta sea correcta
 
 import java.util.Arrays;
@@ -13,11 +13,11 @@ import java.util.Optional;
 @Component // Indica que esta clase es un componente de Spring y puede ser inyectada
 public class EstudianteValidator {
 
-    private final EstudianteRepository estudianteRepository;
+    private final MemoConsultas memoConsultas;
 
-    // Inyección de dependencias del repositorio a través del constructor
-    public EstudianteValidator(EstudianteRepository estudianteRepository) {
-        this.estudianteRepository = estudianteRepository;
+    // Las búsquedas pasan por el memo de la petición: el servicio ya buscó la misma CI y el mismo email
+    public EstudianteValidator(MemoConsultas memoConsultas) {
+        this.memoConsultas = memoConsultas;
     }
 
     /**
@@ -27,7 +27,7 @@ public class EstudianteValidator {
      * @throws BusinessException si el email ya existe para otro estudiante.
      */
     public void validaEmailUnico(String email, String ciActual) { // CI ahora es String
-        Optional<Estudiante> existente = estudianteRepository.findByEmail(email);
+        Optional<Estudiante> existente = memoConsultas.estudiantePorEmail(email);
         // Si existe un estudiante con ese email Y su CI no es el CI del estudiante actual
         if (existente.isPresent() && !existente.get().getCi().equals(ciActual)) {
             throw new BusinessException("Ya existe un estudiante con este email: " + email);
@@ -49,7 +49,7 @@ public class EstudianteValidator {
      * @throws BusinessException si la CI ya existe para otro estudiante.
      */
     public void validaCiUnico(String ci, String ciActual) { // CI ahora es String
-        Optional<Estudiante> existente = estudianteRepository.findByCi(ci); // Usa findByCi para String
+        Optional<Estudiante> existente = memoConsultas.estudiante(ci);
         // Si existe un estudiante con esa CI Y su CI no es el CI del estudiante actual
         if (existente.isPresent() && (ciActual == null || !existente.get().getCi().equals(ciActual))) {
             throw new BusinessException("Ya existe un estudiante con este CI: " + ci);
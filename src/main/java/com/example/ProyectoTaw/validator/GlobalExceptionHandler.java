@@ -11,6 +11,11 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
@@ -171,6 +176,8 @@ public class GlobalExceptionHandler {
             mensaje = "El email ya está registrado. Debe ingresar un email único.";
         } else if (detalles != null && detalles.contains("duplicate key value") && detalles.contains("nro_matricula")) {
             mensaje = "El número de matrícula ya está registrado. Debe ingresar un número de matrícula único.";
+        } else if (detalles != null && detalles.contains("uk_asiste_estudiante_curso_fecha")) {
+            mensaje = "Ya existe un registro de asistencia para este estudiante en este curso y fecha.";
         } else if (detalles != null && detalles.contains("duplicate key value") && detalles.contains("ci")) {
             mensaje = "El CI ya está registrado. Debe ingresar un CI único.";
         }
@@ -186,6 +193,55 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(apiError);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        ApiError apiError = new ApiError(
+            HttpStatus.CONFLICT.value(),
+            "El registro fue modificado por otro usuario",
+            "Vuelva a consultar el registro y repita la operación con la versión actual.",
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(apiError);
+    }
+
+    // lock_timeout de PostgreSQL agotado: otra transacción retiene la fila; se responde en lugar de seguir esperando
+    @ExceptionHandler(PessimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handlePessimisticLockingFailure(PessimisticLockingFailureException ex) {
+        ApiError apiError = new ApiError(
+            HttpStatus.CONFLICT.value(),
+            "Registro bloqueado por otra operación",
+            "Otra operación está modificando el registro. Intente nuevamente en unos segundos.",
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(apiError);
+    }
+
+    // Pool de conexiones agotado durante connection-timeout: el cliente puede reintentar en breve
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ApiError> handleCannotCreateTransaction(CannotCreateTransactionException ex) {
+        ApiError apiError = new ApiError(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Servicio saturado",
+            "No hay conexiones disponibles con la base de datos. Intente nuevamente en unos segundos.",
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(apiError);
+    }
+
+    // ?sort= con un atributo que no existe en la entidad
+    @ExceptionHandler(PropertyReferenceException.class)
+    public ResponseEntity<ApiError> handlePropertyReferenceException(PropertyReferenceException ex) {
+        ApiError apiError = new ApiError(
+            HttpStatus.BAD_REQUEST.value(),
+            "Campo de ordenación no válido",
+            "No existe el campo '" + ex.getPropertyName() + "'.",
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiError> handleIllegalArgumentException(IllegalArgumentException ex) {
         ApiError apiError = new ApiError(
@@ -203,7 +259,7 @@ public class GlobalExceptionHandler {
         }
     }
 
-    public class RecursoNoDisponibleException extends RuntimeException {
+    public static class RecursoNoDisponibleException extends RuntimeException {
         public RecursoNoDisponibleException(String mensaje) {
             super(mensaje);
         }
@@ -1,6 +1,7 @@
 package com.example.ProyectoTaw.validator;
 
 import com.example.ProyectoTaw.dto.MateriaPrerequisitoDTO;
+import com.example.ProyectoTaw.grafo.GrafoPrerequisitos;
 import com.example.ProyectoTaw.model.Materia;
 import com.example.ProyectoTaw.repository.MateriaRepository;
 import com.example.ProyectoTaw.repository.MateriaPrerequisitoRepository;
@@ -9,6 +10,8 @@ import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessExceptio
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.stream.Collectors;
+
 @Component
 public class MateriaPrerequisitoValidator {
 
@@ -46,4 +49,18 @@ public class MateriaPrerequisitoValidator {
             throw new BusinessException("La relación materia-prerrequisito ya existe.");
         }
     }
+
+    /**
+     * Rechaza la relación si el prerrequisito ya requiere (directa o indirectamente) a la materia.
+     * @param grafo El plan actual, sin la relación que se está modificando.
+     */
+    public void validarSinCiclo(GrafoPrerequisitos grafo, MateriaPrerequisitoDTO dto) {
+        if (grafo.creariaCiclo(dto.getMateriaId(), dto.getPrerequisitoId())) {
+            String cadena = grafo.cadena(dto.getPrerequisitoId(), dto.getMateriaId()).stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(" -> "));
+            throw new BusinessException("La relación crearía un ciclo de prerrequisitos: la materia "
+                    + dto.getPrerequisitoId() + " ya requiere a la materia " + dto.getMateriaId() + " (" + cadena + ").");
+        }
+    }
 }
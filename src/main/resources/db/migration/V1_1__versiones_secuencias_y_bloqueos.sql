@@ -0,0 +1,53 @@
+-- Lo que se agregó al modelo después del esquema inicial (V1), cuando el esquema aún lo creaba ddl-auto=update:
+-- la columna version de las entidades con bloqueo optimista, las secuencias <tabla>_seq de los IDs
+-- (allocationSize = 50) y la tabla bloqueo_edicion de los bloqueos de edición.
+--
+-- Idempotente: una base marcada como baseline en la versión 1 puede tener ya cualquiera de estos objetos,
+-- según la versión de la aplicación que la actualizó por última vez. Una columna version agregada por
+-- Hibernate admite NULL, así que se completa con 0 antes de exigir NOT NULL.
+-- Las secuencias se crean desde 1; en PostgreSQL V2 las adelanta por encima de los IDs que ya existen.
+
+ALTER TABLE estudiante ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0;
+UPDATE estudiante SET version = 0 WHERE version IS NULL;
+ALTER TABLE estudiante ALTER COLUMN version SET NOT NULL;
+
+ALTER TABLE docente ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0;
+UPDATE docente SET version = 0 WHERE version IS NULL;
+ALTER TABLE docente ALTER COLUMN version SET NOT NULL;
+
+ALTER TABLE curso ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0;
+UPDATE curso SET version = 0 WHERE version IS NULL;
+ALTER TABLE curso ALTER COLUMN version SET NOT NULL;
+
+ALTER TABLE asiste ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0;
+UPDATE asiste SET version = 0 WHERE version IS NULL;
+ALTER TABLE asiste ALTER COLUMN version SET NOT NULL;
+
+ALTER TABLE imparte ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0;
+UPDATE imparte SET version = 0 WHERE version IS NULL;
+ALTER TABLE imparte ALTER COLUMN version SET NOT NULL;
+
+ALTER TABLE se_da ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0;
+UPDATE se_da SET version = 0 WHERE version IS NULL;
+ALTER TABLE se_da ALTER COLUMN version SET NOT NULL;
+
+CREATE SEQUENCE IF NOT EXISTS asiste_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS curso_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS imparte_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS inscrito_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS materia_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS registra_nota_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS se_da_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS bloqueo_edicion (
+    clave         VARCHAR(100) NOT NULL,
+    recurso       VARCHAR(30)  NOT NULL,
+    recurso_id    VARCHAR(60)  NOT NULL,
+    token         VARCHAR(36)  NOT NULL,
+    titular       VARCHAR(100) NOT NULL,
+    adquirido_en  TIMESTAMP(6) NOT NULL,
+    expira_en     TIMESTAMP(6) NOT NULL,
+    version       BIGINT       NOT NULL,
+    CONSTRAINT pk_bloqueo_edicion PRIMARY KEY (clave),
+    CONSTRAINT uk_bloqueo_edicion_token UNIQUE (token)
+);
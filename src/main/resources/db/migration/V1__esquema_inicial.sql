@@ -0,0 +1,136 @@
+-- Esquema inicial: las tablas tal como las creaba spring.jpa.hibernate.ddl-auto=update antes de pasar a
+-- Flyway (IDs IDENTITY, sin columnas version ni secuencias). No se modifica: lo que vino después va en V1_1+.
+--
+-- En una base que ya existía (creada por Hibernate) Flyway no ejecuta este script: la marca como
+-- baseline en la versión 1 (spring.flyway.baseline-on-migrate) y aplica solo las migraciones siguientes.
+-- SQL portable: corre igual en PostgreSQL y en la H2 de las pruebas.
+
+CREATE TABLE estudiante (
+    ci          VARCHAR(20)  NOT NULL,
+    nombre      VARCHAR(100),
+    apellido    VARCHAR(100),
+    email       VARCHAR(100) NOT NULL,
+    fecha_nac   DATE         NOT NULL,
+    CONSTRAINT pk_estudiante PRIMARY KEY (ci),
+    CONSTRAINT uk_estudiante_email UNIQUE (email)
+);
+
+CREATE TABLE docente (
+    ci_docente    VARCHAR(20)  NOT NULL,
+    nombre        VARCHAR(100),
+    apellido      VARCHAR(100),
+    email         VARCHAR(100) NOT NULL,
+    fecha_nac     DATE         NOT NULL,
+    nro_empleado  VARCHAR(100),
+    departamento  VARCHAR(100),
+    CONSTRAINT pk_docente PRIMARY KEY (ci_docente),
+    CONSTRAINT uk_docente_email UNIQUE (email)
+);
+
+CREATE TABLE materia (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    codigo_unico    VARCHAR(20)  NOT NULL,
+    nombre_materia  VARCHAR(100) NOT NULL,
+    descripcion     VARCHAR(300),
+    CONSTRAINT pk_materia PRIMARY KEY (id),
+    CONSTRAINT uk_materia_codigo_unico UNIQUE (codigo_unico)
+);
+
+CREATE TABLE curso (
+    id_curso  INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    dia       VARCHAR(20),
+    horario   VARCHAR(13),
+    semestre  VARCHAR(50),
+    anio      INTEGER,
+    CONSTRAINT pk_curso PRIMARY KEY (id_curso)
+);
+
+CREATE TABLE asiste (
+    id_asiste       BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    estudiante_ci   VARCHAR(20) NOT NULL,
+    curso_id_curso  INTEGER     NOT NULL,
+    fecha           DATE        NOT NULL,
+    presente        BOOLEAN     NOT NULL,
+    CONSTRAINT pk_asiste PRIMARY KEY (id_asiste),
+    CONSTRAINT fk_asiste_estudiante FOREIGN KEY (estudiante_ci) REFERENCES estudiante (ci),
+    CONSTRAINT fk_asiste_curso FOREIGN KEY (curso_id_curso) REFERENCES curso (id_curso)
+);
+
+CREATE TABLE imparte (
+    id_imparte            BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    materia_codigo_unico  VARCHAR(20) NOT NULL,
+    docente_ci_docente    VARCHAR(20) NOT NULL,
+    CONSTRAINT pk_imparte PRIMARY KEY (id_imparte),
+    CONSTRAINT uk_imparte_materia_docente UNIQUE (materia_codigo_unico, docente_ci_docente),
+    CONSTRAINT fk_imparte_materia FOREIGN KEY (materia_codigo_unico) REFERENCES materia (codigo_unico),
+    CONSTRAINT fk_imparte_docente FOREIGN KEY (docente_ci_docente) REFERENCES docente (ci_docente)
+);
+
+CREATE TABLE inscrito (
+    id_inscrito           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    estudiante_ci         VARCHAR(20) NOT NULL,
+    materia_codigo_unico  VARCHAR(20) NOT NULL,
+    fecha_inscripcion     DATE        NOT NULL,
+    CONSTRAINT pk_inscrito PRIMARY KEY (id_inscrito),
+    CONSTRAINT uk_inscrito_estudiante_materia_fecha UNIQUE (estudiante_ci, materia_codigo_unico, fecha_inscripcion),
+    CONSTRAINT fk_inscrito_estudiante FOREIGN KEY (estudiante_ci) REFERENCES estudiante (ci),
+    CONSTRAINT fk_inscrito_materia FOREIGN KEY (materia_codigo_unico) REFERENCES materia (codigo_unico)
+);
+
+CREATE TABLE registra_nota (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    estudiante_id  VARCHAR(20)      NOT NULL,
+    curso_id       INTEGER          NOT NULL,
+    evaluacion     VARCHAR(50)      NOT NULL,
+    nota           DOUBLE PRECISION NOT NULL,
+    fecha          DATE             NOT NULL,
+    CONSTRAINT pk_registra_nota PRIMARY KEY (id),
+    CONSTRAINT fk_registra_nota_estudiante FOREIGN KEY (estudiante_id) REFERENCES estudiante (ci),
+    CONSTRAINT fk_registra_nota_curso FOREIGN KEY (curso_id) REFERENCES curso (id_curso)
+);
+
+CREATE TABLE se_da (
+    id_se_da              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    materia_codigo_unico  VARCHAR(20) NOT NULL,
+    curso_id_curso        INTEGER     NOT NULL,
+    CONSTRAINT pk_se_da PRIMARY KEY (id_se_da),
+    CONSTRAINT uk_se_da_materia_curso UNIQUE (materia_codigo_unico, curso_id_curso),
+    CONSTRAINT fk_se_da_materia FOREIGN KEY (materia_codigo_unico) REFERENCES materia (codigo_unico),
+    CONSTRAINT fk_se_da_curso FOREIGN KEY (curso_id_curso) REFERENCES curso (id_curso)
+);
+
+CREATE TABLE materia_prerequisito (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    materia_id       BIGINT NOT NULL,
+    prerequisito_id  BIGINT NOT NULL,
+    CONSTRAINT pk_materia_prerequisito PRIMARY KEY (id)
+);
+
+CREATE TABLE roles (
+    id      BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    nombre  VARCHAR(20),
+    CONSTRAINT pk_roles PRIMARY KEY (id),
+    CONSTRAINT uk_roles_nombre UNIQUE (nombre),
+    CONSTRAINT ck_roles_nombre CHECK (nombre IN ('ROL_ESTUDIANTE', 'ROL_DOCENTE', 'ROL_ADMIN'))
+);
+
+CREATE TABLE usuarios (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username  VARCHAR(255) NOT NULL,
+    password  VARCHAR(255) NOT NULL,
+    email     VARCHAR(255) NOT NULL,
+    nombre    VARCHAR(255),
+    apellido  VARCHAR(255),
+    activo    BOOLEAN      NOT NULL,
+    CONSTRAINT pk_usuarios PRIMARY KEY (id),
+    CONSTRAINT uk_usuarios_username UNIQUE (username),
+    CONSTRAINT uk_usuarios_email UNIQUE (email)
+);
+
+CREATE TABLE usuario_roles (
+    usuario_id  BIGINT NOT NULL,
+    rol_id      BIGINT NOT NULL,
+    CONSTRAINT pk_usuario_roles PRIMARY KEY (usuario_id, rol_id),
+    CONSTRAINT fk_usuario_roles_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id),
+    CONSTRAINT fk_usuario_roles_rol FOREIGN KEY (rol_id) REFERENCES roles (id)
+);
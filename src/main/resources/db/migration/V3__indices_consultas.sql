@@ -0,0 +1,40 @@
+-- Índices para los métodos de consulta de los repositorios.
+--
+-- Cada índice sigue las columnas de un método derivado (findBy...And...) en el orden de su WHERE; un índice
+-- compuesto sirve también a los métodos que filtran solo por su primera columna. Las claves primarias y las
+-- restricciones UNIQUE de V1 ya cubren findByEmail, findByCodigoUnico, Imparte/SeDa/Inscrito por materia y
+-- estudiante, etc. asiste(estudiante_ci, ...) lo cubre la restricción única de V4.
+--
+-- Sin índice a propósito: asiste.presente y curso.semestre/curso.dia solos (pocos valores distintos: recorrer la
+-- tabla es el plan correcto) y las búsquedas ContainingIgnoreCase (LIKE '%...%', no pueden usar un B-tree).
+-- PlanesConsultaH2IT y PlanesConsultaPostgresIT (src/test) comprueban con EXPLAIN que ninguna consulta recorre entera una tabla grande.
+
+-- AsisteRepository: findByCursoIdCurso, findByCursoIdCursoAndFecha, findRegistradasPorCursoYFecha
+CREATE INDEX idx_asiste_curso_fecha ON asiste (curso_id_curso, fecha);
+-- AsisteRepository: findByFecha
+CREATE INDEX idx_asiste_fecha ON asiste (fecha);
+
+-- CursoRepository: findBySemestreAndAnio y findByAnio (anio primero: la igualdad sobre las dos columnas usa el
+-- índice en cualquier orden y así sirve también al filtro por año solo)
+CREATE INDEX idx_curso_anio_semestre ON curso (anio, semestre);
+-- CursoRepository: findByDiaAndHorario, existsByDiaAndHorario
+CREATE INDEX idx_curso_dia_horario ON curso (dia, horario);
+
+-- ImparteRepository: findByDocenteCiDocente, deleteByDocenteCiDocente
+CREATE INDEX idx_imparte_docente ON imparte (docente_ci_docente);
+
+-- InscritoRepository: findByMateriaCodigoUnico
+CREATE INDEX idx_inscrito_materia ON inscrito (materia_codigo_unico);
+
+-- RegistraNotaRepository: findByEstudianteCiAndCursoIdCursoAndEvaluacion
+CREATE INDEX idx_registra_nota_estudiante_curso_evaluacion ON registra_nota (estudiante_id, curso_id, evaluacion);
+-- RegistraNotaRepository: streamParaExportar por curso (y la FK a curso)
+CREATE INDEX idx_registra_nota_curso ON registra_nota (curso_id);
+
+-- SeDaRepository: findByCursoIdCurso, deleteByCursoIdCurso
+CREATE INDEX idx_se_da_curso ON se_da (curso_id_curso);
+
+-- MateriaPrerequisitoRepository: findByMateriaId, existsByMateriaIdAndPrerequisitoId
+CREATE INDEX idx_materia_prerequisito_materia ON materia_prerequisito (materia_id, prerequisito_id);
+-- MateriaPrerequisitoRepository: findByPrerequisitoId
+CREATE INDEX idx_materia_prerequisito_prerequisito ON materia_prerequisito (prerequisito_id);
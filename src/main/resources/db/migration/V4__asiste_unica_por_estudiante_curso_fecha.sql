@@ -0,0 +1,40 @@
+-- Una sola asistencia por estudiante, curso y fecha (la restricción que estaba comentada en Asiste).
+--
+-- Hasta ahora la regla solo la comprobaba el servicio con existsBy... antes de insertar, así que dos
+-- peticiones simultáneas podían duplicar la fila. Antes de crear la restricción se conserva la asistencia
+-- más antigua (menor id_asiste) de cada grupo repetido; las demás no se pierden: se copian a
+-- asiste_duplicada junto con el id de la conservada, y conflicto marca las que no coincidían con ella en
+-- presente, que hay que revisar a mano (SELECT * FROM asiste_duplicada WHERE conflicto).
+-- El índice único empieza por estudiante_ci y sirve a findByEstudianteCi,
+-- findByEstudianteCiAndCursoIdCurso y existsByEstudianteCiAndCursoIdCursoAndFecha.
+
+CREATE TABLE asiste_duplicada (
+    id_asiste            BIGINT      NOT NULL,
+    estudiante_ci        VARCHAR(20) NOT NULL,
+    curso_id_curso       INTEGER     NOT NULL,
+    fecha                DATE        NOT NULL,
+    presente             BOOLEAN     NOT NULL,
+    id_asiste_conservada BIGINT      NOT NULL,
+    conflicto            BOOLEAN     NOT NULL,
+    CONSTRAINT pk_asiste_duplicada PRIMARY KEY (id_asiste)
+);
+
+INSERT INTO asiste_duplicada (id_asiste, estudiante_ci, curso_id_curso, fecha, presente, id_asiste_conservada, conflicto)
+SELECT a.id_asiste, a.estudiante_ci, a.curso_id_curso, a.fecha, a.presente, k.id_asiste, a.presente <> k.presente
+FROM asiste a
+JOIN asiste k ON k.estudiante_ci = a.estudiante_ci
+             AND k.curso_id_curso = a.curso_id_curso
+             AND k.fecha = a.fecha
+WHERE k.id_asiste = (SELECT MIN(m.id_asiste)
+                     FROM asiste m
+                     WHERE m.estudiante_ci = a.estudiante_ci
+                       AND m.curso_id_curso = a.curso_id_curso
+                       AND m.fecha = a.fecha)
+  AND a.id_asiste <> k.id_asiste;
+
+DELETE FROM asiste a
+WHERE EXISTS (SELECT 1
+              FROM asiste_duplicada d
+              WHERE d.id_asiste = a.id_asiste);
+
+ALTER TABLE asiste ADD CONSTRAINT uk_asiste_estudiante_curso_fecha UNIQUE (estudiante_ci, curso_id_curso, fecha);
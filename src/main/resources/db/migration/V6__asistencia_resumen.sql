@@ -0,0 +1,24 @@
+-- Resumen de asistencia por estudiante y curso (presentes / total), mantenido por AsisteServiceImpl.
+--
+-- Cada alta, cambio o baja de asistencia suma su diferencia a la fila del par (estudiante, curso) en la misma
+-- transacción, y la fila se borra cuando su total vuelve a 0: existe una fila si y solo si el par tiene
+-- asistencias, así que las claves foráneas no impiden borrar estudiantes ni cursos sin asistencias.
+-- La clave primaria empieza por el curso (porcentajes de un curso en una lectura) y el índice por estudiante
+-- sirve al resumen de un estudiante. POST /api/admin/asistencia-resumen/reconstruir lo recalcula desde asiste.
+
+CREATE TABLE asistencia_resumen (
+    curso_id_curso  INTEGER     NOT NULL,
+    estudiante_ci   VARCHAR(20) NOT NULL,
+    presentes       INTEGER     NOT NULL,
+    total           INTEGER     NOT NULL,
+    CONSTRAINT pk_asistencia_resumen PRIMARY KEY (curso_id_curso, estudiante_ci),
+    CONSTRAINT fk_asistencia_resumen_estudiante FOREIGN KEY (estudiante_ci) REFERENCES estudiante (ci),
+    CONSTRAINT fk_asistencia_resumen_curso FOREIGN KEY (curso_id_curso) REFERENCES curso (id_curso)
+);
+
+CREATE INDEX idx_asistencia_resumen_estudiante ON asistencia_resumen (estudiante_ci);
+
+INSERT INTO asistencia_resumen (curso_id_curso, estudiante_ci, presentes, total)
+SELECT curso_id_curso, estudiante_ci, SUM(CASE WHEN presente THEN 1 ELSE 0 END), COUNT(*)
+FROM asiste
+GROUP BY curso_id_curso, estudiante_ci;
@@ -0,0 +1,12 @@
+-- Filas de cerrojo para serializar escrituras que validan un invariante de toda una tabla.
+--
+-- Una escritura toma su fila con SELECT ... FOR UPDATE al empezar la transacción (CerrojoRepository), y la
+-- siguiente espera al commit o rollback de la anterior: así la validación lee lo ya confirmado por la otra.
+-- materia_prerequisito: altas y cambios de prerrequisitos, que no deben cerrar un ciclo entre los dos.
+
+CREATE TABLE cerrojo (
+    nombre  VARCHAR(60) NOT NULL,
+    CONSTRAINT pk_cerrojo PRIMARY KEY (nombre)
+);
+
+INSERT INTO cerrojo (nombre) VALUES ('materia_prerequisito');
@@ -0,0 +1,18 @@
+package com.example.ProyectoTaw;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+
+@SpringBootTest(properties = {
+  "spring.datasource.url=jdbc:h2:mem:smoke;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+  "spring.datasource.driver-class-name=org.h2.Driver",
+  "spring.datasource.username=sa","spring.datasource.password=",
+  "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+  "spring.jpa.hibernate.ddl-auto=create-drop",
+  "app.cache.redis-enabled=false", "spring.sql.init.mode=never"})
+class ZzSmokeTest {
+  @Autowired CacheManager cm;
+  @Test void loads() { System.out.println("CM=" + cm.getClass()); }
+}
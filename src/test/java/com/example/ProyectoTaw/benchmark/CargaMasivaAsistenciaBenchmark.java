@@ -0,0 +1,139 @@
+package com.example.ProyectoTaw.benchmark;
+
+import com.example.ProyectoTaw.ProyectoTawApplication;
+import com.example.bench.AsisteIdentidad;
+import com.example.ProyectoTaw.model.Asiste;
+import com.example.ProyectoTaw.model.Curso;
+import com.example.ProyectoTaw.model.Estudiante;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Carga 100.000 asistencias con JPA y compara la estrategia de IDs anterior
+ * (IDENTITY: un INSERT por ida y vuelta) con la actual (secuencia pooled + hibernate.jdbc.batch_size).
+ * Ejecutar con: mvn -B test -Pbenchmark
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("bench")
+class CargaMasivaAsistenciaBenchmark {
+
+    private static final int FILAS = 100_000;
+    private static final int FILAS_POR_TRANSACCION = 1_000;
+    private static final int ESTUDIANTES = 500;
+    private static final int CURSOS = 20;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    // Las entidades de la aplicación más AsisteIdentidad, que está fuera de su paquete
+    @TestConfiguration
+    @EntityScan(basePackageClasses = {ProyectoTawApplication.class, AsisteIdentidad.class})
+    static class EntidadesDelBenchmark {
+    }
+
+    private final List<String> cis = new ArrayList<>();
+    private final List<Integer> cursos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM asiste_identidad_bench");
+        jdbcTemplate.update("DELETE FROM asiste");
+        cis.clear();
+        cursos.clear();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < ESTUDIANTES; i++) {
+                String ci = "B" + i;
+                if (entityManager.find(Estudiante.class, ci) == null) {
+                    entityManager.persist(Estudiante.builder()
+                            .ci(ci).nombre("Nombre").apellido("Apellido")
+                            .email("bench" + i + "@uni.edu").fechaNac(LocalDate.of(2000, 1, 1))
+                            .build());
+                }
+                cis.add(ci);
+            }
+            for (int i = 0; i < CURSOS; i++) {
+                Curso curso = Curso.builder().dia("Martes").horario(String.format("%02d:00 a %02d:50", i, i))
+                        .semestre("2").anio(2025).build();
+                entityManager.persist(curso);
+                entityManager.flush();
+                cursos.add(curso.getIdCurso());
+            }
+        });
+    }
+
+    @Test
+    void secuenciaConLotesCargaMasRapidoQueIdentity() {
+        Resultado identity = cargar((estudiante, curso, fecha) -> AsisteIdentidad.builder()
+                .estudiante(estudiante).curso(curso).fecha(fecha).presente(true).build());
+        Resultado secuencia = cargar((estudiante, curso, fecha) -> Asiste.builder()
+                .estudiante(estudiante).curso(curso).fecha(fecha).presente(true).build());
+
+        System.out.printf("[benchmark] IDENTITY:           %6d ms, %7d sentencias JDBC, %5.0f filas/s%n",
+                identity.ms, identity.sentencias, FILAS * 1000.0 / identity.ms);
+        System.out.printf("[benchmark] secuencia + lotes:  %6d ms, %7d sentencias JDBC, %5.0f filas/s%n",
+                secuencia.ms, secuencia.sentencias, FILAS * 1000.0 / secuencia.ms);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM asiste", Long.class)).isEqualTo(FILAS);
+        assertThat(secuencia.sentencias).isLessThan(identity.sentencias / 10);
+        assertThat(secuencia.ms).isLessThan(identity.ms);
+    }
+
+    private Resultado cargar(Fila fila) {
+        Statistics estadisticas = sessionFactory.getStatistics();
+        estadisticas.clear();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        long inicio = System.nanoTime();
+        for (int desde = 0; desde < FILAS; desde += FILAS_POR_TRANSACCION) {
+            int base = desde;
+            tx.executeWithoutResult(status -> {
+                for (int i = base; i < base + FILAS_POR_TRANSACCION; i++) {
+                    Estudiante estudiante = entityManager.getReference(Estudiante.class, cis.get(i % cis.size()));
+                    Curso curso = entityManager.getReference(Curso.class, cursos.get(i % cursos.size()));
+                    // El par (estudiante, curso) se repite cada ESTUDIANTES filas: un día distinto en cada vuelta
+                    // para respetar la asistencia única por estudiante, curso y fecha
+                    LocalDate fecha = LocalDate.of(2025, 3, 1).plusDays(i / ESTUDIANTES);
+                    entityManager.persist(fila.crear(estudiante, curso, fecha));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        long ms = (System.nanoTime() - inicio) / 1_000_000;
+        return new Resultado(ms, estadisticas.getPrepareStatementCount());
+    }
+
+    private record Resultado(long ms, long sentencias) {
+    }
+
+    @FunctionalInterface
+    private interface Fila {
+        Object crear(Estudiante estudiante, Curso curso, LocalDate fecha);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.ProyectoTaw.benchmark;
+
+import com.example.ProyectoTaw.dto.FiltroExportacionDTO;
+import com.example.ProyectoTaw.export.FormatoExportacion;
+import com.example.ProyectoTaw.model.Asiste;
+import com.example.ProyectoTaw.model.Curso;
+import com.example.ProyectoTaw.model.Estudiante;
+import com.example.ProyectoTaw.repository.AsisteRepository;
+import com.example.ProyectoTaw.service.IExportacionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exporta 200.000 asistencias y compara la memoria retenida por el enfoque anterior
+ * (findAll() a una lista de entidades en el heap) con la exportación en streaming.
+ * Ejecutar con: mvn -B test -Pbenchmark
+ */
+@SpringBootTest
+@ActiveProfiles("bench")
+class ExportacionBenchmark {
+
+    private static final int ESTUDIANTES = 400;
+    private static final int DIAS = 500;
+    private static final long MUESTREO_BYTES = 4L * 1024 * 1024;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AsisteRepository asisteRepository;
+
+    @Autowired
+    private IExportacionService exportacionService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM asiste");
+        List<String> cis = new ArrayList<>();
+        Integer[] curso = new Integer[1];
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < ESTUDIANTES; i++) {
+                String ci = "X" + i;
+                if (entityManager.find(Estudiante.class, ci) == null) {
+                    entityManager.persist(Estudiante.builder()
+                            .ci(ci).nombre("Nombre").apellido("Apellido")
+                            .email("export" + i + "@uni.edu").fechaNac(LocalDate.of(2000, 1, 1))
+                            .build());
+                }
+                cis.add(ci);
+            }
+            Curso c = Curso.builder().dia("Jueves").horario("10:00 a 11:30").semestre("1").anio(2025).build();
+            entityManager.persist(c);
+            entityManager.flush();
+            curso[0] = c.getIdCurso();
+        });
+        LocalDate inicio = LocalDate.of(2020, 1, 1);
+        for (int d = 0; d < DIAS; d++) {
+            List<Object[]> filas = new ArrayList<>(ESTUDIANTES);
+            for (String ci : cis) {
+                filas.add(new Object[]{ci, curso[0], inicio.plusDays(d), (ci.hashCode() + d) % 3 != 0});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO asiste (id_asiste, estudiante_ci, curso_id_curso, fecha, presente, version) " +
+                    "VALUES (NEXT VALUE FOR asiste_seq, ?, ?, ?, ?, 0)", filas);
+        }
+    }
+
+    @Test
+    void exportacionEnStreamingMantieneMemoriaConstante() throws Exception {
+        long baseFindAll = usadoTrasGc();
+        long retenidoFindAll = new TransactionTemplate(transactionManager).execute(status -> {
+            List<Asiste> todas = asisteRepository.findAll();
+            long usado = usadoTrasGc() - baseFindAll;
+            assertThat(todas).hasSize(ESTUDIANTES * DIAS);
+            return usado;
+        });
+
+        MuestreoMemoria salida = new MuestreoMemoria(usadoTrasGc());
+        long filas = exportacionService.exportarAsistencias(new FiltroExportacionDTO(), FormatoExportacion.NDJSON, salida);
+
+        System.out.printf("[benchmark] filas exportadas: %d (%.1f MB de NDJSON)%n", filas, salida.bytes / 1e6);
+        System.out.printf("[benchmark] memoria retenida con findAll():        %.1f MB%n", retenidoFindAll / 1e6);
+        System.out.printf("[benchmark] pico de memoria retenida en streaming: %.1f MB%n", salida.pico / 1e6);
+
+        assertThat(filas).isEqualTo((long) ESTUDIANTES * DIAS);
+        assertThat(salida.pico).isLessThan(retenidoFindAll / 4);
+    }
+
+    private static long usadoTrasGc() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    /**
+     * Descarta lo que recibe y, cada MUESTREO_BYTES, mide la memoria retenida sobre la base.
+     */
+    private static final class MuestreoMemoria extends OutputStream {
+
+        private final long base;
+        private long bytes;
+        private long siguienteMuestra = MUESTREO_BYTES;
+        private long pico;
+
+        MuestreoMemoria(long base) {
+            this.base = base;
+        }
+
+        @Override
+        public void write(int b) {
+            contar(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            contar(len);
+        }
+
+        private void contar(int n) {
+            bytes += n;
+            if (bytes >= siguienteMuestra) {
+                siguienteMuestra += MUESTREO_BYTES;
+                pico = Math.max(pico, usadoTrasGc() - base);
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.ProyectoTaw.benchmark;
+
+import com.example.ProyectoTaw.ProyectoTawApplication;
+import com.example.ProyectoTaw.config.DiagnosticoPinning;
+import com.example.ProyectoTaw.model.Curso;
+import com.example.ProyectoTaw.registro.security.JwtUtils;
+import com.example.ProyectoTaw.registro.service.UserDetailsServiceImpl;
+import com.example.ProyectoTaw.repository.CursoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rendimiento y latencia de cola con 2000 clientes concurrentes: Tomcat con su pool de hilos de
+ * plataforma (200 por defecto) frente a spring.threads.virtual.enabled=true.
+ *
+ * Cada cliente alterna una consulta de curso (GET /api/cursos/{id}: filtro JWT, seguridad y caché) con una
+ * operación que bloquea el hilo de la petición ESPERA_MS sin retener una conexión del pool, como una
+ * llamada remota o los antiguos *ConBloqueo. La aplicación se levanta dos veces con el perfil bench (H2), una por modo;
+ * en el modo virtual se activa también DiagnosticoPinning y se listan los orígenes de pinning observados.
+ * Ejecutar con: mvn -B test -Pbenchmark (otro número de clientes: -Dbench.clientes=N)
+ */
+class HilosVirtualesBenchmark {
+
+    private static final int CLIENTES = Integer.getInteger("bench.clientes", 2_000);
+    private static final long ESPERA_MS = 2_000;
+    private static final long CALENTAMIENTO_MS = 5_000;
+    private static final long MEDICION_MS = 20_000;
+
+    @Test
+    void plataformaFrenteAHilosVirtuales() throws Exception {
+        Resultado plataforma = medir(false);
+        Resultado virtuales = medir(true);
+
+        for (Resultado r : List.of(plataforma, virtuales)) {
+            System.out.printf("[benchmark] %-10s %7.0f pet/s  consulta p50 %6d ms  p99 %6d ms  "
+                            + "operación lenta p50 %6d ms  p99 %6d ms  errores %d%n",
+                    r.modo(), r.peticionesPorSegundo(), r.consultaP50Ms(), r.consultaP99Ms(),
+                    r.lentaP50Ms(), r.lentaP99Ms(), r.errores());
+        }
+
+        assertThat(virtuales.errores()).isZero();
+        assertThat(virtuales.peticionesPorSegundo()).isGreaterThan(plataforma.peticionesPorSegundo());
+        assertThat(virtuales.consultaP99Ms()).isLessThan(plataforma.consultaP99Ms());
+    }
+
+    private Resultado medir(boolean hilosVirtuales) throws Exception {
+        SpringApplication app = new SpringApplication(ProyectoTawApplication.class, OperacionLentaController.class);
+        app.setAdditionalProfiles("bench");
+        try (ConfigurableApplicationContext context = app.run("--server.port=0", "--logging.level.root=WARN",
+                "--spring.threads.virtual.enabled=" + hilosVirtuales,
+                "--app.threads.pinning-diagnostics.enabled=" + hilosVirtuales,
+                "--bench.hilos.espera-ms=" + ESPERA_MS)) {
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            String token = tokenDocente(context);
+            Integer idCurso = context.getBean(CursoRepository.class).save(Curso.builder()
+                    .dia("Lunes").horario("08:00 a 09:30").semestre("1").anio(2025).build()).getIdCurso();
+
+            HttpRequest consulta = HttpRequest.newBuilder(URI.create(base + "/api/cursos/" + idCurso))
+                    .header("Authorization", "Bearer " + token).timeout(Duration.ofSeconds(60)).GET().build();
+            HttpRequest lenta = HttpRequest.newBuilder(URI.create(base + "/api/bench/operacion-lenta"))
+                    .header("Authorization", "Bearer " + token).timeout(Duration.ofSeconds(60)).GET().build();
+
+            Resultado resultado = cargar(hilosVirtuales ? "virtuales" : "plataforma", consulta, lenta);
+            if (hilosVirtuales) {
+                context.getBean(DiagnosticoPinning.class).estadisticas().forEach(p -> System.out.printf(
+                        "[benchmark] pinning %5d eventos  máx %6.1f ms  %s%n",
+                        p.getEventos(), p.getDuracionMaximaMs(), p.getOrigen()));
+            }
+            return resultado;
+        }
+    }
+
+    /** CLIENTES hilos virtuales en bucle cerrado; solo cuentan las respuestas que llegan dentro de la ventana de medición. */
+    private Resultado cargar(String modo, HttpRequest consulta, HttpRequest lenta) throws Exception {
+        HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+        long inicioMedicion = System.nanoTime() + CALENTAMIENTO_MS * 1_000_000;
+        long fin = inicioMedicion + MEDICION_MS * 1_000_000;
+        LongAdder errores = new LongAdder();
+
+        List<Future<long[][]>> clientes = new ArrayList<>();
+        try (ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTES; c++) {
+                boolean empiezaConConsulta = c % 2 == 0;
+                clientes.add(ejecutor.submit(() -> {
+                    Latencias consultas = new Latencias();
+                    Latencias lentas = new Latencias();
+                    boolean tocaConsulta = empiezaConConsulta;
+                    while (System.nanoTime() < fin) {
+                        long t0 = System.nanoTime();
+                        int status;
+                        try {
+                            status = cliente.send(tocaConsulta ? consulta : lenta,
+                                    HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (IOException e) {
+                            status = -1;
+                        }
+                        long t1 = System.nanoTime();
+                        if (t1 >= inicioMedicion && t1 < fin) {
+                            if (status != 200) {
+                                errores.increment();
+                            } else {
+                                (tocaConsulta ? consultas : lentas).agregar(t1 - t0);
+                            }
+                        }
+                        tocaConsulta = !tocaConsulta;
+                    }
+                    return new long[][] {consultas.valores(), lentas.valores()};
+                }));
+            }
+        }
+
+        List<long[]> porConsulta = new ArrayList<>();
+        List<long[]> porLenta = new ArrayList<>();
+        for (Future<long[][]> f : clientes) {
+            porConsulta.add(f.get()[0]);
+            porLenta.add(f.get()[1]);
+        }
+        long[] consultas = unir(porConsulta);
+        long[] lentas = unir(porLenta);
+        double peticionesPorSegundo = (consultas.length + lentas.length) * 1_000.0 / MEDICION_MS;
+        return new Resultado(modo, peticionesPorSegundo,
+                percentilMs(consultas, 50), percentilMs(consultas, 99),
+                percentilMs(lentas, 50), percentilMs(lentas, 99), errores.sum());
+    }
+
+    private static String tokenDocente(ConfigurableApplicationContext context) {
+        UserDetails docente = context.getBean(UserDetailsServiceImpl.class).loadUserByUsername("docente1");
+        return context.getBean(JwtUtils.class).generateJwtToken(
+                new UsernamePasswordAuthenticationToken(docente, null, docente.getAuthorities()));
+    }
+
+    private static long[] unir(List<long[]> partes) {
+        long[] todo = partes.stream().flatMapToLong(Arrays::stream).toArray();
+        Arrays.sort(todo);
+        return todo;
+    }
+
+    private static long percentilMs(long[] ordenados, int percentil) {
+        if (ordenados.length == 0) {
+            return -1;
+        }
+        int i = (int) Math.ceil(percentil / 100.0 * ordenados.length) - 1;
+        return ordenados[Math.max(i, 0)] / 1_000_000;
+    }
+
+    private record Resultado(String modo, double peticionesPorSegundo, long consultaP50Ms, long consultaP99Ms,
+                             long lentaP50Ms, long lentaP99Ms, long errores) {
+    }
+
+    private static final class Latencias {
+        private long[] valores = new long[64];
+        private int n;
+
+        void agregar(long nanos) {
+            if (n == valores.length) {
+                valores = Arrays.copyOf(valores, n * 2);
+            }
+            valores[n++] = nanos;
+        }
+
+        long[] valores() {
+            return Arrays.copyOf(valores, n);
+        }
+    }
+
+    /**
+     * Operación que bloquea el hilo de la petición sin usar la base de datos. Se añade como fuente de la
+     * aplicación del benchmark; la condición evita que el escaneo de componentes la registre en otras pruebas.
+     */
+    @RestController
+    @ConditionalOnProperty("bench.hilos.espera-ms")
+    static class OperacionLentaController {
+
+        private final long esperaMs;
+
+        OperacionLentaController(@Value("${bench.hilos.espera-ms}") long esperaMs) {
+            this.esperaMs = esperaMs;
+        }
+
+        @GetMapping("/api/bench/operacion-lenta")
+        String operacionLenta() throws InterruptedException {
+            Thread.sleep(esperaMs);
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.ProyectoTaw.benchmark;
+
+import com.example.ProyectoTaw.ProyectoTawApplication;
+import com.example.ProyectoTaw.registro.security.JwtAuthenticationFilter;
+import com.example.ProyectoTaw.registro.security.JwtPrincipalCache;
+import com.example.ProyectoTaw.registro.security.JwtUtils;
+import com.example.ProyectoTaw.registro.service.UserDetailsServiceImpl;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Coste por petición de JwtAuthenticationFilter (JMH) con el contexto real del perfil bench (H2).
+ *
+ * Compara el filtro anterior (dos verificaciones de la firma HS512 y loadUserByUsername contra la
+ * base de datos) con el actual sin caché de principales (una verificación, usuario desde los claims)
+ * y con caché (sin verificación mientras el token está cacheado).
+ * Ejecutar con: mvn -B test -Pbenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFiltroBenchmark {
+
+    private static final FilterChain CADENA_VACIA = (request, response) -> { };
+
+    private ConfigurableApplicationContext context;
+    private String token;
+    private OncePerRequestFilter filtroAnterior;
+    private JwtAuthenticationFilter filtroSinCache;
+    private JwtAuthenticationFilter filtroConCache;
+
+    @Setup
+    public void setUp() {
+        SpringApplication app = new SpringApplication(ProyectoTawApplication.class);
+        app.setAdditionalProfiles("bench");
+        context = app.run("--server.port=0", "--logging.level.root=WARN");
+
+        UserDetailsServiceImpl userDetailsService = context.getBean(UserDetailsServiceImpl.class);
+        JwtUtils jwtUtils = context.getBean(JwtUtils.class);
+        UserDetails docente = userDetailsService.loadUserByUsername("docente1"); // Creado por DatabaseInitializer
+        token = jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(docente, null, docente.getAuthorities()));
+
+        filtroAnterior = new FiltroAnterior(jwtUtils, userDetailsService);
+        filtroConCache = context.getBean(JwtAuthenticationFilter.class);
+        filtroSinCache = new JwtAuthenticationFilter();
+        context.getAutowireCapableBeanFactory().autowireBean(filtroSinCache);
+        ReflectionTestUtils.setField(filtroSinCache, "principalCache",
+                new JwtPrincipalCache(false, Duration.ZERO, 0, 86_400_000L));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object anterior() throws Exception {
+        return filtrar(filtroAnterior);
+    }
+
+    @Benchmark
+    public Object sinCache() throws Exception {
+        return filtrar(filtroSinCache);
+    }
+
+    @Benchmark
+    public Object conCache() throws Exception {
+        return filtrar(filtroConCache);
+    }
+
+    private Object filtrar(OncePerRequestFilter filtro) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cursos");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            filtro.doFilter(request, new MockHttpServletResponse(), CADENA_VACIA);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    void costePorPeticionDelFiltroJwt() throws Exception {
+        Collection<RunResult> resultados = new Runner(new OptionsBuilder()
+                .include(JwtFiltroBenchmark.class.getName() + ".*")
+                .build()).run();
+
+        Map<String, Double> microsPorPeticion = resultados.stream().collect(Collectors.toMap(
+                r -> r.getParams().getBenchmark().substring(r.getParams().getBenchmark().lastIndexOf('.') + 1),
+                r -> r.getPrimaryResult().getScore()));
+        microsPorPeticion.forEach((variante, us) ->
+                System.out.printf("[benchmark] filtro JWT %-8s %8.2f us/petición%n", variante, us));
+
+        assertThat(microsPorPeticion.get("sinCache")).isLessThan(microsPorPeticion.get("anterior"));
+        assertThat(microsPorPeticion.get("conCache")).isLessThan(microsPorPeticion.get("sinCache"));
+    }
+
+    /**
+     * Lógica del filtro antes del cambio: validateJwtToken y getUserNameFromJwtToken verifican la firma
+     * por separado y el usuario se carga de la base de datos en cada petición.
+     */
+    private static final class FiltroAnterior extends OncePerRequestFilter {
+
+        private final JwtUtils jwtUtils;
+        private final UserDetailsServiceImpl userDetailsService;
+
+        FiltroAnterior(JwtUtils jwtUtils, UserDetailsServiceImpl userDetailsService) {
+            this.jwtUtils = jwtUtils;
+            this.userDetailsService = userDetailsService;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws IOException, ServletException {
+            String jwt = request.getHeader("Authorization").substring(7);
+            if (jwtUtils.validateJwtToken(jwt)) {
+                UserDetails userDetails = userDetailsService.loadUserByUsername(jwtUtils.getUserNameFromJwtToken(jwt));
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        userDetails, null, userDetails.getAuthorities());
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
+            chain.doFilter(request, response);
+        }
+    }
+}
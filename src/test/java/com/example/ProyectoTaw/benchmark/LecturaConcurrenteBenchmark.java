@@ -0,0 +1,134 @@
+package com.example.ProyectoTaw.benchmark;
+
+import com.example.ProyectoTaw.model.Curso;
+import com.example.ProyectoTaw.repository.CursoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Carga mixta sobre la tabla curso: unos pocos escritores que mantienen el bloqueo
+ * de fila mientras trabajan y muchos lectores por ID.
+ *
+ * Compara el rendimiento de lectura del comportamiento anterior (findById con
+ * PESSIMISTIC_WRITE, es decir SELECT ... FOR UPDATE) frente a la lectura sin bloqueo.
+ * Los repositorios ya no tienen consultas con bloqueo de fila, así que aquí se pide con el EntityManager.
+ * Ejecutar con: mvn -B test -Pbenchmark
+ */
+@SpringBootTest
+@ActiveProfiles("bench")
+class LecturaConcurrenteBenchmark {
+
+    private static final int CURSOS = 20;
+    private static final int LECTORES = 8;
+    private static final int ESCRITORES = 2;
+    private static final long DURACION_MS = 3_000;
+    private static final long TRABAJO_ESCRITOR_MS = 5;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Integer> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cursoRepository.deleteAll();
+        ids.clear();
+        for (int i = 0; i < CURSOS; i++) {
+            Curso curso = cursoRepository.save(Curso.builder()
+                    .dia("Lunes")
+                    .horario(String.format("%02d:00 a %02d:45", i % 24, i % 24))
+                    .semestre("1")
+                    .anio(2025)
+                    .build());
+            ids.add(curso.getIdCurso());
+        }
+    }
+
+    @Test
+    void lecturaSinBloqueoRecuperaRendimientoBajoCargaMixta() throws Exception {
+        double conBloqueo = lecturasPorSegundo(this::leerConBloqueo);
+        double sinBloqueo = lecturasPorSegundo(id -> cursoRepository.findById(id).orElseThrow());
+
+        System.out.printf("[benchmark] lecturas/s con SELECT ... FOR UPDATE: %.0f%n", conBloqueo);
+        System.out.printf("[benchmark] lecturas/s sin bloqueo:               %.0f%n", sinBloqueo);
+        System.out.printf("[benchmark] mejora: x%.2f%n", sinBloqueo / conBloqueo);
+
+        assertThat(sinBloqueo).isGreaterThan(conBloqueo);
+    }
+
+    private double lecturasPorSegundo(IntFunction<Curso> lectura) throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        AtomicBoolean activo = new AtomicBoolean(true);
+        LongAdder lecturas = new LongAdder();
+        ExecutorService pool = Executors.newFixedThreadPool(LECTORES + ESCRITORES);
+
+        for (int i = 0; i < ESCRITORES; i++) {
+            pool.submit(() -> {
+                while (activo.get()) {
+                    tx.executeWithoutResult(status -> {
+                        Curso curso = leerConBloqueo(idAleatorio());
+                        dormir(TRABAJO_ESCRITOR_MS); // Trabajo mientras se mantiene el bloqueo de fila
+                        curso.setAnio(curso.getAnio() == 2025 ? 2026 : 2025);
+                    });
+                }
+            });
+        }
+        for (int i = 0; i < LECTORES; i++) {
+            pool.submit(() -> {
+                while (activo.get()) {
+                    tx.executeWithoutResult(status -> lectura.apply(idAleatorio()));
+                    lecturas.increment();
+                }
+            });
+        }
+
+        long inicio = System.nanoTime();
+        dormir(DURACION_MS);
+        activo.set(false);
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        return lecturas.sum() / segundos;
+    }
+
+    private Curso leerConBloqueo(int id) {
+        return entityManager.find(Curso.class, id, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    private int idAleatorio() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static void dormir(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
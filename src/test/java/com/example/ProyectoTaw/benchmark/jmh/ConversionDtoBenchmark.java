@@ -0,0 +1,364 @@
+package com.example.ProyectoTaw.benchmark.jmh;
+
+import com.example.ProyectoTaw.cache.CacheInvalidator;
+import com.example.ProyectoTaw.cache.MemoConsultas;
+import com.example.ProyectoTaw.dto.AsisteDTO;
+import com.example.ProyectoTaw.dto.CursoDTO;
+import com.example.ProyectoTaw.dto.DocenteDTO;
+import com.example.ProyectoTaw.dto.EstudianteDTO;
+import com.example.ProyectoTaw.dto.ImparteDTO;
+import com.example.ProyectoTaw.dto.InscritoDTO;
+import com.example.ProyectoTaw.dto.MateriaDTO;
+import com.example.ProyectoTaw.dto.RegistraNotaDTO;
+import com.example.ProyectoTaw.dto.SeDaDTO;
+import com.example.ProyectoTaw.model.Asiste;
+import com.example.ProyectoTaw.model.Curso;
+import com.example.ProyectoTaw.model.Docente;
+import com.example.ProyectoTaw.model.Estudiante;
+import com.example.ProyectoTaw.model.Imparte;
+import com.example.ProyectoTaw.model.Inscrito;
+import com.example.ProyectoTaw.model.Materia;
+import com.example.ProyectoTaw.model.MateriaPrerequisito;
+import com.example.ProyectoTaw.model.RegistraNota;
+import com.example.ProyectoTaw.model.SeDa;
+import com.example.ProyectoTaw.repository.AsisteRepository;
+import com.example.ProyectoTaw.repository.AsistenciaResumenBatchRepository;
+import com.example.ProyectoTaw.repository.CursoRepository;
+import com.example.ProyectoTaw.repository.DocenteRepository;
+import com.example.ProyectoTaw.repository.EstudianteRepository;
+import com.example.ProyectoTaw.repository.HistorialAcademicoRepository;
+import com.example.ProyectoTaw.repository.HorarioRepository;
+import com.example.ProyectoTaw.repository.ImparteRepository;
+import com.example.ProyectoTaw.repository.InscritoRepository;
+import com.example.ProyectoTaw.repository.MateriaPrerequisitoRepository;
+import com.example.ProyectoTaw.repository.MateriaRepository;
+import com.example.ProyectoTaw.repository.RegistraNotaRepository;
+import com.example.ProyectoTaw.repository.SeDaRepository;
+import com.example.ProyectoTaw.service.impl.AsisteServiceImpl;
+import com.example.ProyectoTaw.service.impl.CursoServiceImpl;
+import com.example.ProyectoTaw.service.impl.DocenteServiceImpl;
+import com.example.ProyectoTaw.service.impl.EstudianteServiceImpl;
+import com.example.ProyectoTaw.service.impl.HorarioServiceImpl;
+import com.example.ProyectoTaw.service.impl.ImparteServiceImpl;
+import com.example.ProyectoTaw.service.impl.InscritoServiceImpl;
+import com.example.ProyectoTaw.service.impl.MateriaPrerequisitoServiceImpl;
+import com.example.ProyectoTaw.service.impl.MateriaServiceImpl;
+import com.example.ProyectoTaw.service.impl.RegistraNotaServiceImpl;
+import com.example.ProyectoTaw.service.impl.SeDaServiceImpl;
+import com.example.ProyectoTaw.validator.AsisteValidator;
+import com.example.ProyectoTaw.validator.CursoValidator;
+import com.example.ProyectoTaw.validator.DocenteValidator;
+import com.example.ProyectoTaw.validator.EstudianteValidator;
+import com.example.ProyectoTaw.validator.ImparteValidator;
+import com.example.ProyectoTaw.validator.InscritoValidator;
+import com.example.ProyectoTaw.validator.MateriaPrerequisitoValidator;
+import com.example.ProyectoTaw.validator.RegistraNotaValidator;
+import com.example.ProyectoTaw.validator.SeDaValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Conversión entidad ↔ DTO de cada *ServiceImpl, medida a través de sus métodos públicos:
+ * listados (findAll → stream().map(convertToDTO) → lista) y altas (validación, convertToEntity, save, convertToDTO).
+ *
+ * Los repositorios son RepositorioStub en memoria, así que solo se mide la parte de la petición
+ * que corre en la JVM; -prof gc muestra los bytes asignados por operación.
+ * Ejecutar con: mvn -B test -Pjmh -Djmh.include=ConversionDto
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionDtoBenchmark {
+
+    /** Filas devueltas por cada findAll. */
+    @Param({"100"})
+    public int filas;
+
+    private EstudianteServiceImpl estudianteService;
+    private DocenteServiceImpl docenteService;
+    private CursoServiceImpl cursoService;
+    private MateriaServiceImpl materiaService;
+    private AsisteServiceImpl asisteService;
+    private InscritoServiceImpl inscritoService;
+    private SeDaServiceImpl seDaService;
+    private ImparteServiceImpl imparteService;
+    private RegistraNotaServiceImpl registraNotaService;
+    private MateriaPrerequisitoServiceImpl prerequisitoService;
+
+    private final LocalDate hoy = LocalDate.now();
+
+    @Setup
+    public void setUp() {
+        Estudiante estudiante = estudiante(0);
+        Curso curso = curso(0);
+        Materia materia = materia(0);
+        Docente docente = docente(0);
+
+        // Las filas se construyen una vez: cada findAll devuelve la misma lista, como una consulta ya resuelta
+        List<Estudiante> estudiantes = lista(this::estudiante);
+        List<Docente> docentes = lista(this::docente);
+        List<Curso> cursos = lista(this::curso);
+        List<Materia> materias = lista(this::materia);
+        List<Asiste> asistencias = lista(i -> new Asiste((long) i, estudiante(i), curso(i), hoy, i % 2 == 0, 0L));
+        List<Inscrito> inscripciones = lista(i -> new Inscrito((long) i, estudiante(i), materia(i), hoy));
+        List<SeDa> relacionesSeDa = lista(i -> new SeDa((long) i, materia(i), curso(i), 0L));
+        List<Imparte> relacionesImparte = lista(i -> new Imparte((long) i, materia(i), docente(i), 0L));
+        List<RegistraNota> notas = lista(i -> new RegistraNota((long) i, estudiante(i), curso(i), "Parcial 1", 75.5, hoy));
+        List<MateriaPrerequisito> prerequisitos = lista(i -> new MateriaPrerequisito((long) i, 1L, (long) i + 1));
+
+        EstudianteRepository estudianteRepository = RepositorioStub.de(EstudianteRepository.class, Map.of(
+                "findAll", args -> estudiantes,
+                // Solo existe "E0": las altas de estudiante usan otra CI y pasan la validación de unicidad
+                "findByCi", args -> Optional.of(estudiante).filter(e -> e.getCi().equals(args[0])),
+                "findById", args -> Optional.of(estudiante).filter(e -> e.getCi().equals(args[0])),
+                "getReferenceById", args -> estudiante));
+        DocenteRepository docenteRepository = RepositorioStub.de(DocenteRepository.class, Map.of(
+                "findAll", args -> docentes,
+                "findByCiDocente", args -> Optional.of(docente).filter(d -> d.getCiDocente().equals(args[0])),
+                "findById", args -> Optional.of(docente).filter(d -> d.getCiDocente().equals(args[0]))));
+        CursoRepository cursoRepository = RepositorioStub.de(CursoRepository.class, Map.of(
+                "findAll", args -> cursos,
+                "findById", args -> Optional.of(curso),
+                "getReferenceById", args -> curso));
+        MateriaRepository materiaRepository = RepositorioStub.de(MateriaRepository.class, Map.of(
+                "findAll", args -> materias,
+                "findByCodigoUnico", args -> Optional.of(materia)));
+        AsisteRepository asisteRepository = RepositorioStub.de(AsisteRepository.class, Map.of(
+                "findAll", args -> asistencias));
+        InscritoRepository inscritoRepository = RepositorioStub.de(InscritoRepository.class, Map.of(
+                "findAll", args -> inscripciones));
+        SeDaRepository seDaRepository = RepositorioStub.de(SeDaRepository.class, Map.of(
+                "findAll", args -> relacionesSeDa));
+        ImparteRepository imparteRepository = RepositorioStub.de(ImparteRepository.class, Map.of(
+                "findAll", args -> relacionesImparte));
+        RegistraNotaRepository registraNotaRepository = RepositorioStub.de(RegistraNotaRepository.class, Map.of(
+                "findAll", args -> notas));
+        MateriaPrerequisitoRepository prerequisitoRepository = RepositorioStub.de(MateriaPrerequisitoRepository.class, Map.of(
+                "findByMateriaId", args -> prerequisitos));
+
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+        CacheInvalidator cacheInvalidator = new CacheInvalidator(cacheManager);
+
+        MemoConsultas memoConsultas = new MemoConsultas(estudianteRepository, docenteRepository, new SimpleMeterRegistry());
+        estudianteService = new EstudianteServiceImpl(estudianteRepository, new EstudianteValidator(memoConsultas), null,
+                memoConsultas);
+        docenteService = new DocenteServiceImpl(docenteRepository, new DocenteValidator(memoConsultas), null, memoConsultas);
+        HorarioServiceImpl horarioService = new HorarioServiceImpl(cursoRepository, horarioSinBase(), cacheManager,
+                cacheInvalidator, "07:00 a 22:00");
+        cursoService = new CursoServiceImpl(cursoRepository, new CursoValidator(), horarioService);
+        materiaService = new MateriaServiceImpl(materiaRepository, null);
+        asisteService = new AsisteServiceImpl(asisteRepository, null, estudianteRepository, cursoRepository,
+                new AsisteValidator(asisteRepository), cacheInvalidator, resumenSinBase());
+        seDaService = new SeDaServiceImpl(seDaRepository, materiaRepository, cursoRepository,
+                new SeDaValidator(seDaRepository), cacheInvalidator, horarioService);
+        imparteService = new ImparteServiceImpl(imparteRepository, materiaRepository, docenteRepository,
+                new ImparteValidator(imparteRepository), cacheInvalidator, horarioService);
+        registraNotaService = new RegistraNotaServiceImpl(registraNotaRepository,
+                new RegistraNotaValidator(registraNotaRepository, estudianteRepository, cursoRepository),
+                estudianteRepository, cursoRepository, null, cacheInvalidator, 51);
+        prerequisitoService = new MateriaPrerequisitoServiceImpl(prerequisitoRepository, null, materiaRepository,
+                new MateriaPrerequisitoValidator(materiaRepository, prerequisitoRepository), cacheManager, cacheInvalidator);
+        // Sin relaciones en findAll el grafo queda vacío, y con el historial vacío toda materia es elegible
+        inscritoService = new InscritoServiceImpl(inscritoRepository, estudianteRepository, materiaRepository,
+                new InscritoValidator(inscritoRepository), cacheInvalidator, historialSinBase(), prerequisitoService, materiaService,
+                horarioService, 51);
+    }
+
+    // --- Listados: convertToDTO por fila ---
+
+    @Benchmark
+    public List<EstudianteDTO> listarEstudiantes() {
+        return estudianteService.obtenerTodosLosEstudiantes();
+    }
+
+    @Benchmark
+    public List<DocenteDTO> listarDocentes() {
+        return docenteService.obtenerTodosLosDocentes();
+    }
+
+    @Benchmark
+    public List<CursoDTO> listarCursos() {
+        return cursoService.obtenerTodosLosCursos();
+    }
+
+    @Benchmark
+    public List<MateriaDTO> listarMaterias() {
+        return materiaService.obtenerTodasLasMaterias();
+    }
+
+    @Benchmark
+    public List<AsisteDTO> listarAsistencias() {
+        return asisteService.obtenerTodasLasAsistencias();
+    }
+
+    @Benchmark
+    public List<InscritoDTO> listarInscripciones() {
+        return inscritoService.obtenerTodasLasInscripciones();
+    }
+
+    @Benchmark
+    public List<SeDaDTO> listarRelacionesSeDa() {
+        return seDaService.obtenerTodasLasRelaciones();
+    }
+
+    @Benchmark
+    public List<ImparteDTO> listarRelacionesImparte() {
+        return imparteService.obtenerTodasLasRelaciones();
+    }
+
+    @Benchmark
+    public List<RegistraNotaDTO> listarNotas() {
+        return registraNotaService.listarNotas();
+    }
+
+    @Benchmark
+    public Object listarPrerequisitos() {
+        return prerequisitoService.listarPorMateriaId(1L);
+    }
+
+    // --- Altas: validación + convertToEntity + convertToDTO ---
+
+    @Benchmark
+    public EstudianteDTO crearEstudiante() {
+        return estudianteService.crearEstudiante(new EstudianteDTO("1234567", "Ana", "López",
+                "ana.lopez@uni.edu", LocalDate.of(2001, 5, 10), null));
+    }
+
+    @Benchmark
+    public DocenteDTO crearDocente() {
+        return docenteService.crearDocente(new DocenteDTO("7654321", "Luis", "Pérez",
+                "luis.perez@uni.edu", LocalDate.of(1980, 3, 2), "Sistemas", "12", null));
+    }
+
+    @Benchmark
+    public CursoDTO crearCurso() {
+        return cursoService.crearCurso(new CursoDTO(null, "Lunes", "08:00 a 09:30", "1", 2025, null));
+    }
+
+    @Benchmark
+    public MateriaDTO crearMateria() {
+        return materiaService.crearMateria(new MateriaDTO(null, "Cálculo I", "MAT-101", "Límites y derivadas"));
+    }
+
+    @Benchmark
+    public AsisteDTO crearAsistencia() {
+        return asisteService.crearAsistencia(new AsisteDTO(null, "E0", 0, hoy, true, null));
+    }
+
+    @Benchmark
+    public InscritoDTO crearInscripcion() {
+        return inscritoService.crearInscripcion(new InscritoDTO(null, "E0", "MAT-0", hoy));
+    }
+
+    @Benchmark
+    public SeDaDTO crearRelacionSeDa() {
+        return seDaService.crearRelacion(new SeDaDTO(null, "MAT-0", 0, null));
+    }
+
+    @Benchmark
+    public ImparteDTO crearRelacionImparte() {
+        return imparteService.crearRelacion(new ImparteDTO(null, "MAT-0", "D0", null));
+    }
+
+    @Benchmark
+    public RegistraNotaDTO crearNota() {
+        return registraNotaService.crearNota(new RegistraNotaDTO(null, "E0", 0, "Parcial 1", 75.5, hoy));
+    }
+
+    private <E> List<E> lista(IntFunction<E> fila) {
+        List<E> lista = new ArrayList<>(filas);
+        for (int i = 0; i < filas; i++) {
+            lista.add(fila.apply(i));
+        }
+        return lista;
+    }
+
+    private Estudiante estudiante(int i) {
+        return new Estudiante("E" + i, "Nombre", "Apellido", "e" + i + "@uni.edu", LocalDate.of(2001, 1, 1), 0L);
+    }
+
+    private Docente docente(int i) {
+        return new Docente("D" + i, "Nombre", "Apellido", "d" + i + "@uni.edu", LocalDate.of(1980, 1, 1),
+                "Sistemas", "1", 0L);
+    }
+
+    private Curso curso(int i) {
+        return new Curso(i, "Lunes", "08:00 a 09:30", "1", 2025, 0L);
+    }
+
+    // Sin base de datos: crearAsistencia no escribe el resumen (el upsert JDBC no forma parte de lo que se mide)
+    private static AsistenciaResumenBatchRepository resumenSinBase() {
+        return new AsistenciaResumenBatchRepository(null) {
+            @Override
+            public void aplicar(Collection<Delta> deltas) {
+            }
+        };
+    }
+
+    private static HistorialAcademicoRepository historialSinBase() {
+        return new HistorialAcademicoRepository(null) {
+            @Override
+            public Historial buscarPorEstudiante(String estudianteCi, double notaAprobacion,
+                                                 LocalDate cursandoDesde, LocalDate cursandoHasta) {
+                return new Historial(Set.of(), Set.of());
+            }
+        };
+    }
+
+    // Sin se_da en la base no hay cursos que comparar: las validaciones de horario solo consultan el índice
+    private static HorarioRepository horarioSinBase() {
+        return new HorarioRepository(null) {
+            @Override
+            public void bloquearDocente(String ciDocente) {
+            }
+
+            @Override
+            public void bloquearEstudiante(String estudianteCi) {
+            }
+
+            @Override
+            public List<Integer> cursosDeMateria(String materiaCodigoUnico) {
+                return List.of();
+            }
+
+            @Override
+            public List<Ocupacion> docentesDeMaterias(Collection<String> materias, Long excluirSeDa, Collection<Integer> cursos) {
+                return List.of();
+            }
+
+            @Override
+            public List<Ocupacion> estudiantesDeMaterias(Collection<String> materias, Long excluirSeDa, LocalDate desde,
+                                                         Collection<Integer> cursos) {
+                return List.of();
+            }
+        };
+    }
+
+    private Materia materia(int i) {
+        return new Materia((long) i, "Materia " + i, "MAT-" + i, "Descripción");
+    }
+}
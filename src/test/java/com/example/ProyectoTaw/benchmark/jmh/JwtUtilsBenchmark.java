@@ -0,0 +1,68 @@
+package com.example.ProyectoTaw.benchmark.jmh;
+
+import com.example.ProyectoTaw.registro.security.JwtUtils;
+import com.example.ProyectoTaw.registro.service.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Firma (login) y verificación (cada petición autenticada) de tokens HS512 con JwtUtils,
+ * incluida la reconstrucción del UserDetails desde los claims que hace JwtAuthenticationFilter.
+ * Ejecutar con: mvn -B test -Pjmh -Djmh.include=JwtUtils
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+    private JwtUtils jwtUtils;
+    private Authentication autenticacion;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "Q".repeat(64));
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86_400_000);
+        jwtUtils.init();
+
+        UserDetailsImpl usuario = new UserDetailsImpl(2L, "docente1", "", "docente1@uni.edu",
+                List.of(new SimpleGrantedAuthority("ROLE_DOCENTE")));
+        autenticacion = new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities());
+        token = jwtUtils.generateJwtToken(autenticacion);
+    }
+
+    @Benchmark
+    public String firmar() {
+        return jwtUtils.generateJwtToken(autenticacion);
+    }
+
+    @Benchmark
+    public Claims verificar() {
+        return jwtUtils.getClaimsIfValid(token);
+    }
+
+    @Benchmark
+    public UserDetailsImpl verificarYConstruirUsuario() {
+        return UserDetailsImpl.build(jwtUtils.getClaimsIfValid(token));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.ProyectoTaw.benchmark.jmh;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Repositorios en memoria para los microbenchmarks: un proxy dinámico que responde por nombre de método.
+ *
+ * Se usa en lugar de Mockito para que el coste y las asignaciones del doble de prueba no se mezclen con
+ * los del código medido. Los métodos sin respuesta explícita devuelven un valor "vacío" según su tipo
+ * (Optional.empty(), false, lista vacía) y save devuelve la propia entidad.
+ */
+final class RepositorioStub {
+
+    private RepositorioStub() {
+    }
+
+    static <R> R de(Class<R> tipo) {
+        return de(tipo, Map.of());
+    }
+
+    static <R> R de(Class<R> tipo, Map<String, Function<Object[], Object>> respuestas) {
+        Object proxy = Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo},
+                (self, metodo, args) -> {
+                    if (metodo.getDeclaringClass() == Object.class) {
+                        return metodoDeObject(self, metodo, args);
+                    }
+                    Function<Object[], Object> respuesta = respuestas.get(metodo.getName());
+                    return respuesta != null ? respuesta.apply(args) : vacio(metodo, args);
+                });
+        return tipo.cast(proxy);
+    }
+
+    private static Object vacio(Method metodo, Object[] args) {
+        Class<?> retorno = metodo.getReturnType();
+        if (metodo.getName().equals("save")) {
+            return args[0];
+        }
+        if (retorno == Optional.class) {
+            return Optional.empty();
+        }
+        if (retorno == boolean.class || retorno == Boolean.class) {
+            return false;
+        }
+        if (retorno == long.class) {
+            return 0L;
+        }
+        if (List.class.isAssignableFrom(retorno)) {
+            return List.of();
+        }
+        return null;
+    }
+
+    private static Object metodoDeObject(Object self, Method metodo, Object[] args) {
+        return switch (metodo.getName()) {
+            case "equals" -> self == args[0];
+            case "hashCode" -> System.identityHashCode(self);
+            default -> "RepositorioStub";
+        };
+    }
+}
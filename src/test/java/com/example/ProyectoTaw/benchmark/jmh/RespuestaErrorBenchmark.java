@@ -0,0 +1,73 @@
+package com.example.ProyectoTaw.benchmark.jmh;
+
+import com.example.ProyectoTaw.dto.EstudianteDTO;
+import com.example.ProyectoTaw.validator.GlobalExceptionHandler;
+import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construcción y serialización a JSON de las respuestas de error de GlobalExceptionHandler: el 400 de
+ * negocio (el más frecuente, lo disparan los validadores) y el 400 de Bean Validation con varios campos.
+ * handleGenericException queda fuera porque imprime la traza por consola y mediría la E/S, no el handler.
+ * Ejecutar con: mvn -B test -Pjmh -Djmh.include=RespuestaError
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RespuestaErrorBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private BusinessException errorNegocio;
+    private MethodArgumentNotValidException errorValidacion;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        errorNegocio = new BusinessException("El dominio de email 'spam.com' no está permitido.");
+
+        BeanPropertyBindingResult resultado = new BeanPropertyBindingResult(new EstudianteDTO(), "estudianteDTO");
+        resultado.addError(new FieldError("estudianteDTO", "ci", "El CI no puede estar vacío"));
+        resultado.addError(new FieldError("estudianteDTO", "email", "El email debe ser válido"));
+        resultado.addError(new FieldError("estudianteDTO", "fechaNac", "La fecha de nacimiento debe ser en el pasado"));
+        MethodParameter parametro = new MethodParameter(
+                RespuestaErrorBenchmark.class.getDeclaredMethod("endpoint", EstudianteDTO.class), 0);
+        errorValidacion = new MethodArgumentNotValidException(parametro, resultado);
+    }
+
+    @Benchmark
+    public String errorDeNegocio() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(handler.handleBusinessException(errorNegocio).getBody());
+    }
+
+    @Benchmark
+    public String errorDeValidacion() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(handler.handleValidationExceptions(errorValidacion).getBody());
+    }
+
+    @SuppressWarnings("unused")
+    private void endpoint(EstudianteDTO estudianteDTO) {
+        // Firma de referencia para el MethodParameter del error de validación
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.ProyectoTaw.benchmark.jmh;
+
+import com.example.ProyectoTaw.cache.MemoConsultas;
+import com.example.ProyectoTaw.dto.DocenteDTO;
+import com.example.ProyectoTaw.dto.EstudianteDTO;
+import com.example.ProyectoTaw.repository.DocenteRepository;
+import com.example.ProyectoTaw.repository.EstudianteRepository;
+import com.example.ProyectoTaw.validator.DocenteValidator;
+import com.example.ProyectoTaw.validator.EstudianteValidator;
+import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validaciones de negocio de EstudianteValidator y DocenteValidator que corren en cada alta:
+ * el caso válido y el rechazo por dominio de email bloqueado (que construye y lanza BusinessException).
+ * Ejecutar con: mvn -B test -Pjmh -Djmh.include=Validador
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidadorBenchmark {
+
+    private EstudianteValidator estudianteValidator;
+    private DocenteValidator docenteValidator;
+
+    private final EstudianteDTO estudianteValido = new EstudianteDTO("1234567", "Ana", "López",
+            "ana.lopez@uni.edu", LocalDate.of(2001, 5, 10), null);
+    private final EstudianteDTO estudianteDominioBloqueado = new EstudianteDTO("1234567", "Ana", "López",
+            "ana.lopez@spam.com", LocalDate.of(2001, 5, 10), null);
+    private final DocenteDTO docenteValido = new DocenteDTO("7654321", "Luis", "Pérez",
+            "luis.perez@uni.edu", LocalDate.of(1980, 3, 2), "Sistemas", "12", null);
+
+    @Setup
+    public void setUp() {
+        // Fuera de una petición el memo no guarda nada: cada validación consulta el stub
+        MemoConsultas memoConsultas = new MemoConsultas(RepositorioStub.de(EstudianteRepository.class),
+                RepositorioStub.de(DocenteRepository.class), new SimpleMeterRegistry());
+        estudianteValidator = new EstudianteValidator(memoConsultas);
+        docenteValidator = new DocenteValidator(memoConsultas);
+    }
+
+    @Benchmark
+    public void estudianteValido() {
+        estudianteValidator.validacionCompletaEstudiante(estudianteValido);
+    }
+
+    @Benchmark
+    public Object estudianteRechazado() {
+        try {
+            estudianteValidator.validacionCompletaEstudiante(estudianteDominioBloqueado);
+            return null;
+        } catch (BusinessException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public void docenteValido() {
+        docenteValidator.validacionCompletaDocente(docenteValido);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.ProyectoTaw.cache;
+
+import com.example.ProyectoTaw.dto.AsisteDTO;
+import com.example.ProyectoTaw.dto.InscritoDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheInvalidatorTest {
+
+    private TwoLevelCacheManager cacheManager;
+    private CacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        TwoLevelCacheProperties properties = new TwoLevelCacheProperties();
+        properties.setRedisEnabled(false);
+        cacheManager = new TwoLevelCacheManager(new ConcurrentMapCacheManager(), properties, CacheInvalidationBus.LOCAL);
+        invalidator = new CacheInvalidator(cacheManager);
+    }
+
+    @Test
+    void inscripcionSoloInvalidaLasClavesDeSuEstudianteYMateria() {
+        Cache porEstudiante = cacheManager.getCache("inscripcionesPorEstudiante");
+        Cache porMateria = cacheManager.getCache("inscripcionesPorMateria");
+        porEstudiante.put("111", List.of());
+        porEstudiante.put("222", List.of());
+        porMateria.put("MAT-101", List.of());
+        porMateria.put("FIS-100", List.of());
+
+        invalidator.inscripcionModificada(inscripcion("111", "MAT-101"));
+
+        assertThat(porEstudiante.get("111")).isNull();
+        assertThat(porEstudiante.get("222")).isNotNull();
+        assertThat(porMateria.get("MAT-101")).isNull();
+        assertThat(porMateria.get("FIS-100")).isNotNull();
+    }
+
+    @Test
+    void actualizacionInvalidaEstadoAnteriorYNuevo() {
+        Cache porCurso = cacheManager.getCache("asistenciasPorCurso");
+        Cache deEstudianteEnCurso = cacheManager.getCache("asistenciasDeEstudianteEnCurso");
+        porCurso.put(1, List.of());
+        porCurso.put(2, List.of());
+        porCurso.put(3, List.of());
+        deEstudianteEnCurso.put(Arrays.asList("111", 1), List.of());
+        deEstudianteEnCurso.put(Arrays.asList("111", 3), List.of());
+
+        AsisteDTO anterior = AsisteDTO.builder().idAsiste(7L).estudianteCi("111").cursoIdCurso(1).build();
+        AsisteDTO nueva = AsisteDTO.builder().idAsiste(7L).estudianteCi("111").cursoIdCurso(2).build();
+        invalidator.asistenciaModificada(anterior, nueva);
+
+        assertThat(porCurso.get(1)).isNull();
+        assertThat(porCurso.get(2)).isNull();
+        assertThat(porCurso.get(3)).isNotNull();
+        assertThat(deEstudianteEnCurso.get(Arrays.asList("111", 1))).isNull();
+        assertThat(deEstudianteEnCurso.get(Arrays.asList("111", 3))).isNotNull();
+    }
+
+    @Test
+    void escrituraVaciaLasPaginasDelListado() {
+        Cache paginas = cacheManager.getCache("asistenciasPagina");
+        Cache otrasPaginas = cacheManager.getCache("inscripcionesPagina");
+        paginas.put("p-0-20-UNSORTED", List.of());
+        paginas.put("c-null-20", List.of());
+        otrasPaginas.put("p-0-20-UNSORTED", List.of());
+
+        invalidator.asistenciaModificada(AsisteDTO.builder().idAsiste(7L).estudianteCi("111").cursoIdCurso(1).build());
+
+        assertThat(paginas.get("p-0-20-UNSORTED")).isNull();
+        assertThat(paginas.get("c-null-20")).isNull();
+        assertThat(otrasPaginas.get("p-0-20-UNSORTED")).isNotNull();
+    }
+
+    /**
+     * Pico de inscripciones: muchas lecturas de "mis inscripciones" intercaladas con altas.
+     * Con allEntries = true cada alta vacía la región entera; con invalidación por clave
+     * solo se pierde la entrada del estudiante que se inscribe.
+     */
+    @Test
+    void invalidacionPorClaveMejoraElRatioDeAciertos() {
+        double ratioLimpiezaCompleta = simularPicoDeInscripciones("porRegion", true);
+        double ratioPorClave = simularPicoDeInscripciones("porClave", false);
+
+        assertThat(ratioPorClave).isGreaterThan(ratioLimpiezaCompleta + 0.3);
+    }
+
+    private double simularPicoDeInscripciones(String prefijo, boolean limpiezaCompleta) {
+        String region = prefijo + "PorEstudiante";
+        Cache cache = cacheManager.getCache(region);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            String ci = String.valueOf(random.nextInt(500));
+            if (i % 20 == 0) {
+                // 5% de escrituras (nuevas inscripciones)
+                if (limpiezaCompleta) {
+                    cache.clear();
+                } else {
+                    invalidator.invalidar(region, ci);
+                }
+            } else if (cache.get(ci) == null) {
+                cache.put(ci, List.of(ci)); // Se carga desde la "base de datos"
+            }
+        }
+        return ((TwoLevelCache) cache).estadisticas().getRatioAciertos();
+    }
+
+    private InscritoDTO inscripcion(String ci, String codigoMateria) {
+        return InscritoDTO.builder()
+                .idInscrito(1L)
+                .estudianteCi(ci)
+                .materiaCodigoUnico(codigoMateria)
+                .fechaInscripcion(LocalDate.of(2025, 2, 10))
+                .build();
+    }
+}
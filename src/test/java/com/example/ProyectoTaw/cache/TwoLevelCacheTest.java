@@ -0,0 +1,152 @@
+package com.example.ProyectoTaw.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Simula dos nodos que comparten un L2 (mapa en memoria en lugar de Redis)
+ * y un bus de invalidación en memoria en lugar del pub/sub de Redis.
+ */
+class TwoLevelCacheTest {
+
+    private final List<TwoLevelCacheManager> nodos = new ArrayList<>();
+    private final List<CacheInvalidationMessage> publicados = new ArrayList<>();
+    private TwoLevelCacheManager nodoA;
+    private TwoLevelCacheManager nodoB;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrentMapCacheManager redisSimulado = new ConcurrentMapCacheManager();
+        CacheInvalidationBus bus = mensaje -> {
+            publicados.add(mensaje);
+            nodos.forEach(n -> n.aplicarInvalidacionRemota(mensaje));
+        };
+        TwoLevelCacheProperties properties = new TwoLevelCacheProperties();
+        properties.setRedisEnabled(false);
+
+        nodoA = new TwoLevelCacheManager(redisSimulado, properties, bus);
+        nodoB = new TwoLevelCacheManager(redisSimulado, properties, bus);
+        nodos.add(nodoA);
+        nodos.add(nodoB);
+    }
+
+    @Test
+    void lecturaEnOtroNodoSePromueveDesdeL2() {
+        nodoA.getCache("estudiante").put("123", "Ana");
+
+        TwoLevelCache cacheB = (TwoLevelCache) nodoB.getCache("estudiante");
+        assertThat(cacheB.localSize()).isZero();
+
+        Cache.ValueWrapper valor = cacheB.get("123");
+        assertThat(valor).isNotNull();
+        assertThat(valor.get()).isEqualTo("Ana");
+        assertThat(cacheB.localSize()).isEqualTo(1);
+    }
+
+    @Test
+    void escrituraEnUnNodoInvalidaElL1DelOtro() {
+        nodoA.getCache("estudiante").put("123", "Ana");
+        nodoB.getCache("estudiante").get("123"); // B copia el valor a su L1
+
+        nodoA.getCache("estudiante").put("123", "Ana María");
+
+        assertThat(nodoB.getCache("estudiante").get("123").get()).isEqualTo("Ana María");
+    }
+
+    @Test
+    void rellenoTrasUnFalloNoVaciaElL1DeLosDemas() {
+        nodoB.getCache("estudiante").put("123", "Ana");
+        nodoB.getCache("estudiante").get("123");
+        publicados.clear();
+
+        Cache cacheA = nodoA.getCache("estudiante");
+        assertThat(cacheA.get("456")).isNull();
+        cacheA.put("456", "Luis"); // Lo que hace @Cacheable tras el fallo
+        assertThat(cacheA.get("789", () -> "Eva")).isEqualTo("Eva");
+        assertThat(publicados).isEmpty();
+        assertThat(((TwoLevelCache) nodoB.getCache("estudiante")).localSize()).isEqualTo(1);
+
+        cacheA.put("456", "Luis Alberto"); // @CachePut: sin lectura previa
+        assertThat(publicados).hasSize(1);
+    }
+
+    @Test
+    void escrituraPosteriorAlRellenoEnElMismoHiloSePublica() {
+        Cache cacheA = nodoA.getCache("estudiante");
+        assertThat(cacheA.get("123")).isNull(); // @Cacheable: falla
+        cacheA.put("123", "Ana");                // y rellena
+        nodoB.getCache("estudiante").get("123");
+        publicados.clear();
+
+        cacheA.put("123", "Ana María"); // @CachePut más tarde, en el mismo hilo del pool
+
+        assertThat(publicados).hasSize(1);
+        assertThat(nodoB.getCache("estudiante").get("123").get()).isEqualTo("Ana María");
+    }
+
+    @Test
+    void cargadorQueFallaNoConvierteLaEscrituraSiguienteEnRelleno() {
+        Cache cacheA = nodoA.getCache("estudiante");
+        assertThatThrownBy(() -> cacheA.get("123", () -> {
+            throw new IllegalStateException("base caída");
+        })).isInstanceOf(Cache.ValueRetrievalException.class);
+
+        cacheA.put("123", "Ana");
+
+        assertThat(publicados).hasSize(1);
+    }
+
+    @Test
+    void limpiezaDeRegionSePropaga() {
+        nodoA.getCache("estudiantes").put("todos", List.of("Ana"));
+        nodoB.getCache("estudiantes").get("todos");
+
+        nodoA.getCache("estudiantes").clear();
+
+        assertThat(nodoB.getCache("estudiantes").get("todos")).isNull();
+        assertThat(((TwoLevelCache) nodoB.getCache("estudiantes")).localSize()).isZero();
+    }
+
+    @Test
+    void metricasCubrenRegionesCreadasAntesYDespuesDeRegistrar() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        nodoA.getCache("estudiante").put("123", "Ana");
+        nodoA.registrarMetricas(registry);
+        nodoA.getCache("docente").get("999");
+
+        nodoA.getCache("estudiante").get("123");
+        nodoA.getCache("estudiante").get("456");
+        nodoA.getCache("estudiante").evict("123");
+
+        assertThat(registry.get("cache.gets").tags("cache", "estudiante", "result", "hit", "nivel", "l1")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tags("cache", "estudiante", "result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tags("cache", "docente", "result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.invalidaciones").tags("cache", "estudiante", "tipo", "clave")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.ratio.aciertos").tag("cache", "estudiante").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void tamanoDeRegionRespetaConfiguracion() {
+        TwoLevelCacheProperties properties = new TwoLevelCacheProperties();
+        TwoLevelCacheProperties.Spec spec = new TwoLevelCacheProperties.Spec();
+        spec.setMaxSize(5L);
+        properties.getSpecs().put("asistencias", spec);
+
+        assertThat(properties.specFor("asistencias").getMaxSize()).isEqualTo(5L);
+        assertThat(properties.specFor("asistencias").getTtl()).isEqualTo(properties.getDefaultTtl());
+        assertThat(properties.localTtlFor("asistencias")).isEqualTo(properties.getLocalMaxTtl());
+    }
+}
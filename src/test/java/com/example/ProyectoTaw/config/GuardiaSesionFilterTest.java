@@ -0,0 +1,60 @@
+package com.example.ProyectoTaw.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GuardiaSesionFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void cuentaLasPeticionesQueCreanOUsanSesionPorPatronDeRuta() throws Exception {
+        GuardiaSesionFilter guardia = new GuardiaSesionFilter(registry, false);
+
+        guardia.doFilter(peticion(null), new MockHttpServletResponse(), (req, res) -> { });
+        guardia.doFilter(peticion(null), new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletRequest) req).getSession());
+        MockHttpSession existente = new MockHttpSession();
+        existente.setNew(false);
+        guardia.doFilter(peticion(existente), new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletRequest) req).getSession(false));
+
+        assertThat(contador("creada")).isEqualTo(1.0);
+        assertThat(contador("usada")).isEqualTo(1.0);
+    }
+
+    @Test
+    void conRechazoActivoFallaAlCrearPeroNoAlUsarUnaExistente() throws Exception {
+        GuardiaSesionFilter guardia = new GuardiaSesionFilter(registry, true);
+
+        assertThatThrownBy(() -> guardia.doFilter(peticion(null), new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletRequest) req).getSession(true)))
+                .isInstanceOf(IllegalStateException.class);
+
+        MockHttpSession existente = new MockHttpSession();
+        existente.setNew(false);
+        guardia.doFilter(peticion(existente), new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletRequest) req).getSession());
+        assertThat(contador("usada")).isEqualTo(1.0);
+    }
+
+    private static MockHttpServletRequest peticion(MockHttpSession sesion) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cursos/7");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/cursos/{id}");
+        request.setSession(sesion);
+        return request;
+    }
+
+    private double contador(String resultado) {
+        return registry.get("sesiones.peticiones").tag("uri", "/api/cursos/{id}").tag("resultado", resultado)
+                .counter().count();
+    }
+}
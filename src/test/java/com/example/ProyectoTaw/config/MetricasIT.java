@@ -0,0 +1,49 @@
+package com.example.ProyectoTaw.config;
+
+import com.example.ProyectoTaw.controller.ApiIntegracionBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * /actuator/prometheus solo para ROL_ADMIN y con las métricas de rutas, servicios, caché, pool y transacciones.
+ */
+@AutoConfigureObservability(tracing = false)
+class MetricasIT extends ApiIntegracionBase {
+
+    @Test
+    void prometheusSoloParaAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", bearer("docente1")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", bearer("admin")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void prometheusExponeRutasServiciosCachePoolYTransacciones() throws Exception {
+        String admin = bearer("admin");
+        mockMvc.perform(get("/api/materias").header("Authorization", admin)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/materias").header("Authorization", admin)).andExpect(status().isOk());
+
+        String metricas = mockMvc.perform(get("/actuator/prometheus").header("Authorization", admin))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(metricas)
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("uri=\"/api/materias\"")
+                .contains("servicio_metodo_seconds_count{")
+                .contains("class=\"MateriaServiceImpl\"")
+                .contains("cache_gets_total{")
+                .contains("cache_ratio_aciertos{")
+                .contains("hikaricp_connections_active{")
+                .contains("transacciones_seconds_count{");
+    }
+
+}
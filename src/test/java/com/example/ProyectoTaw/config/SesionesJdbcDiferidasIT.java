@@ -0,0 +1,101 @@
+package com.example.ProyectoTaw.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.Session;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * app.session.store=jdbc: las sesiones se escriben al volcar (una vez por intervalo) y las vencidas se borran por lotes.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sesiones;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "app.cache.redis-enabled=false",
+        "app.session.store=jdbc",
+        "app.session.jdbc.flush-interval=1h", // Los volcados y la limpieza los dispara la prueba
+        "app.session.jdbc.cleanup-cron=-",
+        "app.session.jdbc.cleanup-batch-size=2"})
+class SesionesJdbcDiferidasIT {
+
+    @Autowired
+    private SesionesJdbcDiferidas<Session> sesiones;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM spring_session");
+    }
+
+    @Test
+    void variosGuardadosDeLaMismaSesionSeEscribenUnaVezAlVolcar() {
+        Session sesion = sesiones.createSession();
+        sesion.setAttribute("paso", 1);
+        sesiones.save(sesion);
+        sesion.setAttribute("paso", 2);
+        sesiones.save(sesion);
+
+        assertThat(filas()).isZero();
+        assertThat(sesiones.findById(sesion.getId()).<Integer>getAttribute("paso")).isEqualTo(2);
+
+        sesiones.volcar();
+
+        assertThat(filas()).isEqualTo(1);
+        assertThat(sesiones.findById(sesion.getId()).<Integer>getAttribute("paso")).isEqualTo(2);
+    }
+
+    @Test
+    void unaSesionQueNoSePuedeEscribirQuedaPendienteSinPerderLasDemas() {
+        Session buena = sesiones.createSession();
+        sesiones.save(buena);
+        Session fallida = sesiones.createSession();
+        fallida.setAttribute("noSerializable", new Object()); // El INSERT de atributos falla al serializar
+        sesiones.save(fallida);
+
+        sesiones.volcar();
+
+        assertThat(filas()).isEqualTo(1);
+        assertThat(sesiones.findById(fallida.getId())).isNotNull(); // Sigue pendiente en memoria
+
+        fallida.removeAttribute("noSerializable");
+        sesiones.volcar();
+
+        assertThat(filas()).isEqualTo(2);
+    }
+
+    @Test
+    void purgaLasVencidasEnVariosLotes() {
+        for (int i = 0; i < 5; i++) {
+            Session vencida = sesiones.createSession();
+            vencida.setLastAccessedTime(Instant.now().minus(Duration.ofHours(2)));
+            sesiones.save(vencida);
+        }
+        Session vigente = sesiones.createSession();
+        sesiones.save(vigente);
+        sesiones.volcar();
+        assertThat(filas()).isEqualTo(6);
+
+        sesiones.purgarVencidas();
+
+        assertThat(filas()).isEqualTo(1);
+        assertThat(sesiones.findById(vigente.getId())).isNotNull();
+    }
+
+    private int filas() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM spring_session", Integer.class);
+    }
+}
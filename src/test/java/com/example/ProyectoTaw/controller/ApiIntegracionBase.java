@@ -0,0 +1,71 @@
+package com.example.ProyectoTaw.controller;
+
+import com.example.ProyectoTaw.registro.security.JwtUtils;
+import com.example.ProyectoTaw.registro.service.UserDetailsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+/**
+ * Base de las pruebas de integración de la API: la aplicación completa con MockMvc sobre el perfil "it"
+ * (application-it.properties: H2 en memoria con el esquema de las migraciones validado contra las entidades).
+ *
+ * Las clases sin propiedades propias comparten el contexto de Spring y su base, así que antes de cada prueba se
+ * vacían todas las tablas (menos usuarios y roles, que crea DatabaseInitializer, y las filas de cerrojo que
+ * siembra V7) y todas las cachés.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+public abstract class ApiIntegracionBase {
+
+    private static final List<String> TABLAS_CONSERVADAS =
+            List.of("flyway_schema_history", "cerrojo", "usuarios", "roles", "usuario_roles");
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    protected CacheManager cacheManager;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @BeforeEach
+    void baseVacia() {
+        List<String> tablas = jdbcTemplate.queryForList("SELECT table_name FROM information_schema.tables "
+                + "WHERE table_schema = 'public' AND table_type = 'BASE TABLE'", String.class);
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE"); // H2: vacía las tablas sin ordenar por claves foráneas
+        try {
+            tablas.stream()
+                    .filter(tabla -> !TABLAS_CONSERVADAS.contains(tabla))
+                    .forEach(tabla -> jdbcTemplate.execute("TRUNCATE TABLE " + tabla));
+        } finally {
+            jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+        }
+        // Los datos de cada prueba se cargan por repositorio: lo cacheado sería de la prueba anterior
+        cacheManager.getCacheNames().forEach(nombre -> cacheManager.getCache(nombre).clear());
+    }
+
+    /** Cabecera Authorization con un JWT de un usuario creado por DatabaseInitializer (admin, docente1...). */
+    protected String bearer(String username) {
+        UserDetails usuario = userDetailsService.loadUserByUsername(username);
+        return "Bearer " + jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities()));
+    }
+}
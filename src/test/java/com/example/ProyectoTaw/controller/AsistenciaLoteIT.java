@@ -0,0 +1,121 @@
+package com.example.ProyectoTaw.controller;
+
+import com.example.ProyectoTaw.model.Asiste;
+import com.example.ProyectoTaw.model.Curso;
+import com.example.ProyectoTaw.model.Estudiante;
+import com.example.ProyectoTaw.repository.AsisteBatchRepository;
+import com.example.ProyectoTaw.repository.AsisteRepository;
+import com.example.ProyectoTaw.repository.CursoRepository;
+import com.example.ProyectoTaw.repository.EstudianteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /api/asistencias/lote: un lote con filas nuevas, cambiadas y sin cambios, y un lote con un estudiante
+ * inexistente, que se rechaza entero sin escribir nada. También el UPDATE condicionado del lote, que no cuenta
+ * como cambiada una fila que otra transacción ya dejó con el valor pedido.
+ */
+class AsistenciaLoteIT extends ApiIntegracionBase {
+
+    private static final LocalDate DIA = LocalDate.of(2026, 3, 2);
+
+    @Autowired
+    private AsisteRepository asisteRepository;
+
+    @Autowired
+    private AsisteBatchRepository asisteBatchRepository;
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    private Curso curso;
+
+    @BeforeEach
+    void setUp() {
+        curso = cursoRepository.save(Curso.builder().dia("Lunes").horario("08:00-10:00")
+                .semestre("1").anio(2026).build());
+        Estudiante ausente = estudianteRepository.save(estudiante("60001"));
+        Estudiante presente = estudianteRepository.save(estudiante("60002"));
+        estudianteRepository.save(estudiante("60003"));
+        asisteRepository.save(Asiste.builder().estudiante(ausente).curso(curso).fecha(DIA).presente(false).build());
+        asisteRepository.save(Asiste.builder().estudiante(presente).curso(curso).fecha(DIA).presente(true).build());
+    }
+
+    @Test
+    void registraNuevasActualizaCambiadasYDejaLasIguales() throws Exception {
+        lote("""
+                {"cursoIdCurso": %d, "fecha": "2026-03-02",
+                 "asistencias": {"60001": true, "60002": true, "60003": false}}
+                """.formatted(curso.getIdCurso()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cursoIdCurso").value(curso.getIdCurso()))
+                .andExpect(jsonPath("$.creadas").value(1))
+                .andExpect(jsonPath("$.actualizadas").value(1))
+                .andExpect(jsonPath("$.sinCambios").value(1));
+
+        assertThat(presentesDelDia()).containsOnly(entry("60001", true), entry("60002", true), entry("60003", false));
+        assertThat(asisteRepository.findByEstudianteCiAndCursoIdCurso("60001", curso.getIdCurso()).get(0).getVersion())
+                .isEqualTo(1L); // El cambio por lote también avanza la versión
+    }
+
+    @Test
+    void unEstudianteInexistenteRechazaElLoteEntero() throws Exception {
+        lote("""
+                {"cursoIdCurso": %d, "fecha": "2026-03-02",
+                 "asistencias": {"60001": true, "60003": true, "99999": true, "99998": false}}
+                """.formatted(curso.getIdCurso()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Estudiantes no encontrados: 99998, 99999"));
+
+        // Ni la fila nueva (60003) ni el cambio (60001) ni su resumen llegan a la base
+        assertThat(presentesDelDia()).containsOnly(entry("60001", false), entry("60002", true));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM asistencia_resumen", Long.class)).isZero();
+    }
+
+    @Test
+    void laActualizacionPorLoteNoTocaFilasQueYaTienenElValorPedido() {
+        // Simula un lote que leyó ambas filas como ausentes: 60002 ya fue marcada presente por otra transacción
+        Long ausente = asistencia("60001").getIdAsiste();
+        Long yaPresente = asistencia("60002").getIdAsiste();
+
+        assertThat(asisteBatchRepository.actualizarPresenteLote(Map.of(ausente, true, yaPresente, true)))
+                .containsExactly(ausente);
+        assertThat(asistencia("60001").getVersion()).isEqualTo(1L);
+        assertThat(asistencia("60002").getVersion()).isZero();
+    }
+
+    private Asiste asistencia(String ci) {
+        return asisteRepository.findByEstudianteCiAndCursoIdCursoAndFecha(ci, curso.getIdCurso(), DIA).orElseThrow();
+    }
+
+    private ResultActions lote(String json) throws Exception {
+        return mockMvc.perform(post("/api/asistencias/lote").header("Authorization", bearer("docente1"))
+                .contentType(MediaType.APPLICATION_JSON).content(json));
+    }
+
+    private Map<String, Boolean> presentesDelDia() {
+        return asisteRepository.findByCursoIdCursoAndFecha(curso.getIdCurso(), DIA).stream()
+                .collect(Collectors.toMap(a -> a.getEstudiante().getCi(), Asiste::getPresente));
+    }
+
+    private static Estudiante estudiante(String ci) {
+        return Estudiante.builder().ci(ci).nombre("Nombre " + ci).apellido("Apellido")
+                .email(ci + "@correo.com").fechaNac(LocalDate.of(2000, 1, 1)).build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.ProyectoTaw.controller;
+
+import com.example.ProyectoTaw.dto.AsisteDTO;
+import com.example.ProyectoTaw.dto.AsistenciaLoteDTO;
+import com.example.ProyectoTaw.model.Curso;
+import com.example.ProyectoTaw.model.Estudiante;
+import com.example.ProyectoTaw.repository.AsisteRepository;
+import com.example.ProyectoTaw.repository.AsistenciaResumenRepository;
+import com.example.ProyectoTaw.repository.CursoRepository;
+import com.example.ProyectoTaw.repository.EstudianteRepository;
+import com.example.ProyectoTaw.service.IAsisteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * asistencia_resumen (migración V6) se mantiene con cada alta, cambio, lote y baja de asistencia, y la
+ * reconstrucción lo deja igual que recalcularlo desde asiste. En H2 se prueba el upsert con MERGE.
+ */
+class AsistenciaResumenIT extends ApiIntegracionBase {
+
+    private static final LocalDate DIA_1 = LocalDate.of(2026, 3, 2);
+    private static final LocalDate DIA_2 = LocalDate.of(2026, 3, 3);
+
+    @Autowired
+    private IAsisteService asisteService;
+
+    @Autowired
+    private AsisteRepository asisteRepository;
+
+    @Autowired
+    private AsistenciaResumenRepository asistenciaResumenRepository;
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    private Integer curso;
+
+    @BeforeEach
+    void setUp() {
+        estudianteRepository.save(estudiante("40001"));
+        estudianteRepository.save(estudiante("40002"));
+        curso = cursoRepository.save(Curso.builder().dia("Lunes").horario("08:00-10:00")
+                .semestre("1").anio(2026).build()).getIdCurso();
+    }
+
+    @Test
+    void seActualizaConCadaCambioDeAsistencia() throws Exception {
+        asisteService.crearAsistencia(new AsisteDTO(null, "40001", curso, DIA_1, true, null));
+        AsisteDTO ausente = asisteService.crearAsistencia(new AsisteDTO(null, "40001", curso, DIA_2, false, null));
+        AsisteDTO otra = asisteService.crearAsistencia(new AsisteDTO(null, "40002", curso, DIA_1, true, null));
+        resumenDelCurso()
+                .andExpect(jsonPath("$[*].estudianteCi").value(contains("40001", "40002")))
+                .andExpect(jsonPath("$[*].presentes").value(contains(1, 1)))
+                .andExpect(jsonPath("$[*].total").value(contains(2, 1)))
+                .andExpect(jsonPath("$[*].porcentaje").value(contains(50.0, 100.0)));
+
+        ausente.setPresente(true);
+        asisteService.actualizarAsistencia(ausente.getIdAsiste(), ausente);
+        // Lote: 40002 cambia a ausente el día 1 y es nuevo el día 2
+        asisteService.registrarAsistenciaLote(new AsistenciaLoteDTO(curso, DIA_1, Map.of("40002", false)));
+        asisteService.registrarAsistenciaLote(new AsistenciaLoteDTO(curso, DIA_2, Map.of("40002", true)));
+        resumenDelCurso()
+                .andExpect(jsonPath("$[*].presentes").value(contains(2, 1)))
+                .andExpect(jsonPath("$[*].total").value(contains(2, 2)));
+
+        asisteService.eliminarAsistencia(otra.getIdAsiste());
+        asisteService.eliminarAsistencia(asisteRepository.findByEstudianteCiAndCursoIdCurso("40002", curso).get(0).getIdAsiste());
+        // Sin asistencias no queda fila: el estudiante se puede borrar
+        mockMvc.perform(get("/api/asistencias/estudiante/{ci}/resumen", "40002").header("Authorization", bearer("docente1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        estudianteRepository.deleteById("40002");
+    }
+
+    @Test
+    void reconstruirRecalculaDesdeAsiste() throws Exception {
+        asisteService.crearAsistencia(new AsisteDTO(null, "40001", curso, DIA_1, true, null));
+        asisteService.crearAsistencia(new AsisteDTO(null, "40001", curso, DIA_2, false, null));
+        asisteService.crearAsistencia(new AsisteDTO(null, "40002", curso, DIA_1, false, null));
+        // Un resumen desfasado (p. ej. tras una carga directa en asiste)
+        jdbcTemplate.update("UPDATE asistencia_resumen SET presentes = 0, total = 7");
+
+        mockMvc.perform(post("/api/admin/asistencia-resumen/reconstruir").header("Authorization", bearer("docente1")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/admin/asistencia-resumen/reconstruir").header("Authorization", bearer("admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cursos").value(1))
+                .andExpect(jsonPath("$.filas").value(2));
+
+        resumenDelCurso()
+                .andExpect(jsonPath("$[*].presentes").value(contains(1, 0)))
+                .andExpect(jsonPath("$[*].total").value(contains(2, 1)));
+        assertThat(asistenciaResumenRepository.count()).isEqualTo(2);
+    }
+
+    private ResultActions resumenDelCurso() throws Exception {
+        return mockMvc.perform(get("/api/asistencias/curso/{id}/resumen", curso).header("Authorization", bearer("docente1")))
+                .andExpect(status().isOk());
+    }
+
+    private static Estudiante estudiante(String ci) {
+        return Estudiante.builder().ci(ci).nombre("Nombre " + ci).apellido("Apellido")
+                .email(ci + "@correo.com").fechaNac(LocalDate.of(2000, 1, 1)).build();
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.example.ProyectoTaw.controller;
+
+import com.example.ProyectoTaw.model.BloqueoEdicion;
+import com.example.ProyectoTaw.model.Curso;
+import com.example.ProyectoTaw.repository.BloqueoEdicionRepository;
+import com.example.ProyectoTaw.repository.CursoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bloqueos de edición: conflicto inmediato entre usuarios, reentrada, recuperación al vencer, renovar y liberar.
+ */
+class BloqueoEdicionIT extends ApiIntegracionBase {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private BloqueoEdicionRepository bloqueoEdicionRepository;
+
+    private Integer idCurso;
+
+    @BeforeEach
+    void setUp() {
+        idCurso = cursoRepository.save(Curso.builder()
+                .dia("Lunes").horario("08:00 a 09:30").semestre("1").anio(2025).build()).getIdCurso();
+    }
+
+    @Test
+    void otroUsuarioRecibe409SinEsperarYElTitularReentra() throws Exception {
+        String token = adquirir("admin").get("token");
+
+        mockMvc.perform(post("/api/cursos/{id}/bloqueo", idCurso).header("Authorization", bearer("docente1")))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post("/api/cursos/{id}/bloqueo", idCurso).header("Authorization", bearer("admin")))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.token").value(token));
+        mockMvc.perform(put("/api/bloqueos/{token}", token).header("Authorization", bearer("docente1")))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void alVencerOtroUsuarioLoRecuperaConUnTokenNuevo() throws Exception {
+        String tokenAdmin = adquirir("admin").get("token");
+        BloqueoEdicion bloqueo = bloqueoEdicionRepository.findByToken(tokenAdmin).orElseThrow();
+        bloqueo.setExpiraEn(LocalDateTime.now().minusSeconds(1));
+        bloqueoEdicionRepository.save(bloqueo);
+
+        String tokenDocente = adquirir("docente1").get("token");
+        assertThat(tokenDocente).isNotEqualTo(tokenAdmin);
+
+        // El token anterior ya no sirve para renovar; liberarlo es idempotente
+        mockMvc.perform(put("/api/bloqueos/{token}", tokenAdmin).header("Authorization", bearer("admin")))
+                .andExpect(status().isConflict());
+        mockMvc.perform(delete("/api/bloqueos/{token}", tokenAdmin).header("Authorization", bearer("admin")))
+                .andExpect(status().isNoContent());
+        assertThat(bloqueoEdicionRepository.findByToken(tokenDocente)).isPresent();
+    }
+
+    @Test
+    void renovarYLiberar() throws Exception {
+        String token = adquirir("admin").get("token");
+
+        mockMvc.perform(put("/api/bloqueos/{token}", token).param("ttlSegundos", "600")
+                        .header("Authorization", bearer("admin")))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/bloqueos/{token}", token).param("ttlSegundos", "0")
+                        .header("Authorization", bearer("admin")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/bloqueos/{token}", token).header("Authorization", bearer("admin")))
+                .andExpect(status().isNoContent());
+
+        assertThat(bloqueoEdicionRepository.count()).isZero();
+        adquirir("docente1");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> adquirir(String username) throws Exception {
+        String respuesta = mockMvc.perform(post("/api/cursos/{id}/bloqueo", idCurso)
+                        .header("Authorization", bearer(username)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(respuesta, Map.class);
+    }
+
+}
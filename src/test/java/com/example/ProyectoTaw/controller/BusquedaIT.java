@@ -0,0 +1,117 @@
+package com.example.ProyectoTaw.controller;
+
+import com.example.ProyectoTaw.dto.EstudianteDTO;
+import com.example.ProyectoTaw.model.Docente;
+import com.example.ProyectoTaw.model.Estudiante;
+import com.example.ProyectoTaw.model.Materia;
+import com.example.ProyectoTaw.repository.DocenteRepository;
+import com.example.ProyectoTaw.repository.EstudianteRepository;
+import com.example.ProyectoTaw.repository.MateriaRepository;
+import com.example.ProyectoTaw.service.IEstudianteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/search con el esquema de Flyway (columnas texto_busqueda de V5): sin tildes ni mayúsculas, orden por
+ * relevancia, filtro por tipo y paginación. En H2 se prueba la consulta LIKE de BusquedaRepository; la de
+ * PostgreSQL (texto completo y trigramas) usa las mismas columnas.
+ */
+class BusquedaIT extends ApiIntegracionBase {
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    @Autowired
+    private DocenteRepository docenteRepository;
+
+    @Autowired
+    private MateriaRepository materiaRepository;
+
+    @Autowired
+    private IEstudianteService estudianteService;
+
+    @BeforeEach
+    void setUp() {
+        estudianteRepository.save(estudiante("1001", "José", "Pérez", "jose@correo.com"));
+        estudianteRepository.save(estudiante("1002", "Ana", "López", "anaperez@correo.com"));
+        estudianteRepository.save(estudiante("1003", "María", "Núñez", "maria@correo.com"));
+        docenteRepository.save(Docente.builder().ciDocente("2001").nombre("Carlos").apellido("Pérez")
+                .email("carlos@correo.com").departamento("Sistemas").nroEmpleado("E-1")
+                .fechaNac(LocalDate.of(1980, 1, 1)).build());
+        materiaRepository.save(Materia.builder().nombre("Programación I").codigoUnico("PROG-101")
+                .descripcion("Introducción a la programación").build());
+    }
+
+    @Test
+    void ordenaPorRelevanciaSinDistinguirTildesNiMayusculas() throws Exception {
+        // "perez" al inicio de una palabra puntúa más que dentro de otra (anaperez@...); empates por tipo e id
+        mockMvc.perform(get("/api/search").param("q", "PÉREZ").header("Authorization", bearer("docente1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElementos").value(3))
+                .andExpect(jsonPath("$.contenido[*].id").value(contains("2001", "1001", "1002")))
+                .andExpect(jsonPath("$.contenido[0].tipo").value("DOCENTE"))
+                .andExpect(jsonPath("$.contenido[1].titulo").value("José Pérez"));
+
+        mockMvc.perform(get("/api/search").param("q", "nunez").header("Authorization", bearer("docente1")))
+                .andExpect(jsonPath("$.contenido[*].id").value(contains("1003")));
+
+        // Cada palabra puede ser un prefijo y todas deben aparecer
+        mockMvc.perform(get("/api/search").param("q", "jos pe").header("Authorization", bearer("docente1")))
+                .andExpect(jsonPath("$.contenido[*].id").value(contains("1001")));
+    }
+
+    @Test
+    void filtraPorTipoYPagina() throws Exception {
+        mockMvc.perform(get("/api/search").param("q", "perez").param("tipos", "ESTUDIANTE")
+                        .param("page", "1").param("size", "1").header("Authorization", bearer("admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElementos").value(2))
+                .andExpect(jsonPath("$.hayMas").value(false))
+                .andExpect(jsonPath("$.contenido[*].id").value(contains("1002")));
+
+        Long idMateria = materiaRepository.findByCodigoUnico("PROG-101").orElseThrow().getId();
+        mockMvc.perform(get("/api/search").param("q", "programacion").param("tipos", "MATERIA,DOCENTE")
+                        .header("Authorization", bearer("admin")))
+                .andExpect(jsonPath("$.contenido[*].id").value(contains(idMateria.toString())))
+                .andExpect(jsonPath("$.contenido[0].detalle").value("PROG-101"));
+
+        // Menos de dos caracteres: página vacía, sin consultar
+        mockMvc.perform(get("/api/search").param("q", "p").header("Authorization", bearer("admin")))
+                .andExpect(jsonPath("$.totalElementos").value(0));
+    }
+
+    @Test
+    void laColumnaGeneradaSigueLosCambiosYLaUsaBuscarEstudiantes() throws Exception {
+        Estudiante jose = estudianteRepository.findByCi("1001").orElseThrow();
+        jose.setApellido("Pereira");
+        estudianteRepository.save(jose);
+
+        mockMvc.perform(get("/api/search").param("q", "jose perez").header("Authorization", bearer("docente1")))
+                .andExpect(jsonPath("$.totalElementos").value(0));
+
+        assertThat(estudianteService.buscarEstudiantes("JOSÉ pereira"))
+                .extracting(EstudianteDTO::getCi)
+                .containsExactly("1001");
+    }
+
+    @Test
+    void sinAutenticarDevuelve401() throws Exception {
+        mockMvc.perform(get("/api/search").param("q", "perez"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private static Estudiante estudiante(String ci, String nombre, String apellido, String email) {
+        return Estudiante.builder().ci(ci).nombre(nombre).apellido(apellido).email(email)
+                .fechaNac(LocalDate.of(2000, 1, 1)).build();
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.example.ProyectoTaw.controller;
+
+import com.example.ProyectoTaw.model.Curso;
+import com.example.ProyectoTaw.model.Estudiante;
+import com.example.ProyectoTaw.model.RegistraNota;
+import com.example.ProyectoTaw.repository.CursoRepository;
+import com.example.ProyectoTaw.repository.EstudianteRepository;
+import com.example.ProyectoTaw.repository.RegistraNotaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/notas/curso/{id}/estadisticas: agregados calculados en la base (PERCENTILE_CONT en H2) y caché por
+ * curso que solo se invalida cuando cambia una nota de ese curso.
+ */
+class EstadisticasNotasIT extends ApiIntegracionBase {
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private RegistraNotaRepository registraNotaRepository;
+
+    private Integer curso;
+    private Integer otroCurso;
+
+    @BeforeEach
+    void setUp() {
+
+        curso = cursoRepository.save(curso("Lunes")).getIdCurso();
+        otroCurso = cursoRepository.save(curso("Martes")).getIdCurso();
+        double[] parcial1 = {40, 60, 80, 100};
+        for (int i = 0; i < parcial1.length; i++) {
+            nota("5000" + i, curso, "Parcial 1", parcial1[i]);
+        }
+        nota("50000", curso, "Parcial 2", 55);
+        nota("50000", otroCurso, "Parcial 1", 90);
+    }
+
+    @Test
+    void calculaAgregadosPorCursoYPorEvaluacion() throws Exception {
+        mockMvc.perform(get("/api/notas/curso/{id}/estadisticas", curso).header("Authorization", bearer("docente1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.general.cantidad").value(5))
+                .andExpect(jsonPath("$.general.promedio").value(67.0))
+                .andExpect(jsonPath("$.general.aprobados").value(4))
+                .andExpect(jsonPath("$.general.tasaAprobacion").value(80.0))
+                .andExpect(jsonPath("$.porEvaluacion[*].evaluacion").value(contains("Parcial 1", "Parcial 2")))
+                .andExpect(jsonPath("$.porEvaluacion[0].mediana").value(70.0))
+                .andExpect(jsonPath("$.porEvaluacion[0].percentil25").value(55.0))
+                .andExpect(jsonPath("$.porEvaluacion[0].minima").value(40.0))
+                .andExpect(jsonPath("$.porEvaluacion[0].maxima").value(100.0))
+                .andExpect(jsonPath("$.porEvaluacion[0].histograma").value(contains(0, 0, 0, 0, 1, 0, 1, 0, 1, 1)));
+
+        mockMvc.perform(get("/api/notas/curso/{id}/estadisticas", -1).header("Authorization", bearer("docente1")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void unaNotaNuevaSoloInvalidaLasEstadisticasDeSuCurso() throws Exception {
+        mockMvc.perform(get("/api/notas/curso/{id}/estadisticas", curso).header("Authorization", bearer("docente1")));
+        mockMvc.perform(get("/api/notas/curso/{id}/estadisticas", otroCurso).header("Authorization", bearer("docente1")));
+
+        mockMvc.perform(post("/api/notas").header("Authorization", bearer("docente1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"estudianteId\":\"50001\",\"cursoId\":" + curso
+                                + ",\"evaluacion\":\"Parcial 2\",\"nota\":45.0,\"fecha\":\"" + LocalDate.now() + "\"}"))
+                .andExpect(status().isCreated());
+
+        assertThat(cacheManager.getCache("estadisticasNotasCurso").get(curso)).isNull();
+        assertThat(cacheManager.getCache("estadisticasNotasCurso").get(otroCurso)).isNotNull();
+        mockMvc.perform(get("/api/notas/curso/{id}/estadisticas", curso).header("Authorization", bearer("docente1")))
+                .andExpect(jsonPath("$.general.cantidad").value(6))
+                .andExpect(jsonPath("$.porEvaluacion[1].cantidad").value(2))
+                .andExpect(jsonPath("$.porEvaluacion[1].promedio").value(50.0));
+    }
+
+    private static Curso curso(String dia) {
+        return Curso.builder().dia(dia).horario("08:00-10:00").semestre("1").anio(2026).build();
+    }
+
+    private void nota(String ci, Integer cursoId, String evaluacion, double nota) {
+        Estudiante estudiante = estudianteRepository.findByCi(ci).orElseGet(() -> estudianteRepository.save(
+                Estudiante.builder().ci(ci).nombre("Nombre").apellido("Apellido").email(ci + "@correo.com")
+                        .fechaNac(LocalDate.of(2000, 1, 1)).build()));
+        registraNotaRepository.save(RegistraNota.builder().estudiante(estudiante)
+                .curso(cursoRepository.getReferenceById(cursoId)).evaluacion(evaluacion).nota(nota)
+                .fecha(LocalDate.now()).build());
+    }
+
+}
@@ -0,0 +1,199 @@
+package com.example.ProyectoTaw.controller;
+
+import com.example.ProyectoTaw.dto.InscritoDTO;
+import com.example.ProyectoTaw.model.Curso;
+import com.example.ProyectoTaw.model.Docente;
+import com.example.ProyectoTaw.model.Estudiante;
+import com.example.ProyectoTaw.model.Imparte;
+import com.example.ProyectoTaw.model.Inscrito;
+import com.example.ProyectoTaw.model.Materia;
+import com.example.ProyectoTaw.model.SeDa;
+import com.example.ProyectoTaw.repository.CursoRepository;
+import com.example.ProyectoTaw.repository.DocenteRepository;
+import com.example.ProyectoTaw.repository.EstudianteRepository;
+import com.example.ProyectoTaw.repository.ImparteRepository;
+import com.example.ProyectoTaw.repository.InscritoRepository;
+import com.example.ProyectoTaw.repository.MateriaRepository;
+import com.example.ProyectoTaw.repository.SeDaRepository;
+import com.example.ProyectoTaw.service.IInscritoService;
+import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Choques de horario y tramos libres. Cursos del lunes: ALG 08:00 a 10:00, FIS 09:00 a 11:00, QUIM 10:00 a 12:00
+ * (empieza cuando termina ALG: no se superponen). El docente 70001 dicta ALG y el estudiante 70002 está inscrito en ALG.
+ */
+class HorariosIT extends ApiIntegracionBase {
+
+    private static final String DOCENTE = "70001";
+    private static final String ESTUDIANTE = "70002";
+
+    @Autowired
+    private DocenteRepository docenteRepository;
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    @Autowired
+    private MateriaRepository materiaRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private SeDaRepository seDaRepository;
+
+    @Autowired
+    private ImparteRepository imparteRepository;
+
+    @Autowired
+    private InscritoRepository inscritoRepository;
+
+    @Autowired
+    private IInscritoService inscritoService;
+
+    private Integer cursoFis;
+    private Integer cursoQuim;
+
+    @BeforeEach
+    void setUp() {
+
+        Docente docente = docenteRepository.save(Docente.builder().ciDocente(DOCENTE).nombre("Ana").apellido("Vera")
+                .email("ana@correo.com").fechaNac(LocalDate.of(1980, 1, 1)).departamento("Ciencias").nroEmpleado("1").build());
+        Estudiante estudiante = estudianteRepository.save(Estudiante.builder().ci(ESTUDIANTE).nombre("Luis").apellido("Rojas")
+                .email("luis@correo.com").fechaNac(LocalDate.of(2001, 5, 5)).build());
+        seDa("ALG", "08:00 a 10:00");
+        cursoFis = seDa("FIS", "09:00 a 11:00");
+        cursoQuim = seDa("QUIM", "10:00 a 12:00");
+        Materia alg = materiaRepository.findByCodigoUnico("ALG").orElseThrow();
+        materiaRepository.save(Materia.builder().nombre("Materia BIO").codigoUnico("BIO").descripcion("Descripción").build());
+        imparteRepository.save(Imparte.builder().docente(docente).materia(alg).build());
+        inscritoRepository.save(Inscrito.builder().estudiante(estudiante).materia(alg).fechaInscripcion(LocalDate.now()).build());
+    }
+
+    @Test
+    void rechazaCursosSuperpuestosDelMismoDocenteOEstudiante() throws Exception {
+        mockMvc.perform(escribir(post("/api/materiadocente"), "{\"materiaCodigoUnico\":\"FIS\",\"ciDocente\":\"" + DOCENTE + "\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("Choque de horario: el docente " + DOCENTE + " ya tiene ALG")));
+        mockMvc.perform(escribir(post("/api/materiadocente"), "{\"materiaCodigoUnico\":\"QUIM\",\"ciDocente\":\"" + DOCENTE + "\"}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(escribir(post("/api/inscripciones"), inscripcion("FIS")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("el estudiante " + ESTUDIANTE)));
+        mockMvc.perform(escribir(post("/api/inscripciones"), inscripcion("QUIM")))
+                .andExpect(status().isCreated());
+
+        // Dar QUIM también en el curso de FIS choca con ALG para su docente; BIO no tiene docentes ni inscritos
+        mockMvc.perform(escribir(post("/api/materiacurso"), "{\"materiaCodigoUnico\":\"QUIM\",\"cursoIdCurso\":" + cursoFis + "}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("el docente " + DOCENTE + " ya tiene ALG")));
+        mockMvc.perform(escribir(post("/api/materiacurso"), "{\"materiaCodigoUnico\":\"BIO\",\"cursoIdCurso\":" + cursoFis + "}"))
+                .andExpect(status().isCreated());
+        // Mover QUIM a las 09:30 del lunes la superpone con ALG; al miércoles no
+        mockMvc.perform(escribir(put("/api/cursos/{id}", cursoQuim),
+                        "{\"dia\":\"Lunes\",\"horario\":\"09:30 a 11:30\",\"semestre\":\"1\",\"anio\":2026}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("QUIM en el curso " + cursoQuim + " (Lunes 09:30 a 11:30)")));
+        mockMvc.perform(escribir(put("/api/cursos/{id}", cursoQuim),
+                        "{\"dia\":\"Miércoles\",\"horario\":\"09:30 a 11:30\",\"semestre\":\"1\",\"anio\":2026}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void dosInscripcionesSimultaneasDelMismoEstudianteNoChocan() throws Exception {
+        // FIS y QUIM se superponen de 10:00 a 11:00: por separado cualquiera de las dos es válida
+        String ci = "70003";
+        estudianteRepository.save(Estudiante.builder().ci(ci).nombre("Eva").apellido("Soto")
+                .email("eva@correo.com").fechaNac(LocalDate.of(2002, 2, 2)).build());
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(2);
+        try {
+            List<CompletableFuture<Boolean>> inscripciones = List.of(
+                    CompletableFuture.supplyAsync(() -> inscribir(salida, ci, "FIS"), hilos),
+                    CompletableFuture.supplyAsync(() -> inscribir(salida, ci, "QUIM"), hilos));
+            salida.countDown();
+            CompletableFuture.allOf(inscripciones.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+
+            assertThat(inscripciones.stream().filter(CompletableFuture::join).count()).isEqualTo(1);
+        } finally {
+            hilos.shutdownNow();
+        }
+        assertThat(inscritoRepository.findByEstudianteCi(ci)).hasSize(1);
+    }
+
+    @Test
+    void buscaTramosLibresDeLaJornada() throws Exception {
+        mockMvc.perform(get("/api/horarios/libres").param("dia", "lunes").header("Authorization", bearer("docente1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].inicio").value(contains("07:00", "12:00")))
+                .andExpect(jsonPath("$[*].fin").value(contains("08:00", "22:00")));
+
+        mockMvc.perform(get("/api/horarios/libres").param("dia", "Lunes").param("estudiantes", ESTUDIANTE)
+                        .param("duracion", "90").header("Authorization", bearer("docente1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].inicio").value(contains("10:00")))
+                .andExpect(jsonPath("$[0].minutos").value(720));
+
+        mockMvc.perform(get("/api/horarios/libres").param("dia", "Domingo").param("docentes", DOCENTE)
+                        .header("Authorization", bearer("docente1")))
+                .andExpect(jsonPath("$[*].minutos").value(contains(900)));
+        mockMvc.perform(get("/api/horarios/libres").param("dia", "Feriado").header("Authorization", bearer("docente1")))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Crea la materia y un curso del lunes en que se da; devuelve el ID del curso
+    private Integer seDa(String codigo, String horario) {
+        Materia materia = materiaRepository.save(Materia.builder().nombre("Materia " + codigo).codigoUnico(codigo)
+                .descripcion("Descripción").build());
+        Curso curso = cursoRepository.save(Curso.builder().dia("Lunes").horario(horario).semestre("1").anio(2026).build());
+        seDaRepository.save(SeDa.builder().materia(materia).curso(curso).build());
+        return curso.getIdCurso();
+    }
+
+    private boolean inscribir(CountDownLatch salida, String ci, String codigo) {
+        try {
+            salida.await();
+            inscritoService.crearInscripcion(InscritoDTO.builder().estudianteCi(ci).materiaCodigoUnico(codigo)
+                    .fechaInscripcion(LocalDate.now()).build());
+            return true;
+        } catch (BusinessException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String inscripcion(String codigo) {
+        return "{\"estudianteCi\":\"" + ESTUDIANTE + "\",\"materiaCodigoUnico\":\"" + codigo
+                + "\",\"fechaInscripcion\":\"" + LocalDate.now() + "\"}";
+    }
+
+    private MockHttpServletRequestBuilder escribir(MockHttpServletRequestBuilder peticion, String json) {
+        return peticion.header("Authorization", bearer("admin")).contentType(MediaType.APPLICATION_JSON).content(json);
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.example.ProyectoTaw.controller;
+
+import com.example.ProyectoTaw.model.Estudiante;
+import com.example.ProyectoTaw.repository.DocenteRepository;
+import com.example.ProyectoTaw.repository.EstudianteRepository;
+import com.example.ProyectoTaw.repository.MateriaRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Importación CSV con lotes de 2 filas, para que haya duplicados dentro de un lote y entre lotes.
+ */
+@SpringBootTest(properties = "app.importacion.tamano-lote=2")
+class ImportacionIT extends ApiIntegracionBase {
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    @Autowired
+    private DocenteRepository docenteRepository;
+
+    @Autowired
+    private MateriaRepository materiaRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        estudianteRepository.save(Estudiante.builder().ci("80001").nombre("Luis").apellido("Rojas")
+                .email("luis@correo.com").fechaNac(LocalDate.of(2000, 1, 1)).build());
+    }
+
+    @Test
+    void importaEstudiantesYInformaCadaFila() throws Exception {
+        String csv = """
+                email,ci,nombre,apellido,fechaNac
+                ana@correo.com,80002,Ana,"Pérez, de la Vega",2001-02-03
+                otro@correo.com,80001,Otro,Apellido,2000-01-01
+
+                eva@spam.com,80003,Eva,Mena,2000-01-01
+                copia@correo.com,80002,Copia,Apellido,2000-01-01
+                rio@correo.com,80005,Rio,Luna,2002-02-02
+                mar@correo.com,80005,Mar,Sur,2002-02-02
+                sol@correo.com,80004,Sol,Paz,03/04/2001
+                incompleta,80006
+                """;
+        String informe = mockMvc.perform(post("/api/admin/importaciones/estudiantes")
+                        .header("Authorization", bearer("admin")).contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        List<JsonNode> filas = informe.lines().map(this::leer).toList();
+        assertThat(filas).extracting(f -> f.get("fila").asInt()).containsExactly(2, 3, 5, 6, 7, 8, 9, 10);
+        assertThat(filas).extracting(f -> f.get("estado").asText()).containsExactly(
+                "INSERTADA", "RECHAZADA", "RECHAZADA", "RECHAZADA", "INSERTADA", "RECHAZADA", "RECHAZADA", "RECHAZADA");
+        assertThat(filas).extracting(f -> f.get("mensaje").asText(null)).containsExactly(
+                null,
+                "Ya existe un estudiante con la CI: 80001",
+                "El dominio de email 'spam.com' no está permitido.",
+                "Ya existe un estudiante con la CI: 80002", // Insertada en el lote anterior
+                null,
+                "Repite la CI de la fila 7: 80005",
+                "fechaNac: '03/04/2001' no es una fecha yyyy-MM-dd",
+                "Se esperaban 5 columnas y llegaron 2.");
+
+        assertThat(estudianteRepository.findById("80002").orElseThrow().getApellido()).isEqualTo("Pérez, de la Vega");
+        assertThat(estudianteRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void importaMateriasConInformeCsvYValidaLaCabecera() throws Exception {
+        mockMvc.perform(get("/api/materias").header("Authorization", bearer("admin")))
+                .andExpect(jsonPath("$", hasSize(0))); // Queda en caché: la importación debe invalidarla
+
+        String csv = "codigoUnico,NOMBREMATERIA,descripcion\r\n"
+                + "MAT1,Matemática I,\"Límites y \"\"derivadas\"\"\r\nen una variable\"\r\n"
+                + "F,Física,Mecánica\r\n";
+        mockMvc.perform(post("/api/admin/importaciones/materias").param("formato", "csv")
+                        .header("Authorization", bearer("admin")).contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(content().string("fila,clave,estado,mensaje\r\n"
+                        + "2,MAT1,INSERTADA,\r\n"
+                        + "4,F,RECHAZADA,codigoUnico: El código debe tener entre 3 y 20 caracteres\r\n"));
+        assertThat(materiaRepository.findByCodigoUnico("MAT1").orElseThrow().getDescripcion())
+                .isEqualTo("Límites y \"derivadas\"\r\nen una variable");
+        mockMvc.perform(get("/api/materias").header("Authorization", bearer("admin")))
+                .andExpect(jsonPath("$[*].codigoUnico").value(contains("MAT1")));
+
+        mockMvc.perform(post("/api/admin/importaciones/docentes")
+                        .header("Authorization", bearer("admin")).contentType("text/csv").content("ci,nombre,correo\n1,a,b\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("Columna desconocida: 'correo'")));
+        mockMvc.perform(post("/api/admin/importaciones/docentes")
+                        .header("Authorization", bearer("docente1")).contentType("text/csv").content(csv))
+                .andExpect(status().isForbidden());
+        assertThat(docenteRepository.count()).isZero();
+    }
+
+    private JsonNode leer(String linea) {
+        try {
+            return objectMapper.readTree(linea);
+        } catch (Exception e) {
+            throw new IllegalStateException(linea, e);
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.example.ProyectoTaw.controller;
+
+import com.example.ProyectoTaw.model.Curso;
+import com.example.ProyectoTaw.model.Docente;
+import com.example.ProyectoTaw.model.Estudiante;
+import com.example.ProyectoTaw.model.Imparte;
+import com.example.ProyectoTaw.model.Inscrito;
+import com.example.ProyectoTaw.model.Materia;
+import com.example.ProyectoTaw.model.SeDa;
+import com.example.ProyectoTaw.repository.CursoRepository;
+import com.example.ProyectoTaw.repository.DocenteRepository;
+import com.example.ProyectoTaw.repository.EstudianteRepository;
+import com.example.ProyectoTaw.repository.ImparteRepository;
+import com.example.ProyectoTaw.repository.InscritoRepository;
+import com.example.ProyectoTaw.repository.MateriaRepository;
+import com.example.ProyectoTaw.repository.SeDaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/inscripciones/estudiante/{ci}/detalle. El estudiante está inscrito en ALG, que dictan dos docentes en
+ * tres cursos (seis filas por la combinación docente x curso), en FIS, con un curso y sin docentes, y en QUIM,
+ * sin ninguno de los dos.
+ */
+class InscripcionDetalleIT extends ApiIntegracionBase {
+
+    private static final String CI = "80001";
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    @Autowired
+    private DocenteRepository docenteRepository;
+
+    @Autowired
+    private MateriaRepository materiaRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private SeDaRepository seDaRepository;
+
+    @Autowired
+    private ImparteRepository imparteRepository;
+
+    @Autowired
+    private InscritoRepository inscritoRepository;
+
+    private Integer[] cursosAlg;
+    private Integer cursoFis;
+
+    @BeforeEach
+    void setUp() {
+        Estudiante estudiante = estudianteRepository.save(Estudiante.builder().ci(CI).nombre("Luis").apellido("Rojas")
+                .email("luis@correo.com").fechaNac(LocalDate.of(2001, 5, 5)).build());
+        Materia alg = materia("ALG");
+        Materia fis = materia("FIS");
+        Materia quim = materia("QUIM");
+        cursosAlg = new Integer[]{curso(alg, "Lunes"), curso(alg, "Martes"), curso(alg, "Miércoles")};
+        cursoFis = curso(fis, "Jueves");
+        imparteRepository.save(Imparte.builder().docente(docente("80012", "Vera")).materia(alg).build());
+        imparteRepository.save(Imparte.builder().docente(docente("80011", "Soto")).materia(alg).build());
+        inscribir(estudiante, alg, LocalDate.of(2026, 3, 1));
+        inscribir(estudiante, fis, LocalDate.of(2026, 3, 2));
+        inscribir(estudiante, quim, LocalDate.of(2026, 3, 3));
+    }
+
+    @Test
+    void agrupaDocentesYCursosSinRepetirlos() throws Exception {
+        mockMvc.perform(get("/api/inscripciones/estudiante/{ci}/detalle", CI).header("Authorization", bearer("admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].materiaCodigoUnico").value(contains("ALG", "FIS", "QUIM")))
+                .andExpect(jsonPath("$[0].docentes[*].ci").value(contains("80011", "80012")))
+                .andExpect(jsonPath("$[0].docentes[*].apellido").value(contains("Soto", "Vera")))
+                .andExpect(jsonPath("$[0].cursos[*].idCurso").value(contains(cursosAlg)))
+                .andExpect(jsonPath("$[0].cursos[*].dia").value(contains("Lunes", "Martes", "Miércoles")))
+                .andExpect(jsonPath("$[1].docentes").value(empty()))
+                .andExpect(jsonPath("$[1].cursos[*].idCurso").value(contains(cursoFis)))
+                .andExpect(jsonPath("$[2].docentes").value(empty()))
+                .andExpect(jsonPath("$[2].cursos").value(empty()));
+    }
+
+    private Materia materia(String codigo) {
+        return materiaRepository.save(Materia.builder().nombre("Materia " + codigo).codigoUnico(codigo)
+                .descripcion("Descripción").build());
+    }
+
+    private Integer curso(Materia materia, String dia) {
+        Curso curso = cursoRepository.save(Curso.builder().dia(dia).horario("08:00 a 10:00").semestre("1").anio(2026).build());
+        seDaRepository.save(SeDa.builder().materia(materia).curso(curso).build());
+        return curso.getIdCurso();
+    }
+
+    private Docente docente(String ci, String apellido) {
+        return docenteRepository.save(Docente.builder().ciDocente(ci).nombre("Ana").apellido(apellido)
+                .email(ci + "@correo.com").fechaNac(LocalDate.of(1980, 1, 1)).departamento("Ciencias")
+                .nroEmpleado(ci).build());
+    }
+
+    private void inscribir(Estudiante estudiante, Materia materia, LocalDate fecha) {
+        inscritoRepository.save(Inscrito.builder().estudiante(estudiante).materia(materia).fechaInscripcion(fecha).build());
+    }
+}
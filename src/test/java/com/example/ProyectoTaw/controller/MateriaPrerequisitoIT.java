@@ -0,0 +1,100 @@
+package com.example.ProyectoTaw.controller;
+
+import com.example.ProyectoTaw.dto.MateriaPrerequisitoDTO;
+import com.example.ProyectoTaw.model.Materia;
+import com.example.ProyectoTaw.model.MateriaPrerequisito;
+import com.example.ProyectoTaw.repository.MateriaPrerequisitoRepository;
+import com.example.ProyectoTaw.repository.MateriaRepository;
+import com.example.ProyectoTaw.service.IMateriaPrerequisitoService;
+import com.example.ProyectoTaw.validator.GlobalExceptionHandler.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Altas de prerrequisitos: dos relaciones simultáneas que solo juntas cierran un ciclo, y la invalidación del
+ * grafo en caché tras el commit. Relaciones previas: B requiere C y D requiere A.
+ */
+class MateriaPrerequisitoIT extends ApiIntegracionBase {
+
+    @Autowired
+    private IMateriaPrerequisitoService prerequisitoService;
+
+    @Autowired
+    private MateriaRepository materiaRepository;
+
+    @Autowired
+    private MateriaPrerequisitoRepository prerequisitoRepository;
+
+    private Long a;
+    private Long b;
+    private Long c;
+    private Long d;
+
+    @BeforeEach
+    void setUp() {
+        a = materia("PRA");
+        b = materia("PRB");
+        c = materia("PRC");
+        d = materia("PRD");
+        prerequisitoRepository.save(MateriaPrerequisito.builder().materiaId(b).prerequisitoId(c).build());
+        prerequisitoRepository.save(MateriaPrerequisito.builder().materiaId(d).prerequisitoId(a).build());
+    }
+
+    @Test
+    void dosAltasSimultaneasNoCierranUnCiclo() throws Exception {
+        // A requiere B y C requiere D son válidas por separado; juntas forman A -> B -> C -> D -> A
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(2);
+        try {
+            List<CompletableFuture<Boolean>> altas = List.of(
+                    CompletableFuture.supplyAsync(() -> crear(salida, a, b), hilos),
+                    CompletableFuture.supplyAsync(() -> crear(salida, c, d), hilos));
+            salida.countDown();
+            CompletableFuture.allOf(altas.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+
+            assertThat(altas.stream().filter(CompletableFuture::join).count()).isEqualTo(1);
+        } finally {
+            hilos.shutdownNow();
+        }
+        assertThat(prerequisitoRepository.count()).isEqualTo(3);
+        assertThat(prerequisitoService.obtenerGrafo().enCiclo()).isEmpty();
+    }
+
+    @Test
+    void elAltaInvalidaElGrafoEnCache() {
+        assertThat(prerequisitoService.obtenerGrafo().requiere(a, c)).isFalse(); // Queda en caché
+
+        prerequisitoService.crearRelacion(MateriaPrerequisitoDTO.builder().materiaId(a).prerequisitoId(b).build());
+
+        assertThat(prerequisitoService.obtenerGrafo().requiere(a, c)).isTrue();
+    }
+
+    private boolean crear(CountDownLatch salida, Long materiaId, Long prerequisitoId) {
+        try {
+            salida.await();
+            prerequisitoService.crearRelacion(MateriaPrerequisitoDTO.builder()
+                    .materiaId(materiaId).prerequisitoId(prerequisitoId).build());
+            return true;
+        } catch (BusinessException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Long materia(String codigo) {
+        return materiaRepository.save(Materia.builder().nombre("Materia " + codigo).codigoUnico(codigo)
+                .descripcion("Descripción").build()).getId();
+    }
+}
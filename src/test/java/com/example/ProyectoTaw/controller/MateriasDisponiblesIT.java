@@ -0,0 +1,175 @@
+package com.example.ProyectoTaw.controller;
+
+import com.example.ProyectoTaw.model.Curso;
+import com.example.ProyectoTaw.model.Estudiante;
+import com.example.ProyectoTaw.model.Inscrito;
+import com.example.ProyectoTaw.model.Materia;
+import com.example.ProyectoTaw.model.MateriaPrerequisito;
+import com.example.ProyectoTaw.model.RegistraNota;
+import com.example.ProyectoTaw.model.SeDa;
+import com.example.ProyectoTaw.repository.CursoRepository;
+import com.example.ProyectoTaw.repository.EstudianteRepository;
+import com.example.ProyectoTaw.repository.InscritoRepository;
+import com.example.ProyectoTaw.repository.MateriaPrerequisitoRepository;
+import com.example.ProyectoTaw.repository.MateriaRepository;
+import com.example.ProyectoTaw.repository.RegistraNotaRepository;
+import com.example.ProyectoTaw.repository.SeDaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Materias disponibles y la misma regla al inscribir. Plan: PROG requiere INTRO; ALG requiere INTRO y PROG;
+ * FIS y QUIM no tienen prerrequisitos. El estudiante aprobó INTRO (promedio 60), reprobó FIS (30)
+ * y está inscrito en QUIM desde hoy.
+ */
+class MateriasDisponiblesIT extends ApiIntegracionBase {
+
+    private static final String CI = "30011";
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    @Autowired
+    private MateriaRepository materiaRepository;
+
+    @Autowired
+    private MateriaPrerequisitoRepository prerequisitoRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private SeDaRepository seDaRepository;
+
+    @Autowired
+    private RegistraNotaRepository registraNotaRepository;
+
+    @Autowired
+    private InscritoRepository inscritoRepository;
+
+    @BeforeEach
+    void setUp() {
+
+        Estudiante estudiante = estudianteRepository.save(Estudiante.builder().ci(CI).nombre("Luis").apellido("Rojas")
+                .email("luis@correo.com").fechaNac(LocalDate.of(2001, 5, 5)).build());
+        Materia intro = materia("INTRO");
+        Materia prog = materia("PROG");
+        Materia alg = materia("ALG");
+        Materia fis = materia("FIS");
+        Materia quim = materia("QUIM");
+        requiere(prog, intro);
+        requiere(alg, intro);
+        requiere(alg, prog);
+
+        Curso cursoIntro = cursoRepository.save(Curso.builder().dia("Lunes").horario("08:00-10:00")
+                .semestre("1").anio(2026).build());
+        Curso cursoFis = cursoRepository.save(Curso.builder().dia("Martes").horario("08:00-10:00")
+                .semestre("1").anio(2026).build());
+        seDaRepository.save(SeDa.builder().materia(intro).curso(cursoIntro).build());
+        seDaRepository.save(SeDa.builder().materia(fis).curso(cursoFis).build());
+        nota(estudiante, cursoIntro, "Parcial 1", 40.0);
+        nota(estudiante, cursoIntro, "Parcial 2", 80.0);
+        nota(estudiante, cursoFis, "Parcial 1", 30.0);
+        inscritoRepository.save(Inscrito.builder().estudiante(estudiante).materia(quim)
+                .fechaInscripcion(LocalDate.now()).build());
+    }
+
+    @Test
+    void listaSoloLasMateriasConPrerequisitosAprobadosNoAprobadasNiEnCurso() throws Exception {
+        mockMvc.perform(get("/api/inscripciones/estudiante/{ci}/materias-disponibles", CI)
+                        .header("Authorization", bearer("admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].codigoUnico").value(containsInAnyOrder("PROG", "FIS")));
+
+        mockMvc.perform(get("/api/inscripciones/estudiante/{ci}/materias-disponibles", "no-existe")
+                        .header("Authorization", bearer("admin")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void inscribirExigeLosPrerequisitosDirectosAprobados() throws Exception {
+        mockMvc.perform(post("/api/inscripciones").header("Authorization", bearer("admin"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(inscripcion("ALG")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("PROG")));
+
+        mockMvc.perform(post("/api/inscripciones").header("Authorization", bearer("admin"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(inscripcion("PROG")))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void inscribirRechazaUnaMateriaAprobadaOEnCurso() throws Exception {
+        mockMvc.perform(post("/api/inscripciones").header("Authorization", bearer("admin"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(inscripcion("INTRO", LocalDate.now())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("No se puede inscribir en INTRO: el estudiante ya la aprobó."));
+
+        // Otra fecha: no es la misma inscripción, pero QUIM sigue en curso
+        mockMvc.perform(post("/api/inscripciones").header("Authorization", bearer("admin"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(inscripcion("QUIM", LocalDate.now().minusDays(7))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("QUIM: el estudiante tiene otra inscripción en ella")));
+
+        // FIS reprobada sigue disponible, igual que en el listado
+        mockMvc.perform(post("/api/inscripciones").header("Authorization", bearer("admin"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(inscripcion("FIS", LocalDate.now())))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void laVentanaEnCursoSeMideDesdeLaFechaDeLaInscripcion() throws Exception {
+        // A 5 meses antes de la inscripción de hoy la ventana aún la alcanza
+        mockMvc.perform(post("/api/inscripciones").header("Authorization", bearer("admin"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(inscripcion("QUIM", LocalDate.now().minusMonths(5))))
+                .andExpect(status().isBadRequest());
+
+        // Una inscripción del semestre anterior (7 meses antes) ya no choca con la de hoy
+        mockMvc.perform(post("/api/inscripciones").header("Authorization", bearer("admin"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(inscripcion("QUIM", LocalDate.now().minusMonths(7))))
+                .andExpect(status().isCreated());
+    }
+
+    private Materia materia(String codigo) {
+        return materiaRepository.save(Materia.builder().nombre("Materia " + codigo).codigoUnico(codigo)
+                .descripcion("Descripción").build());
+    }
+
+    private void requiere(Materia materia, Materia prerequisito) {
+        prerequisitoRepository.save(MateriaPrerequisito.builder().materiaId(materia.getId())
+                .prerequisitoId(prerequisito.getId()).build());
+    }
+
+    private void nota(Estudiante estudiante, Curso curso, String evaluacion, double nota) {
+        registraNotaRepository.save(RegistraNota.builder().estudiante(estudiante).curso(curso)
+                .evaluacion(evaluacion).nota(nota).fecha(LocalDate.now()).build());
+    }
+
+    private static String inscripcion(String codigo) {
+        return inscripcion(codigo, LocalDate.now());
+    }
+
+    private static String inscripcion(String codigo, LocalDate fecha) {
+        return "{\"estudianteCi\":\"" + CI + "\",\"materiaCodigoUnico\":\"" + codigo
+                + "\",\"fechaInscripcion\":\"" + fecha + "\"}";
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.example.ProyectoTaw.controller;
+
+import com.example.ProyectoTaw.repository.DocenteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * En un alta de docente el servicio y DocenteValidator buscan la misma CI y el mismo email: la segunda búsqueda
+ * de cada una sale del memo de la petición y queda contada en consultas.memo.ahorradas.
+ */
+class MemoConsultasIT extends ApiIntegracionBase {
+
+    private static final String DOCENTE = """
+            {"ci":"90001","nombre":"Marta","apellido":"Salas","email":"marta@uni.edu",
+             "fechaNac":"1985-04-12","departamento":"Sistemas","nroEmpleado":"12"}
+            """;
+
+    @Autowired
+    private DocenteRepository docenteRepository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+    }
+
+    @Test
+    void elAltaConsultaCadaClaveUnaVezYElMemoNoSobreviveALaPeticion() throws Exception {
+        double ci = ahorradas("docente");
+        double email = ahorradas("docente.email");
+
+        mockMvc.perform(post("/api/docentes").header("Authorization", bearer("docente1"))
+                        .contentType(MediaType.APPLICATION_JSON).content(DOCENTE))
+                .andExpect(status().isCreated());
+        assertThat(ahorradas("docente") - ci).isEqualTo(1);
+        assertThat(ahorradas("docente.email") - email).isEqualTo(1);
+
+        // Otra petición vuelve a la base: el "no existe" guardado en el alta anterior ya no vale
+        mockMvc.perform(post("/api/docentes").header("Authorization", bearer("docente1"))
+                        .contentType(MediaType.APPLICATION_JSON).content(DOCENTE))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Ya existe un Docente con la CI: 90001"));
+        assertThat(docenteRepository.count()).isEqualTo(1);
+    }
+
+    private double ahorradas(String consulta) {
+        Counter contador = registry.find("consultas.memo.ahorradas")
+                .tags("endpoint", "POST /api/docentes", "consulta", consulta).counter();
+        return contador != null ? contador.count() : 0;
+    }
+
+}
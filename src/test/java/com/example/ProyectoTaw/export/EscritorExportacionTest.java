@@ -0,0 +1,40 @@
+package com.example.ProyectoTaw.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EscritorExportacionTest {
+
+    @Test
+    void ndjsonEscribeUnObjetoPorLinea() throws Exception {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (EscritorExportacion escritor = new EscritorExportacion(FormatoExportacion.NDJSON, salida, "id", "fecha", "presente", "nota")) {
+            escritor.fila(1L, LocalDate.of(2025, 3, 10), true, 85.5);
+            escritor.fila(2L, null, false, null);
+        }
+
+        assertThat(salida.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"id\":1,\"fecha\":\"2025-03-10\",\"presente\":true,\"nota\":85.5}\n" +
+                "{\"id\":2,\"fecha\":null,\"presente\":false,\"nota\":null}\n");
+    }
+
+    @Test
+    void csvEscribeCabeceraYEscapaComasYComillas() throws Exception {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (EscritorExportacion escritor = new EscritorExportacion(FormatoExportacion.CSV, salida, "ci", "nombre")) {
+            escritor.fila("123", "Pérez, \"Juan\"");
+            escritor.fila("456", null);
+            assertThat(escritor.getFilas()).isEqualTo(2);
+        }
+
+        assertThat(salida.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "ci,nombre\r\n" +
+                "123,\"Pérez, \"\"Juan\"\"\"\r\n" +
+                "456,\r\n");
+    }
+}
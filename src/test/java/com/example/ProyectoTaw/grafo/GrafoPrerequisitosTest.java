@@ -0,0 +1,84 @@
+package com.example.ProyectoTaw.grafo;
+
+import com.example.ProyectoTaw.model.MateriaPrerequisito;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GrafoPrerequisitosTest {
+
+    @Test
+    void cierreTransitivoNivelesYCiclos() {
+        // 3 requiere 2, 2 requiere 1, 4 requiere 1 y 3
+        GrafoPrerequisitos grafo = GrafoPrerequisitos.de(List.of(
+                relacion(1, 3, 2), relacion(2, 2, 1), relacion(3, 4, 1), relacion(4, 4, 3)));
+
+        assertThat(grafo.requiere(3, 1)).isTrue();
+        assertThat(grafo.requiere(1, 3)).isFalse();
+        assertThat(grafo.prerequisitos(4)).containsExactly(1L, 2L, 3L);
+        assertThat(grafo.prerequisitosDirectos(4)).containsExactly(1L, 3L);
+        assertThat(grafo.nivel(1)).isZero();
+        assertThat(grafo.nivel(4)).isEqualTo(3);
+        assertThat(grafo.nivel(99)).isZero();
+
+        assertThat(grafo.creariaCiclo(1, 4)).isTrue();
+        assertThat(grafo.creariaCiclo(2, 3)).isTrue();
+        assertThat(grafo.creariaCiclo(4, 2)).isFalse();
+        assertThat(grafo.cadena(4, 2)).containsExactly(4L, 3L, 2L);
+        assertThatThrownBy(() -> grafo.conRelacion(5, 1, 4)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void losCambiosIncrementalesCoincidenConReconstruirDesdeCero() {
+        Random random = new Random(42);
+        List<MateriaPrerequisito> relaciones = new ArrayList<>();
+        GrafoPrerequisitos grafo = GrafoPrerequisitos.de(List.of());
+        for (long id = 1; id <= 300; id++) {
+            long materia = 1 + random.nextInt(60);
+            long prerequisito = 1 + random.nextInt(60);
+            if (grafo.creariaCiclo(materia, prerequisito)) {
+                continue;
+            }
+            grafo = grafo.conRelacion(id, materia, prerequisito);
+            relaciones.add(relacion(id, materia, prerequisito));
+            if (id % 7 == 0) { // Quitar una relación cualquiera
+                MateriaPrerequisito quitada = relaciones.remove(random.nextInt(relaciones.size()));
+                grafo = grafo.sinRelacion(quitada.getId());
+            }
+        }
+
+        GrafoPrerequisitos reconstruido = GrafoPrerequisitos.de(relaciones);
+        assertThat(grafo.enCiclo()).isEmpty();
+        for (long m = 1; m <= 60; m++) {
+            assertThat(grafo.prerequisitos(m)).as("prerrequisitos de %d", m).isEqualTo(reconstruido.prerequisitos(m));
+            assertThat(grafo.nivel(m)).as("nivel de %d", m).isEqualTo(reconstruido.nivel(m));
+            for (long p : grafo.prerequisitosDirectos(m)) {
+                assertThat(grafo.nivel(p)).isLessThan(grafo.nivel(m));
+            }
+        }
+    }
+
+    @Test
+    void toleraCiclosYaGuardados() {
+        GrafoPrerequisitos grafo = GrafoPrerequisitos.de(List.of(
+                relacion(1, 1, 2), relacion(2, 2, 1), relacion(3, 3, 1), relacion(4, 5, 4)));
+
+        assertThat(grafo.enCiclo()).containsExactly(1L, 2L);
+        assertThat(grafo.nivel(3)).isEqualTo(-1);
+        assertThat(grafo.nivel(5)).isEqualTo(1);
+        assertThat(grafo.requiere(3, 2)).isTrue();
+
+        // Quitar una relación del ciclo lo deja acíclico
+        assertThat(grafo.sinRelacion(2).enCiclo()).isEmpty();
+        assertThat(grafo.sinRelacion(2).nivel(3)).isEqualTo(2);
+    }
+
+    private static MateriaPrerequisito relacion(long id, long materiaId, long prerequisitoId) {
+        return MateriaPrerequisito.builder().id(id).materiaId(materiaId).prerequisitoId(prerequisitoId).build();
+    }
+}
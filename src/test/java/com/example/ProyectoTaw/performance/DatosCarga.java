@@ -0,0 +1,50 @@
+package com.example.ProyectoTaw.performance;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Volumen y nombres de los datos sintéticos de las pruebas de carga.
+ *
+ * Lo comparten DatosCargaInicializador (que los inserta al arrancar con el perfil carga) y las simulaciones
+ * de Gatling (que los recorren), así ambos lados derivan CI, usuarios y códigos de la misma regla sin
+ * tener que consultarlos por la API.
+ */
+final class DatosCarga {
+
+    static final int ESTUDIANTES = 2000;
+    static final int MATERIAS = 40;
+    /** Un docente por curso: el docente k dicta el curso k. */
+    static final int CURSOS = 40;
+    static final String PASSWORD = "carga123";
+
+    private DatosCarga() {
+    }
+
+    static String ciEstudiante(int i) {
+        return String.valueOf(8_000_000 + i);
+    }
+
+    static String usuarioEstudiante(int i) {
+        return "est" + ciEstudiante(i);
+    }
+
+    static String ciDocente(int k) {
+        return String.valueOf(7_000_000 + k);
+    }
+
+    static String usuarioDocente(int k) {
+        return "doc" + ciDocente(k);
+    }
+
+    static String codigoMateria(int m) {
+        return String.format("CARGA-%02d", m + 1);
+    }
+
+    /** Estudiantes del curso k: los de índice i con i % CURSOS == k (50 por curso con los valores por defecto). */
+    static List<String> estudiantesDeCurso(int k) {
+        return IntStream.iterate(k, i -> i < ESTUDIANTES, i -> i + CURSOS)
+                .mapToObj(DatosCarga::ciEstudiante)
+                .toList();
+    }
+}
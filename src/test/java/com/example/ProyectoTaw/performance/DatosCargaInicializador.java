@@ -0,0 +1,126 @@
+package com.example.ProyectoTaw.performance;
+
+import com.example.ProyectoTaw.model.Curso;
+import com.example.ProyectoTaw.model.Docente;
+import com.example.ProyectoTaw.model.Estudiante;
+import com.example.ProyectoTaw.model.Materia;
+import com.example.ProyectoTaw.registro.model.Rol;
+import com.example.ProyectoTaw.registro.model.Usuario;
+import com.example.ProyectoTaw.registro.repository.RolRepository;
+import com.example.ProyectoTaw.registro.repository.UsuarioRepository;
+import com.example.ProyectoTaw.repository.CursoRepository;
+import com.example.ProyectoTaw.repository.DocenteRepository;
+import com.example.ProyectoTaw.repository.EstudianteRepository;
+import com.example.ProyectoTaw.repository.MateriaRepository;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Carga los datos sintéticos de DatosCarga al arrancar con el perfil carga (mvn -B verify -Pgatling).
+ *
+ * Crea estudiantes, docentes, materias y cursos, y una cuenta de login por cada estudiante (ROL_ESTUDIANTE)
+ * y docente (ROL_DOCENTE), todas con la contraseña DatosCarga.PASSWORD. Como el orden respecto a
+ * DatabaseInitializer no está garantizado, crea los roles si todavía no existen.
+ */
+@Component
+@Profile("carga")
+public class DatosCargaInicializador implements CommandLineRunner {
+
+    private final RolRepository rolRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final EstudianteRepository estudianteRepository;
+    private final DocenteRepository docenteRepository;
+    private final MateriaRepository materiaRepository;
+    private final CursoRepository cursoRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    public DatosCargaInicializador(RolRepository rolRepository, UsuarioRepository usuarioRepository,
+                                   EstudianteRepository estudianteRepository, DocenteRepository docenteRepository,
+                                   MateriaRepository materiaRepository, CursoRepository cursoRepository,
+                                   PasswordEncoder passwordEncoder) {
+        this.rolRepository = rolRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.estudianteRepository = estudianteRepository;
+        this.docenteRepository = docenteRepository;
+        this.materiaRepository = materiaRepository;
+        this.cursoRepository = cursoRepository;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    @Transactional
+    public void run(String... args) {
+        if (estudianteRepository.existsById(DatosCarga.ciEstudiante(0))) {
+            return;
+        }
+        Rol rolEstudiante = rol(Rol.NombreRol.ROL_ESTUDIANTE);
+        Rol rolDocente = rol(Rol.NombreRol.ROL_DOCENTE);
+        rol(Rol.NombreRol.ROL_ADMIN);
+        // BCrypt es deliberadamente lento: una sola codificación compartida por todas las cuentas sintéticas
+        String password = passwordEncoder.encode(DatosCarga.PASSWORD);
+
+        List<Estudiante> estudiantes = new ArrayList<>();
+        List<Usuario> usuarios = new ArrayList<>();
+        for (int i = 0; i < DatosCarga.ESTUDIANTES; i++) {
+            String ci = DatosCarga.ciEstudiante(i);
+            estudiantes.add(new Estudiante(ci, "Estudiante", "Carga " + i, ci + "@carga.edu",
+                    LocalDate.of(2000, 1, 1).plusDays(i % 1500), null));
+            usuarios.add(usuario(DatosCarga.usuarioEstudiante(i), "u" + ci + "@carga.edu", password, rolEstudiante));
+        }
+
+        List<Docente> docentes = new ArrayList<>();
+        List<Curso> cursos = new ArrayList<>();
+        for (int k = 0; k < DatosCarga.CURSOS; k++) {
+            String ci = DatosCarga.ciDocente(k);
+            docentes.add(new Docente(ci, "Docente", "Carga " + k, ci + "@carga.edu",
+                    LocalDate.of(1975, 1, 1), "Carga", String.valueOf(k + 1), null));
+            usuarios.add(usuario(DatosCarga.usuarioDocente(k), "u" + ci + "@carga.edu", password, rolDocente));
+            cursos.add(new Curso(null, "Lunes", String.format("%02d:00 a %02d:00", 7 + k % 12, 8 + k % 12),
+                    "Semestre Carga", LocalDate.now().getYear(), null));
+        }
+
+        List<Materia> materias = new ArrayList<>();
+        for (int m = 0; m < DatosCarga.MATERIAS; m++) {
+            materias.add(Materia.builder()
+                    .nombre("Materia de carga " + (m + 1))
+                    .codigoUnico(DatosCarga.codigoMateria(m))
+                    .descripcion("Materia sintética para pruebas de carga")
+                    .build());
+        }
+
+        estudianteRepository.saveAll(estudiantes);
+        docenteRepository.saveAll(docentes);
+        materiaRepository.saveAll(materias);
+        // Se insertan en orden: el curso k recibe el k-ésimo ID más bajo, que es como lo ubican las simulaciones
+        cursoRepository.saveAll(cursos);
+        usuarioRepository.saveAll(usuarios);
+        System.out.println("Datos de carga creados: " + estudiantes.size() + " estudiantes, "
+                + docentes.size() + " docentes, " + materias.size() + " materias, " + cursos.size() + " cursos");
+    }
+
+    private Rol rol(Rol.NombreRol nombre) {
+        return rolRepository.findByNombre(nombre)
+                .orElseGet(() -> rolRepository.save(new Rol(null, nombre)));
+    }
+
+    private Usuario usuario(String username, String email, String password, Rol rol) {
+        Usuario usuario = new Usuario();
+        usuario.setUsername(username);
+        usuario.setPassword(password);
+        usuario.setEmail(email);
+        usuario.setNombre(username);
+        usuario.setApellido("Carga");
+        usuario.setActivo(true);
+        usuario.setRoles(new HashSet<>(Set.of(rol)));
+        return usuario;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.ProyectoTaw.performance;
+
+import io.gatling.javaapi.core.FeederBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpRequestActionBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static io.gatling.javaapi.core.CoreDsl.StringBody;
+import static io.gatling.javaapi.core.CoreDsl.constantUsersPerSec;
+import static io.gatling.javaapi.core.CoreDsl.listFeeder;
+import static io.gatling.javaapi.core.CoreDsl.rampUsersPerSec;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+/**
+ * Apertura de inscripciones: los estudiantes entran en rampa, consultan el catálogo de materias
+ * (/api/materias) y se inscriben en dos (/api/inscripciones).
+ *
+ * Cada estudiante sembrado se usa una sola vez (feeder en cola), por lo que el total de usuarios inyectados
+ * no puede superar DatosCarga.ESTUDIANTES. Llegadas por segundo: -Dcarga.inscripciones.pico (15 por defecto).
+ */
+public class InscripcionPicoSimulation extends Simulation {
+
+    private static final int PICO_POR_SEGUNDO = Integer.getInteger("carga.inscripciones.pico", 15);
+    private static final int RAMPA_S = 30;
+    private static final int MESETA_S = 60;
+
+    private ConfigurableApplicationContext aplicacion;
+
+    private final FeederBuilder<Object> estudiantes = listFeeder(IntStream.range(0, DatosCarga.ESTUDIANTES)
+            .mapToObj(i -> Map.<String, Object>of(
+                    "username", DatosCarga.usuarioEstudiante(i),
+                    "ci", DatosCarga.ciEstudiante(i),
+                    "materia1", DatosCarga.codigoMateria(i % DatosCarga.MATERIAS),
+                    "materia2", DatosCarga.codigoMateria((i + 7) % DatosCarga.MATERIAS)))
+            .toList()).queue();
+
+    private final ScenarioBuilder inscripcion = scenario("Apertura de inscripciones")
+            .feed(estudiantes)
+            .exec(ProtocoloCarga.login())
+            .exec(http("catálogo de materias")
+                    .get("/api/materias?page=0&size=20")
+                    .header("Authorization", ProtocoloCarga.BEARER)
+                    .check(status().is(200)))
+            .pause(1, 3)
+            .exec(http("materia por código")
+                    .get("/api/materias/by-codigo/#{materia1}")
+                    .header("Authorization", ProtocoloCarga.BEARER)
+                    .check(status().is(200)))
+            .exec(inscribirse("#{materia1}"))
+            .pause(1, 2)
+            .exec(inscribirse("#{materia2}"))
+            .exec(http("mis inscripciones")
+                    .get("/api/inscripciones/estudiante/#{ci}/detalle")
+                    .header("Authorization", ProtocoloCarga.BEARER)
+                    .check(status().is(200)));
+
+    {
+        setUp(inscripcion.injectOpen(
+                rampUsersPerSec(1).to(PICO_POR_SEGUNDO).during(RAMPA_S),
+                constantUsersPerSec(PICO_POR_SEGUNDO).during(MESETA_S)))
+                .protocols(ProtocoloCarga.protocolo())
+                .assertions(ProtocoloCarga.slo("catálogo de materias", "materia por código", "inscribirse",
+                        "mis inscripciones"));
+    }
+
+    @Override
+    public void before() {
+        aplicacion = ProtocoloCarga.arrancarAplicacion();
+    }
+
+    @Override
+    public void after() {
+        ProtocoloCarga.detenerAplicacion(aplicacion);
+    }
+
+    private static HttpRequestActionBuilder inscribirse(String materia) {
+        return http("inscribirse")
+                .post("/api/inscripciones")
+                .header("Authorization", ProtocoloCarga.BEARER)
+                .body(StringBody("{\"estudianteCi\":\"#{ci}\",\"materiaCodigoUnico\":\"" + materia
+                        + "\",\"fechaInscripcion\":\"" + LocalDate.now() + "\"}"))
+                .check(status().is(201));
+    }
+}
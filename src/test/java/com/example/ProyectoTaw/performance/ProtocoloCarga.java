@@ -0,0 +1,134 @@
+package com.example.ProyectoTaw.performance;
+
+import com.example.ProyectoTaw.ProyectoTawApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gatling.javaapi.core.Assertion;
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.gatling.javaapi.core.CoreDsl.StringBody;
+import static io.gatling.javaapi.core.CoreDsl.details;
+import static io.gatling.javaapi.core.CoreDsl.exec;
+import static io.gatling.javaapi.core.CoreDsl.global;
+import static io.gatling.javaapi.core.CoreDsl.jsonPath;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+/**
+ * Piezas comunes de las simulaciones: arranque de la aplicación, protocolo HTTP, login JWT por
+ * /api/auth/login y umbrales (SLO).
+ *
+ * Sin -Dcarga.baseUrl cada simulación levanta la aplicación en su before() con el perfil carga (H2 y datos
+ * de DatosCargaInicializador) y la cierra en after(), aunque falle algún SLO. Con -Dcarga.baseUrl se ataca
+ * una instancia ya levantada con los mismos datos. Los umbrales se cambian igual, p. ej. -Dcarga.p95Ms=300.
+ */
+final class ProtocoloCarga {
+
+    private static final String BASE_URL_EXTERNA = System.getProperty("carga.baseUrl");
+    static final String BASE_URL = BASE_URL_EXTERNA != null ? BASE_URL_EXTERNA : "http://localhost:8081";
+
+    /** p95/p99 de las peticiones de negocio (ms). */
+    static final int P95_MS = Integer.getInteger("carga.p95Ms", 500);
+    static final int P99_MS = Integer.getInteger("carga.p99Ms", 1000);
+    /** El login verifica BCrypt, que es lento a propósito: umbral propio. */
+    static final int LOGIN_P95_MS = Integer.getInteger("carga.loginP95Ms", 1500);
+    static final double MAX_ERRORES_PCT = 1.0;
+
+    /** Cabecera de las peticiones autenticadas, con el JWT que guarda login(). */
+    static final String BEARER = "Bearer #{token}";
+
+    private ProtocoloCarga() {
+    }
+
+    /** Levanta la aplicación con el perfil carga en el puerto 8081, salvo que se indique -Dcarga.baseUrl. */
+    static ConfigurableApplicationContext arrancarAplicacion() {
+        if (BASE_URL_EXTERNA != null) {
+            return null;
+        }
+        SpringApplication aplicacion = new SpringApplication(ProyectoTawApplication.class);
+        aplicacion.setAdditionalProfiles("carga");
+        return aplicacion.run("--server.port=8081");
+    }
+
+    static void detenerAplicacion(ConfigurableApplicationContext aplicacion) {
+        if (aplicacion != null) {
+            aplicacion.close();
+        }
+    }
+
+    static HttpProtocolBuilder protocolo() {
+        return http.baseUrl(BASE_URL)
+                .acceptHeader("application/json")
+                .contentTypeHeader("application/json")
+                .shareConnections();
+    }
+
+    /** Login con el usuario de la sesión (atributo "username"); guarda el JWT en "token". */
+    static ChainBuilder login() {
+        return exec(http("login")
+                .post("/api/auth/login")
+                .body(StringBody("{\"username\":\"#{username}\",\"password\":\"" + DatosCarga.PASSWORD + "\"}"))
+                .check(status().is(200))
+                .check(jsonPath("$.token").saveAs("token")));
+    }
+
+    /** p95, p99 y porcentaje de errores de cada petición de negocio, más el umbral del login y el global. */
+    static List<Assertion> slo(String... peticiones) {
+        List<Assertion> assertions = new ArrayList<>();
+        for (String peticion : peticiones) {
+            assertions.add(details(peticion).responseTime().percentile(95.0).lt(P95_MS));
+            assertions.add(details(peticion).responseTime().percentile(99.0).lt(P99_MS));
+            assertions.add(details(peticion).failedRequests().percent().lt(MAX_ERRORES_PCT));
+        }
+        assertions.add(details("login").responseTime().percentile(95.0).lt(LOGIN_P95_MS));
+        assertions.add(global().failedRequests().percent().lt(MAX_ERRORES_PCT));
+        return assertions;
+    }
+
+    /**
+     * IDs de los cursos sembrados, en orden (el índice k corresponde al curso k de DatosCarga).
+     * Se resuelven una vez en before() con el usuario admin (de DatabaseInitializer), fuera de las métricas.
+     */
+    static List<Integer> idsDeCursos() {
+        HttpClient cliente = HttpClient.newHttpClient();
+        ObjectMapper mapper = new ObjectMapper();
+        try {
+            HttpResponse<String> login = cliente.send(HttpRequest.newBuilder(URI.create(BASE_URL + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"admin123\"}"))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            String token = mapper.readTree(login.body()).get("token").asText();
+
+            HttpResponse<String> pagina = cliente.send(HttpRequest.newBuilder(URI.create(
+                            BASE_URL + "/api/cursos?page=0&size=" + DatosCarga.CURSOS + "&sort=idCurso"))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            List<Integer> ids = new ArrayList<>();
+            for (JsonNode curso : mapper.readTree(pagina.body()).get("contenido")) {
+                ids.add(curso.get("idCurso").asInt());
+            }
+            if (ids.size() < DatosCarga.CURSOS) {
+                throw new IllegalStateException("Se esperaban " + DatosCarga.CURSOS + " cursos sembrados y hay "
+                        + ids.size() + ". ¿La aplicación arrancó con el perfil carga?");
+            }
+            return ids;
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo consultar la aplicación en " + BASE_URL, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.ProyectoTaw.performance;
+
+import io.gatling.javaapi.core.FeederBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Session;
+import io.gatling.javaapi.core.Simulation;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static io.gatling.javaapi.core.CoreDsl.StringBody;
+import static io.gatling.javaapi.core.CoreDsl.exec;
+import static io.gatling.javaapi.core.CoreDsl.listFeeder;
+import static io.gatling.javaapi.core.CoreDsl.rampUsers;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+/**
+ * Cierre de notas: los docentes cargan una evaluación completa de su curso nota por nota (/api/notas)
+ * y al terminar revisan el listado paginado.
+ *
+ * Cada usuario virtual registra una evaluación propia ("Evaluación N", N = id del usuario virtual), así no
+ * choca con la regla de una nota por estudiante, curso y evaluación. Docentes que cargan notas en total:
+ * -Dcarga.notas.docentes (3 por curso por defecto).
+ */
+public class RegistroNotasSimulation extends Simulation {
+
+    private static final int DOCENTES = Integer.getInteger("carga.notas.docentes", DatosCarga.CURSOS * 3);
+    private static final int DURACION_S = 60;
+
+    private ConfigurableApplicationContext aplicacion;
+    private List<Integer> idsDeCursos;
+
+    private final FeederBuilder<Object> docentes = listFeeder(IntStream.range(0, DatosCarga.CURSOS)
+            .mapToObj(k -> Map.<String, Object>of(
+                    "username", DatosCarga.usuarioDocente(k),
+                    "curso", k,
+                    "estudiantes", DatosCarga.estudiantesDeCurso(k)))
+            .toList()).circular();
+
+    private final ScenarioBuilder cierreDeNotas = scenario("Cierre de notas")
+            .feed(docentes)
+            .exec(session -> session.set("idCurso", idsDeCursos.get(session.getInt("curso"))))
+            .exec(ProtocoloCarga.login())
+            .exec(http("curso")
+                    .get("/api/cursos/#{idCurso}")
+                    .header("Authorization", ProtocoloCarga.BEARER)
+                    .check(status().is(200)))
+            .foreach(session -> session.getList("estudiantes"), "ci").on(
+                    exec(http("registrar nota")
+                            .post("/api/notas")
+                            .header("Authorization", ProtocoloCarga.BEARER)
+                            .body(StringBody(RegistroNotasSimulation::cuerpoNota))
+                            .check(status().is(201)))
+                    .pause(Duration.ofMillis(200), Duration.ofMillis(500)))
+            .exec(http("notas: primera página")
+                    .get("/api/notas?page=0&size=50")
+                    .header("Authorization", ProtocoloCarga.BEARER)
+                    .check(status().is(200)));
+
+    {
+        setUp(cierreDeNotas.injectOpen(rampUsers(DOCENTES).during(DURACION_S)))
+                .protocols(ProtocoloCarga.protocolo())
+                .assertions(ProtocoloCarga.slo("curso", "registrar nota", "notas: primera página"));
+    }
+
+    @Override
+    public void before() {
+        aplicacion = ProtocoloCarga.arrancarAplicacion();
+        idsDeCursos = ProtocoloCarga.idsDeCursos();
+    }
+
+    @Override
+    public void after() {
+        ProtocoloCarga.detenerAplicacion(aplicacion);
+    }
+
+    private static String cuerpoNota(Session session) {
+        String ci = session.getString("ci");
+        return "{\"estudianteId\":\"" + ci + "\",\"cursoId\":" + session.getInt("idCurso")
+                + ",\"evaluacion\":\"Evaluación " + session.userId()
+                + "\",\"nota\":" + (40 + Integer.parseInt(ci) % 61)
+                + ",\"fecha\":\"" + LocalDate.now() + "\"}";
+    }
+}
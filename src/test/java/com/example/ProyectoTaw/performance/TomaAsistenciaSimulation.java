@@ -0,0 +1,103 @@
+package com.example.ProyectoTaw.performance;
+
+import io.gatling.javaapi.core.FeederBuilder;
+import io.gatling.javaapi.core.OpenInjectionStep;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Session;
+import io.gatling.javaapi.core.Simulation;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.gatling.javaapi.core.CoreDsl.StringBody;
+import static io.gatling.javaapi.core.CoreDsl.listFeeder;
+import static io.gatling.javaapi.core.CoreDsl.nothingFor;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.core.CoreDsl.stressPeakUsers;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+/**
+ * Inicio de clases: en cada bloque horario todos los docentes toman lista casi a la vez (ráfaga de
+ * /api/asistencias/lote con los ~50 estudiantes de su curso) y revisan la asistencia registrada.
+ *
+ * Cada bloque registra un día distinto, así todos los lotes insertan filas nuevas en lugar de actualizar
+ * las del bloque anterior. Número de bloques: -Dcarga.asistencia.bloques (4 por defecto).
+ */
+public class TomaAsistenciaSimulation extends Simulation {
+
+    private static final int BLOQUES = Integer.getInteger("carga.asistencia.bloques", 4);
+    private static final int RAFAGA_S = 10;
+    private static final int ENTRE_BLOQUES_S = 20;
+
+    /** Cuerpo "asistencias" del lote de cada curso: CI del estudiante → presente (uno de cada siete ausente). */
+    private static final List<String> ASISTENCIAS_POR_CURSO = IntStream.range(0, DatosCarga.CURSOS)
+            .mapToObj(k -> DatosCarga.estudiantesDeCurso(k).stream()
+                    .map(ci -> "\"" + ci + "\":" + (Integer.parseInt(ci) % 7 != 0))
+                    .collect(Collectors.joining(",", "{", "}")))
+            .toList();
+
+    private ConfigurableApplicationContext aplicacion;
+    private List<Integer> idsDeCursos;
+
+    private final FeederBuilder<Object> docentes = listFeeder(IntStream.range(0, DatosCarga.CURSOS)
+            .mapToObj(k -> Map.<String, Object>of("username", DatosCarga.usuarioDocente(k), "curso", k))
+            .toList()).circular();
+
+    private final ScenarioBuilder tomaDeLista = scenario("Toma de lista al inicio de clase")
+            .feed(docentes)
+            .exec(session -> session.set("idCurso", idsDeCursos.get(session.getInt("curso"))))
+            .exec(ProtocoloCarga.login())
+            .exec(http("curso")
+                    .get("/api/cursos/#{idCurso}")
+                    .header("Authorization", ProtocoloCarga.BEARER)
+                    .check(status().is(200)))
+            .pause(2, 5)
+            .exec(http("tomar lista")
+                    .post("/api/asistencias/lote")
+                    .header("Authorization", ProtocoloCarga.BEARER)
+                    .body(StringBody(TomaAsistenciaSimulation::cuerpoLote))
+                    .check(status().is(200)))
+            .pause(1)
+            .exec(http("asistencias del curso")
+                    .get("/api/asistencias/curso/#{idCurso}")
+                    .header("Authorization", ProtocoloCarga.BEARER)
+                    .check(status().is(200)));
+
+    {
+        List<OpenInjectionStep> rafagas = new ArrayList<>();
+        for (int b = 0; b < BLOQUES; b++) {
+            if (b > 0) {
+                rafagas.add(nothingFor(ENTRE_BLOQUES_S));
+            }
+            rafagas.add(stressPeakUsers(DatosCarga.CURSOS).during(RAFAGA_S));
+        }
+        setUp(tomaDeLista.injectOpen(rafagas))
+                .protocols(ProtocoloCarga.protocolo())
+                .assertions(ProtocoloCarga.slo("curso", "tomar lista", "asistencias del curso"));
+    }
+
+    @Override
+    public void before() {
+        aplicacion = ProtocoloCarga.arrancarAplicacion();
+        idsDeCursos = ProtocoloCarga.idsDeCursos();
+    }
+
+    @Override
+    public void after() {
+        ProtocoloCarga.detenerAplicacion(aplicacion);
+    }
+
+    private static String cuerpoLote(Session session) {
+        // Un día por bloque: los usuarios 1..CURSOS son el bloque 0 (hoy), los siguientes el bloque 1 (ayer), ...
+        long bloque = (session.userId() - 1) / DatosCarga.CURSOS;
+        return "{\"cursoIdCurso\":" + session.getInt("idCurso")
+                + ",\"fecha\":\"" + LocalDate.now().minusDays(bloque)
+                + "\",\"asistencias\":" + ASISTENCIAS_POR_CURSO.get(session.getInt("curso")) + "}";
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.ProyectoTaw.registro.security;
+
+import com.example.ProyectoTaw.registro.service.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtPrincipalCacheTest {
+
+    private JwtPrincipalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new JwtPrincipalCache(true, Duration.ofSeconds(30), 100, 86_400_000L);
+    }
+
+    @Test
+    void construyeElUsuarioDesdeLosClaimsYLoCachea() {
+        Claims claims = claims("docente1", System.currentTimeMillis() - 5_000);
+        UserDetailsImpl usuario = UserDetailsImpl.build(claims);
+
+        assertThat(usuario.getId()).isEqualTo(7L);
+        assertThat(usuario.getEmail()).isEqualTo("docente1@uni.edu");
+        assertThat(usuario.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_DOCENTE");
+
+        cache.guardar("token-a", usuario, claims);
+        assertThat(cache.obtener("token-a")).isSameAs(usuario);
+    }
+
+    @Test
+    void revocarTokenSoloAfectaAEseToken() {
+        Claims claims = claims("docente1", System.currentTimeMillis() - 5_000);
+        cache.guardar("token-a", UserDetailsImpl.build(claims), claims);
+        cache.guardar("token-b", UserDetailsImpl.build(claims), claims);
+
+        cache.revocarToken("token-a");
+
+        assertThat(cache.obtener("token-a")).isNull();
+        assertThat(cache.estaRevocado("token-a", claims)).isTrue();
+        assertThat(cache.obtener("token-b")).isNotNull();
+    }
+
+    @Test
+    void revocarUsuarioRechazaSusTokensAnterioresPeroNoLosNuevos() {
+        Claims anterior = claims("docente1", System.currentTimeMillis() - 5_000);
+        Claims deOtroUsuario = claims("estudiante1", System.currentTimeMillis() - 5_000);
+        cache.guardar("token-a", UserDetailsImpl.build(anterior), anterior);
+
+        cache.revocarUsuario("docente1");
+
+        assertThat(cache.obtener("token-a")).isNull();
+        assertThat(cache.estaRevocado("token-a", anterior)).isTrue();
+        assertThat(cache.estaRevocado("token-c", deOtroUsuario)).isFalse();
+        assertThat(cache.estaRevocado("token-n", claims("docente1", System.currentTimeMillis() + 2_000))).isFalse();
+    }
+
+    @Test
+    void tokenSinIdNoSeConstruyeDesdeLosClaims() {
+        Claims claims = claims("docente1", System.currentTimeMillis());
+        claims.remove("id");
+
+        assertThat(UserDetailsImpl.build(claims)).isNull();
+    }
+
+    private Claims claims(String username, long emitidoEn) {
+        Claims claims = Jwts.claims().setSubject(username)
+                .setIssuedAt(new Date(emitidoEn))
+                .setExpiration(new Date(emitidoEn + 60_000));
+        claims.put("roles", List.of("ROLE_DOCENTE"));
+        claims.put("id", 7);
+        claims.put("email", username + "@uni.edu");
+        return claims;
+    }
+}
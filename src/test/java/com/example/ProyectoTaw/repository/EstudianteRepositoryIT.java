@@ -10,7 +10,8 @@ import java.time.LocalDate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@DataJpaTest
+// Esquema de Hibernate (create-drop); las migraciones las prueban PlanesConsulta*IT
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop"})
 class EstudianteRepositoryIT {
     @Autowired
     private EstudianteRepository repo;
@@ -0,0 +1,303 @@
+package com.example.ProyectoTaw.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Comprueba con EXPLAIN que las consultas de los repositorios usan los índices de las migraciones
+ * (db/migration) y no recorren enteras las tablas grandes.
+ *
+ * Cada caso llama a un método de repositorio, captura el SQL que genera Hibernate (CapturaSql) y pide al motor
+ * el plan de ese SQL con los mismos parámetros. Las tablas se siembran con suficientes filas para que el
+ * planificador prefiera un índice cuando lo hay. El esquema lo crean las migraciones de Flyway y Hibernate lo
+ * valida (ddl-auto=validate), así que la prueba también falla si una migración no coincide con las entidades.
+ * Las subclases eligen la base de datos y cómo se reconoce un recorrido completo en su plan.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.ProyectoTaw.repository.PlanesConsultaBase$CapturaSql"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+abstract class PlanesConsultaBase {
+
+    // A partir de este número de filas recorrer la tabla entera cuenta como fallo
+    static final int UMBRAL_TABLA_GRANDE = 10_000;
+
+    private static final int ESTUDIANTES = 20_000;
+    private static final int CURSOS = 20_000;
+    private static final int MATERIAS = 2_000;
+    private static final int DOCENTES = 2_000;
+    private static final int FECHAS = 30;
+    private static final LocalDate PRIMERA_FECHA = LocalDate.of(2025, 3, 3);
+
+    private static final String CI = estudianteCi(42);
+    private static final Integer CURSO = 43;
+    private static final LocalDate FECHA = PRIMERA_FECHA.plusDays(3);
+    private static final String MATERIA = materiaCodigo(42);
+    private static final String DOCENTE = docenteCi(42);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AsisteRepository asisteRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private DocenteRepository docenteRepository;
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    @Autowired
+    private ImparteRepository imparteRepository;
+
+    @Autowired
+    private InscritoRepository inscritoRepository;
+
+    @Autowired
+    private MateriaPrerequisitoRepository materiaPrerequisitoRepository;
+
+    @Autowired
+    private MateriaRepository materiaRepository;
+
+    @Autowired
+    private RegistraNotaRepository registraNotaRepository;
+
+    @Autowired
+    private SeDaRepository seDaRepository;
+
+    /** Tablas que el plan (salida de EXPLAIN) recorre enteras, en minúsculas. */
+    protected abstract Set<String> tablasRecorridasEnteras(String plan);
+
+    @BeforeEach
+    void sembrar() {
+        sembrarTablas();
+        jdbcTemplate.execute("ANALYZE"); // Estadísticas al día para el planificador (PostgreSQL y H2)
+    }
+
+    /**
+     * No se incluyen: findBySemestre, findByDiaIgnoreCase y findByPresente (pocos valores distintos: recorrer la
+     * tabla es el plan correcto), los streamParaExportar (exportación completa por diseño) y los deleteBy..., que
+     * hacen la misma SELECT que su findBy. BusquedaRepository usa índices GIN solo en PostgreSQL (ver
+     * db/vendor/postgresql/V5__texto_busqueda.sql).
+     */
+    private List<Caso> casos() {
+        return List.of(
+                caso("Asiste.findByEstudianteCi", () -> asisteRepository.findByEstudianteCi(CI), CI),
+                caso("Asiste.findByCursoIdCurso", () -> asisteRepository.findByCursoIdCurso(CURSO), CURSO),
+                caso("Asiste.findByEstudianteCiAndFecha",
+                        () -> asisteRepository.findByEstudianteCiAndFecha(CI, FECHA), CI, FECHA),
+                caso("Asiste.findByCursoIdCursoAndFecha",
+                        () -> asisteRepository.findByCursoIdCursoAndFecha(CURSO, FECHA), CURSO, FECHA),
+                caso("Asiste.findByEstudianteCiAndCursoIdCurso",
+                        () -> asisteRepository.findByEstudianteCiAndCursoIdCurso(CI, CURSO), CI, CURSO),
+                caso("Asiste.findByEstudianteCiAndCursoIdCursoAndPresente",
+                        () -> asisteRepository.findByEstudianteCiAndCursoIdCursoAndPresente(CI, CURSO, true),
+                        CI, CURSO, true),
+                caso("Asiste.findByFecha", () -> asisteRepository.findByFecha(FECHA), FECHA),
+                caso("Asiste.findRegistradasPorCursoYFecha",
+                        () -> asisteRepository.findRegistradasPorCursoYFecha(CURSO, FECHA), CURSO, FECHA),
+                caso("Asiste.existsByEstudianteCiAndCursoIdCursoAndFecha",
+                        () -> asisteRepository.existsByEstudianteCiAndCursoIdCursoAndFecha(CI, CURSO, FECHA),
+                        CI, CURSO, FECHA),
+                caso("Asiste.findByEstudianteCiAndCursoIdCursoAndFecha",
+                        () -> asisteRepository.findByEstudianteCiAndCursoIdCursoAndFecha(CI, CURSO, FECHA),
+                        CI, CURSO, FECHA),
+
+                caso("Curso.findByAnio", () -> cursoRepository.findByAnio(2010), 2010),
+                caso("Curso.findBySemestreAndAnio",
+                        () -> cursoRepository.findBySemestreAndAnio("1", 2010), "1", 2010),
+                caso("Curso.findByDiaAndHorario",
+                        () -> cursoRepository.findByDiaAndHorario("Lunes", horario(42)), "Lunes", horario(42)),
+                caso("Curso.existsByDiaAndHorario",
+                        () -> cursoRepository.existsByDiaAndHorario("Lunes", horario(42)), "Lunes", horario(42)),
+
+                caso("Estudiante.findByEmail",
+                        () -> estudianteRepository.findByEmail(CI + "@uni.edu"), CI + "@uni.edu"),
+                caso("Estudiante.findCisExistentes",
+                        () -> estudianteRepository.findCisExistentes(List.of(CI)), CI),
+                caso("Docente.findByEmail",
+                        () -> docenteRepository.findByEmail(DOCENTE + "@uni.edu"), DOCENTE + "@uni.edu"),
+                caso("Materia.findByCodigoUnico", () -> materiaRepository.findByCodigoUnico(MATERIA), MATERIA),
+
+                caso("Imparte.findByMateriaCodigoUnico",
+                        () -> imparteRepository.findByMateriaCodigoUnico(MATERIA), MATERIA),
+                caso("Imparte.findByDocenteCiDocente",
+                        () -> imparteRepository.findByDocenteCiDocente(DOCENTE), DOCENTE),
+                caso("Imparte.existsByMateriaCodigoUnicoAndDocenteCiDocente",
+                        () -> imparteRepository.existsByMateriaCodigoUnicoAndDocenteCiDocente(MATERIA, DOCENTE),
+                        MATERIA, DOCENTE),
+
+                caso("Inscrito.findByEstudianteCi", () -> inscritoRepository.findByEstudianteCi(CI), CI),
+                caso("Inscrito.findByMateriaCodigoUnico",
+                        () -> inscritoRepository.findByMateriaCodigoUnico(MATERIA), MATERIA),
+                caso("Inscrito.findByEstudianteCiAndMateriaCodigoUnico",
+                        () -> inscritoRepository.findByEstudianteCiAndMateriaCodigoUnico(CI, MATERIA), CI, MATERIA),
+                caso("Inscrito.findDetallePorEstudiante",
+                        () -> inscritoRepository.findDetallePorEstudiante(CI), CI),
+
+                caso("RegistraNota.findByEstudianteCiAndCursoIdCursoAndEvaluacion",
+                        () -> registraNotaRepository.findByEstudianteCiAndCursoIdCursoAndEvaluacion(CI, CURSO, "P1"),
+                        CI, CURSO, "P1"),
+
+                caso("SeDa.findByMateriaCodigoUnico", () -> seDaRepository.findByMateriaCodigoUnico(MATERIA), MATERIA),
+                caso("SeDa.findByCursoIdCurso", () -> seDaRepository.findByCursoIdCurso(CURSO), CURSO),
+                caso("SeDa.existsByMateriaCodigoUnicoAndCursoIdCurso",
+                        () -> seDaRepository.existsByMateriaCodigoUnicoAndCursoIdCurso(MATERIA, CURSO), MATERIA, CURSO),
+
+                caso("MateriaPrerequisito.findByMateriaId",
+                        () -> materiaPrerequisitoRepository.findByMateriaId(43L), 43L),
+                caso("MateriaPrerequisito.findByPrerequisitoId",
+                        () -> materiaPrerequisitoRepository.findByPrerequisitoId(43L), 43L),
+                caso("MateriaPrerequisito.existsByMateriaIdAndPrerequisitoId",
+                        () -> materiaPrerequisitoRepository.existsByMateriaIdAndPrerequisitoId(43L, 44L), 43L, 44L));
+    }
+
+    @Test
+    void ningunaConsultaRecorreEnteraUnaTablaGrande() {
+        Set<String> grandes = tablasGrandes();
+        assertThat(grandes).contains("asiste", "inscrito", "registra_nota", "curso", "materia_prerequisito");
+
+        List<String> fallos = new ArrayList<>();
+        for (Caso caso : casos()) {
+            CapturaSql.SENTENCIAS.clear();
+            caso.consulta().run();
+            List<String> sentencias = List.copyOf(CapturaSql.SENTENCIAS);
+            assertThat(sentencias).as(caso.nombre()).isNotEmpty();
+
+            for (String sql : sentencias) {
+                String plan = explicar(sql, caso.parametros());
+                Set<String> recorridas = new TreeSet<>(tablasRecorridasEnteras(plan));
+                recorridas.retainAll(grandes);
+                if (!recorridas.isEmpty()) {
+                    fallos.add(caso.nombre() + " recorre entera " + recorridas + "\n" + sql + "\n" + plan);
+                }
+            }
+        }
+        assertThat(fallos).withFailMessage("%s", String.join("\n\n", fallos)).isEmpty();
+    }
+
+    private String explicar(String sql, Object[] parametros) {
+        int marcadores = (int) sql.chars().filter(c -> c == '?').count();
+        assertThat(marcadores).as(sql).isGreaterThanOrEqualTo(parametros.length);
+        // Los marcadores que sobran son el límite de filas de exists/Optional (fetch first ? rows only)
+        Object[] valores = Arrays.copyOf(parametros, marcadores);
+        Arrays.fill(valores, parametros.length, marcadores, 1);
+        return jdbcTemplate.queryForList("EXPLAIN " + sql, valores).stream()
+                .flatMap(fila -> fila.values().stream())
+                .map(String::valueOf)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private Set<String> tablasGrandes() {
+        Set<String> grandes = new TreeSet<>();
+        for (String tabla : List.of("estudiante", "docente", "materia", "curso", "asiste", "imparte", "inscrito",
+                "registra_nota", "se_da", "materia_prerequisito")) {
+            Integer filas = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + tabla, Integer.class);
+            if (filas != null && filas >= UMBRAL_TABLA_GRANDE) {
+                grandes.add(tabla);
+            }
+        }
+        return grandes;
+    }
+
+    /**
+     * Datos con la forma de los reales: cursos agrupados por año (se crean año a año), asistencias agrupadas por
+     * fecha (se toman día a día) y pocas filas por estudiante, materia o docente.
+     */
+    private void sembrarTablas() {
+        insertar("INSERT INTO estudiante (ci, nombre, apellido, email, fecha_nac, version) VALUES (?, ?, ?, ?, ?, 0)",
+                ESTUDIANTES, k -> new Object[]{estudianteCi(k), "Nombre", "Apellido", estudianteCi(k) + "@uni.edu",
+                        LocalDate.of(2000, 1, 1)});
+        insertar("INSERT INTO docente (ci_docente, nombre, apellido, email, fecha_nac, nro_empleado, departamento, "
+                        + "version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)",
+                DOCENTES, k -> new Object[]{docenteCi(k), "Nombre", "Apellido", docenteCi(k) + "@uni.edu",
+                        LocalDate.of(1980, 1, 1), "N" + k, "Ciencias"});
+        insertar("INSERT INTO materia (id, codigo_unico, nombre_materia, descripcion) VALUES (?, ?, ?, ?)",
+                MATERIAS, k -> new Object[]{(long) k + 1, materiaCodigo(k), "Materia " + k, "Descripción"});
+        insertar("INSERT INTO curso (id_curso, dia, horario, semestre, anio, version) VALUES (?, ?, ?, ?, ?, 0)",
+                CURSOS, k -> new Object[]{k + 1, k % 2 == 0 ? "Lunes" : "Martes", horario(k + 1),
+                        String.valueOf(k % 2 + 1), 2000 + k * 25 / CURSOS});
+        // Una asistencia por (curso, fecha) para los primeros MATERIAS cursos, FECHAS días seguidos
+        insertar("INSERT INTO asiste (id_asiste, estudiante_ci, curso_id_curso, fecha, presente, version) "
+                        + "VALUES (?, ?, ?, ?, ?, 0)",
+                MATERIAS * FECHAS, k -> new Object[]{(long) k + 1, estudianteCi(k % ESTUDIANTES), k % MATERIAS + 1,
+                        PRIMERA_FECHA.plusDays(k / MATERIAS), k % 3 != 0});
+        insertar("INSERT INTO inscrito (id_inscrito, estudiante_ci, materia_codigo_unico, fecha_inscripcion) "
+                        + "VALUES (?, ?, ?, ?)",
+                2 * ESTUDIANTES, k -> new Object[]{(long) k + 1, estudianteCi(k % ESTUDIANTES),
+                        materiaCodigo((k + k / ESTUDIANTES) % MATERIAS), LocalDate.of(2025, 2, 1).plusDays(k / ESTUDIANTES)});
+        insertar("INSERT INTO registra_nota (id, estudiante_id, curso_id, evaluacion, nota, fecha) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)",
+                2 * ESTUDIANTES, k -> new Object[]{(long) k + 1, estudianteCi(k % ESTUDIANTES), k % CURSOS + 1,
+                        "P" + (k / ESTUDIANTES + 1), 70.0, LocalDate.of(2025, 4, 1)});
+        insertar("INSERT INTO imparte (id_imparte, materia_codigo_unico, docente_ci_docente, version) "
+                        + "VALUES (?, ?, ?, 0)",
+                10 * DOCENTES, k -> new Object[]{(long) k + 1, materiaCodigo(k % MATERIAS), docenteCi(k / 10)});
+        insertar("INSERT INTO se_da (id_se_da, materia_codigo_unico, curso_id_curso, version) VALUES (?, ?, ?, 0)",
+                CURSOS, k -> new Object[]{(long) k + 1, materiaCodigo(k % MATERIAS), k + 1});
+        insertar("INSERT INTO materia_prerequisito (materia_id, prerequisito_id) VALUES (?, ?)",
+                10 * MATERIAS, k -> new Object[]{(long) k % MATERIAS + 1,
+                        (long) (k % MATERIAS + k / MATERIAS + 1) % MATERIAS + 1});
+    }
+
+    private void insertar(String sql, int filas, IntFunction<Object[]> fila) {
+        jdbcTemplate.batchUpdate(sql, IntStream.range(0, filas).mapToObj(fila).toList());
+    }
+
+    private static String estudianteCi(int k) {
+        return String.format("E%05d", k);
+    }
+
+    private static String docenteCi(int k) {
+        return String.format("D%04d", k);
+    }
+
+    private static String materiaCodigo(int k) {
+        return String.format("MAT-%04d", k);
+    }
+
+    private static String horario(int idCurso) {
+        return String.format("%05d a %05d", idCurso, idCurso); // Un horario distinto por curso, 13 caracteres
+    }
+
+    private static Caso caso(String nombre, Runnable consulta, Object... parametros) {
+        return new Caso(nombre, consulta, parametros);
+    }
+
+    private record Caso(String nombre, Runnable consulta, Object[] parametros) {
+    }
+
+    /** Guarda el SQL que prepara Hibernate (hibernate.session_factory.statement_inspector). */
+    public static class CapturaSql implements StatementInspector {
+
+        static final List<String> SENTENCIAS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SENTENCIAS.add(sql);
+            return sql;
+        }
+    }
+}
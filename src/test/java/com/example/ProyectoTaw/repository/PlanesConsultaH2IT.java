@@ -0,0 +1,35 @@
+package com.example.ProyectoTaw.repository;
+
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * PlanesConsultaBase sobre H2 en modo PostgreSQL (siempre disponible). H2 marca cada tabla que recorre entera
+ * con un comentario "tabla.tableScan" en su EXPLAIN. H2 crea además un índice por cada clave foránea, así que
+ * aquí no se nota la falta de un índice sobre una columna FK: eso lo comprueba PlanesConsultaPostgresIT.
+ */
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:planes;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"})
+class PlanesConsultaH2IT extends PlanesConsultaBase {
+
+    private static final Pattern RECORRIDO = Pattern.compile("(\\w+)\\.tableScan", Pattern.CASE_INSENSITIVE);
+
+    @Override
+    protected Set<String> tablasRecorridasEnteras(String plan) {
+        Matcher matcher = RECORRIDO.matcher(plan);
+        Set<String> tablas = new TreeSet<>();
+        while (matcher.find()) {
+            tablas.add(matcher.group(1).toLowerCase(Locale.ROOT));
+        }
+        return tablas;
+    }
+}
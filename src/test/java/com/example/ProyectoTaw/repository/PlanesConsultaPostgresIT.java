@@ -0,0 +1,43 @@
+package com.example.ProyectoTaw.repository;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * PlanesConsultaBase sobre PostgreSQL real (Testcontainers), con el dialecto y la migración de secuencias de
+ * producción. Se omite si no hay Docker. Un recorrido completo aparece como "Seq Scan on tabla".
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PlanesConsultaPostgresIT extends PlanesConsultaBase {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    private static final Pattern RECORRIDO = Pattern.compile("Seq Scan on (\\w+)");
+
+    @DynamicPropertySource
+    static void baseDeDatos(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Override
+    protected Set<String> tablasRecorridasEnteras(String plan) {
+        Matcher matcher = RECORRIDO.matcher(plan);
+        Set<String> tablas = new TreeSet<>();
+        while (matcher.find()) {
+            tablas.add(matcher.group(1).toLowerCase(Locale.ROOT));
+        }
+        return tablas;
+    }
+}
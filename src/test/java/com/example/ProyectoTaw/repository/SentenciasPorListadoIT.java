@@ -0,0 +1,174 @@
+package com.example.ProyectoTaw.repository;
+
+import com.example.ProyectoTaw.model.Asiste;
+import com.example.ProyectoTaw.model.Curso;
+import com.example.ProyectoTaw.model.Docente;
+import com.example.ProyectoTaw.model.Estudiante;
+import com.example.ProyectoTaw.model.Imparte;
+import com.example.ProyectoTaw.model.Inscrito;
+import com.example.ProyectoTaw.model.Materia;
+import com.example.ProyectoTaw.model.RegistraNota;
+import com.example.ProyectoTaw.model.SeDa;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Comprueba que los listados emiten un número de sentencias SQL que no depende del número
+ * de filas (sin N+1): cada método se mide con pocas filas y con muchas, recorriendo las
+ * asociaciones igual que los convertToDTO de los servicios. Las lecturas de una fila (findById con
+ * el grafo "*.detalle") se miden igual, leyendo además campos que no son la clave de las asociaciones.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"})
+class SentenciasPorListadoIT {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AsisteRepository asisteRepository;
+
+    @Autowired
+    private InscritoRepository inscritoRepository;
+
+    @Autowired
+    private SeDaRepository seDaRepository;
+
+    @Autowired
+    private ImparteRepository imparteRepository;
+
+    @Autowired
+    private RegistraNotaRepository registraNotaRepository;
+
+    private Statistics statistics;
+    private int sembradas;
+    private final Map<String, Long> primeras = new LinkedHashMap<>(); // ID de la primera fila de cada relación
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        sembradas = 0;
+    }
+
+    @Test
+    void listadosEmitenLasMismasSentenciasConPocasYMuchasFilas() {
+        sembrar(3);
+        Map<String, Long> conPocas = medirListados();
+
+        sembrar(40);
+        Map<String, Long> conMuchas = medirListados();
+
+        assertThat(conMuchas).isEqualTo(conPocas);
+    }
+
+    @Test
+    void lecturaConGrafoDeDetalleCargaLasAsociacionesEnUnaSentencia() {
+        sembrar(3);
+        Map<String, Long> conPocas = medirDetalles();
+
+        sembrar(40);
+        Map<String, Long> conMuchas = medirDetalles();
+
+        assertThat(conPocas).allSatisfy((lectura, sentencias) -> assertThat(sentencias).as(lectura).isEqualTo(1L));
+        assertThat(conMuchas).isEqualTo(conPocas);
+    }
+
+    private Map<String, Long> medirDetalles() {
+        Map<String, Long> sentencias = new LinkedHashMap<>();
+        sentencias.put("asistencia", medir(() -> asisteRepository.findById(primeras.get("asiste"))
+                .map(a -> List.of(a.getEstudiante().getNombre(), a.getCurso().getDia())).orElseThrow()));
+        sentencias.put("inscripcion", medir(() -> inscritoRepository.findById(primeras.get("inscrito"))
+                .map(i -> List.of(i.getEstudiante().getEmail(), i.getMateria().getNombre())).orElseThrow()));
+        sentencias.put("relacionSeDa", medir(() -> seDaRepository.findById(primeras.get("seDa"))
+                .map(s -> List.of(s.getMateria().getNombre(), s.getCurso().getHorario())).orElseThrow()));
+        sentencias.put("relacionImparte", medir(() -> imparteRepository.findById(primeras.get("imparte"))
+                .map(i -> List.of(i.getMateria().getNombre(), i.getDocente().getApellido())).orElseThrow()));
+        sentencias.put("nota", medir(() -> registraNotaRepository.findById(primeras.get("nota"))
+                .map(r -> List.of(r.getEstudiante().getApellido(), r.getCurso().getSemestre())).orElseThrow()));
+        return sentencias;
+    }
+
+    private Map<String, Long> medirListados() {
+        Map<String, Long> sentencias = new LinkedHashMap<>();
+        sentencias.put("asistencias", medir(() -> asisteRepository.findAll().stream()
+                .map(a -> List.of(a.getEstudiante().getCi(), a.getCurso().getIdCurso())).toList()));
+        sentencias.put("asistenciasPagina", medir(() -> asisteRepository.findAll(PageRequest.of(0, 1000)).stream()
+                .map(a -> List.of(a.getEstudiante().getCi(), a.getCurso().getIdCurso())).toList()));
+        sentencias.put("inscripciones", medir(() -> inscritoRepository.findAll().stream()
+                .map(i -> List.of(i.getEstudiante().getCi(), i.getMateria().getCodigoUnico())).toList()));
+        sentencias.put("inscripcionesCursor", medir(() -> inscritoRepository.findByIdInscritoGreaterThan(0L, PageRequest.of(0, 1000)).stream()
+                .map(i -> List.of(i.getEstudiante().getCi(), i.getMateria().getCodigoUnico())).toList()));
+        sentencias.put("inscripcionesPorEstudiante", medir(() -> inscritoRepository.findByEstudianteCi("E0").stream()
+                .map(i -> List.of(i.getEstudiante().getCi(), i.getMateria().getCodigoUnico())).toList()));
+        sentencias.put("relacionesSeDa", medir(() -> seDaRepository.findAll().stream()
+                .map(s -> List.of(s.getMateria().getCodigoUnico(), s.getCurso().getIdCurso())).toList()));
+        sentencias.put("relacionesImparte", medir(() -> imparteRepository.findAll().stream()
+                .map(i -> List.of(i.getMateria().getCodigoUnico(), i.getDocente().getCiDocente())).toList()));
+        sentencias.put("notas", medir(() -> registraNotaRepository.findAll().stream()
+                .map(r -> List.of(r.getEstudiante().getCi(), r.getCurso().getIdCurso())).toList()));
+        return sentencias;
+    }
+
+    private long medir(Supplier<?> consulta) {
+        em.flush();
+        em.clear(); // Nada en el contexto de persistencia: todo se carga desde la base de datos
+        statistics.clear();
+        consulta.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Crea n filas de cada relación, cada una con su propio estudiante, curso, materia y docente,
+     * de modo que un N+1 se notaría como sentencias adicionales por fila.
+     */
+    private void sembrar(int n) {
+        for (int k = sembradas; k < sembradas + n; k++) {
+            Estudiante estudiante = em.persist(Estudiante.builder()
+                    .ci("E" + k).nombre("Nombre").apellido("Apellido")
+                    .email("e" + k + "@uni.edu").fechaNac(LocalDate.of(2000, 1, 1)).build());
+            Curso curso = em.persist(Curso.builder()
+                    .dia("Lunes").horario("08:00 a 09:30").semestre("1").anio(2025).build());
+            Materia materia = em.persist(Materia.builder()
+                    .nombre("Materia " + k).codigoUnico("MAT-" + k).descripcion("Descripción").build());
+            Docente docente = em.persist(Docente.builder()
+                    .ciDocente("D" + k).nombre("Nombre").apellido("Apellido").email("d" + k + "@uni.edu")
+                    .fechaNac(LocalDate.of(1980, 1, 1)).departamento("Ciencias").nroEmpleado("N" + k).build());
+
+            Asiste asiste = em.persist(Asiste.builder().estudiante(estudiante).curso(curso)
+                    .fecha(LocalDate.of(2025, 3, 10)).presente(true).build());
+            Inscrito inscrito = em.persist(Inscrito.builder()
+                    .estudiante(k == sembradas ? em.find(Estudiante.class, "E0") : estudiante)
+                    .materia(materia).fechaInscripcion(LocalDate.of(2025, 2, 1)).build());
+            SeDa seDa = em.persist(SeDa.builder().materia(materia).curso(curso).build());
+            Imparte imparte = em.persist(Imparte.builder().materia(materia).docente(docente).build());
+            RegistraNota nota = em.persist(RegistraNota.builder().estudiante(estudiante).curso(curso)
+                    .evaluacion("P1").nota(80.0).fecha(LocalDate.of(2025, 4, 1)).build());
+            primeras.putIfAbsent("asiste", asiste.getIdAsiste());
+            primeras.putIfAbsent("inscrito", inscrito.getIdInscrito());
+            primeras.putIfAbsent("seDa", seDa.getIdSeDa());
+            primeras.putIfAbsent("imparte", imparte.getIdImparte());
+            primeras.putIfAbsent("nota", nota.getId());
+        }
+        sembradas += n;
+    }
+}
@@ -1,26 +1,70 @@
 package com.example.ProyectoTaw.service;
 
+import com.example.ProyectoTaw.cache.MemoConsultas;
 import com.example.ProyectoTaw.dto.EstudianteDTO;
 import com.example.ProyectoTaw.model.Estudiante;
+import com.example.ProyectoTaw.repository.BusquedaRepository;
 import com.example.ProyectoTaw.repository.EstudianteRepository;
 import com.example.ProyectoTaw.service.impl.EstudianteServiceImpl;
+import com.example.ProyectoTaw.validator.EstudianteValidator;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.time.LocalDate;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 class EstudianteServiceTest {
+
+    private EstudianteRepository repo;
+    private MemoConsultas memoConsultas;
+    private EstudianteServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(EstudianteRepository.class);
+        memoConsultas = mock(MemoConsultas.class);
+        service = new EstudianteServiceImpl(repo, mock(EstudianteValidator.class), mock(BusquedaRepository.class),
+                memoConsultas);
+    }
+
     @Test
     void obtenerEstudiantePorId_devuelveDTO() {
-        EstudianteRepository repo = mock(EstudianteRepository.class);
-        EstudianteServiceImpl service = new EstudianteServiceImpl(repo);
         Estudiante estudiante = Estudiante.builder().ci("1L").nombre("Juan").build();
         when(repo.findByCi("1L")).thenReturn(Optional.of(estudiante));
         EstudianteDTO dto = service.obtenerEstudiantePorCi("1L");
         assertThat(dto.getNombre()).isEqualTo("Juan");
     }
+
+    @Test
+    void actualizarEstudiante_conVersionObsoleta_lanzaConflicto() {
+        Estudiante actual = Estudiante.builder().ci("1L").nombre("Juan").email("juan@uni.edu").version(3L).build();
+        when(repo.findById("1L")).thenReturn(Optional.of(actual));
+        EstudianteDTO cambios = EstudianteDTO.builder().ci("1L").nombre("Juan Carlos").email("juan@uni.edu").version(2L).build();
+
+        assertThatThrownBy(() -> service.actualizarEstudiante("1L", cambios))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verify(repo, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void actualizarEstudiante_conNuevoEmail_guardaYOlvidaLoMemorizado() {
+        Estudiante actual = Estudiante.builder().ci("1L").nombre("Juan").email("juan@uni.edu")
+                .fechaNac(LocalDate.of(2000, 1, 1)).version(3L).build();
+        when(repo.findById("1L")).thenReturn(Optional.of(actual));
+        when(memoConsultas.estudiantePorEmail("jc@uni.edu")).thenReturn(Optional.empty());
+        when(repo.saveAndFlush(actual)).thenReturn(actual);
+        EstudianteDTO cambios = EstudianteDTO.builder().ci("1L").nombre("Juan Carlos").email("jc@uni.edu")
+                .fechaNac(LocalDate.of(2000, 1, 1)).version(3L).build();
+
+        EstudianteDTO dto = service.actualizarEstudiante("1L", cambios);
+
+        assertThat(dto.getEmail()).isEqualTo("jc@uni.edu");
+        verify(memoConsultas).olvidar();
+    }
 }
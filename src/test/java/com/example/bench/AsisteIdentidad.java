@@ -0,0 +1,46 @@
+package com.example.bench;
+
+import com.example.ProyectoTaw.model.Curso;
+import com.example.ProyectoTaw.model.Estudiante;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Copia de Asiste con la estrategia anterior (IDENTITY), solo para comparar en
+ * CargaMasivaAsistenciaBenchmark. Vive en src/test y usa su propia tabla.
+ *
+ * Está fuera de com.example.ProyectoTaw para que el escaneo de entidades de la aplicación no la vea: solo la
+ * registra el benchmark (@EntityScan) y su tabla la crea db/bench/R__asiste_identidad_bench.sql.
+ */
+@Entity
+@Table(name = "asiste_identidad_bench")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AsisteIdentidad {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_asiste")
+    private Long idAsiste;
+
+    @ManyToOne
+    @JoinColumn(name = "estudiante_ci", referencedColumnName = "ci", nullable = false)
+    private Estudiante estudiante;
+
+    @ManyToOne
+    @JoinColumn(name = "curso_id_curso", referencedColumnName = "id_curso", nullable = false)
+    private Curso curso;
+
+    @Column(name = "fecha", nullable = false)
+    private LocalDate fecha;
+
+    @Column(name = "presente", nullable = false)
+    private Boolean presente;
+}
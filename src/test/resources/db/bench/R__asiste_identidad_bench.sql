@@ -0,0 +1,13 @@
+-- Tabla de AsisteIdentidad (src/test), solo para CargaMasivaAsistenciaBenchmark. Se carga únicamente con el
+-- perfil bench (spring.flyway.locations en application-bench.properties).
+
+CREATE TABLE IF NOT EXISTS asiste_identidad_bench (
+    id_asiste       BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    estudiante_ci   VARCHAR(20) NOT NULL,
+    curso_id_curso  INTEGER     NOT NULL,
+    fecha           DATE        NOT NULL,
+    presente        BOOLEAN     NOT NULL,
+    CONSTRAINT pk_asiste_identidad_bench PRIMARY KEY (id_asiste),
+    CONSTRAINT fk_asiste_identidad_bench_estudiante FOREIGN KEY (estudiante_ci) REFERENCES estudiante (ci),
+    CONSTRAINT fk_asiste_identidad_bench_curso FOREIGN KEY (curso_id_curso) REFERENCES curso (id_curso)
+);